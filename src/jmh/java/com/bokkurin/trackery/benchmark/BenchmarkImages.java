@@ -0,0 +1,45 @@
+package com.bokkurin.trackery.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteOrder;
+
+import com.bokkurin.trackery.support.TestImages;
+
+/**
+ * packageName    : com.bokkurin.trackery.benchmark
+ * fileName       : BenchmarkImages
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 벤치마크 입력 이미지 생성 유틸 (4:3 비율, 메가픽셀 단위)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+final class BenchmarkImages {
+	private BenchmarkImages() {
+	}
+
+	static int width(int megapixels) {
+		return (int)Math.round(Math.sqrt(megapixels * 1_000_000.0 * 4 / 3));
+	}
+
+	static int height(int megapixels) {
+		return (int)Math.round(width(megapixels) * 3 / 4.0);
+	}
+
+	static BufferedImage createImage(int megapixels) {
+		return TestImages.createGradientImage(width(megapixels), height(megapixels));
+	}
+
+	/**
+	 * 주어진 포맷으로 인코딩하고 EXIF 방향 값을 넣은 이미지 바이트
+	 */
+	static byte[] createImageBytes(String format, int megapixels, int orientation) throws IOException {
+		int width = width(megapixels);
+		int height = height(megapixels);
+		byte[] imageBytes = TestImages.encode(createImage(megapixels), format);
+		return TestImages.withExifOrientation(imageBytes, format, orientation, ByteOrder.BIG_ENDIAN, width, height);
+	}
+}
@@ -0,0 +1,84 @@
+package com.bokkurin.trackery.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bokkurin.trackery.image.BufferPool;
+import com.bokkurin.trackery.model.DecodedImage;
+import com.bokkurin.trackery.model.EncodedRendition;
+import com.bokkurin.trackery.model.RenditionProfile;
+import com.bokkurin.trackery.service.ImageProcessService;
+
+/**
+ * packageName    : com.bokkurin.trackery.benchmark
+ * fileName       : BufferPoolBenchmark
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 버퍼 풀 사용 여부에 따른 레코드 처리(디코딩, 방향 보정, 렌디션, 원본 인코딩) 할당량 비교 벤치마크
+ *                  -prof gc의 gc.alloc.rate.norm(호출당 할당 바이트)과 gc.count를 비교합니다.
+ *                  실행: mvn -Pbenchmark test-compile exec:exec -Djmh.args="BufferPoolBenchmark -prof gc"
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class BufferPoolBenchmark {
+	private static final long POOL_BUDGET_BYTES = 512L * 1024 * 1024;
+
+	@Param({"true", "false"})
+	public boolean pooled;
+
+	@Param({"1", "12"})
+	public int megapixels;
+
+	/**
+	 * 6이면 90도 회전이 들어가서 회전 결과 버퍼까지 비교됩니다.
+	 */
+	@Param({"1", "6"})
+	public int orientation;
+
+	private byte[] imageBytes;
+	private ImageProcessService imageProcessService;
+	private List<RenditionProfile> profiles;
+
+	@Setup
+	public void setUp() throws IOException {
+		imageBytes = BenchmarkImages.createImageBytes("jpg", megapixels, orientation);
+		BufferPool bufferPool = pooled ? new BufferPool(POOL_BUDGET_BYTES) : BufferPool.disabled();
+		imageProcessService = new ImageProcessService(false, bufferPool);
+		profiles = RenditionProfile.parseAll("large:1280:SHORT_EDGE:0.8:-large,thumbnail:300:SHORT_EDGE:0.75:-thumbnail");
+	}
+
+	@Benchmark
+	public int processRecord() throws IOException {
+		DecodedImage decodedImage = imageProcessService.decodeImage(new ByteArrayInputStream(imageBytes));
+		try {
+			List<EncodedRendition> renditions = imageProcessService.createRenditions(decodedImage.image(), profiles,
+				rendition -> {
+				});
+			return renditions.size() + imageProcessService.encodeOriginal(decodedImage.image()).length;
+		} finally {
+			imageProcessService.releaseImage(decodedImage.image());
+		}
+	}
+}
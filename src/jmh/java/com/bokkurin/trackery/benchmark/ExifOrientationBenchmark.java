@@ -0,0 +1,84 @@
+package com.bokkurin.trackery.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bokkurin.trackery.image.ExifOrientationReader;
+import com.bokkurin.trackery.image.OrientationTransformer;
+import com.drew.imaging.ImageMetadataReader;
+import com.drew.imaging.ImageProcessingException;
+import com.drew.metadata.Metadata;
+import com.drew.metadata.MetadataException;
+import com.drew.metadata.exif.ExifDirectoryBase;
+import com.drew.metadata.exif.ExifIFD0Directory;
+
+/**
+ * packageName    : com.bokkurin.trackery.benchmark
+ * fileName       : ExifOrientationBenchmark
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : EXIF 방향 읽기(헤더 탐색 vs metadata-extractor 전체 파싱)와 방향 보정 벤치마크
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ExifOrientationBenchmark {
+
+	@Param({"jpg", "png", "webp"})
+	public String format;
+
+	@Param({"1", "12"})
+	public int megapixels;
+
+	@Param({"3", "6"})
+	public int orientation;
+
+	private byte[] imageBytes;
+	private BufferedImage image;
+
+	@Setup
+	public void setUp() throws IOException {
+		imageBytes = BenchmarkImages.createImageBytes(format, megapixels, orientation);
+		image = BenchmarkImages.createImage(megapixels);
+	}
+
+	@Benchmark
+	public int readOrientation() {
+		return ExifOrientationReader.readOrientation(imageBytes);
+	}
+
+	@Benchmark
+	public int readOrientationWithMetadataExtractor()
+		throws ImageProcessingException, IOException, MetadataException {
+		Metadata metadata = ImageMetadataReader.readMetadata(new ByteArrayInputStream(imageBytes));
+		ExifIFD0Directory directory = metadata.getFirstDirectoryOfType(ExifIFD0Directory.class);
+		return directory.getInt(ExifDirectoryBase.TAG_ORIENTATION);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public BufferedImage applyOrientation() {
+		return OrientationTransformer.apply(image, orientation);
+	}
+}
@@ -0,0 +1,72 @@
+package com.bokkurin.trackery.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bokkurin.trackery.service.ImageProcessService;
+
+/**
+ * packageName    : com.bokkurin.trackery.benchmark
+ * fileName       : ImageDecodeBenchmark
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 디코딩(+방향 보정)과 썸네일 생성 벤치마크
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ImageDecodeBenchmark {
+
+	@Param({"jpg", "png", "webp"})
+	public String format;
+
+	@Param({"1", "12", "48"})
+	public int megapixels;
+
+	@Param({"1", "6"})
+	public int orientation;
+
+	private byte[] imageBytes;
+	private ImageProcessService imageProcessService;
+
+	@Setup
+	public void setUp() throws IOException {
+		imageBytes = BenchmarkImages.createImageBytes(format, megapixels, orientation);
+		imageProcessService = new ImageProcessService();
+	}
+
+	@Benchmark
+	public BufferedImage getOriginalImage() throws IOException {
+		return imageProcessService.getOriginalImage(imageBytes);
+	}
+
+	@Benchmark
+	public byte[] createThumbnail() throws IOException {
+		return imageProcessService.createThumbnail(imageBytes);
+	}
+
+	@Benchmark
+	public byte[] createThumbnailSubsampled() throws IOException {
+		return imageProcessService.createThumbnailSubsampled(imageBytes);
+	}
+}
@@ -0,0 +1,179 @@
+package com.bokkurin.trackery.benchmark;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.WritableRaster;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bokkurin.trackery.image.BufferPool;
+import com.bokkurin.trackery.image.ImageResizer;
+import com.bokkurin.trackery.image.ImageResizer.ResizeMode;
+import com.bokkurin.trackery.image.PixelNormalizer;
+import com.bokkurin.trackery.support.SimpleCmykColorSpace;
+
+/**
+ * packageName    : com.bokkurin.trackery.benchmark
+ * fileName       : NormalizeBenchmark
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 원본 색 모델별 정규화(INT_RGB/INT_ARGB_PRE 변환) 처리량 벤치마크
+ *                  normalize는 PixelNormalizer, drawImage는 기존 방식(Graphics2D로 INT_RGB에 그리기),
+ *                  resize는 정규화를 포함한 썸네일 리사이즈입니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		CMYK 색 공간을 테스트 공용 SimpleCmykColorSpace로 교체
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class NormalizeBenchmark {
+
+	@Param({"INT_RGB", "INT_ARGB", "3BYTE_BGR", "4BYTE_ABGR", "BYTE_GRAY", "BYTE_INDEXED", "USHORT_GRAY",
+		"CMYK", "RGB_16"})
+	public String sourceType;
+
+	@Param({"12"})
+	public int megapixels;
+
+	private BufferedImage image;
+	private BufferPool bufferPool;
+	private int targetWidth;
+	private int targetHeight;
+
+	@Setup
+	public void setUp() {
+		BufferedImage rgb = BenchmarkImages.createImage(megapixels);
+		image = convert(rgb, sourceType);
+		bufferPool = new BufferPool(512L * 1024 * 1024);
+		targetWidth = 300;
+		targetHeight = (int)((long)rgb.getHeight() * targetWidth / rgb.getWidth());
+	}
+
+	@Benchmark
+	public BufferedImage normalize() {
+		BufferedImage normalized = PixelNormalizer.normalize(image, bufferPool);
+		if (normalized != image) {
+			bufferPool.release(normalized);
+		}
+		return normalized;
+	}
+
+	@Benchmark
+	public BufferedImage drawImage() {
+		BufferedImage result = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = result.createGraphics();
+		try {
+			graphics.setComposite(AlphaComposite.Src);
+			graphics.drawImage(image, 0, 0, null);
+		} finally {
+			graphics.dispose();
+		}
+		return result;
+	}
+
+	@Benchmark
+	public BufferedImage resize() {
+		return ImageResizer.resize(image, targetWidth, targetHeight, ResizeMode.BICUBIC, bufferPool);
+	}
+
+	private static BufferedImage convert(BufferedImage rgb, String sourceType) {
+		return switch (sourceType) {
+			case "INT_RGB" -> rgb;
+			case "INT_ARGB" -> copy(rgb, BufferedImage.TYPE_INT_ARGB);
+			case "3BYTE_BGR" -> copy(rgb, BufferedImage.TYPE_3BYTE_BGR);
+			case "4BYTE_ABGR" -> copy(rgb, BufferedImage.TYPE_4BYTE_ABGR);
+			case "BYTE_GRAY" -> copy(rgb, BufferedImage.TYPE_BYTE_GRAY);
+			case "BYTE_INDEXED" -> copy(rgb, BufferedImage.TYPE_BYTE_INDEXED);
+			case "USHORT_GRAY" -> copy(rgb, BufferedImage.TYPE_USHORT_GRAY);
+			case "CMYK" -> toCmyk(rgb);
+			case "RGB_16" -> toSixteenBit(rgb);
+			default -> throw new IllegalArgumentException("알 수 없는 원본 형식: " + sourceType);
+		};
+	}
+
+	private static BufferedImage copy(BufferedImage source, int type) {
+		BufferedImage result = new BufferedImage(source.getWidth(), source.getHeight(), type);
+		Graphics2D graphics = result.createGraphics();
+		try {
+			graphics.drawImage(source, 0, 0, null);
+		} finally {
+			graphics.dispose();
+		}
+		return result;
+	}
+
+	/**
+	 * JPEG 리더가 Adobe CMYK를 디코딩한 결과와 같은 형태 (4밴드 바이트, 프로파일 없는 CMYK 색 공간)
+	 */
+	private static BufferedImage toCmyk(BufferedImage rgb) {
+		BufferedImage result = createComponentImage(new SimpleCmykColorSpace(), false, DataBuffer.TYPE_BYTE,
+			rgb.getWidth(), rgb.getHeight());
+		WritableRaster raster = result.getRaster();
+		int[] cmyk = new int[4];
+		for (int y = 0; y < rgb.getHeight(); y++) {
+			for (int x = 0; x < rgb.getWidth(); x++) {
+				int pixel = rgb.getRGB(x, y);
+				int r = (pixel >> 16) & 0xFF;
+				int g = (pixel >> 8) & 0xFF;
+				int b = pixel & 0xFF;
+				int black = 255 - Math.max(r, Math.max(g, b));
+				int white = Math.max(1, 255 - black);
+				cmyk[0] = (white - r) * 255 / white;
+				cmyk[1] = (white - g) * 255 / white;
+				cmyk[2] = (white - b) * 255 / white;
+				cmyk[3] = black;
+				raster.setPixel(x, y, cmyk);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 16비트 PNG를 디코딩한 결과와 같은 형태 (3밴드 ushort sRGB)
+	 */
+	private static BufferedImage toSixteenBit(BufferedImage rgb) {
+		BufferedImage result = createComponentImage(ColorSpace.getInstance(ColorSpace.CS_sRGB), false,
+			DataBuffer.TYPE_USHORT, rgb.getWidth(), rgb.getHeight());
+		WritableRaster raster = result.getRaster();
+		int[] samples = new int[3];
+		for (int y = 0; y < rgb.getHeight(); y++) {
+			for (int x = 0; x < rgb.getWidth(); x++) {
+				int pixel = rgb.getRGB(x, y);
+				samples[0] = ((pixel >> 16) & 0xFF) * 257;
+				samples[1] = ((pixel >> 8) & 0xFF) * 257;
+				samples[2] = (pixel & 0xFF) * 257;
+				raster.setPixel(x, y, samples);
+			}
+		}
+		return result;
+	}
+
+	private static BufferedImage createComponentImage(ColorSpace colorSpace, boolean alpha, int dataType,
+		int width, int height) {
+		ComponentColorModel colorModel = new ComponentColorModel(colorSpace, alpha, false,
+			alpha ? Transparency.TRANSLUCENT : Transparency.OPAQUE, dataType);
+		return new BufferedImage(colorModel, colorModel.createCompatibleWritableRaster(width, height), false, null);
+	}
+}
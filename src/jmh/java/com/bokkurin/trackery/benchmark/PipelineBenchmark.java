@@ -0,0 +1,147 @@
+package com.bokkurin.trackery.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bokkurin.trackery.config.RenditionConfiguration;
+import com.bokkurin.trackery.handler.LambdaHandler;
+import com.bokkurin.trackery.local.LocalS3Client;
+import com.bokkurin.trackery.metrics.MetricsEmitter;
+import com.bokkurin.trackery.service.ExecutorImageUploader;
+import com.bokkurin.trackery.service.ImageProcessService;
+import com.bokkurin.trackery.service.ImageRecordExecutor;
+import com.bokkurin.trackery.service.S3ActionService;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+/**
+ * packageName    : com.bokkurin.trackery.benchmark
+ * fileName       : PipelineBenchmark
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 로컬 S3 대역을 상대로 LambdaHandler 전체 흐름(다운로드 - 디코딩 - 인코딩 - 업로드) 벤치마크
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		중복 처리 건너뛰기에 걸리지 않도록 매 호출 전에 결과물 삭제
+ * 26. 10. 18.		durururuk		EMF 지표 기록 비용 비교용 metrics 파라미터 추가 (출력은 버림)
+ * 26. 10. 18.		durururuk		처리 실패는 핸들러가 예외로 알리므로 응답 확인 제거
+ * 26. 10. 18.		durururuk		LambdaHandler 반환 타입 변경 반영
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class PipelineBenchmark {
+	private static final String SOURCE_BUCKET = "source-bucket";
+	private static final String DESTINATION_BUCKET = "destination-bucket";
+
+	@Param({"jpg", "png", "webp"})
+	public String format;
+
+	@Param({"1", "12", "48"})
+	public int megapixels;
+
+	@Param({"1", "6"})
+	public int orientation;
+
+	/**
+	 * true면 EMF 줄을 만들기까지 하고 버림 (표준 출력으로 벤치마크 결과가 묻히지 않도록)
+	 */
+	@Param({"true", "false"})
+	public boolean metrics;
+
+	private Path rootDirectory;
+	private ExecutorService recordExecutor;
+	private ExecutorService uploadExecutor;
+	private LambdaHandler lambdaHandler;
+	private Map<String, Object> event;
+
+	@Setup
+	public void setUp() throws IOException {
+		rootDirectory = Files.createTempDirectory("trackery-benchmark");
+		LocalS3Client s3Client = new LocalS3Client(rootDirectory);
+
+		String objectKey = "uploads/1/benchmark." + format;
+		s3Client.putObject(PutObjectRequest.builder().bucket(SOURCE_BUCKET).key(objectKey).build(),
+			RequestBody.fromBytes(BenchmarkImages.createImageBytes(format, megapixels, orientation)));
+
+		recordExecutor = Executors.newFixedThreadPool(2);
+		uploadExecutor = Executors.newFixedThreadPool(4);
+		MetricsEmitter metricsEmitter = metrics
+			? new MetricsEmitter(line -> {
+		}, "Benchmark", "benchmark")
+			: MetricsEmitter.disabled();
+		S3ActionService s3ActionService = new S3ActionService(s3Client, DESTINATION_BUCKET);
+		lambdaHandler = new LambdaHandler(new ImageRecordExecutor(
+			s3ActionService,
+			new ExecutorImageUploader(s3ActionService, uploadExecutor),
+			new ImageProcessService(),
+			List.of(RenditionConfiguration.DEFAULT_THUMBNAIL),
+			recordExecutor,
+			metricsEmitter
+		), metricsEmitter);
+
+		event = Map.of("Records", List.of(Map.of("s3", Map.of(
+			"bucket", Map.of("name", SOURCE_BUCKET),
+			"object", Map.of("key", objectKey)
+		))));
+	}
+
+	/**
+	 * 결과물이 남아 있으면 이미 처리된 파일로 보고 건너뛰기 때문에 매 호출 전에 대상 버킷을 비움
+	 */
+	@Setup(Level.Invocation)
+	public void clearDestination() throws IOException {
+		deleteRecursively(rootDirectory.resolve(DESTINATION_BUCKET));
+		deleteRecursively(rootDirectory.resolve(".metadata").resolve(DESTINATION_BUCKET));
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		recordExecutor.shutdownNow();
+		uploadExecutor.shutdownNow();
+		deleteRecursively(rootDirectory);
+	}
+
+	private void deleteRecursively(Path directory) throws IOException {
+		if (!Files.exists(directory)) {
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	public String handleRequest() {
+		// 처리에 실패하면 핸들러가 예외를 던져 벤치마크가 중단됨
+		return lambdaHandler.handleRequest(event, null);
+	}
+}
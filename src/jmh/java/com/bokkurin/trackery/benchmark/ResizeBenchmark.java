@@ -0,0 +1,83 @@
+package com.bokkurin.trackery.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bokkurin.trackery.image.ImageResizer;
+import com.bokkurin.trackery.image.ImageResizer.ResizeMode;
+
+/**
+ * packageName    : com.bokkurin.trackery.benchmark
+ * fileName       : ResizeBenchmark
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 리사이즈 알고리즘별 처리량 벤치마크
+ *                  sourceMegapixels 보조 카운터가 초당 처리한 원본 메가픽셀(MP/s)입니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ResizeBenchmark {
+
+	@Param({"AREA_AVERAGE", "PROGRESSIVE_BILINEAR", "BICUBIC", "LANCZOS"})
+	public ResizeMode mode;
+
+	@Param({"1", "12", "48"})
+	public int megapixels;
+
+	@Param({"300", "1280"})
+	public int targetShortEdge;
+
+	private BufferedImage image;
+	private int targetWidth;
+	private int targetHeight;
+
+	/**
+	 * 호출마다 처리한 원본 메가픽셀 수를 누적 (Throughput 모드에서 MP/s로 보고됨)
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Throughput {
+		public double sourceMegapixels;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			sourceMegapixels = 0;
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		image = BenchmarkImages.createImage(megapixels);
+		double ratio = (double)Math.min(image.getWidth(), image.getHeight()) / targetShortEdge;
+		targetWidth = (int)(image.getWidth() / ratio);
+		targetHeight = (int)(image.getHeight() / ratio);
+	}
+
+	@Benchmark
+	public BufferedImage resize(Throughput throughput) {
+		throughput.sourceMegapixels += image.getWidth() * (double)image.getHeight() / 1_000_000;
+		return ImageResizer.resize(image, targetWidth, targetHeight, mode);
+	}
+}
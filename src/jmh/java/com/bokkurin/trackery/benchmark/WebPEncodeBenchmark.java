@@ -0,0 +1,61 @@
+package com.bokkurin.trackery.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bokkurin.trackery.service.ImageProcessService;
+
+/**
+ * packageName    : com.bokkurin.trackery.benchmark
+ * fileName       : WebPEncodeBenchmark
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 방향 보정이 끝난 이미지의 WebP 인코딩 벤치마크 (원본 크기, 썸네일)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class WebPEncodeBenchmark {
+
+	@Param({"1", "12", "48"})
+	public int megapixels;
+
+	private BufferedImage image;
+	private ImageProcessService imageProcessService;
+
+	@Setup
+	public void setUp() {
+		image = BenchmarkImages.createImage(megapixels);
+		imageProcessService = new ImageProcessService();
+	}
+
+	@Benchmark
+	public byte[] encodeOriginal() throws IOException {
+		return imageProcessService.encodeOriginal(image);
+	}
+
+	@Benchmark
+	public byte[] encodeThumbnail() throws IOException {
+		return imageProcessService.encodeThumbnail(image);
+	}
+}
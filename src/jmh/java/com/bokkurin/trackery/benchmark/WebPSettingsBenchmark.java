@@ -0,0 +1,79 @@
+package com.bokkurin.trackery.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bokkurin.trackery.image.WebPEncoder;
+import com.bokkurin.trackery.model.WebPEncodeSettings;
+
+/**
+ * packageName    : com.bokkurin.trackery.benchmark
+ * fileName       : WebPSettingsBenchmark
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : WebP 인코더 설정별 인코딩 시간과 결과 크기 비교 벤치마크
+ *                  outputBytes 보조 카운터가 해당 설정의 결과 크기(byte)입니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class WebPSettingsBenchmark {
+
+	@Param({"0.5", "0.75", "0.9", "0.75/0", "0.75/6", "lossless/0", "lossless/4"})
+	public String encoding;
+
+	@Param({"1", "12"})
+	public int megapixels;
+
+	private BufferedImage image;
+	private WebPEncodeSettings settings;
+
+	/**
+	 * 마지막 인코딩 결과 크기 (같은 입력/설정이면 매번 같음)
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class OutputSize {
+		public long outputBytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			outputBytes = 0;
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		image = BenchmarkImages.createImage(megapixels);
+		settings = WebPEncodeSettings.parse(encoding);
+	}
+
+	@Benchmark
+	public byte[] encode(OutputSize outputSize) throws IOException {
+		byte[] webpBytes = WebPEncoder.encode(image, settings);
+		outputSize.outputBytes = webpBytes.length;
+		return webpBytes;
+	}
+}
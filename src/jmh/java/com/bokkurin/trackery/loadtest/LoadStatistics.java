@@ -0,0 +1,215 @@
+package com.bokkurin.trackery.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.bokkurin.trackery.metrics.Stage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * packageName    : com.bokkurin.trackery.loadtest
+ * fileName       : LoadStatistics
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 부하 테스트 한 구간의 처리량, 단계별 지연 시간 분포, 힙/할당/GC 지표
+ *                  단계별 시간은 람다가 CloudWatch로 보내는 EMF 줄을 그대로 받아 읽으므로 운영 지표와 같은 값입니다.
+ *                  지연 시간은 HdrHistogram에 마이크로초 단위로 기록합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+final class LoadStatistics implements Consumer<String> {
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+	private static final long HEAP_SAMPLE_INTERVAL_MILLIS = 20;
+	private static final int SIGNIFICANT_DIGITS = 3;
+	private static final String INVOCATION = "Invocation";
+	private static final String TOTAL_TIME = "TotalTime";
+
+	private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+	private final com.sun.management.ThreadMXBean threadBean =
+		(com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+	private final Map<String, Histogram> latencies = new LinkedHashMap<>();
+	private final LongAdder records = new LongAdder();
+	private final LongAdder failedRecords = new LongAdder();
+	private final LongAdder sourceBytes = new LongAdder();
+	private final LongAdder outputBytes = new LongAdder();
+	private final DoubleAdder megapixels = new DoubleAdder();
+	private final LongAdder invocations = new LongAdder();
+	private final AtomicLong peakHeapBytes = new AtomicLong();
+
+	private long startNanos;
+	private long elapsedNanos;
+	private long startAllocatedBytes;
+	private long allocatedBytes;
+	private long startGcCount;
+	private long startGcMillis;
+	private long gcCount;
+	private long gcMillis;
+	private Thread heapSampler;
+
+	LoadStatistics() {
+		latencies.put(INVOCATION, new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+		latencies.put(TOTAL_TIME, new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+		for (Stage stage : Stage.values()) {
+			latencies.put(stage.metricName(), new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+		}
+	}
+
+	/**
+	 * 측정 시작 (힙 사용량 표본 수집 스레드 시작)
+	 */
+	void start() {
+		startAllocatedBytes = totalAllocatedBytes();
+		startGcCount = gcCount();
+		startGcMillis = gcMillis();
+		peakHeapBytes.set(memoryBean.getHeapMemoryUsage().getUsed());
+
+		heapSampler = new Thread(this::sampleHeap, "loadtest-heap-sampler");
+		heapSampler.setDaemon(true);
+		heapSampler.start();
+		startNanos = System.nanoTime();
+	}
+
+	void stop() throws InterruptedException {
+		elapsedNanos = System.nanoTime() - startNanos;
+		heapSampler.interrupt();
+		heapSampler.join();
+		allocatedBytes = totalAllocatedBytes() - startAllocatedBytes;
+		gcCount = gcCount() - startGcCount;
+		gcMillis = gcMillis() - startGcMillis;
+	}
+
+	/**
+	 * 핸들러 호출 하나의 전체 소요 시간 (이벤트 파싱부터 배치 응답까지)
+	 */
+	void recordInvocation(long durationNanos) {
+		invocations.increment();
+		latencies.get(INVOCATION).recordValue(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+	}
+
+	/**
+	 * MetricsEmitter 출력 한 줄을 받음 (레코드 줄만 집계하고 호출 줄은 무시)
+	 */
+	@Override
+	public void accept(String line) {
+		JsonNode node;
+		try {
+			node = objectMapper.readTree(line);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		if (!node.has("ObjectKey")) {
+			return;
+		}
+
+		records.increment();
+		if (node.path("Failed").asInt() != 0) {
+			failedRecords.increment();
+		}
+		sourceBytes.add(node.path("SourceBytes").asLong());
+		outputBytes.add(node.path("OutputBytes").asLong());
+		megapixels.add(node.path("Megapixels").asDouble());
+		for (Map.Entry<String, Histogram> latency : latencies.entrySet()) {
+			double millis = node.path(latency.getKey()).asDouble();
+			// 거치지 않은 단계(예: 회전 없는 원본의 RotateTime)는 0으로 나오므로 분포에서 뺌
+			if (millis > 0) {
+				latency.getValue().recordValue(Math.max(1, Math.round(millis * 1000)));
+			}
+		}
+	}
+
+	void print(PrintStream out) {
+		double seconds = elapsedNanos / 1e9;
+		out.printf(Locale.ROOT, "%n=== 부하 테스트 결과 (%.1fs) ===%n", seconds);
+		out.printf(Locale.ROOT, "호출 %d회, 레코드 %d건 (실패 %d건), 원본 %.1fMB -> 결과물 %.1fMB%n",
+			invocations.sum(), records.sum(), failedRecords.sum(), megabytes(sourceBytes.sum()),
+			megabytes(outputBytes.sum()));
+		out.printf(Locale.ROOT, "처리량: %.2f 호출/s, %.2f 레코드/s, %.1f MP/s%n",
+			invocations.sum() / seconds, records.sum() / seconds, megapixels.sum() / seconds);
+		out.printf(Locale.ROOT, "힙: 최대 사용 %.0fMB / 한도 %.0fMB, GC %d회 %dms (%.1f%%)%n",
+			megabytes(peakHeapBytes.get()), megabytes(memoryBean.getHeapMemoryUsage().getMax()), gcCount, gcMillis,
+			gcMillis / 10.0 / seconds);
+		out.printf(Locale.ROOT, "할당: %.1fMB/s (총 %.1fGB)%n",
+			megabytes(allocatedBytes) / seconds, allocatedBytes / 1024.0 / 1024 / 1024);
+
+		out.printf(Locale.ROOT, "%n%-16s %8s %9s %9s %9s %9s %9s %9s%n",
+			"지연 시간(ms)", "count", "mean", "p50", "p90", "p99", "p99.9", "max");
+		for (Map.Entry<String, Histogram> latency : latencies.entrySet()) {
+			Histogram histogram = latency.getValue();
+			if (histogram.getTotalCount() == 0) {
+				continue;
+			}
+			out.printf(Locale.ROOT, "%-16s %8d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+				latency.getKey(), histogram.getTotalCount(), histogram.getMean() / 1000,
+				millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+				histogram.getMaxValue() / 1000.0);
+		}
+	}
+
+	private void sampleHeap() {
+		while (!Thread.currentThread().isInterrupted()) {
+			peakHeapBytes.accumulateAndGet(memoryBean.getHeapMemoryUsage().getUsed(), Math::max);
+			try {
+				Thread.sleep(HEAP_SAMPLE_INTERVAL_MILLIS);
+			} catch (InterruptedException e) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * 살아 있는 스레드가 할당한 바이트 합계
+	 * 측정 중에 끝난 스레드의 할당량은 빠지므로 스레드 풀은 측정 전에 만들어 두고 끝날 때까지 유지해야 합니다.
+	 */
+	private long totalAllocatedBytes() {
+		long total = 0;
+		for (long allocated : threadBean.getThreadAllocatedBytes(threadBean.getAllThreadIds())) {
+			if (allocated > 0) {
+				total += allocated;
+			}
+		}
+		return total;
+	}
+
+	private static long gcCount() {
+		long total = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			total += Math.max(0, collector.getCollectionCount());
+		}
+		return total;
+	}
+
+	private static long gcMillis() {
+		long total = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			total += Math.max(0, collector.getCollectionTime());
+		}
+		return total;
+	}
+
+	private static double millis(Histogram histogram, double percentile) {
+		return histogram.getValueAtPercentile(percentile) / 1000.0;
+	}
+
+	private static double megabytes(long bytes) {
+		return bytes / 1024.0 / 1024;
+	}
+}
@@ -0,0 +1,152 @@
+package com.bokkurin.trackery.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import com.bokkurin.trackery.config.RenditionConfiguration;
+import com.bokkurin.trackery.config.StartupInitializer;
+import com.bokkurin.trackery.handler.LambdaHandler;
+import com.bokkurin.trackery.metrics.MetricsEmitter;
+import com.bokkurin.trackery.service.ExecutorImageUploader;
+import com.bokkurin.trackery.service.ImageProcessService;
+import com.bokkurin.trackery.service.ImageRecordExecutor;
+import com.bokkurin.trackery.service.S3ActionService;
+
+/**
+ * packageName    : com.bokkurin.trackery.loadtest
+ * fileName       : LoadTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 합성 S3 이벤트를 LambdaHandler에 연속으로 보내는 부하 테스트 (워밍 컨테이너 하나를 흉내)
+ *                  JMH 벤치마크가 한 가지 입력의 평균 시간을 재는 것과 달리, 해상도/방향/포맷/배치 크기가 섞인
+ *                  이벤트를 지연이 있는 S3 대역을 상대로 보내서 처리량, 단계별 지연 시간 분포(p50~max),
+ *                  최대 힙 사용량, 할당 속도를 봅니다. 호출은 람다처럼 한 번에 하나씩 보냅니다.
+ *
+ *                  실행 (힙은 람다 메모리 설정에 맞춰 고정):
+ *                  mvn -Pbenchmark test-compile exec:exec@load-test -Dloadtest.heap=1536m \
+ *                      -Dloadtest.args="--invocations 500 --megapixels 12:60,48:40 --latency-ms 30"
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		핸들러가 실패 시 예외를 던지도록 바뀐 것 반영
+ */
+public final class LoadTest {
+	private static final String SOURCE_BUCKET = "source-bucket";
+	private static final String DESTINATION_BUCKET = "destination-bucket";
+
+	private LoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestOptions options;
+		try {
+			options = LoadTestOptions.parse(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.exit(2);
+			return;
+		}
+
+		Path workDirectory = options.workDirectory() != null
+			? Files.createDirectories(options.workDirectory())
+			: Files.createTempDirectory("trackery-loadtest");
+		ExecutorService recordExecutor = Executors.newFixedThreadPool(options.concurrency());
+		ExecutorService uploadExecutor = Executors.newFixedThreadPool(options.concurrency() * 2);
+		try {
+			run(options, workDirectory, recordExecutor, uploadExecutor);
+		} finally {
+			recordExecutor.shutdownNow();
+			uploadExecutor.shutdownNow();
+			if (options.workDirectory() == null) {
+				deleteRecursively(workDirectory);
+			}
+		}
+	}
+
+	private static void run(LoadTestOptions options, Path workDirectory, ExecutorService recordExecutor,
+		ExecutorService uploadExecutor) throws IOException, InterruptedException {
+		Random random = new Random(options.seed());
+		SimulatedS3Client s3Client = new SimulatedS3Client(workDirectory, DESTINATION_BUCKET,
+			options.requestLatencyMillis(), options.bandwidthMegabytesPerSecond());
+
+		System.out.printf(Locale.ROOT, "원본 %d개 생성 중...%n", options.corpusSize());
+		List<SyntheticCorpus.SourceObject> corpus = SyntheticCorpus.upload(s3Client, SOURCE_BUCKET, options, random);
+		printCorpus(corpus);
+		S3EventFactory eventFactory = new S3EventFactory(SOURCE_BUCKET, corpus, options.batchSizes(), random);
+
+		// 람다 초기화 단계와 같은 준비 작업 후 핸들러 생성
+		StartupInitializer.initialize();
+		AtomicReference<LoadStatistics> statistics = new AtomicReference<>(new LoadStatistics());
+		MetricsEmitter metricsEmitter = new MetricsEmitter(line -> statistics.get().accept(line), "LoadTest",
+			"load-test");
+		S3ActionService s3ActionService = new S3ActionService(s3Client, DESTINATION_BUCKET);
+		LambdaHandler lambdaHandler = new LambdaHandler(new ImageRecordExecutor(
+			s3ActionService,
+			new ExecutorImageUploader(s3ActionService, uploadExecutor),
+			new ImageProcessService(),
+			RenditionConfiguration.getProfiles(),
+			recordExecutor,
+			metricsEmitter
+		), metricsEmitter);
+
+		System.out.printf(Locale.ROOT, "동시 처리 %d, S3 요청 지연 %dms, 전송 %.0fMB/s, 워밍업 %d회...%n",
+			options.concurrency(), options.requestLatencyMillis(), options.bandwidthMegabytesPerSecond(),
+			options.warmupInvocations());
+		for (int i = 0; i < options.warmupInvocations(); i++) {
+			invoke(lambdaHandler, eventFactory.next(), statistics.get());
+		}
+
+		LoadStatistics measured = new LoadStatistics();
+		statistics.set(measured);
+		System.out.printf(Locale.ROOT, "측정 %d회...%n", options.invocations());
+		long startRequests = s3Client.requests();
+		long startUploadedBytes = s3Client.uploadedBytes();
+		measured.start();
+		for (int i = 0; i < options.invocations(); i++) {
+			invoke(lambdaHandler, eventFactory.next(), measured);
+		}
+		measured.stop();
+
+		measured.print(System.out);
+		System.out.printf(Locale.ROOT, "%nS3 요청 %d건, 업로드 %.1fMB%n", s3Client.requests() - startRequests,
+			(s3Client.uploadedBytes() - startUploadedBytes) / 1024.0 / 1024);
+	}
+
+	private static void invoke(LambdaHandler lambdaHandler, Map<String, Object> event, LoadStatistics statistics) {
+		long startNanos = System.nanoTime();
+		try {
+			lambdaHandler.handleRequest(event, null);
+		} catch (IllegalStateException e) {
+			// 실패한 레코드가 있으면 핸들러가 예외를 던짐 (레코드별 실패 수는 EMF 지표로 집계됨)
+			System.err.println(e.getMessage());
+		} finally {
+			statistics.recordInvocation(System.nanoTime() - startNanos);
+		}
+	}
+
+	private static void printCorpus(List<SyntheticCorpus.SourceObject> corpus) {
+		double megapixels = corpus.stream().mapToInt(SyntheticCorpus.SourceObject::megapixels).average().orElse(0);
+		double kilobytes = corpus.stream().mapToLong(SyntheticCorpus.SourceObject::size).average().orElse(0) / 1024;
+		System.out.printf(Locale.ROOT, "원본 %d개 - 평균 %.1fMP, %.0fKB%n", corpus.size(), megapixels, kilobytes);
+	}
+
+	private static void deleteRecursively(Path directory) throws IOException {
+		if (!Files.exists(directory)) {
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.bokkurin.trackery.loadtest;
+
+import java.nio.file.Path;
+
+import com.bokkurin.trackery.config.ExecutorConfiguration;
+
+/**
+ * packageName    : com.bokkurin.trackery.loadtest
+ * fileName       : LoadTestOptions
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 부하 테스트 실행 옵션 (명령행 인자)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ *
+ * @param invocations 측정할 핸들러 호출 수 (--invocations)
+ * @param warmupInvocations 측정 전에 버리는 호출 수 (--warmup)
+ * @param batchSizes 호출당 레코드 수 분포 (--batch-sizes, 예: 1:30,5:40,10:30)
+ * @param megapixels 원본 해상도(MP) 분포 (--megapixels)
+ * @param orientations EXIF 방향 값 분포 (--orientations)
+ * @param formats 원본 포맷 분포 (--formats, jpg/png/webp)
+ * @param corpusSize 미리 만들어 둘 서로 다른 원본 수 (--corpus)
+ * @param requestLatencyMillis S3 요청마다 더할 고정 지연 시간 (--latency-ms)
+ * @param bandwidthMegabytesPerSecond 본문 전송 속도, 0이면 본문 크기에 따른 지연 없음 (--bandwidth-mbs)
+ * @param concurrency 동시 처리 레코드 수 (--concurrency, 기본 RECORD_CONCURRENCY 또는 코어/힙 크기로 계산)
+ * @param seed 난수 시드 (--seed)
+ * @param workDirectory 원본을 저장할 디렉터리 (--work-dir), null이면 임시 디렉터리를 만들고 끝나면 지움
+ */
+record LoadTestOptions(int invocations, int warmupInvocations, WeightedMix<Integer> batchSizes,
+					   WeightedMix<Integer> megapixels, WeightedMix<Integer> orientations, WeightedMix<String> formats,
+					   int corpusSize, long requestLatencyMillis, double bandwidthMegabytesPerSecond, int concurrency,
+					   long seed, Path workDirectory) {
+	static final String USAGE = "사용법: LoadTest [--invocations <호출 수>] [--warmup <호출 수>]"
+		+ " [--batch-sizes <크기:가중치,...>] [--megapixels <MP:가중치,...>] [--orientations <방향:가중치,...>]"
+		+ " [--formats <포맷:가중치,...>] [--corpus <원본 수>] [--latency-ms <ms>] [--bandwidth-mbs <MB/s>]"
+		+ " [--concurrency <동시 처리 수>] [--seed <시드>] [--work-dir <디렉터리>]";
+
+	/**
+	 * 명령행 인자를 읽음
+	 * @throws IllegalArgumentException 알 수 없는 옵션, 값 누락, 분포 형식 오류
+	 */
+	static LoadTestOptions parse(String[] args) {
+		int invocations = 2000;
+		int warmupInvocations = 100;
+		String batchSizes = "1:30,5:40,10:30";
+		String megapixels = "1:40,4:30,12:25,24:5";
+		String orientations = "1:80,6:15,3:3,8:2";
+		String formats = "jpg:75,png:15,webp:10";
+		int corpusSize = 24;
+		long requestLatencyMillis = 15;
+		double bandwidthMegabytesPerSecond = 80;
+		int concurrency = 0;
+		long seed = 42;
+		Path workDirectory = null;
+
+		for (int i = 0; i < args.length; i += 2) {
+			if (i + 1 >= args.length) {
+				throw new IllegalArgumentException("옵션 값이 없습니다: " + args[i] + "\n" + USAGE);
+			}
+			String value = args[i + 1];
+			switch (args[i]) {
+				case "--invocations" -> invocations = Integer.parseInt(value);
+				case "--warmup" -> warmupInvocations = Integer.parseInt(value);
+				case "--batch-sizes" -> batchSizes = value;
+				case "--megapixels" -> megapixels = value;
+				case "--orientations" -> orientations = value;
+				case "--formats" -> formats = value;
+				case "--corpus" -> corpusSize = Integer.parseInt(value);
+				case "--latency-ms" -> requestLatencyMillis = Long.parseLong(value);
+				case "--bandwidth-mbs" -> bandwidthMegabytesPerSecond = Double.parseDouble(value);
+				case "--concurrency" -> concurrency = Integer.parseInt(value);
+				case "--seed" -> seed = Long.parseLong(value);
+				case "--work-dir" -> workDirectory = Path.of(value);
+				default -> throw new IllegalArgumentException("알 수 없는 옵션: " + args[i] + "\n" + USAGE);
+			}
+		}
+
+		if (invocations <= 0 || corpusSize <= 0) {
+			throw new IllegalArgumentException("호출 수와 원본 수는 0보다 커야 합니다.\n" + USAGE);
+		}
+		if (concurrency <= 0) {
+			concurrency = ExecutorConfiguration.getRecordConcurrency();
+		}
+		return new LoadTestOptions(invocations, warmupInvocations, WeightedMix.parse(batchSizes, Integer::valueOf),
+			WeightedMix.parse(megapixels, Integer::valueOf), WeightedMix.parse(orientations, Integer::valueOf),
+			WeightedMix.parse(formats, String::trim), corpusSize, requestLatencyMillis, bandwidthMegabytesPerSecond,
+			concurrency, seed, workDirectory);
+	}
+}
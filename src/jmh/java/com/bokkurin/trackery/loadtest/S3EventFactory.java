@@ -0,0 +1,91 @@
+package com.bokkurin.trackery.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * packageName    : com.bokkurin.trackery.loadtest
+ * fileName       : S3EventFactory
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 실제 S3 ObjectCreated 알림과 같은 모양의 이벤트(Map)를 만드는 클래스
+ *                  람다 런타임이 넘겨주는 것처럼 중첩 Map/List로 만들고, 키는 S3처럼 경로 구분자(/)를 뺀 나머지를
+ *                  URL 인코딩(공백은 +)합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+final class S3EventFactory {
+	private static final String REGION = "ap-northeast-2";
+
+	private final String bucket;
+	private final List<SyntheticCorpus.SourceObject> corpus;
+	private final WeightedMix<Integer> batchSizes;
+	private final Random random;
+	private long sequence;
+
+	S3EventFactory(String bucket, List<SyntheticCorpus.SourceObject> corpus, WeightedMix<Integer> batchSizes,
+		Random random) {
+		this.bucket = bucket;
+		this.corpus = corpus;
+		this.batchSizes = batchSizes;
+		this.random = random;
+	}
+
+	/**
+	 * 배치 크기 분포에 따라 원본을 골라 이벤트 하나를 만듦 (같은 원본이 여러 번 들어갈 수 있음)
+	 */
+	Map<String, Object> next() {
+		int batchSize = batchSizes.pick(random);
+		List<Map<String, Object>> records = new ArrayList<>(batchSize);
+		for (int i = 0; i < batchSize; i++) {
+			records.add(createRecord(corpus.get(random.nextInt(corpus.size()))));
+		}
+
+		Map<String, Object> event = new HashMap<>();
+		event.put("Records", records);
+		return event;
+	}
+
+	private Map<String, Object> createRecord(SyntheticCorpus.SourceObject object) {
+		Map<String, Object> bucketNode = new HashMap<>();
+		bucketNode.put("name", bucket);
+		bucketNode.put("arn", "arn:aws:s3:::" + bucket);
+
+		Map<String, Object> objectNode = new HashMap<>();
+		objectNode.put("key", encodeKey(object.key()));
+		objectNode.put("size", object.size());
+		objectNode.put("eTag", object.eTag());
+		objectNode.put("sequencer", "%016X".formatted(++sequence));
+
+		Map<String, Object> s3Node = new HashMap<>();
+		s3Node.put("s3SchemaVersion", "1.0");
+		s3Node.put("configurationId", "trackery-upload");
+		s3Node.put("bucket", bucketNode);
+		s3Node.put("object", objectNode);
+
+		Map<String, Object> record = new HashMap<>();
+		record.put("eventVersion", "2.1");
+		record.put("eventSource", "aws:s3");
+		record.put("awsRegion", REGION);
+		record.put("eventTime", Instant.now().toString());
+		record.put("eventName", "ObjectCreated:Put");
+		record.put("s3", s3Node);
+		return record;
+	}
+
+	private static String encodeKey(String key) {
+		return Stream.of(key.split("/"))
+			.map(segment -> URLEncoder.encode(segment, StandardCharsets.UTF_8))
+			.collect(Collectors.joining("/"));
+	}
+}
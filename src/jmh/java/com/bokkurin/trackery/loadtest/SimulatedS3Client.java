@@ -0,0 +1,141 @@
+package com.bokkurin.trackery.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.bokkurin.trackery.local.LocalS3Client;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CopyObjectResponse;
+import software.amazon.awssdk.services.s3.model.CopyObjectResult;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+
+/**
+ * packageName    : com.bokkurin.trackery.loadtest
+ * fileName       : SimulatedS3Client
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 요청마다 네트워크 지연을 더하는 로컬 S3 대역 (부하 테스트용)
+ *                  모든 요청에 고정 지연을, GetObject/PutObject에는 본문 크기 / 전송 속도만큼의 지연을 더합니다.
+ *                  결과물 버킷에 올리는 내용은 디스크에 쓰지 않고 크기만 세므로, 같은 원본을 반복해서 보내도
+ *                  결과물이 없는 것으로 보여 매번 전체 처리를 하고 디스크 쓰기가 측정에 섞이지 않습니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+class SimulatedS3Client extends LocalS3Client {
+	private static final int DRAIN_BUFFER_SIZE = 64 * 1024;
+
+	private final String destinationBucket;
+	private final long requestLatencyNanos;
+	private final double bytesPerNano;
+
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder uploadedBytes = new LongAdder();
+
+	/**
+	 * @param destinationBucket 내용을 버릴 결과물 버킷
+	 * @param requestLatencyMillis 요청마다 더할 고정 지연 시간
+	 * @param bandwidthMegabytesPerSecond 본문 전송 속도 (0이면 본문 크기에 따른 지연 없음)
+	 */
+	SimulatedS3Client(Path rootDirectory, String destinationBucket, long requestLatencyMillis,
+		double bandwidthMegabytesPerSecond) {
+		super(rootDirectory);
+		this.destinationBucket = destinationBucket;
+		this.requestLatencyNanos = TimeUnit.MILLISECONDS.toNanos(requestLatencyMillis);
+		this.bytesPerNano = bandwidthMegabytesPerSecond * 1024 * 1024 / 1e9;
+	}
+
+	@Override
+	public <ReturnT> ReturnT getObject(GetObjectRequest getObjectRequest,
+		ResponseTransformer<GetObjectResponse, ReturnT> responseTransformer) {
+		long bytes = sizeOf(getObjectRequest.bucket(), getObjectRequest.key());
+		simulate(bytes);
+		return super.getObject(getObjectRequest, responseTransformer);
+	}
+
+	@Override
+	public HeadObjectResponse headObject(HeadObjectRequest headObjectRequest) {
+		simulate(0);
+		return super.headObject(headObjectRequest);
+	}
+
+	@Override
+	public PutObjectResponse putObject(PutObjectRequest putObjectRequest, RequestBody requestBody) {
+		if (!destinationBucket.equals(putObjectRequest.bucket())) {
+			return super.putObject(putObjectRequest, requestBody);
+		}
+
+		long bytes = 0;
+		byte[] buffer = new byte[DRAIN_BUFFER_SIZE];
+		try (InputStream inputStream = requestBody.contentStreamProvider().newStream()) {
+			for (int read; (read = inputStream.read(buffer)) != -1; ) {
+				bytes += read;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		simulate(bytes);
+		uploadedBytes.add(bytes);
+		return PutObjectResponse.builder().eTag("\"simulated\"").build();
+	}
+
+	@Override
+	public CopyObjectResponse copyObject(CopyObjectRequest copyObjectRequest) {
+		if (!destinationBucket.equals(copyObjectRequest.destinationBucket())) {
+			return super.copyObject(copyObjectRequest);
+		}
+
+		// 서버 측 복사라 본문 전송 지연은 없음
+		simulate(0);
+		return CopyObjectResponse.builder()
+			.copyObjectResult(CopyObjectResult.builder().eTag("\"simulated\"").build())
+			.build();
+	}
+
+	long requests() {
+		return requests.sum();
+	}
+
+	long uploadedBytes() {
+		return uploadedBytes.sum();
+	}
+
+	private long sizeOf(String bucket, String key) {
+		try {
+			return Files.size(resolve(bucket, key));
+		} catch (IOException e) {
+			// 없는 객체는 상위 구현이 NoSuchKey로 처리
+			return 0;
+		}
+	}
+
+	/**
+	 * 요청 지연 + 전송 시간만큼 현재 스레드를 멈춤 (실제 S3 클라이언트처럼 호출 스레드가 기다림)
+	 */
+	private void simulate(long bytes) {
+		requests.increment();
+		long delayNanos = requestLatencyNanos + (bytesPerNano > 0 ? (long)(bytes / bytesPerNano) : 0);
+		if (delayNanos <= 0) {
+			return;
+		}
+		try {
+			TimeUnit.NANOSECONDS.sleep(delayNanos);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.bokkurin.trackery.loadtest;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.bokkurin.trackery.support.TestImages;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+
+/**
+ * packageName    : com.bokkurin.trackery.loadtest
+ * fileName       : SyntheticCorpus
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 해상도/방향/포맷 분포에 맞춰 원본 이미지를 만들어 원본 버킷에 올리는 클래스
+ *                  그라데이션만 있으면 JPEG가 실제 사진보다 훨씬 작게 압축되어 다운로드/디코딩 비용이 낮게 나오므로
+ *                  픽셀마다 잡음을 섞어 사진에 가까운 용량이 나오게 합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+final class SyntheticCorpus {
+	private static final int NOISE_AMPLITUDE = 24;
+
+	/**
+	 * 원본 버킷에 올린 객체 하나
+	 * @param key 원본 키 (uploads/{userId}/{파일명})
+	 * @param size 원본 크기
+	 * @param eTag 원본 ETag (따옴표 없음)
+	 * @param megapixels 해상도
+	 */
+	record SourceObject(String key, long size, String eTag, int megapixels) {
+	}
+
+	private SyntheticCorpus() {
+	}
+
+	/**
+	 * 옵션의 분포대로 원본을 만들어 올림 (사용자 8명에게 고르게 나눔)
+	 * 파일명 일부에 공백을 넣어 이벤트의 URL 인코딩된 키를 디코딩하는 경로도 거치게 합니다.
+	 */
+	static List<SourceObject> upload(S3Client s3Client, String bucket, LoadTestOptions options, Random random)
+		throws IOException {
+		List<SourceObject> objects = new ArrayList<>(options.corpusSize());
+		for (int i = 0; i < options.corpusSize(); i++) {
+			String format = options.formats().pick(random);
+			int megapixels = options.megapixels().pick(random);
+			int orientation = options.orientations().pick(random);
+
+			byte[] imageBytes = createImageBytes(format, megapixels, orientation, random);
+			String fileName = (i % 4 == 0 ? "IMG %04d" : "photo-%04d").formatted(i);
+			String key = "uploads/%d/%s.%s".formatted(i % 8 + 1, fileName, format);
+			PutObjectResponse response = s3Client.putObject(PutObjectRequest.builder().bucket(bucket).key(key).build(),
+				RequestBody.fromBytes(imageBytes));
+			objects.add(new SourceObject(key, imageBytes.length, response.eTag().replace("\"", ""), megapixels));
+		}
+		return objects;
+	}
+
+	/**
+	 * 4:3 비율, 주어진 해상도의 잡음 섞인 그라데이션을 인코딩하고 EXIF 방향 값을 넣은 이미지 바이트
+	 */
+	static byte[] createImageBytes(String format, int megapixels, int orientation, Random random) throws IOException {
+		int width = (int)Math.round(Math.sqrt(megapixels * 1_000_000.0 * 4 / 3));
+		int height = (int)Math.round(width * 3 / 4.0);
+		byte[] imageBytes = TestImages.encode(createPhotoLikeImage(width, height, random), format);
+		return TestImages.withExifOrientation(imageBytes, format, orientation, ByteOrder.BIG_ENDIAN, width, height);
+	}
+
+	private static BufferedImage createPhotoLikeImage(int width, int height, Random random) {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		int[] pixels = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+		for (int y = 0; y < height; y++) {
+			int green = y * 255 / height;
+			for (int x = 0; x < width; x++) {
+				int red = x * 255 / width;
+				int noise = random.nextInt(NOISE_AMPLITUDE * 2 + 1) - NOISE_AMPLITUDE;
+				pixels[y * width + x] = clamp(red + noise) << 16 | clamp(green - noise) << 8 | clamp(0x80 + noise);
+			}
+		}
+		return image;
+	}
+
+	private static int clamp(int value) {
+		return Math.max(0, Math.min(255, value));
+	}
+}
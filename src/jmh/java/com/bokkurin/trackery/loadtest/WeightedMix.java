@@ -0,0 +1,68 @@
+package com.bokkurin.trackery.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * packageName    : com.bokkurin.trackery.loadtest
+ * fileName       : WeightedMix
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 가중치를 준 값 목록에서 무작위로 하나씩 고르는 클래스 (예: "1:40,12:50,48:10")
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+final class WeightedMix<T> {
+	private final List<T> values;
+	private final double[] cumulativeWeights;
+
+	private WeightedMix(List<T> values, double[] cumulativeWeights) {
+		this.values = values;
+		this.cumulativeWeights = cumulativeWeights;
+	}
+
+	/**
+	 * 값:가중치를 쉼표로 구분한 문자열을 읽음 (가중치를 생략하면 1)
+	 * @throws IllegalArgumentException 형식이 맞지 않거나 가중치 합이 0 이하일 때
+	 */
+	static <T> WeightedMix<T> parse(String spec, Function<String, T> parser) {
+		List<T> values = new ArrayList<>();
+		List<Double> weights = new ArrayList<>();
+		for (String entry : spec.split(",")) {
+			if (entry.isBlank()) {
+				continue;
+			}
+			String[] parts = entry.trim().split(":");
+			if (parts.length > 2) {
+				throw new IllegalArgumentException("값:가중치 형식이 아닙니다: " + entry);
+			}
+			values.add(parser.apply(parts[0]));
+			weights.add(parts.length == 2 ? Double.parseDouble(parts[1]) : 1.0);
+		}
+
+		double[] cumulativeWeights = new double[weights.size()];
+		double total = 0;
+		for (int i = 0; i < weights.size(); i++) {
+			total += weights.get(i);
+			cumulativeWeights[i] = total;
+		}
+		if (values.isEmpty() || total <= 0) {
+			throw new IllegalArgumentException("가중치 합이 0보다 커야 합니다: " + spec);
+		}
+		return new WeightedMix<>(List.copyOf(values), cumulativeWeights);
+	}
+
+	T pick(Random random) {
+		double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+		for (int i = 0; i < cumulativeWeights.length; i++) {
+			if (target < cumulativeWeights[i]) {
+				return values.get(i);
+			}
+		}
+		return values.get(values.size() - 1);
+	}
+}
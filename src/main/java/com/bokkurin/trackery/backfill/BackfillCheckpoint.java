@@ -0,0 +1,130 @@
+package com.bokkurin.trackery.backfill;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+/**
+ * packageName    : com.bokkurin.trackery.backfill
+ * fileName       : BackfillCheckpoint
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 백필 진행 위치를 파일에 저장하고 다시 읽는 클래스
+ *                  앞의 키가 모두 끝난 마지막 키(startAfter)와 누적 처리/실패 건수를 properties 파일로 저장하고,
+ *                  실패한 키는 체크포인트 옆의 .failed 파일에 한 줄씩 추가합니다.
+ *                  파일이 없으면 처음부터 시작하고, 경로가 null이면 아무것도 저장하지 않습니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+public class BackfillCheckpoint {
+	private static final String START_AFTER = "startAfter";
+	private static final String PROCESSED = "processed";
+	private static final String FAILED = "failed";
+
+	private final Path checkpointPath;
+	private final Path failedKeysPath;
+	private String startAfter;
+	private long processed;
+	private long failed;
+
+	private BackfillCheckpoint(Path checkpointPath) {
+		this.checkpointPath = checkpointPath;
+		this.failedKeysPath = checkpointPath != null
+			? checkpointPath.resolveSibling(checkpointPath.getFileName() + ".failed")
+			: null;
+	}
+
+	/**
+	 * 체크포인트 파일을 읽음 (없으면 처음부터)
+	 * @param checkpointPath 체크포인트 파일 경로, null이면 저장하지 않는 체크포인트
+	 * @throws IOException 파일을 읽지 못했을 때
+	 */
+	public static BackfillCheckpoint load(Path checkpointPath) throws IOException {
+		BackfillCheckpoint checkpoint = new BackfillCheckpoint(checkpointPath);
+		if (checkpointPath == null || !Files.exists(checkpointPath)) {
+			return checkpoint;
+		}
+
+		Properties properties = new Properties();
+		try (InputStream inputStream = Files.newInputStream(checkpointPath)) {
+			properties.load(inputStream);
+		}
+		checkpoint.startAfter = properties.getProperty(START_AFTER);
+		checkpoint.processed = Long.parseLong(properties.getProperty(PROCESSED, "0"));
+		checkpoint.failed = Long.parseLong(properties.getProperty(FAILED, "0"));
+		return checkpoint;
+	}
+
+	public static BackfillCheckpoint none() {
+		return new BackfillCheckpoint(null);
+	}
+
+	/**
+	 * 이 키까지는 모두 처리됐다고 기록
+	 * 임시 파일에 쓴 뒤 이름을 바꾸므로 저장 중에 중단돼도 이전 체크포인트가 남습니다.
+	 * @param lastKey 앞의 키가 모두 끝난 마지막 키
+	 * @param processedCount 누적 처리 건수 (실패 포함)
+	 * @param failedCount 누적 실패 건수
+	 * @throws IOException 파일을 쓰지 못했을 때
+	 */
+	public synchronized void save(String lastKey, long processedCount, long failedCount) throws IOException {
+		this.startAfter = lastKey;
+		this.processed = processedCount;
+		this.failed = failedCount;
+		if (checkpointPath == null) {
+			return;
+		}
+
+		Properties properties = new Properties();
+		properties.setProperty(START_AFTER, lastKey);
+		properties.setProperty(PROCESSED, Long.toString(processedCount));
+		properties.setProperty(FAILED, Long.toString(failedCount));
+
+		Path temporaryPath = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+		try (OutputStream outputStream = Files.newOutputStream(temporaryPath)) {
+			properties.store(outputStream, null);
+		}
+		Files.move(temporaryPath, checkpointPath, StandardCopyOption.REPLACE_EXISTING,
+			StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * 실패한 키를 .failed 파일에 추가 (체크포인트는 실패한 키도 지나가므로 재처리는 이 목록으로 함)
+	 * @throws IOException 파일을 쓰지 못했을 때
+	 */
+	public synchronized void recordFailure(String key) throws IOException {
+		if (failedKeysPath == null) {
+			return;
+		}
+		try (Writer writer = Files.newBufferedWriter(failedKeysPath, StandardCharsets.UTF_8,
+			StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+			writer.write(key);
+			writer.write('\n');
+		}
+	}
+
+	public synchronized String startAfter() {
+		return startAfter;
+	}
+
+	public synchronized long processed() {
+		return processed;
+	}
+
+	public synchronized long failed() {
+		return failed;
+	}
+
+	public Path failedKeysPath() {
+		return failedKeysPath;
+	}
+}
@@ -0,0 +1,85 @@
+package com.bokkurin.trackery.backfill;
+
+import java.nio.file.Path;
+
+import com.bokkurin.trackery.config.AppConstants;
+import com.bokkurin.trackery.config.ExecutorConfiguration;
+
+/**
+ * packageName    : com.bokkurin.trackery.backfill
+ * fileName       : BackfillOptions
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 백필 실행 옵션 (명령행 인자, 비어 있으면 람다와 같은 환경변수 사용)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		이미 처리된 객체도 다시 만드는 --reprocess 추가
+ *
+ * @param bucket 원본 버킷 (--bucket, 기본 SOURCE_BUCKET)
+ * @param prefix 처리할 키 접두사 (--prefix, 기본 SOURCE_PREFIX)
+ * @param destinationBucket 결과물 버킷 (--destination-bucket, 기본 DESTINATION_BUCKET)
+ * @param checkpointPath 체크포인트 파일 (--checkpoint), null이면 저장하지 않음
+ * @param ratePerSecond 초당 시작할 최대 객체 수 (--rate), 0이면 제한 없음
+ * @param concurrency 동시 처리 객체 수 (--concurrency, 기본 RECORD_CONCURRENCY 또는 코어/메모리로 계산)
+ * @param localRoot 로컬 S3 대역 디렉터리 (--local-root), null이면 실제 S3 사용
+ * @param reprocess 결과물이 같은 원본 ETag로 이미 있어도 다시 만들지 여부 (--reprocess, 값 없는 옵션)
+ *                  THUMBNAIL_SIZE나 출력 포맷을 바꾼 뒤에는 결과물 키와 원본 ETag가 그대로라 이 옵션이 있어야 다시 만듭니다.
+ */
+public record BackfillOptions(String bucket, String prefix, String destinationBucket, Path checkpointPath,
+							  double ratePerSecond, int concurrency, Path localRoot, boolean reprocess) {
+	static final String USAGE = "사용법: BackfillRunner --bucket <원본 버킷> [--prefix <접두사>]"
+		+ " [--destination-bucket <결과 버킷>] [--checkpoint <파일>] [--rate <초당 건수>]"
+		+ " [--concurrency <동시 처리 수>] [--local-root <디렉터리>] [--reprocess]";
+
+	/**
+	 * 명령행 인자를 읽음
+	 * @throws IllegalArgumentException 알 수 없는 옵션, 값 누락, 버킷이 정해지지 않았을 때
+	 */
+	public static BackfillOptions parse(String[] args) {
+		String bucket = AppConstants.SOURCE_BUCKET;
+		String prefix = AppConstants.SOURCE_PREFIX;
+		String destinationBucket = AppConstants.DESTINATION_BUCKET;
+		Path checkpointPath = null;
+		double ratePerSecond = 0;
+		int concurrency = 0;
+		Path localRoot = null;
+		boolean reprocess = false;
+
+		for (int i = 0; i < args.length; i++) {
+			String option = args[i];
+			if (option.equals("--reprocess")) {
+				reprocess = true;
+				continue;
+			}
+			if (i + 1 >= args.length) {
+				throw new IllegalArgumentException("옵션 값이 없습니다: " + option + "\n" + USAGE);
+			}
+			String value = args[++i];
+			switch (option) {
+				case "--bucket" -> bucket = value;
+				case "--prefix" -> prefix = value;
+				case "--destination-bucket" -> destinationBucket = value;
+				case "--checkpoint" -> checkpointPath = Path.of(value);
+				case "--rate" -> ratePerSecond = Double.parseDouble(value);
+				case "--concurrency" -> concurrency = Integer.parseInt(value);
+				case "--local-root" -> localRoot = Path.of(value);
+				default -> throw new IllegalArgumentException("알 수 없는 옵션: " + option + "\n" + USAGE);
+			}
+		}
+
+		if (isBlank(bucket) || isBlank(destinationBucket)) {
+			throw new IllegalArgumentException("원본/결과 버킷이 필요합니다.\n" + USAGE);
+		}
+		if (concurrency <= 0) {
+			concurrency = ExecutorConfiguration.getRecordConcurrency();
+		}
+		return new BackfillOptions(bucket, prefix, destinationBucket, checkpointPath, ratePerSecond, concurrency,
+			localRoot, reprocess);
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+}
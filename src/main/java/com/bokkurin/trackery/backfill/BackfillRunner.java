@@ -0,0 +1,279 @@
+package com.bokkurin.trackery.backfill;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.bokkurin.trackery.config.AppConstants;
+import com.bokkurin.trackery.config.AwsConfiguration;
+import com.bokkurin.trackery.config.RenditionConfiguration;
+import com.bokkurin.trackery.handler.SourceKeyFilter;
+import com.bokkurin.trackery.local.LocalS3Client;
+import com.bokkurin.trackery.model.RecordProcessResult;
+import com.bokkurin.trackery.model.S3ObjectTarget;
+import com.bokkurin.trackery.service.ExecutorImageUploader;
+import com.bokkurin.trackery.service.ImageProcessService;
+import com.bokkurin.trackery.service.ImageRecordExecutor;
+import com.bokkurin.trackery.service.S3ActionService;
+
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * packageName    : com.bokkurin.trackery.backfill
+ * fileName       : BackfillRunner
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 접두사 아래 기존 객체를 모두 다시 처리하는 백필 실행기 (명령행 실행용)
+ *                  ListObjectsV2로 페이지를 넘기면서 키를 ImageRecordExecutor에 넘기고,
+ *                  동시에 처리 중인 객체 수와 초당 시작 건수를 제한합니다.
+ *                  한 페이지의 키가 모두 끝나고 앞 페이지도 모두 끝났을 때만 체크포인트를 옮기므로
+ *                  중단 후 재개하면 끝나지 않은 키부터 다시 처리합니다. 재개 시 이미 끝난 키는 원본 ETag 확인으로 건너뜁니다.
+ *                  렌디션 크기나 출력 포맷을 바꾼 뒤에는 결과물 키와 원본 ETag가 그대로라 모두 건너뛰게 되므로
+ *                  --reprocess로 원본 ETag 확인 없이 다시 만듭니다 (재개 위치는 체크포인트로만 정해짐).
+ *
+ *                  실행: java -cp trackery-lambda.jar com.bokkurin.trackery.backfill.BackfillRunner \
+ *                          --bucket 원본버킷 --prefix uploads/ --checkpoint backfill.properties --rate 50
+ *                  --local-root를 주면 S3 대신 로컬 디렉터리(LocalS3Client)를 버킷으로 씁니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		확장자 확인을 SourceKeyFilter로 통합
+ * 26. 10. 18.		durururuk		--reprocess로 이미 처리된 객체도 다시 만듦
+ */
+public class BackfillRunner {
+	private static final Logger logger = LoggerFactory.getLogger(BackfillRunner.class);
+
+	/**
+	 * ListObjectsV2 페이지당 키 수 (S3 최대값)
+	 */
+	static final int PAGE_SIZE = 1000;
+	private static final long REPORT_INTERVAL_SECONDS = 10;
+	// 접두사는 목록 조회에서 이미 걸렀으므로 확장자만 확인
+	private static final SourceKeyFilter keyFilter = new SourceKeyFilter(null, AppConstants.SUPPORTED_EXTENSIONS);
+
+	private final S3ActionService s3ActionService;
+	private final ImageRecordExecutor imageRecordExecutor;
+	private final RateLimiter rateLimiter;
+	private final BackfillCheckpoint checkpoint;
+	private final int maxInFlight;
+	private final int pageSize;
+	private final boolean reprocess;
+
+	private final LongAdder processed = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder skipped = new LongAdder();
+
+	/**
+	 * @param rateLimiter 객체 처리 시작 간격 제한
+	 * @param checkpoint 시작 위치와 진행 상황을 저장할 체크포인트
+	 * @param maxInFlight 처리 중이거나 대기 중인 최대 객체 수 (목록 조회가 처리보다 너무 앞서 나가지 않도록 제한)
+	 * @param pageSize ListObjectsV2 페이지당 키 수
+	 */
+	public BackfillRunner(S3ActionService s3ActionService, ImageRecordExecutor imageRecordExecutor,
+		RateLimiter rateLimiter, BackfillCheckpoint checkpoint, int maxInFlight, int pageSize) {
+		this(s3ActionService, imageRecordExecutor, rateLimiter, checkpoint, maxInFlight, pageSize, false);
+	}
+
+	/**
+	 * @param reprocess 결과물이 같은 원본 ETag로 이미 있어도 다시 만들지 여부
+	 */
+	public BackfillRunner(S3ActionService s3ActionService, ImageRecordExecutor imageRecordExecutor,
+		RateLimiter rateLimiter, BackfillCheckpoint checkpoint, int maxInFlight, int pageSize, boolean reprocess) {
+		this.s3ActionService = s3ActionService;
+		this.imageRecordExecutor = imageRecordExecutor;
+		this.rateLimiter = rateLimiter;
+		this.checkpoint = checkpoint;
+		this.maxInFlight = maxInFlight;
+		this.pageSize = pageSize;
+		this.reprocess = reprocess;
+	}
+
+	public static void main(String[] args) throws Exception {
+		BackfillOptions options;
+		try {
+			options = BackfillOptions.parse(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.exit(2);
+			return;
+		}
+
+		S3Client s3Client = options.localRoot() != null
+			? new LocalS3Client(options.localRoot())
+			: AwsConfiguration.getS3Client();
+		ExecutorService recordExecutor = Executors.newFixedThreadPool(options.concurrency());
+		ExecutorService uploadExecutor = Executors.newFixedThreadPool(options.concurrency() * 2);
+
+		Summary summary;
+		try {
+			S3ActionService s3ActionService = new S3ActionService(() -> s3Client, options.destinationBucket());
+			ImageRecordExecutor imageRecordExecutor = new ImageRecordExecutor(
+				s3ActionService,
+				new ExecutorImageUploader(s3ActionService, uploadExecutor),
+				new ImageProcessService(),
+				RenditionConfiguration.getProfiles(),
+				recordExecutor
+			);
+			BackfillRunner runner = new BackfillRunner(s3ActionService, imageRecordExecutor,
+				new RateLimiter(options.ratePerSecond()), BackfillCheckpoint.load(options.checkpointPath()),
+				options.concurrency() * 2, PAGE_SIZE, options.reprocess());
+			summary = runner.run(options.bucket(), options.prefix());
+		} finally {
+			recordExecutor.shutdownNow();
+			uploadExecutor.shutdownNow();
+			s3Client.close();
+		}
+		System.exit(summary.failed() > 0 ? 1 : 0);
+	}
+
+	/**
+	 * 접두사 아래 객체를 체크포인트 다음 키부터 끝까지 처리
+	 * 지원하지 않는 확장자는 건너뛰고, 실패한 키는 체크포인트의 .failed 파일에 남기고 계속 진행합니다.
+	 * @param bucket 원본 버킷
+	 * @param prefix 키 접두사 (null이면 버킷 전체)
+	 * @return 이번 실행의 처리 결과
+	 * @throws IOException 목록 조회나 체크포인트 저장에 실패했을 때
+	 * @throws InterruptedException 대기 중 인터럽트됐을 때 (체크포인트는 마지막으로 저장된 위치에 남음)
+	 */
+	public Summary run(String bucket, String prefix) throws IOException, InterruptedException {
+		logger.info("백필 시작 - 버킷: {}, 접두사: {}, 시작 위치: {}, 다시 만들기: {}", bucket, prefix,
+			checkpoint.startAfter(), reprocess);
+		long startNanos = System.nanoTime();
+		Semaphore inFlight = new Semaphore(maxInFlight);
+		Deque<PendingPage> pendingPages = new ArrayDeque<>();
+
+		ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "backfill-reporter");
+			thread.setDaemon(true);
+			return thread;
+		});
+		reporter.scheduleAtFixedRate(() -> report(startNanos), REPORT_INTERVAL_SECONDS, REPORT_INTERVAL_SECONDS,
+			TimeUnit.SECONDS);
+
+		try {
+			String startAfter = checkpoint.startAfter();
+			String continuationToken = null;
+			ListObjectsV2Response page;
+			do {
+				page = s3ActionService.listObjects(bucket, prefix, startAfter, continuationToken, pageSize);
+				continuationToken = page.nextContinuationToken();
+				if (page.contents().isEmpty()) {
+					continue;
+				}
+
+				PendingPage pendingPage = new PendingPage(page.contents().get(page.contents().size() - 1).key());
+				List<CompletableFuture<RecordProcessResult>> futures = new ArrayList<>();
+				for (S3Object object : page.contents()) {
+					if (!keyFilter.hasSupportedExtension(object.key())) {
+						skipped.increment();
+						continue;
+					}
+					inFlight.acquire();
+					rateLimiter.acquire();
+					futures.add(imageRecordExecutor.processAsync(toTarget(bucket, object))
+						.whenComplete((result, error) -> {
+							inFlight.release();
+							complete(pendingPage, result);
+						}));
+				}
+				pendingPage.done = CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+				pendingPages.addLast(pendingPage);
+				advanceCheckpoint(pendingPages);
+			} while (Boolean.TRUE.equals(page.isTruncated()));
+
+			for (PendingPage pendingPage : pendingPages) {
+				pendingPage.done.join();
+			}
+			advanceCheckpoint(pendingPages);
+		} finally {
+			reporter.shutdownNow();
+		}
+
+		report(startNanos);
+		Summary summary = new Summary(processed.sum(), failed.sum(), skipped.sum(), checkpoint.startAfter());
+		logger.info("백필 완료 - {}", summary);
+		return summary;
+	}
+
+	private void complete(PendingPage pendingPage, RecordProcessResult result) {
+		processed.increment();
+		pendingPage.processed.incrementAndGet();
+		if (result.isSuccess()) {
+			return;
+		}
+
+		failed.increment();
+		pendingPage.failed.incrementAndGet();
+		try {
+			checkpoint.recordFailure(result.target().objectKey());
+		} catch (IOException e) {
+			logger.error("실패한 키 기록 실패 - 키: {}", result.target().objectKey(), e);
+		}
+	}
+
+	/**
+	 * 앞에서부터 모두 끝난 페이지까지 체크포인트를 옮김
+	 * 뒤 페이지가 먼저 끝나도 앞 페이지가 남아 있으면 옮기지 않으므로 체크포인트 앞의 키는 항상 모두 처리된 상태입니다.
+	 */
+	private void advanceCheckpoint(Deque<PendingPage> pendingPages) throws IOException {
+		while (!pendingPages.isEmpty() && pendingPages.peekFirst().done.isDone()) {
+			PendingPage pendingPage = pendingPages.pollFirst();
+			checkpoint.save(pendingPage.lastKey, checkpoint.processed() + pendingPage.processed.get(),
+				checkpoint.failed() + pendingPage.failed.get());
+		}
+	}
+
+	private void report(long startNanos) {
+		double elapsedSeconds = Math.max(1e-9, (System.nanoTime() - startNanos) / 1e9);
+		logger.info("백필 진행 - 처리 {}건 (실패 {}건, 제외 {}건), {}건/s, 체크포인트: {}", processed.sum(), failed.sum(),
+			skipped.sum(), String.format(Locale.ROOT, "%.1f", processed.sum() / elapsedSeconds),
+			checkpoint.startAfter());
+	}
+
+	private S3ObjectTarget toTarget(String bucket, S3Object object) {
+		// 목록의 ETag로 중복 처리 여부를 확인하므로 객체마다 HeadObject를 보내지 않음
+		String eTag = object.eTag() != null ? object.eTag().replace("\"", "") : null;
+		return new S3ObjectTarget(bucket, object.key(), eTag, reprocess);
+	}
+
+	/**
+	 * 목록 페이지 하나의 처리 상황
+	 */
+	private static final class PendingPage {
+		private final String lastKey;
+		private final AtomicLong processed = new AtomicLong();
+		private final AtomicLong failed = new AtomicLong();
+		private CompletableFuture<Void> done;
+
+		private PendingPage(String lastKey) {
+			this.lastKey = lastKey;
+		}
+	}
+
+	/**
+	 * 백필 실행 결과
+	 * @param processed 이번 실행에서 처리한 객체 수 (실패 포함)
+	 * @param failed 이번 실행에서 실패한 객체 수
+	 * @param skipped 지원하지 않는 확장자라 건너뛴 객체 수
+	 * @param lastKey 마지막으로 저장한 체크포인트 키
+	 */
+	public record Summary(long processed, long failed, long skipped, String lastKey) {
+	}
+}
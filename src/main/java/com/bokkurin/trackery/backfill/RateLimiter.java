@@ -0,0 +1,53 @@
+package com.bokkurin.trackery.backfill;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * packageName    : com.bokkurin.trackery.backfill
+ * fileName       : RateLimiter
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 초당 처리 건수를 일정 간격으로 제한하는 클래스
+ *                  쉬는 동안 쌓인 허용량을 한꺼번에 쓰지 않으므로 재개 직후에도 S3 요청이 몰리지 않습니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+public final class RateLimiter {
+	private final long intervalNanos;
+	private long nextPermitNanos;
+
+	/**
+	 * @param permitsPerSecond 초당 허용 건수 (0 이하이면 제한 없음)
+	 */
+	public RateLimiter(double permitsPerSecond) {
+		this.intervalNanos = permitsPerSecond > 0 ? (long)(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0;
+		this.nextPermitNanos = System.nanoTime();
+	}
+
+	public static RateLimiter unlimited() {
+		return new RateLimiter(0);
+	}
+
+	/**
+	 * 다음 허용 시점까지 기다림
+	 * 순서만 잠금 안에서 예약하고 대기는 잠금 밖에서 합니다.
+	 */
+	public void acquire() throws InterruptedException {
+		if (intervalNanos == 0) {
+			return;
+		}
+
+		long waitNanos;
+		synchronized (this) {
+			long now = System.nanoTime();
+			long permitNanos = Math.max(nextPermitNanos, now);
+			nextPermitNanos = permitNanos + intervalNanos;
+			waitNanos = permitNanos - now;
+		}
+		if (waitNanos > 0) {
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+		}
+	}
+}
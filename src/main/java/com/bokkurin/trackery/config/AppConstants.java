@@ -13,29 +13,85 @@ import software.amazon.awssdk.regions.Region;
  * -----------------------------------------------------------
  * 25. 6. 26.      durururuk     최초 생성
  * 25. 6. 26.      durururuk     AppConstants로 설정값 분리
+ * 26. 10. 18.      durururuk     레코드 병렬 처리 설정 추가
+ * 26. 10. 18.      durururuk     렌디션 설정 추가, AWS_REGION이 없는 로컬 환경은 기본 리전 사용
+ * 26. 10. 18.      durururuk     원본 WebP 인코더 설정 추가
+ * 26. 10. 18.      durururuk     WebP 원본 그대로 복사 설정 추가
+ * 26. 10. 18.      durururuk     Lambda 실행 환경 여부 확인용 함수 이름 추가
+ * 26. 10. 18.      durururuk     비동기 S3 클라이언트, 멀티파트 업로드 설정 추가
+ * 26. 10. 18.      durururuk     래스터 버퍼 풀 예산 설정 추가
+ * 26. 10. 18.      durururuk     디코딩 픽셀 예산, 원본 최대 크기 설정 추가
+ * 26. 10. 18.      durururuk     EMF 지표 출력 설정 추가
+ * 26. 10. 18.      durururuk     지원 확장자 webp에 점(.) 누락 수정
+ * 26. 10. 18.      durururuk     결과물 목록(manifest) JSON 업로드 설정 추가
+ * 26. 10. 18.      durururuk     썸네일 자리 표시(BlurHash, 대표 색, LQIP) 메타데이터 설정 추가
+ * 26. 10. 18.      durururuk     컨테이너 자격증명 엔드포인트 주소 추가 (SnapStart)
+ * 26. 10. 18.      durururuk     디코딩 픽셀 예산은 설정했을 때만 적용 (픽셀당 메모리 상수 제거)
  */
 public class AppConstants {
 	private AppConstants() {
 	}
 
 	// AWS 설정
+	// Lambda 런타임이 넣어 주는 함수 이름 (로컬 실행이면 null)
+	public static final String LAMBDA_FUNCTION_NAME = System.getenv("AWS_LAMBDA_FUNCTION_NAME");
+	// SnapStart 함수는 자격증명 환경변수 대신 이 엔드포인트로 자격증명을 받음 (일반 함수면 null)
+	public static final String AWS_CONTAINER_CREDENTIALS_FULL_URI = System.getenv("AWS_CONTAINER_CREDENTIALS_FULL_URI");
 	public static final Region AWS_REGION = Region.of(
-		System.getenv().get("AWS_REGION")
+		System.getenv().getOrDefault("AWS_REGION", "ap-northeast-2")
 	);
 	public static final String SOURCE_BUCKET = System.getenv("SOURCE_BUCKET");
 	public static final String DESTINATION_BUCKET = System.getenv("DESTINATION_BUCKET");
+	// 결과물 업로드용 비동기 클라이언트 (java: SDK 멀티파트 클라이언트, crt: CRT 클라이언트), 비어 있으면 동기 클라이언트
+	public static final String S3_ASYNC_CLIENT = System.getenv("S3_ASYNC_CLIENT");
+	public static final String S3_ASYNC_CLIENT_JAVA = "java";
+	public static final String S3_ASYNC_CLIENT_CRT = "crt";
+	// 이 크기 이상인 결과물은 같은 크기의 파트로 나눠 멀티파트 업로드
+	public static final long MULTIPART_THRESHOLD_BYTES = 8L * 1024 * 1024;
+	public static final long MULTIPART_PART_SIZE_BYTES = 8L * 1024 * 1024;
 
 	// S3 경로 패턴
 	public static final String SOURCE_PREFIX = System.getenv("SOURCE_PREFIX");
 	public static final String DESTINATION_ORIGINAL_PATH = System.getenv("DESTINATION_ORIGINAL_PATH");
 	public static final String DESTINATION_THUMBNAIL_PATH = System.getenv("DESTINATION_THUMBNAIL_PATH");
+	// 렌디션 목록 (name:size:fitMode:encoding:keySuffix, 쉼표 구분), 비어 있으면 300px 썸네일 하나
+	public static final String RENDITION_PROFILES = System.getenv("RENDITION_PROFILES");
+	// 원본 WebP 인코더 설정 (quality[/method] 또는 lossless[/method]), 비어 있으면 손실 0.75, method 4
+	public static final String ORIGINAL_WEBP_ENCODING = System.getenv("ORIGINAL_WEBP_ENCODING");
+	// 결과물 크기, 용량, 해시를 담은 JSON을 userId/manifest/파일명.json 으로 함께 업로드 (false로 끌 수 있음)
+	public static final boolean MANIFEST_ENABLED = !"false".equalsIgnoreCase(System.getenv("MANIFEST_ENABLED"));
+	// 가장 작은 렌디션에 BlurHash, 대표 색, 16px LQIP를 메타데이터로 붙임 (false로 끌 수 있음)
+	public static final boolean PLACEHOLDER_ENABLED =
+		!"false".equalsIgnoreCase(System.getenv("PLACEHOLDER_ENABLED"));
 
 	// 이미지 처리 설정
 	public static final int THUMBNAIL_SIZE = 300;
 	public static final String OUTPUT_FORMAT = "webp";
+	public static final float DEFAULT_WEBP_QUALITY = 0.75f;
+	// 이미 WebP이고 크기가 맞는 원본은 재인코딩 없이 CopyObject로 복사 (false로 끌 수 있음)
+	public static final boolean WEBP_PASSTHROUGH = !"false".equalsIgnoreCase(System.getenv("WEBP_PASSTHROUGH"));
+
+	// 한 번에 디코딩할 최대 픽셀 수(MP), 넘으면 영역을 나눠 축소 디코딩, 비어 있으면 제한 없음 (원본 해상도 유지)
+	public static final String MAX_DECODE_MEGAPIXELS = System.getenv("MAX_DECODE_MEGAPIXELS");
+	// 이보다 큰 원본(MP)은 축소 디코딩도 하지 않고 실패 처리 (압축 폭탄, 비정상 헤더)
+	public static final long MAX_SOURCE_MEGAPIXELS = Long.parseLong(
+		System.getenv().getOrDefault("MAX_SOURCE_MEGAPIXELS", "300").trim());
+
+	// 병렬 처리 설정 (비어 있으면 코어 수와 메모리로 계산)
+	public static final String RECORD_CONCURRENCY = System.getenv("RECORD_CONCURRENCY");
+	public static final String LAMBDA_MEMORY_SIZE = System.getenv("AWS_LAMBDA_FUNCTION_MEMORY_SIZE");
+	public static final int MEMORY_PER_RECORD_MB = 256;
+
+	// 래스터 버퍼 풀에 보관할 최대 크기(MB), 비어 있으면 메모리의 1/4, 0이면 풀을 쓰지 않음
+	public static final String BUFFER_POOL_BUDGET_MB = System.getenv("BUFFER_POOL_BUDGET_MB");
+	public static final int BUFFER_POOL_MEMORY_DIVISOR = 4;
+
+	// 단계별 소요 시간 지표를 EMF로 표준 출력에 남길지 여부 (false로 끌 수 있음)와 CloudWatch 네임스페이스
+	public static final boolean METRICS_ENABLED = !"false".equalsIgnoreCase(System.getenv("METRICS_ENABLED"));
+	public static final String METRICS_NAMESPACE = System.getenv().getOrDefault("METRICS_NAMESPACE", "Trackery");
 
 	// 지원하는 이미지 확장자
 	public static final String[] SUPPORTED_EXTENSIONS = {
-		".jpg", ".jpeg", ".png", "webp"
+		".jpg", ".jpeg", ".png", ".webp"
 	};
 }
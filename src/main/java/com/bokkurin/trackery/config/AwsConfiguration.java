@@ -1,6 +1,13 @@
 package com.bokkurin.trackery.config;
 
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.ContainerCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.EnvironmentVariableCredentialsProvider;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.multipart.MultipartConfiguration;
 
 /**
  * packageName    : com.bokkurin.trackery.config
@@ -13,35 +20,121 @@ import software.amazon.awssdk.services.s3.S3Client;
  * -----------------------------------------------------------
  * 25. 6. 26.      durururuk     최초 생성
  * 25. 6. 26.      durururuk     AppConstants로 설정값 분리
+ * 26. 10. 18.      durururuk     클라이언트 생성을 동기화하고 HTTP 클라이언트, 자격증명 공급자를 명시적으로 고정
+ * 26. 10. 18.      durururuk     멀티파트 업로드를 쓰는 비동기 S3 클라이언트 추가
+ * 26. 10. 18.      durururuk     SnapStart 함수는 컨테이너 자격증명 엔드포인트 사용
  */
 public class AwsConfiguration {
-    private static S3Client s3Client;
+    private static volatile S3Client s3Client;
+    private static volatile S3AsyncClient s3AsyncClient;
 
     private AwsConfiguration() {
     }
 
     /**
      * S3 클라이언트 인스턴스 반환하는 메서드
-     * Lambda 환경에서는 IAM Role의 자격증명을 자동으로 사용합니다.
+     * HTTP 클라이언트 구현체 탐색과 자격증명 공급자 체인 탐색을 건너뛰도록 둘 다 직접 지정합니다.
+     * Lambda 환경에서는 런타임이 넣어 준 IAM Role 자격증명(환경변수 또는 컨테이너 엔드포인트)을 바로 사용합니다.
+     * 요청마다 호출되므로 이미 만들어진 클라이언트는 잠금 없이 반환합니다.
      * @return S3 클라이언트
      */
     @SuppressWarnings("java:S6242")
     public static S3Client getS3Client() {
-       if (s3Client == null) {
-          s3Client = S3Client.builder()
+       S3Client client = s3Client;
+       if (client != null) {
+          return client;
+       }
+
+       synchronized (AwsConfiguration.class) {
+          if (s3Client == null) {
+             s3Client = S3Client.builder()
+                .region(AppConstants.AWS_REGION)
+                .httpClientBuilder(UrlConnectionHttpClient.builder())
+                .credentialsProvider(createCredentialsProvider())
+                .build();
+          }
+          return s3Client;
+       }
+    }
+
+    /**
+     * 비동기 클라이언트를 쓰도록 설정되어 있는지 확인하는 메서드
+     */
+    public static boolean isS3AsyncClientEnabled() {
+       return AppConstants.S3_ASYNC_CLIENT != null && !AppConstants.S3_ASYNC_CLIENT.isBlank();
+    }
+
+    /**
+     * 업로드용 비동기 S3 클라이언트 인스턴스 반환하는 메서드
+     * 임계값보다 큰 요청 본문은 파트로 나눠 병렬 업로드합니다.
+     * crt는 aws-crt 네이티브 라이브러리가 필요하므로 crt 프로필로 빌드한 경우에만 사용할 수 있습니다.
+     * @return 비동기 S3 클라이언트
+     */
+    @SuppressWarnings("java:S6242")
+    public static S3AsyncClient getS3AsyncClient() {
+       S3AsyncClient client = s3AsyncClient;
+       if (client != null) {
+          return client;
+       }
+
+       synchronized (AwsConfiguration.class) {
+          if (s3AsyncClient == null) {
+             s3AsyncClient = createS3AsyncClient();
+          }
+          return s3AsyncClient;
+       }
+    }
+
+    private static S3AsyncClient createS3AsyncClient() {
+       if (AppConstants.S3_ASYNC_CLIENT_CRT.equalsIgnoreCase(AppConstants.S3_ASYNC_CLIENT)) {
+          return S3AsyncClient.crtBuilder()
              .region(AppConstants.AWS_REGION)
+             .credentialsProvider(createCredentialsProvider())
+             .minimumPartSizeInBytes(AppConstants.MULTIPART_PART_SIZE_BYTES)
+             .thresholdInBytes(AppConstants.MULTIPART_THRESHOLD_BYTES)
              .build();
        }
-       return s3Client;
+       if (!AppConstants.S3_ASYNC_CLIENT_JAVA.equalsIgnoreCase(AppConstants.S3_ASYNC_CLIENT)) {
+          throw new IllegalStateException("지원하지 않는 S3_ASYNC_CLIENT 값: " + AppConstants.S3_ASYNC_CLIENT);
+       }
+       return S3AsyncClient.builder()
+          .region(AppConstants.AWS_REGION)
+          .credentialsProvider(createCredentialsProvider())
+          .multipartEnabled(true)
+          .multipartConfiguration(MultipartConfiguration.builder()
+             .thresholdInBytes(AppConstants.MULTIPART_THRESHOLD_BYTES)
+             .minimumPartSizeInBytes(AppConstants.MULTIPART_PART_SIZE_BYTES)
+             .build())
+          .build();
     }
 
     /**
-     * 람다 함수 호출이 끝나면 S3 리소스 반환하는 메서드
+     * Lambda 안에서는 런타임이 주는 자격증명만, 로컬에서는 기본 공급자 체인(프로필 등)을 사용
+     * SnapStart 함수는 AWS_ACCESS_KEY_ID 같은 환경변수 없이 컨테이너 엔드포인트로 자격증명을 주므로,
+     * 엔드포인트 주소가 있으면 ContainerCredentialsProvider를 씁니다. (afterRestore에서 다시 만드는 클라이언트도 같음)
      */
-    public static void cleanup() {
+    private static AwsCredentialsProvider createCredentialsProvider() {
+       if (AppConstants.LAMBDA_FUNCTION_NAME != null) {
+          if (AppConstants.AWS_CONTAINER_CREDENTIALS_FULL_URI != null) {
+             return ContainerCredentialsProvider.builder().build();
+          }
+          return EnvironmentVariableCredentialsProvider.create();
+       }
+       return DefaultCredentialsProvider.create();
+    }
+
+    /**
+     * S3 클라이언트를 닫는 메서드
+     * SnapStart 스냅샷에 열린 연결이 남지 않도록 체크포인트 직전에 호출합니다. 이후 getS3Client는 새 클라이언트를 만듭니다.
+     */
+    public static synchronized void cleanup() {
        if (s3Client != null) {
           s3Client.close();
           s3Client = null;
        }
+       if (s3AsyncClient != null) {
+          s3AsyncClient.close();
+          s3AsyncClient = null;
+       }
     }
 }
@@ -0,0 +1,46 @@
+package com.bokkurin.trackery.config;
+
+import com.bokkurin.trackery.image.BufferPool;
+
+/**
+ * packageName    : com.bokkurin.trackery.config
+ * fileName       : BufferPoolConfiguration
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 디코딩/회전/리사이즈에 쓰는 래스터 버퍼 풀 설정을 담당하는 Configuration 클래스
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+public class BufferPoolConfiguration {
+	private static BufferPool bufferPool;
+
+	private BufferPoolConfiguration() {
+	}
+
+	/**
+	 * 프로세스 전체에서 함께 쓰는 버퍼 풀 반환
+	 * 워밍 컨테이너에서는 호출 간에 재사용합니다.
+	 * @return 래스터 버퍼 풀
+	 */
+	public static synchronized BufferPool getBufferPool() {
+		if (bufferPool == null) {
+			bufferPool = new BufferPool(getBudgetBytes());
+		}
+		return bufferPool;
+	}
+
+	/**
+	 * 풀에 보관할 최대 크기 계산
+	 * BUFFER_POOL_BUDGET_MB 환경변수가 있으면 그 값을, 없으면 람다 메모리의 1/4을 사용합니다.
+	 * 나머지는 처리 중인 레코드의 작업 메모리와 인코딩 결과, SDK 버퍼 몫으로 남겨 둡니다.
+	 * @return 예산 (바이트)
+	 */
+	static long getBudgetBytes() {
+		long budgetMb = AppConstants.BUFFER_POOL_BUDGET_MB != null && !AppConstants.BUFFER_POOL_BUDGET_MB.isBlank()
+			? Long.parseLong(AppConstants.BUFFER_POOL_BUDGET_MB.trim())
+			: ExecutorConfiguration.getMemorySizeMb() / AppConstants.BUFFER_POOL_MEMORY_DIVISOR;
+		return Math.max(0, budgetMb) * 1024 * 1024;
+	}
+}
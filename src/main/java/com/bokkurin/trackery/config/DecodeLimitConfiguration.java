@@ -0,0 +1,43 @@
+package com.bokkurin.trackery.config;
+
+/**
+ * packageName    : com.bokkurin.trackery.config
+ * fileName       : DecodeLimitConfiguration
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 디코딩 전 원본 크기 제한(픽셀 예산)을 담당하는 Configuration 클래스
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		MAX_DECODE_MEGAPIXELS를 설정했을 때만 축소 디코딩 (기본은 원본 해상도 유지)
+ */
+public class DecodeLimitConfiguration {
+	private static final long PIXELS_PER_MEGAPIXEL = 1_000_000L;
+
+	private DecodeLimitConfiguration() {
+	}
+
+	/**
+	 * 한 번에 전체를 디코딩해도 되는 최대 픽셀 수
+	 * MAX_DECODE_MEGAPIXELS 환경변수가 있을 때만 그 값으로 제한하고, 없으면 제한하지 않습니다.
+	 * 축소 디코딩하면 원본 WebP도 원본 해상도가 아니게 되므로, 설정 없이 일반 사진(48MP 등)의 화질이 떨어지지 않도록
+	 * 기본값을 메모리로 계산하지 않습니다. 원본 크기 상한은 MAX_SOURCE_MEGAPIXELS가 따로 막습니다.
+	 * @return 픽셀 예산 (1 이상, 설정이 없으면 Long.MAX_VALUE)
+	 */
+	public static long getMaxDecodePixels() {
+		if (AppConstants.MAX_DECODE_MEGAPIXELS == null || AppConstants.MAX_DECODE_MEGAPIXELS.isBlank()) {
+			return Long.MAX_VALUE;
+		}
+		return Math.max(1, (long)(Double.parseDouble(AppConstants.MAX_DECODE_MEGAPIXELS.trim())
+			* PIXELS_PER_MEGAPIXEL));
+	}
+
+	/**
+	 * 축소 디코딩으로도 처리하지 않는 원본 최대 픽셀 수
+	 * @return 원본 최대 픽셀 수
+	 */
+	public static long getMaxSourcePixels() {
+		return AppConstants.MAX_SOURCE_MEGAPIXELS * PIXELS_PER_MEGAPIXEL;
+	}
+}
@@ -0,0 +1,85 @@
+package com.bokkurin.trackery.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * packageName    : com.bokkurin.trackery.config
+ * fileName       : ExecutorConfiguration
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 레코드 병렬 처리에 쓰는 스레드 풀 설정을 담당하는 Configuration 클래스
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		메모리 크기 계산을 버퍼 풀 설정과 공유
+ */
+public class ExecutorConfiguration {
+	private static ExecutorService recordExecutor;
+	private static ExecutorService uploadExecutor;
+
+	private ExecutorConfiguration() {
+	}
+
+	/**
+	 * 레코드 단위 작업(다운로드, 디코딩, 인코딩)을 실행하는 스레드 풀 반환
+	 * 워밍 컨테이너에서는 호출 간에 재사용합니다.
+	 * @return 레코드 처리용 스레드 풀
+	 */
+	public static synchronized ExecutorService getRecordExecutor() {
+		if (recordExecutor == null) {
+			recordExecutor = Executors.newFixedThreadPool(getRecordConcurrency(), daemonThreadFactory("record"));
+		}
+		return recordExecutor;
+	}
+
+	/**
+	 * S3 업로드를 실행하는 스레드 풀 반환
+	 * 레코드 하나당 원본/썸네일 두 개를 동시에 올리기 때문에 레코드 풀의 두 배로 잡습니다.
+	 * @return 업로드용 스레드 풀
+	 */
+	public static synchronized ExecutorService getUploadExecutor() {
+		if (uploadExecutor == null) {
+			uploadExecutor = Executors.newFixedThreadPool(getRecordConcurrency() * 2, daemonThreadFactory("upload"));
+		}
+		return uploadExecutor;
+	}
+
+	/**
+	 * 동시에 처리할 레코드 수 계산
+	 * RECORD_CONCURRENCY 환경변수가 있으면 그 값을, 없으면 코어 수와 람다 메모리 중 작은 쪽에 맞춥니다.
+	 * S3 I/O 대기 시간을 겹치기 위해 코어당 두 개까지 허용합니다.
+	 * @return 동시 처리 레코드 수 (1 이상)
+	 */
+	public static int getRecordConcurrency() {
+		if (AppConstants.RECORD_CONCURRENCY != null && !AppConstants.RECORD_CONCURRENCY.isBlank()) {
+			return Math.max(1, Integer.parseInt(AppConstants.RECORD_CONCURRENCY.trim()));
+		}
+
+		int byCores = Runtime.getRuntime().availableProcessors() * 2;
+		int byMemory = (int)(getMemorySizeMb() / AppConstants.MEMORY_PER_RECORD_MB);
+		return Math.max(1, Math.min(byCores, byMemory));
+	}
+
+	/**
+	 * 람다에 설정된 메모리 크기(MB), 람다 밖에서는 JVM 최대 힙 크기를 사용
+	 */
+	static long getMemorySizeMb() {
+		if (AppConstants.LAMBDA_MEMORY_SIZE != null && !AppConstants.LAMBDA_MEMORY_SIZE.isBlank()) {
+			return Long.parseLong(AppConstants.LAMBDA_MEMORY_SIZE.trim());
+		}
+		return Runtime.getRuntime().maxMemory() / (1024 * 1024);
+	}
+
+	private static ThreadFactory daemonThreadFactory(String name) {
+		AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, name + "-worker-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
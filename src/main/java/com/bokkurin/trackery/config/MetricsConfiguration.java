@@ -0,0 +1,40 @@
+package com.bokkurin.trackery.config;
+
+import com.bokkurin.trackery.metrics.MetricsEmitter;
+
+/**
+ * packageName    : com.bokkurin.trackery.config
+ * fileName       : MetricsConfiguration
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : EMF 지표 출력 설정을 담당하는 Configuration 클래스
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+public class MetricsConfiguration {
+	private static final String LOCAL_FUNCTION_NAME = "local";
+
+	private static MetricsEmitter metricsEmitter;
+
+	private MetricsConfiguration() {
+	}
+
+	/**
+	 * 표준 출력으로 EMF 줄을 쓰는 지표 출력기 반환 (METRICS_ENABLED=false면 출력하지 않음)
+	 * @return 지표 출력기
+	 */
+	public static synchronized MetricsEmitter getMetricsEmitter() {
+		if (metricsEmitter == null) {
+			metricsEmitter = AppConstants.METRICS_ENABLED
+				? new MetricsEmitter(System.out::println, AppConstants.METRICS_NAMESPACE, getFunctionName())
+				: MetricsEmitter.disabled();
+		}
+		return metricsEmitter;
+	}
+
+	private static String getFunctionName() {
+		return AppConstants.LAMBDA_FUNCTION_NAME != null ? AppConstants.LAMBDA_FUNCTION_NAME : LOCAL_FUNCTION_NAME;
+	}
+}
@@ -0,0 +1,61 @@
+package com.bokkurin.trackery.config;
+
+import java.util.List;
+
+import com.bokkurin.trackery.model.RenditionProfile;
+import com.bokkurin.trackery.model.WebPEncodeSettings;
+
+/**
+ * packageName    : com.bokkurin.trackery.config
+ * fileName       : RenditionConfiguration
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 생성할 렌디션 목록 설정을 담당하는 Configuration 클래스
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		원본 WebP 인코더 설정 추가
+ */
+public class RenditionConfiguration {
+	/**
+	 * RENDITION_PROFILES가 없을 때 사용하는 기본값 (기존 300px 썸네일)
+	 */
+	public static final RenditionProfile DEFAULT_THUMBNAIL = new RenditionProfile(
+		"thumbnail", AppConstants.THUMBNAIL_SIZE, RenditionProfile.FitMode.SHORT_EDGE,
+		WebPEncodeSettings.DEFAULT, "-thumbnail", RenditionProfile.DEFAULT_RESIZE_MODE);
+
+	private static List<RenditionProfile> profiles;
+	private static WebPEncodeSettings originalEncoding;
+
+	private RenditionConfiguration() {
+	}
+
+	/**
+	 * 환경변수 RENDITION_PROFILES에서 렌디션 목록을 읽어 반환
+	 * @return 렌디션 설정 목록
+	 */
+	public static synchronized List<RenditionProfile> getProfiles() {
+		if (profiles == null) {
+			String spec = AppConstants.RENDITION_PROFILES;
+			profiles = spec == null || spec.isBlank()
+				? List.of(DEFAULT_THUMBNAIL)
+				: List.copyOf(RenditionProfile.parseAll(spec));
+		}
+		return profiles;
+	}
+
+	/**
+	 * 환경변수 ORIGINAL_WEBP_ENCODING에서 원본 WebP 인코더 설정을 읽어 반환
+	 * @return 원본 인코더 설정 (없으면 손실 0.75, method 4)
+	 */
+	public static synchronized WebPEncodeSettings getOriginalEncoding() {
+		if (originalEncoding == null) {
+			String spec = AppConstants.ORIGINAL_WEBP_ENCODING;
+			originalEncoding = spec == null || spec.isBlank()
+				? WebPEncodeSettings.DEFAULT
+				: WebPEncodeSettings.parse(spec);
+		}
+		return originalEncoding;
+	}
+}
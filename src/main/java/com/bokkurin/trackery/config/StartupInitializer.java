@@ -0,0 +1,137 @@
+package com.bokkurin.trackery.config;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+import javax.imageio.spi.IIORegistry;
+
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.bokkurin.trackery.metrics.MetricsEmitter;
+import com.bokkurin.trackery.model.DecodedImage;
+import com.bokkurin.trackery.model.RenditionProfile;
+import com.bokkurin.trackery.service.ImageProcessService;
+import com.luciad.imageio.webp.WebPImageReaderSpi;
+import com.luciad.imageio.webp.WebPImageWriterSpi;
+
+/**
+ * packageName    : com.bokkurin.trackery.config
+ * fileName       : StartupInitializer
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 콜드 스타트 비용을 첫 요청 대신 초기화 단계에서 치르도록 미리 준비하는 클래스
+ *                  S3 클라이언트 생성, WebP 플러그인 등록, 코덱 예열(네이티브 libwebp 로드, 클래스 로딩)을 하고
+ *                  SnapStart/CRaC 체크포인트 전후로 S3 클라이언트를 닫고 다시 만듭니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		비동기 S3 클라이언트도 함께 생성/정리
+ * 26. 10. 18.		durururuk		복원 후 첫 호출을 콜드 스타트 지표로 표시
+ */
+public final class StartupInitializer implements Resource {
+	private static final Logger logger = LoggerFactory.getLogger(StartupInitializer.class);
+
+	private static final int WARM_UP_SIZE = 64;
+	private static final String[] WARM_UP_FORMATS = {"jpg", "png", AppConstants.OUTPUT_FORMAT};
+
+	/**
+	 * CRaC 컨텍스트는 리소스를 약한 참조로 들고 있으므로 여기서 강한 참조를 유지해야 합니다.
+	 */
+	static final StartupInitializer INSTANCE = new StartupInitializer();
+	private static boolean initialized;
+
+	private StartupInitializer() {
+	}
+
+	/**
+	 * 초기화 단계에서 한 번만 실행하는 준비 작업
+	 * 여러 핸들러가 호출해도 한 번만 실행됩니다. 예열이 실패해도 요청 처리 시점에 다시 시도되므로 예외를 던지지 않습니다.
+	 */
+	public static synchronized void initialize() {
+		if (initialized) {
+			return;
+		}
+		initialized = true;
+
+		long startTime = System.nanoTime();
+		registerWebPPlugins();
+		createS3Clients();
+		warmUpCodecs();
+		Core.getGlobalContext().register(INSTANCE);
+
+		logger.info("초기화 완료 - {} ms", (System.nanoTime() - startTime) / 1_000_000);
+	}
+
+	/**
+	 * 요청 처리에 쓸 S3 클라이언트를 만듦 (비동기 클라이언트는 설정된 경우에만)
+	 */
+	private static void createS3Clients() {
+		AwsConfiguration.getS3Client();
+		if (AwsConfiguration.isS3AsyncClientEnabled()) {
+			AwsConfiguration.getS3AsyncClient();
+		}
+	}
+
+	/**
+	 * 클래스패스 SPI 탐색 결과와 관계없이 WebP reader/writer를 명시적으로 등록
+	 */
+	private static void registerWebPPlugins() {
+		IIORegistry registry = IIORegistry.getDefaultInstance();
+		registry.registerServiceProvider(new WebPImageReaderSpi());
+		registry.registerServiceProvider(new WebPImageWriterSpi());
+	}
+
+	/**
+	 * 작은 이미지로 실제 처리 경로(디코딩, 방향 보정, 리사이즈, WebP 인코딩)를 한 번씩 실행
+	 * 네이티브 libwebp 로드와 관련 클래스 로딩이 첫 요청에서 일어나지 않게 합니다.
+	 */
+	private static void warmUpCodecs() {
+		ImageProcessService imageProcessService = new ImageProcessService();
+		List<RenditionProfile> profiles = RenditionConfiguration.getProfiles();
+		BufferedImage image = new BufferedImage(WARM_UP_SIZE, WARM_UP_SIZE, BufferedImage.TYPE_INT_RGB);
+
+		for (String format : WARM_UP_FORMATS) {
+			try {
+				ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+				ImageIO.write(image, format, outputStream);
+
+				DecodedImage decodedImage = imageProcessService.decodeImage(
+					new ByteArrayInputStream(outputStream.toByteArray()));
+				imageProcessService.createRenditions(decodedImage.image(), profiles, rendition -> {
+				});
+				imageProcessService.encodeOriginal(decodedImage.image());
+			} catch (IOException | RuntimeException e) {
+				logger.warn("코덱 예열 실패 - 포맷: {}", format, e);
+			}
+		}
+	}
+
+	/**
+	 * 스냅샷에 열린 연결이 남지 않도록 S3 클라이언트를 닫음
+	 */
+	@Override
+	public void beforeCheckpoint(Context<? extends Resource> context) {
+		logger.info("체크포인트 전 S3 클라이언트 정리");
+		AwsConfiguration.cleanup();
+	}
+
+	/**
+	 * 복원 직후 S3 클라이언트를 다시 만들어 첫 요청에서 생성 비용이 들지 않게 함
+	 * 스냅샷은 호출 전에 찍히지만 복원된 컨테이너마다 첫 호출을 콜드 스타트로 집계하도록 다시 표시합니다.
+	 */
+	@Override
+	public void afterRestore(Context<? extends Resource> context) {
+		logger.info("복원 후 S3 클라이언트 재생성");
+		createS3Clients();
+		MetricsEmitter.resetColdStart();
+	}
+}
@@ -0,0 +1,21 @@
+package com.bokkurin.trackery.handler;
+
+import java.util.List;
+
+/**
+ * packageName    : com.bokkurin.trackery.handler
+ * fileName       : DecodedEvent
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 람다 이벤트 하나를 해석한 결과
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ *
+ * @param records 처리할 대상 (이벤트 순서 그대로)
+ * @param failedMessageIds 본문을 해석하지 못한 SQS 메시지 ID
+ * @param skippedRecords 접두사/확장자가 맞지 않아 제외한 대상 수
+ */
+record DecodedEvent(List<EventRecord> records, List<String> failedMessageIds, int skippedRecords) {
+}
@@ -0,0 +1,21 @@
+package com.bokkurin.trackery.handler;
+
+import com.bokkurin.trackery.model.S3ObjectTarget;
+
+/**
+ * packageName    : com.bokkurin.trackery.handler
+ * fileName       : EventRecord
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 이벤트에서 꺼낸 처리 대상 하나와 그 대상이 들어 있던 SQS 메시지
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		객체 키로 대신하던 부분 실패 식별자 제거 (SQS가 아닌 실패는 예외로 알림)
+ *
+ * @param target 처리할 S3 객체 (키는 URL 디코딩된 값)
+ * @param messageId SQS로 전달된 경우 메시지 ID, S3/EventBridge에서 바로 호출된 경우 null
+ */
+record EventRecord(S3ObjectTarget target, String messageId) {
+}
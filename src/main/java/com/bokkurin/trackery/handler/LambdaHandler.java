@@ -8,11 +8,21 @@ import org.slf4j.LoggerFactory;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.bokkurin.trackery.config.AppConstants;
 import com.bokkurin.trackery.config.AwsConfiguration;
+import com.bokkurin.trackery.config.ExecutorConfiguration;
+import com.bokkurin.trackery.config.MetricsConfiguration;
+import com.bokkurin.trackery.config.RenditionConfiguration;
+import com.bokkurin.trackery.config.StartupInitializer;
+import com.bokkurin.trackery.metrics.MetricsEmitter;
+import com.bokkurin.trackery.model.RecordProcessResult;
+import com.bokkurin.trackery.model.S3ObjectTarget;
+import com.bokkurin.trackery.service.ExecutorImageUploader;
 import com.bokkurin.trackery.service.ImageProcessService;
+import com.bokkurin.trackery.service.ImageRecordExecutor;
+import com.bokkurin.trackery.service.ImageUploader;
 import com.bokkurin.trackery.service.S3ActionService;
-
-import software.amazon.awssdk.services.s3.S3Client;
+import com.bokkurin.trackery.service.S3AsyncActionService;
 
 /**
  * packageName    : com.bokkurin.trackery.handler
@@ -20,62 +30,114 @@ import software.amazon.awssdk.services.s3.S3Client;
  * author         : durururuk
  * date           : 25. 6. 26.
  * description    : 람다 함수를 실행할 수 있게 하는 람다 핸들러
+ *                  S3 이벤트 알림으로 직접(비동기) 호출되므로 레코드별 부분 실패 응답이 없고,
+ *                  실패한 레코드가 있으면 호출 전체를 실패시킵니다. (SQS를 거치면 SqsLambdaHandler 사용)
  * ===========================================================
  * DATE              AUTHOR             NOTE
  * -----------------------------------------------------------
  * 25. 6. 26.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		썸네일을 WebP 결과물 재디코딩 대신 한 번의 디코딩으로 생성
+ * 26. 10. 18.		durururuk		레코드를 ImageRecordExecutor로 병렬 처리하고 실패를 레코드별로 집계
+ * 26. 10. 18.		durururuk		배치 전체 실패 대신 실패한 키 목록(batchItemFailures) 반환
+ * 26. 10. 18.		durururuk		RENDITION_PROFILES 렌디션 설정 연결
+ * 26. 10. 18.		durururuk		초기화 단계에서 StartupInitializer로 클라이언트 생성과 코덱 예열 실행
+ * 26. 10. 18.		durururuk		S3_ASYNC_CLIENT 설정 시 비동기 S3 클라이언트로 업로드
+ * 26. 10. 18.		durururuk		호출 단위 지표(콜드 스타트, 레코드/실패 수, 소요 시간)를 EMF로 출력
+ * 26. 10. 18.		durururuk		키 URL 디코딩, SOURCE_PREFIX/확장자가 맞지 않는 키 제외
+ * 26. 10. 18.		durururuk		S3 직접 호출은 응답을 보지 않으므로 실패가 있으면 예외를 던져 비동기 재시도/DLQ로 넘김
+ * 26. 10. 18.		durururuk		batchItemFailures 응답 제거, 성공 시 SUCCESS 반환
  */
 public class LambdaHandler implements RequestHandler<Map<String, Object>, String> {
 	private static final Logger logger = LoggerFactory.getLogger(LambdaHandler.class);
 
-	private final S3ActionService s3ActionService;
-	private final ImageProcessService imageProcessService;
+	private final ImageRecordExecutor imageRecordExecutor;
+	private final MetricsEmitter metricsEmitter;
+	private final SourceKeyFilter keyFilter = SourceKeyFilter.fromEnvironment();
 
 	public LambdaHandler() {
-		S3Client s3Client = AwsConfiguration.getS3Client();
-		this.s3ActionService = new S3ActionService(s3Client);
-		this.imageProcessService = new ImageProcessService();
+		this(createImageRecordExecutor());
 	}
 
-	@Override
-	public String handleRequest(Map<String, Object> input, Context context) {
-		logger.info("이미지 후처리 실행");
-
-		try {
-			@SuppressWarnings("unchecked")
-			List<Map<String, Object>> notificationRecords = (List<Map<String, Object>>)input.get("Records");
+	public LambdaHandler(ImageRecordExecutor imageRecordExecutor) {
+		this(imageRecordExecutor, MetricsConfiguration.getMetricsEmitter());
+	}
 
-			for (Map<String, Object> notificationRecord : notificationRecords) {
-				@SuppressWarnings("unchecked")
-				Map<String, Object> s3 = (Map<String, Object>)notificationRecord.get("s3");
+	public LambdaHandler(ImageRecordExecutor imageRecordExecutor, MetricsEmitter metricsEmitter) {
+		this.imageRecordExecutor = imageRecordExecutor;
+		this.metricsEmitter = metricsEmitter;
+	}
 
-				@SuppressWarnings("unchecked")
-				Map<String, Object> bucket = (Map<String, Object>)s3.get("bucket");
-				String bucketName = (String)bucket.get("name");
+	/**
+	 * 람다 환경 설정(S3 클라이언트, 스레드 풀)으로 레코드 실행기를 만드는 메서드
+	 * 핸들러 생성은 Lambda 초기화 단계에서 일어나므로 여기서 콜드 스타트 준비 작업을 함께 실행합니다.
+	 */
+	static ImageRecordExecutor createImageRecordExecutor() {
+		StartupInitializer.initialize();
+		S3ActionService s3ActionService =
+			new S3ActionService(AwsConfiguration::getS3Client, AppConstants.DESTINATION_BUCKET);
+		return new ImageRecordExecutor(
+			s3ActionService,
+			createImageUploader(s3ActionService),
+			new ImageProcessService(),
+			RenditionConfiguration.getProfiles(),
+			ExecutorConfiguration.getRecordExecutor()
+		);
+	}
 
-				@SuppressWarnings("unchecked")
-				Map<String, Object> object = (Map<String, Object>)s3.get("object");
-				String objectKey = (String)object.get("key");
+	/**
+	 * S3_ASYNC_CLIENT가 설정되어 있으면 비동기 클라이언트(큰 결과물은 멀티파트)로,
+	 * 아니면 동기 클라이언트를 업로드 스레드 풀에서 실행해서 업로드
+	 */
+	private static ImageUploader createImageUploader(S3ActionService s3ActionService) {
+		if (AwsConfiguration.isS3AsyncClientEnabled()) {
+			return new S3AsyncActionService(AwsConfiguration::getS3AsyncClient, AppConstants.DESTINATION_BUCKET);
+		}
+		return new ExecutorImageUploader(s3ActionService, ExecutorConfiguration.getUploadExecutor());
+	}
 
-				logger.info("처리할 파일 - 버킷: {}, 키: {}", bucketName, objectKey);
+	/**
+	 * S3 이벤트를 처리하고, 실패한 레코드가 있으면 호출 전체를 실패시킴
+	 * S3 알림은 람다를 비동기로 호출하고 반환값을 보지 않으므로, 실패를 응답에만 담으면 그대로 사라집니다.
+	 * 예외를 던져야 람다 비동기 재시도와 DLQ/실패 대상으로 넘어가고, 재시도 때 이미 성공한 레코드는 원본 ETag 확인으로 건너뜁니다.
+	 * 레코드별 부분 실패 응답은 SQS를 거치는 SqsLambdaHandler, StreamLambdaHandler에서만 사용합니다.
+	 * @param input 람다 런타임이 넘겨준 S3 이벤트
+	 * @param context 람다 컨텍스트
+	 * @return 모든 레코드가 성공하면 SUCCESS
+	 * @throws IllegalStateException 실패한 레코드가 있을 때 (실패 원인은 suppressed로 붙음)
+	 */
+	@Override
+	public String handleRequest(Map<String, Object> input, Context context) {
+		logger.info("이미지 후처리 실행");
+		boolean coldStart = MetricsEmitter.markInvocation();
+		long startNanos = System.nanoTime();
 
-				byte[] imageBytes = s3ActionService.downloadImage(bucketName, objectKey);
-				logger.info("다운로드 성공 - 파일 크기: {} bytes", imageBytes.length);
+		List<S3ObjectTarget> targets = S3EventRecordParser.parse(input, keyFilter);
+		List<RecordProcessResult> results = imageRecordExecutor.processAll(targets);
 
-				//이미지 처리 로직
-				byte[] convertedWebPBytes = imageProcessService.convertToWebP(imageBytes);
-				byte[] thumbnailBytes = imageProcessService.createThumbnail(convertedWebPBytes);
+		List<RecordProcessResult> failures = results.stream()
+			.filter(result -> !result.isSuccess())
+			.toList();
 
-				//B 버킷에 업로드
-				s3ActionService.uploadOriginalWebP(objectKey, convertedWebPBytes);
-				s3ActionService.uploadThumbnail(objectKey, thumbnailBytes);
-				logger.info("이미지 업로드 완료");
-			}
+		if (!failures.isEmpty()) {
+			logger.error("이미지 처리 실패 - {}/{}건", failures.size(), results.size());
+		}
+		metricsEmitter.emitInvocation(coldStart, results.size(), failures.size(), System.nanoTime() - startNanos);
 
-			return "SUCCESS";
-		} catch (Exception e) {
-			logger.error("이미지 처리 실패", e);
-			throw new RuntimeException("Lambda 실행 실패", e);
+		if (!failures.isEmpty()) {
+			throw createFailure(failures);
 		}
+		return "SUCCESS";
+	}
+
+	/**
+	 * 비동기 호출(S3 알림, EventBridge)의 실패를 알릴 예외
+	 * 메시지에 실패한 키를 담고, 레코드별 실패 원인은 suppressed로 붙입니다.
+	 * @param failures 실패한 레코드 결과
+	 */
+	static IllegalStateException createFailure(List<RecordProcessResult> failures) {
+		IllegalStateException exception = new IllegalStateException("Lambda 실행 실패 - 실패한 키: "
+			+ failures.stream().map(result -> result.target().objectKey()).toList());
+		failures.forEach(result -> exception.addSuppressed(result.error()));
+		return exception;
 	}
 }
@@ -0,0 +1,226 @@
+package com.bokkurin.trackery.handler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.bokkurin.trackery.model.S3ObjectTarget;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * packageName    : com.bokkurin.trackery.handler
+ * fileName       : S3EventDecoder
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 람다 이벤트 JSON을 스트리밍으로 읽어 처리 대상 목록을 만드는 클래스
+ *                  Map 트리를 만들지 않고 필요한 필드(bucket.name, object.key, eTag, messageId, body)만 읽고
+ *                  나머지 필드는 건너뜁니다. 아래 세 가지 형태를 받습니다.
+ *                  - S3 이벤트 알림 (Records[].s3)
+ *                  - SQS로 전달된 S3 이벤트 알림 또는 EventBridge 이벤트 (Records[].body)
+ *                  - EventBridge "Object Created" 이벤트 (detail.bucket, detail.object)
+ *                  S3 이벤트 알림의 키는 URL 인코딩(공백은 '+')되어 오므로 디코딩하고, EventBridge 키는 그대로 씁니다.
+ *                  SourceKeyFilter에 맞지 않는 키는 S3를 호출하기 전에 여기서 제외합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+final class S3EventDecoder {
+	private static final Logger logger = LoggerFactory.getLogger(S3EventDecoder.class);
+	private static final JsonFactory jsonFactory = new JsonFactory();
+	private static final String OBJECT_CREATED = "Object Created";
+
+	private final SourceKeyFilter keyFilter;
+
+	S3EventDecoder(SourceKeyFilter keyFilter) {
+		this.keyFilter = keyFilter;
+	}
+
+	/**
+	 * 람다 이벤트 하나를 읽음
+	 * SQS 메시지 본문을 해석하지 못하면 해당 messageId만 실패로 남기고 나머지 메시지는 계속 읽습니다.
+	 * @param inputStream 람다 런타임이 넘겨준 이벤트
+	 * @throws IOException 이벤트 자체가 올바른 JSON이 아닐 때
+	 */
+	DecodedEvent decode(InputStream inputStream) throws IOException {
+		Accumulator accumulator = new Accumulator();
+		try (JsonParser parser = jsonFactory.createParser(inputStream)) {
+			readEvent(parser, null, accumulator);
+		}
+		return accumulator.toDecodedEvent();
+	}
+
+	/**
+	 * SQS 메시지 본문 하나(S3 이벤트 알림 또는 EventBridge 이벤트)를 읽음
+	 * @throws IOException 본문이 올바른 JSON이 아닐 때
+	 */
+	DecodedEvent decodeBody(String body, String messageId) throws IOException {
+		Accumulator accumulator = new Accumulator();
+		try (JsonParser parser = jsonFactory.createParser(body)) {
+			readEvent(parser, messageId, accumulator);
+		}
+		return accumulator.toDecodedEvent();
+	}
+
+	/**
+	 * S3 이벤트 알림의 키를 디코딩 (application/x-www-form-urlencoded, 공백은 '+')
+	 * 잘못된 % 인코딩이면 받은 키를 그대로 씁니다.
+	 */
+	static String decodeKey(String key) {
+		if (key.indexOf('%') < 0 && key.indexOf('+') < 0) {
+			return key;
+		}
+		try {
+			return URLDecoder.decode(key, StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			logger.warn("키 URL 디코딩 실패, 원래 키 사용 - 키: {}", key);
+			return key;
+		}
+	}
+
+	private void readEvent(JsonParser parser, String messageId, Accumulator accumulator) throws IOException {
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			throw new JsonParseException(parser, "이벤트가 JSON 객체가 아닙니다.");
+		}
+
+		String detailType = null;
+		S3ObjectTarget detail = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.currentName();
+			JsonToken valueToken = parser.nextToken();
+			switch (fieldName) {
+				case "Records" -> readRecords(parser, valueToken, messageId, accumulator);
+				case "detail-type" -> detailType = parser.getValueAsString();
+				case "detail" -> detail = readBucketAndObject(parser, valueToken, "etag");
+				default -> parser.skipChildren();
+			}
+		}
+
+		if (detail != null && OBJECT_CREATED.equals(detailType)) {
+			accumulator.add(detail, messageId);
+		}
+	}
+
+	private void readRecords(JsonParser parser, JsonToken valueToken, String messageId, Accumulator accumulator)
+		throws IOException {
+		if (valueToken != JsonToken.START_ARRAY) {
+			parser.skipChildren();
+			return;
+		}
+
+		while (parser.nextToken() == JsonToken.START_OBJECT) {
+			S3ObjectTarget s3 = null;
+			String recordMessageId = null;
+			String body = null;
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String fieldName = parser.currentName();
+				JsonToken recordToken = parser.nextToken();
+				switch (fieldName) {
+					case "s3" -> s3 = readBucketAndObject(parser, recordToken, "eTag");
+					case "messageId" -> recordMessageId = parser.getValueAsString();
+					case "body" -> body = parser.getValueAsString();
+					default -> parser.skipChildren();
+				}
+			}
+
+			if (s3 != null) {
+				accumulator.add(new S3ObjectTarget(s3.bucketName(), decodeKey(s3.objectKey()), s3.eTag()),
+					messageId);
+			} else if (body != null) {
+				readMessageBody(body, recordMessageId, accumulator);
+			}
+		}
+	}
+
+	/**
+	 * SQS 메시지 본문을 따로 읽고, 본문 전체를 읽은 뒤에만 대상에 추가 (중간에 실패하면 일부만 처리되지 않도록)
+	 */
+	private void readMessageBody(String body, String messageId, Accumulator accumulator) {
+		try {
+			DecodedEvent decodedBody = decodeBody(body, messageId);
+			accumulator.records.addAll(decodedBody.records());
+			accumulator.skippedRecords += decodedBody.skippedRecords();
+		} catch (IOException e) {
+			logger.error("SQS 메시지 파싱 실패 - messageId: {}", messageId, e);
+			accumulator.failedMessageIds.add(messageId);
+		}
+	}
+
+	/**
+	 * { "bucket": { "name" }, "object": { "key", eTag } } 형태를 읽음 (S3 이벤트의 s3, EventBridge의 detail 공통)
+	 * @param eTagField ETag 필드 이름 (S3 이벤트는 eTag, EventBridge는 etag)
+	 * @return 버킷이나 키가 없으면 null
+	 */
+	private static S3ObjectTarget readBucketAndObject(JsonParser parser, JsonToken valueToken, String eTagField)
+		throws IOException {
+		if (valueToken != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			return null;
+		}
+
+		String bucketName = null;
+		String objectKey = null;
+		String eTag = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.currentName();
+			JsonToken fieldToken = parser.nextToken();
+			if ("bucket".equals(fieldName) && fieldToken == JsonToken.START_OBJECT) {
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String bucketField = parser.currentName();
+					parser.nextToken();
+					if ("name".equals(bucketField)) {
+						bucketName = parser.getValueAsString();
+					} else {
+						parser.skipChildren();
+					}
+				}
+			} else if ("object".equals(fieldName) && fieldToken == JsonToken.START_OBJECT) {
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String objectField = parser.currentName();
+					parser.nextToken();
+					if ("key".equals(objectField)) {
+						objectKey = parser.getValueAsString();
+					} else if (eTagField.equals(objectField)) {
+						eTag = parser.getValueAsString();
+					} else {
+						parser.skipChildren();
+					}
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+
+		if (bucketName == null || objectKey == null) {
+			return null;
+		}
+		return new S3ObjectTarget(bucketName, objectKey, eTag);
+	}
+
+	private final class Accumulator {
+		private final List<EventRecord> records = new ArrayList<>();
+		private final List<String> failedMessageIds = new ArrayList<>();
+		private int skippedRecords;
+
+		private void add(S3ObjectTarget target, String messageId) {
+			if (keyFilter.accepts(target.objectKey())) {
+				records.add(new EventRecord(target, messageId));
+			} else {
+				skippedRecords++;
+			}
+		}
+
+		private DecodedEvent toDecodedEvent() {
+			return new DecodedEvent(records, failedMessageIds, skippedRecords);
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package com.bokkurin.trackery.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.bokkurin.trackery.model.S3ObjectTarget;
+
+/**
+ * packageName    : com.bokkurin.trackery.handler
+ * fileName       : S3EventRecordParser
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : S3 이벤트(Map 형태)에서 처리할 버킷/키 목록을 꺼내는 클래스
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성 (LambdaHandler에서 분리)
+ * 26. 10. 18.		durururuk		중복 처리 확인용 object.eTag 추출
+ * 26. 10. 18.		durururuk		키 URL 디코딩, 처리 대상이 아닌 키 제외
+ */
+final class S3EventRecordParser {
+	private S3EventRecordParser() {
+	}
+
+	/**
+	 * S3 이벤트의 Records에서 처리할 버킷/키/ETag 목록을 꺼내는 메서드
+	 * s3:TestEvent처럼 Records가 없는 이벤트는 빈 목록을 반환합니다.
+	 * 키는 URL 디코딩하고, keyFilter에 맞지 않는 키는 제외합니다.
+	 * @param event S3 이벤트
+	 * @param keyFilter 처리 대상 키 필터
+	 * @return 처리할 S3 객체 목록
+	 */
+	static List<S3ObjectTarget> parse(Map<String, Object> event, SourceKeyFilter keyFilter) {
+		@SuppressWarnings("unchecked")
+		List<Map<String, Object>> notificationRecords = (List<Map<String, Object>>)event.get("Records");
+		if (notificationRecords == null) {
+			return List.of();
+		}
+
+		List<S3ObjectTarget> targets = new ArrayList<>(notificationRecords.size());
+		for (Map<String, Object> notificationRecord : notificationRecords) {
+			@SuppressWarnings("unchecked")
+			Map<String, Object> s3 = (Map<String, Object>)notificationRecord.get("s3");
+
+			@SuppressWarnings("unchecked")
+			Map<String, Object> bucket = (Map<String, Object>)s3.get("bucket");
+			String bucketName = (String)bucket.get("name");
+
+			@SuppressWarnings("unchecked")
+			Map<String, Object> object = (Map<String, Object>)s3.get("object");
+			String objectKey = S3EventDecoder.decodeKey((String)object.get("key"));
+			String eTag = (String)object.get("eTag");
+			if (!keyFilter.accepts(objectKey)) {
+				continue;
+			}
+
+			targets.add(new S3ObjectTarget(bucketName, objectKey, eTag));
+		}
+		return targets;
+	}
+}
@@ -0,0 +1,57 @@
+package com.bokkurin.trackery.handler;
+
+import java.util.Arrays;
+
+import com.bokkurin.trackery.config.AppConstants;
+
+/**
+ * packageName    : com.bokkurin.trackery.handler
+ * fileName       : SourceKeyFilter
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 처리 대상 원본 키인지 (접두사, 확장자) 확인하는 클래스
+ *                  S3 호출 전에 걸러서 결과물 경로나 이미지가 아닌 파일에 다운로드 요청을 보내지 않습니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+public final class SourceKeyFilter {
+	private final String prefix;
+	private final String[] extensions;
+
+	/**
+	 * @param prefix 키 접두사 (null이나 빈 값이면 확인하지 않음)
+	 * @param extensions 지원하는 확장자 (대소문자 구분 없음)
+	 */
+	public SourceKeyFilter(String prefix, String... extensions) {
+		this.prefix = prefix != null ? prefix : "";
+		this.extensions = Arrays.copyOf(extensions, extensions.length);
+	}
+
+	/**
+	 * SOURCE_PREFIX, SUPPORTED_EXTENSIONS 환경 설정으로 만든 필터
+	 */
+	public static SourceKeyFilter fromEnvironment() {
+		return new SourceKeyFilter(AppConstants.SOURCE_PREFIX, AppConstants.SUPPORTED_EXTENSIONS);
+	}
+
+	/**
+	 * 접두사와 확장자가 모두 맞는지 확인
+	 */
+	public boolean accepts(String key) {
+		return key != null && key.startsWith(prefix) && hasSupportedExtension(key);
+	}
+
+	/**
+	 * 지원하는 확장자로 끝나는지 확인 (키를 소문자로 바꾼 사본을 만들지 않음)
+	 */
+	public boolean hasSupportedExtension(String key) {
+		for (String extension : extensions) {
+			if (key.regionMatches(true, key.length() - extension.length(), extension, 0, extension.length())) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,110 @@
+package com.bokkurin.trackery.handler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.bokkurin.trackery.config.MetricsConfiguration;
+import com.bokkurin.trackery.metrics.MetricsEmitter;
+import com.bokkurin.trackery.model.RecordProcessResult;
+import com.bokkurin.trackery.model.S3ObjectTarget;
+import com.bokkurin.trackery.service.ImageRecordExecutor;
+
+/**
+ * packageName    : com.bokkurin.trackery.handler
+ * fileName       : SqsLambdaHandler
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : SQS로 전달된 S3 이벤트를 처리하고 실패한 메시지만 재시도하게 하는 람다 핸들러
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		호출 단위 지표(콜드 스타트, 레코드/실패 수, 소요 시간)를 EMF로 출력
+ * 26. 10. 18.		durururuk		본문을 S3EventDecoder로 스트리밍 파싱 (키 URL 디코딩, 대상이 아닌 키 제외, EventBridge 본문 지원)
+ */
+public class SqsLambdaHandler implements RequestHandler<SQSEvent, SQSBatchResponse> {
+	private static final Logger logger = LoggerFactory.getLogger(SqsLambdaHandler.class);
+
+	private final ImageRecordExecutor imageRecordExecutor;
+	private final MetricsEmitter metricsEmitter;
+	private final S3EventDecoder eventDecoder;
+
+	public SqsLambdaHandler() {
+		this(LambdaHandler.createImageRecordExecutor());
+	}
+
+	public SqsLambdaHandler(ImageRecordExecutor imageRecordExecutor) {
+		this(imageRecordExecutor, MetricsConfiguration.getMetricsEmitter());
+	}
+
+	public SqsLambdaHandler(ImageRecordExecutor imageRecordExecutor, MetricsEmitter metricsEmitter) {
+		this(imageRecordExecutor, metricsEmitter, SourceKeyFilter.fromEnvironment());
+	}
+
+	public SqsLambdaHandler(ImageRecordExecutor imageRecordExecutor, MetricsEmitter metricsEmitter,
+		SourceKeyFilter keyFilter) {
+		this.imageRecordExecutor = imageRecordExecutor;
+		this.metricsEmitter = metricsEmitter;
+		this.eventDecoder = new S3EventDecoder(keyFilter);
+	}
+
+	/**
+	 * 메시지 본문(S3 이벤트)에 담긴 모든 레코드를 한 번에 병렬 처리하고,
+	 * 레코드가 하나라도 실패한 메시지의 messageId를 batchItemFailures로 반환
+	 * 람다 이벤트 소스 매핑에 ReportBatchItemFailures가 켜져 있어야 실패한 메시지만 재시도됩니다.
+	 * @param event SQS 이벤트
+	 * @param context 람다 컨텍스트
+	 * @return 실패한 메시지 목록
+	 */
+	@Override
+	public SQSBatchResponse handleRequest(SQSEvent event, Context context) {
+		logger.info("SQS 이미지 후처리 실행 - 메시지 {}건", event.getRecords().size());
+		boolean coldStart = MetricsEmitter.markInvocation();
+		long startNanos = System.nanoTime();
+
+		Set<String> failedMessageIds = new LinkedHashSet<>();
+		List<S3ObjectTarget> targets = new ArrayList<>();
+		List<String> targetMessageIds = new ArrayList<>();
+
+		for (SQSEvent.SQSMessage message : event.getRecords()) {
+			try {
+				for (EventRecord eventRecord : eventDecoder.decodeBody(message.getBody(), message.getMessageId())
+					.records()) {
+					targets.add(eventRecord.target());
+					targetMessageIds.add(message.getMessageId());
+				}
+			} catch (IOException | RuntimeException e) {
+				logger.error("SQS 메시지 파싱 실패 - messageId: {}", message.getMessageId(), e);
+				failedMessageIds.add(message.getMessageId());
+			}
+		}
+
+		List<RecordProcessResult> results = imageRecordExecutor.processAll(targets);
+		int failedRecords = 0;
+		for (int i = 0; i < results.size(); i++) {
+			if (!results.get(i).isSuccess()) {
+				failedMessageIds.add(targetMessageIds.get(i));
+				failedRecords++;
+			}
+		}
+		metricsEmitter.emitInvocation(coldStart, results.size(), failedRecords, System.nanoTime() - startNanos);
+
+		if (!failedMessageIds.isEmpty()) {
+			logger.error("이미지 처리 실패 - 메시지 {}/{}건", failedMessageIds.size(), event.getRecords().size());
+		}
+
+		return new SQSBatchResponse(failedMessageIds.stream()
+			.map(SQSBatchResponse.BatchItemFailure::new)
+			.toList());
+	}
+}
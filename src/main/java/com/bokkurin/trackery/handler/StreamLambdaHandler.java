@@ -0,0 +1,127 @@
+package com.bokkurin.trackery.handler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.bokkurin.trackery.config.MetricsConfiguration;
+import com.bokkurin.trackery.metrics.MetricsEmitter;
+import com.bokkurin.trackery.model.RecordProcessResult;
+import com.bokkurin.trackery.model.S3ObjectTarget;
+import com.bokkurin.trackery.service.ImageRecordExecutor;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * packageName    : com.bokkurin.trackery.handler
+ * fileName       : StreamLambdaHandler
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 이벤트 JSON을 직접 스트리밍으로 읽는 람다 핸들러
+ *                  S3 이벤트 알림, SQS로 전달된 이벤트, EventBridge "Object Created" 이벤트를 하나의 핸들러로 받습니다.
+ *                  런타임의 Map/POJO 역직렬화를 거치지 않고, 처리 대상이 아닌 키는 S3 호출 전에 제외합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		S3/EventBridge 직접 호출의 실패는 응답 대신 예외로 알려 비동기 재시도/DLQ로 넘김
+ */
+public class StreamLambdaHandler implements RequestStreamHandler {
+	private static final Logger logger = LoggerFactory.getLogger(StreamLambdaHandler.class);
+	private static final JsonFactory jsonFactory = new JsonFactory();
+
+	private final ImageRecordExecutor imageRecordExecutor;
+	private final MetricsEmitter metricsEmitter;
+	private final S3EventDecoder eventDecoder;
+
+	public StreamLambdaHandler() {
+		this(LambdaHandler.createImageRecordExecutor());
+	}
+
+	public StreamLambdaHandler(ImageRecordExecutor imageRecordExecutor) {
+		this(imageRecordExecutor, MetricsConfiguration.getMetricsEmitter(), SourceKeyFilter.fromEnvironment());
+	}
+
+	public StreamLambdaHandler(ImageRecordExecutor imageRecordExecutor, MetricsEmitter metricsEmitter,
+		SourceKeyFilter keyFilter) {
+		this.imageRecordExecutor = imageRecordExecutor;
+		this.metricsEmitter = metricsEmitter;
+		this.eventDecoder = new S3EventDecoder(keyFilter);
+	}
+
+	/**
+	 * 이벤트의 모든 대상을 한 번에 병렬 처리하고 실패한 SQS 메시지를 batchItemFailures로 반환
+	 * S3 알림과 EventBridge는 람다를 비동기로 호출하고 응답을 보지 않으므로, SQS 메시지가 아닌 대상이 실패하면
+	 * LambdaHandler와 같이 예외를 던져 비동기 재시도와 DLQ/실패 대상으로 넘깁니다.
+	 * @param input 람다 이벤트 JSON
+	 * @param output {"batchItemFailures":[{"itemIdentifier":...}]} 형식의 응답 (식별자는 SQS messageId)
+	 * @param context 람다 컨텍스트
+	 * @throws IOException 이벤트가 올바른 JSON이 아닐 때 (호출 전체 실패)
+	 * @throws IllegalStateException SQS 메시지가 아닌 대상이 실패했을 때 (실패 원인은 suppressed로 붙음)
+	 */
+	@Override
+	public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+		boolean coldStart = MetricsEmitter.markInvocation();
+		long startNanos = System.nanoTime();
+
+		DecodedEvent event = eventDecoder.decode(input);
+		logger.info("이미지 후처리 실행 - 대상 {}건, 제외 {}건", event.records().size(), event.skippedRecords());
+
+		List<S3ObjectTarget> targets = new ArrayList<>(event.records().size());
+		for (EventRecord eventRecord : event.records()) {
+			targets.add(eventRecord.target());
+		}
+
+		Set<String> failedIdentifiers = new LinkedHashSet<>(event.failedMessageIds());
+		List<RecordProcessResult> unqueuedFailures = new ArrayList<>();
+		List<RecordProcessResult> results = imageRecordExecutor.processAll(targets);
+		int failedRecords = 0;
+		for (int i = 0; i < results.size(); i++) {
+			RecordProcessResult result = results.get(i);
+			if (result.isSuccess()) {
+				continue;
+			}
+			failedRecords++;
+			String messageId = event.records().get(i).messageId();
+			if (messageId != null) {
+				failedIdentifiers.add(messageId);
+			} else {
+				unqueuedFailures.add(result);
+			}
+		}
+		metricsEmitter.emitInvocation(coldStart, results.size(), failedRecords, System.nanoTime() - startNanos);
+
+		int failures = failedRecords + event.failedMessageIds().size();
+		if (failures > 0) {
+			logger.error("이미지 처리 실패 - {}건", failures);
+		}
+		if (!unqueuedFailures.isEmpty()) {
+			throw LambdaHandler.createFailure(unqueuedFailures);
+		}
+		writeBatchResponse(output, failedIdentifiers);
+	}
+
+	private static void writeBatchResponse(OutputStream output, Set<String> failedIdentifiers) throws IOException {
+		try (JsonGenerator generator = jsonFactory.createGenerator(output, JsonEncoding.UTF8)) {
+			generator.writeStartObject();
+			generator.writeArrayFieldStart("batchItemFailures");
+			for (String identifier : failedIdentifiers) {
+				generator.writeStartObject();
+				generator.writeStringField("itemIdentifier", identifier);
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+			generator.writeEndObject();
+		}
+	}
+}
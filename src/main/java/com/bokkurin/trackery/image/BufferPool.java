@@ -0,0 +1,253 @@
+package com.bokkurin.trackery.image;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.imageio.ImageTypeSpecifier;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : BufferPool
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 래스터 배열(int[], byte[])을 크기 등급별로 재사용하는 풀
+ *                  워밍 컨테이너에서 같은 크기의 디코딩/회전/리사이즈 버퍼를 매번 새로 할당하지 않도록 합니다.
+ *                  등급은 2의 거듭제곱 구간을 4등분한 크기라서 요청보다 최대 25%까지만 크게 잡힙니다.
+ *                  풀에 보관하는 배열의 총 크기는 예산을 넘지 않고, 넘치는 배열은 그냥 GC에 맡깁니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+public final class BufferPool {
+	/**
+	 * 이보다 작은 배열은 할당 비용이 작으므로 풀을 거치지 않음
+	 */
+	static final int MIN_POOLED_LENGTH = 4096;
+
+	private final long budgetBytes;
+	private final Map<Integer, ArrayDeque<int[]>> intPool = new HashMap<>();
+	private final Map<Integer, ArrayDeque<byte[]>> bytePool = new HashMap<>();
+	/**
+	 * 풀에서 내준 뒤 아직 돌려받지 않은 배열 (배열은 동일성으로 비교되고, 돌려받지 못한 배열은 GC가 수거)
+	 * 풀에서 나간 배열만, 한 번만 돌려받도록 확인하는 데 씁니다.
+	 */
+	private final Map<Object, Boolean> outstanding = new WeakHashMap<>();
+	private long retainedBytes;
+
+	/**
+	 * @param budgetBytes 풀에 보관할 배열의 최대 총 크기 (0이면 보관하지 않고 매번 할당)
+	 */
+	public BufferPool(long budgetBytes) {
+		this.budgetBytes = Math.max(0, budgetBytes);
+	}
+
+	/**
+	 * 보관하지 않는 풀 (비교용 또는 풀을 끄는 설정)
+	 */
+	public static BufferPool disabled() {
+		return new BufferPool(0);
+	}
+
+	/**
+	 * 길이가 minLength 이상인 int 배열을 반환 (내용은 이전 사용 값이 남아 있을 수 있음)
+	 */
+	public synchronized int[] acquireInts(int minLength) {
+		if (!isPoolable(minLength)) {
+			return new int[minLength];
+		}
+		int capacity = capacityOf(minLength);
+		ArrayDeque<int[]> pooled = intPool.get(capacity);
+		int[] array = pooled != null ? pooled.pollFirst() : null;
+		if (array != null) {
+			retainedBytes -= (long)capacity * Integer.BYTES;
+		} else {
+			array = new int[capacity];
+		}
+		outstanding.put(array, Boolean.TRUE);
+		return array;
+	}
+
+	/**
+	 * 길이가 minLength 이상인 byte 배열을 반환 (내용은 이전 사용 값이 남아 있을 수 있음)
+	 */
+	public synchronized byte[] acquireBytes(int minLength) {
+		if (!isPoolable(minLength)) {
+			return new byte[minLength];
+		}
+		int capacity = capacityOf(minLength);
+		ArrayDeque<byte[]> pooled = bytePool.get(capacity);
+		byte[] array = pooled != null ? pooled.pollFirst() : null;
+		if (array != null) {
+			retainedBytes -= capacity;
+		} else {
+			array = new byte[capacity];
+		}
+		outstanding.put(array, Boolean.TRUE);
+		return array;
+	}
+
+	/**
+	 * acquireInts로 받은 배열을 돌려줌
+	 * 풀에서 나가지 않았거나 이미 돌려받은 배열, 예산을 넘는 배열은 무시합니다.
+	 */
+	public synchronized void release(int[] array) {
+		if (array == null || outstanding.remove(array) == null) {
+			return;
+		}
+		long bytes = (long)array.length * Integer.BYTES;
+		if (retainedBytes + bytes <= budgetBytes) {
+			intPool.computeIfAbsent(array.length, capacity -> new ArrayDeque<>()).addFirst(array);
+			retainedBytes += bytes;
+		}
+	}
+
+	/**
+	 * acquireBytes로 받은 배열을 돌려줌
+	 * 풀에서 나가지 않았거나 이미 돌려받은 배열, 예산을 넘는 배열은 무시합니다.
+	 */
+	public synchronized void release(byte[] array) {
+		if (array == null || outstanding.remove(array) == null) {
+			return;
+		}
+		if (retainedBytes + array.length <= budgetBytes) {
+			bytePool.computeIfAbsent(array.length, capacity -> new ArrayDeque<>()).addFirst(array);
+			retainedBytes += array.length;
+		}
+	}
+
+	/**
+	 * 풀 배열을 래스터로 쓰는 이미지를 만듦
+	 * 표준 int/byte 타입(TYPE_INT_*, TYPE_3BYTE_BGR, TYPE_4BYTE_ABGR*, TYPE_BYTE_GRAY)은 같은 타입으로 만들고,
+	 * 그 외 타입은 일반 BufferedImage를 반환합니다.
+	 * @return 풀 배열을 쓰는 이미지 (픽셀 값은 초기화되지 않음)
+	 */
+	public BufferedImage createImage(int width, int height, int imageType) {
+		return switch (imageType) {
+			case BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_ARGB_PRE,
+				 BufferedImage.TYPE_INT_BGR, BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_4BYTE_ABGR,
+				 BufferedImage.TYPE_4BYTE_ABGR_PRE, BufferedImage.TYPE_BYTE_GRAY ->
+				createImage(ImageTypeSpecifier.createFromBufferedImageType(imageType), width, height, false);
+			default -> new BufferedImage(width, height, imageType);
+		};
+	}
+
+	/**
+	 * ImageReader가 알려 준 이미지 타입으로 풀 배열을 쓰는 디코딩 대상 이미지를 만듦
+	 * 손상된 파일은 리더가 일부만 채우고 끝날 수 있으므로, 이전 이미지의 픽셀이 남지 않게 0으로 채워서 반환합니다.
+	 * @return 단일 뱅크 int/byte 래스터가 아니면 null
+	 */
+	public BufferedImage createDecodeImage(ImageTypeSpecifier typeSpecifier, int width, int height) {
+		return createImage(typeSpecifier, width, height, true);
+	}
+
+	private BufferedImage createImage(ImageTypeSpecifier typeSpecifier, int width, int height, boolean clear) {
+		SampleModel sampleModel = typeSpecifier.getSampleModel(width, height);
+		long elements = requiredElements(sampleModel);
+		if (elements > Integer.MAX_VALUE - 8) {
+			return null;
+		}
+
+		DataBuffer dataBuffer;
+		if (sampleModel.getDataType() == DataBuffer.TYPE_INT) {
+			int[] data = acquireInts((int)elements);
+			if (clear) {
+				Arrays.fill(data, 0, (int)elements, 0);
+			}
+			dataBuffer = new DataBufferInt(data, (int)elements);
+		} else if (sampleModel.getDataType() == DataBuffer.TYPE_BYTE) {
+			byte[] data = acquireBytes((int)elements);
+			if (clear) {
+				Arrays.fill(data, 0, (int)elements, (byte)0);
+			}
+			dataBuffer = new DataBufferByte(data, (int)elements);
+		} else {
+			return null;
+		}
+
+		ColorModel colorModel = typeSpecifier.getColorModel();
+		WritableRaster raster = Raster.createWritableRaster(sampleModel, dataBuffer, null);
+		return new BufferedImage(colorModel, raster, colorModel.isAlphaPremultiplied(), null);
+	}
+
+	/**
+	 * 풀 배열로 만든 이미지의 래스터 배열을 돌려줌 (다른 이미지는 무시)
+	 * 돌려준 뒤에는 이미지를 더 쓰지 않아야 합니다.
+	 */
+	public void release(BufferedImage image) {
+		if (image == null) {
+			return;
+		}
+		DataBuffer dataBuffer = image.getRaster().getDataBuffer();
+		if (dataBuffer.getNumBanks() != 1) {
+			return;
+		}
+		if (dataBuffer instanceof DataBufferInt dataBufferInt) {
+			release(dataBufferInt.getData());
+		} else if (dataBuffer instanceof DataBufferByte dataBufferByte) {
+			release(dataBufferByte.getData());
+		}
+	}
+
+	/**
+	 * 현재 풀에 보관 중인 배열의 총 크기
+	 */
+	public synchronized long retainedBytes() {
+		return retainedBytes;
+	}
+
+	public long budgetBytes() {
+		return budgetBytes;
+	}
+
+	/**
+	 * 요청 길이가 속하는 크기 등급의 배열 길이
+	 * 2^h < n <= 2^(h+1)이면 2^(h-2) 단위로 올림하므로 1.25, 1.5, 1.75, 2 x 2^h 중 하나가 됩니다.
+	 */
+	static int capacityOf(int minLength) {
+		if (minLength <= MIN_POOLED_LENGTH) {
+			return MIN_POOLED_LENGTH;
+		}
+		long step = Integer.highestOneBit(minLength - 1) >> 2;
+		return (int)Math.min(Integer.MAX_VALUE - 8, (minLength + step - 1) / step * step);
+	}
+
+	private boolean isPoolable(int minLength) {
+		return budgetBytes > 0 && minLength >= MIN_POOLED_LENGTH && minLength <= Integer.MAX_VALUE - 8;
+	}
+
+	/**
+	 * 마지막 픽셀의 마지막 요소 위치 + 1 (단일 뱅크 int/byte 레이아웃이 아니면 Long.MAX_VALUE)
+	 */
+	private static long requiredElements(SampleModel sampleModel) {
+		int width = sampleModel.getWidth();
+		int height = sampleModel.getHeight();
+
+		if (sampleModel instanceof ComponentSampleModel component
+			&& Arrays.stream(component.getBankIndices()).allMatch(bank -> bank == 0)) {
+			int maxOffset = 0;
+			for (int offset : component.getBandOffsets()) {
+				maxOffset = Math.max(maxOffset, offset);
+			}
+			return (long)(height - 1) * component.getScanlineStride()
+				+ (long)(width - 1) * component.getPixelStride() + maxOffset + 1;
+		}
+		if (sampleModel instanceof SinglePixelPackedSampleModel packed) {
+			return (long)(height - 1) * packed.getScanlineStride() + width;
+		}
+		return Long.MAX_VALUE;
+	}
+}
@@ -0,0 +1,131 @@
+package com.bokkurin.trackery.image;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import javax.imageio.stream.ImageOutputStreamImpl;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : ByteArrayImageOutputStream
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 메모리 배열에 바로 쓰는 ImageOutputStream
+ *                  MemoryCacheImageOutputStream + ByteArrayOutputStream + toByteArray를 거치면 결과가 세 번 복사되는데,
+ *                  이 스트림은 한 번만 복사합니다. WebP writer처럼 결과를 한 번에 쓰면 배열이 정확한 크기로 잡혀
+ *                  toByteArray가 복사 없이 내부 배열을 그대로 반환합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		첫 쓰기 배열을 그대로 받는 모드와 재사용을 위한 reset 추가
+ */
+public class ByteArrayImageOutputStream extends ImageOutputStreamImpl {
+	private static final int MIN_CAPACITY = 256;
+	private static final byte[] EMPTY = new byte[0];
+
+	private final boolean adoptFirstWrite;
+	private byte[] buffer = EMPTY;
+	private int length;
+
+	public ByteArrayImageOutputStream() {
+		this(false);
+	}
+
+	/**
+	 * @param adoptFirstWrite true면 비어 있는 스트림에 배열 전체를 쓸 때 복사하지 않고 그 배열을 그대로 내부 배열로 씁니다.
+	 *                        쓴 쪽이 그 배열을 다시 고치지 않을 때만 사용합니다. (WebP writer는 libwebp 결과 배열을 한 번 쓰고 버림)
+	 */
+	public ByteArrayImageOutputStream(boolean adoptFirstWrite) {
+		this.adoptFirstWrite = adoptFirstWrite;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		ensureCapacity(streamPos + 1);
+		buffer[(int)streamPos] = (byte)b;
+		streamPos++;
+		length = Math.max(length, (int)streamPos);
+		bitOffset = 0;
+	}
+
+	@Override
+	public void write(byte[] bytes, int offset, int len) throws IOException {
+		if (adoptFirstWrite && length == 0 && streamPos == 0 && offset == 0 && len == bytes.length && len > 0) {
+			buffer = bytes;
+			streamPos = len;
+			length = len;
+			bitOffset = 0;
+			return;
+		}
+		ensureCapacity(streamPos + len);
+		System.arraycopy(bytes, offset, buffer, (int)streamPos, len);
+		streamPos += len;
+		length = Math.max(length, (int)streamPos);
+		bitOffset = 0;
+	}
+
+	@Override
+	public int read() throws IOException {
+		bitOffset = 0;
+		if (streamPos >= length) {
+			return -1;
+		}
+		return buffer[(int)streamPos++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] bytes, int offset, int len) throws IOException {
+		bitOffset = 0;
+		if (streamPos >= length) {
+			return -1;
+		}
+		int read = Math.min(len, length - (int)streamPos);
+		System.arraycopy(buffer, (int)streamPos, bytes, offset, read);
+		streamPos += read;
+		return read;
+	}
+
+	@Override
+	public long length() {
+		return length;
+	}
+
+	/**
+	 * 쓴 내용을 배열로 반환
+	 * 내부 배열이 쓴 길이와 정확히 같으면 복사 없이 그대로 반환하므로, 반환 후에는 이 스트림에 더 쓰지 않아야 합니다.
+	 */
+	public byte[] toByteArray() {
+		return buffer.length == length ? buffer : Arrays.copyOf(buffer, length);
+	}
+
+	/**
+	 * 쓴 내용을 비우고 처음 위치로 되돌림
+	 * toByteArray로 내준 배열은 더 참조하지 않으므로 그대로 두어도 안전합니다. 닫힌 스트림에는 쓸 수 없으므로
+	 * 스트림을 재사용할 때는 close 대신 reset을 호출합니다.
+	 */
+	public void reset() {
+		buffer = EMPTY;
+		length = 0;
+		streamPos = 0;
+		flushedPos = 0;
+		bitOffset = 0;
+	}
+
+	/**
+	 * 처음 쓸 때는 요청한 크기 그대로 할당해서 한 번에 쓰는 경우 여유 공간이 남지 않게 함
+	 */
+	private void ensureCapacity(long required) throws IOException {
+		if (required > Integer.MAX_VALUE - 8) {
+			throw new IOException("출력 크기가 너무 큽니다: " + required);
+		}
+		if (required <= buffer.length) {
+			return;
+		}
+
+		int newCapacity = buffer.length == 0
+			? (int)required
+			: (int)Math.max(required, Math.max(MIN_CAPACITY, (long)buffer.length * 2));
+		buffer = Arrays.copyOf(buffer, Math.min(newCapacity, Integer.MAX_VALUE - 8));
+	}
+}
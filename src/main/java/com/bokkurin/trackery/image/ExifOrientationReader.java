@@ -0,0 +1,233 @@
+package com.bokkurin.trackery.image;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : ExifOrientationReader
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 전체 메타데이터를 파싱하지 않고 EXIF Orientation 태그 하나만 찾아 읽는 클래스
+ *                  JPEG APP1, PNG eXIf, WebP EXIF 청크의 IFD0만 확인합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+public final class ExifOrientationReader {
+	public static final int DEFAULT_ORIENTATION = 1;
+
+	private static final int TAG_ORIENTATION = 0x0112;
+	private static final int TYPE_SHORT = 3;
+	private static final int MAX_IFD_ENTRIES = 1024;
+
+	private static final int JPEG_SOI = 0xFFD8;
+	private static final int JPEG_APP1 = 0xE1;
+	private static final int JPEG_SOS = 0xDA;
+	private static final int JPEG_EOI = 0xD9;
+
+	private static final int PNG_MAGIC = 0x89504E47;
+	private static final int PNG_EXIF = 0x65584966; // "eXIf"
+	private static final int PNG_IEND = 0x49454E44; // "IEND"
+
+	private static final int RIFF = 0x52494646; // "RIFF"
+	private static final int WEBP = 0x57454250; // "WEBP"
+	private static final int WEBP_EXIF = 0x45584946; // "EXIF"
+
+	private static final int EXIF_HEADER = 0x45786966; // "Exif"
+
+	private ExifOrientationReader() {
+	}
+
+	/**
+	 * 이미지 바이트에서 EXIF 방향 값을 읽는 메서드
+	 * @param imageBytes 원본 이미지 바이트 배열
+	 * @return EXIF 방향 값 (1-8, 정보가 없거나 읽을 수 없으면 1)
+	 */
+	public static int readOrientation(byte[] imageBytes) {
+		try (ImageInputStream inputStream = new MemoryCacheImageInputStream(new ByteArrayInputStream(imageBytes))) {
+			return readOrientation(inputStream);
+		} catch (IOException e) {
+			return DEFAULT_ORIENTATION;
+		}
+	}
+
+	/**
+	 * 이미지 스트림의 현재 위치부터 EXIF 방향 값을 읽는 메서드
+	 * 읽은 뒤 스트림 위치와 바이트 순서는 원래대로 되돌려 놓으므로 바로 디코더에 넘겨도 됩니다.
+	 * @param inputStream 원본 이미지 스트림
+	 * @return EXIF 방향 값 (1-8, 정보가 없거나 읽을 수 없으면 1)
+	 */
+	public static int readOrientation(ImageInputStream inputStream) {
+		ByteOrder originalOrder = inputStream.getByteOrder();
+		long start;
+		try {
+			start = inputStream.getStreamPosition();
+		} catch (IOException e) {
+			return DEFAULT_ORIENTATION;
+		}
+
+		try {
+			inputStream.setByteOrder(ByteOrder.BIG_ENDIAN);
+			int orientation = readContainer(inputStream, start);
+			return orientation >= 1 && orientation <= 8 ? orientation : DEFAULT_ORIENTATION;
+		} catch (IOException e) {
+			// 잘린 파일, 손상된 세그먼트는 방향 정보 없음으로 처리
+			return DEFAULT_ORIENTATION;
+		} finally {
+			inputStream.setByteOrder(originalOrder);
+			try {
+				inputStream.seek(start);
+			} catch (IOException ignored) {
+				// 되감기 실패는 호출한 쪽의 디코딩에서 드러납니다.
+			}
+		}
+	}
+
+	private static int readContainer(ImageInputStream inputStream, long start) throws IOException {
+		int magic = inputStream.readInt();
+		inputStream.seek(start);
+
+		if ((magic >>> 16) == JPEG_SOI) {
+			return readJpeg(inputStream);
+		}
+		if (magic == PNG_MAGIC) {
+			return readPng(inputStream);
+		}
+		if (magic == RIFF) {
+			return readWebP(inputStream);
+		}
+		return DEFAULT_ORIENTATION;
+	}
+
+	/**
+	 * JPEG 마커를 따라가며 APP1(Exif) 세그먼트를 찾고, 이미지 데이터(SOS)가 시작되면 멈춥니다.
+	 */
+	private static int readJpeg(ImageInputStream inputStream) throws IOException {
+		inputStream.skipBytes(2);
+
+		while (true) {
+			int prefix = inputStream.readUnsignedByte();
+			if (prefix != 0xFF) {
+				return DEFAULT_ORIENTATION;
+			}
+
+			int marker = inputStream.readUnsignedByte();
+			while (marker == 0xFF) {
+				marker = inputStream.readUnsignedByte();
+			}
+			if (marker == JPEG_SOS || marker == JPEG_EOI) {
+				return DEFAULT_ORIENTATION;
+			}
+			if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+				// 길이가 없는 단독 마커
+				continue;
+			}
+
+			int length = inputStream.readUnsignedShort();
+			long segmentEnd = inputStream.getStreamPosition() + length - 2;
+
+			if (marker == JPEG_APP1 && length >= 8 && inputStream.readInt() == EXIF_HEADER
+				&& inputStream.readUnsignedShort() == 0) {
+				return readTiff(inputStream, inputStream.getStreamPosition());
+			}
+			inputStream.seek(segmentEnd);
+		}
+	}
+
+	/**
+	 * PNG 청크를 따라가며 eXIf 청크를 찾습니다. eXIf는 IDAT 뒤에 올 수도 있어서 IEND까지 확인합니다.
+	 */
+	private static int readPng(ImageInputStream inputStream) throws IOException {
+		inputStream.skipBytes(8);
+
+		while (true) {
+			long length = inputStream.readUnsignedInt();
+			int type = inputStream.readInt();
+			long dataStart = inputStream.getStreamPosition();
+
+			if (type == PNG_EXIF) {
+				return readTiff(inputStream, dataStart);
+			}
+			if (type == PNG_IEND) {
+				return DEFAULT_ORIENTATION;
+			}
+			// 데이터 + CRC 4바이트
+			inputStream.seek(dataStart + length + 4);
+		}
+	}
+
+	/**
+	 * RIFF 청크를 따라가며 EXIF 청크를 찾습니다. 청크 크기는 리틀 엔디언이고 홀수면 1바이트 패딩이 붙습니다.
+	 */
+	private static int readWebP(ImageInputStream inputStream) throws IOException {
+		inputStream.skipBytes(4);
+		inputStream.setByteOrder(ByteOrder.LITTLE_ENDIAN);
+		long riffEnd = inputStream.getStreamPosition() + inputStream.readUnsignedInt();
+		inputStream.setByteOrder(ByteOrder.BIG_ENDIAN);
+		if (inputStream.readInt() != WEBP) {
+			return DEFAULT_ORIENTATION;
+		}
+
+		while (inputStream.getStreamPosition() + 8 <= riffEnd) {
+			int fourCc = inputStream.readInt();
+			inputStream.setByteOrder(ByteOrder.LITTLE_ENDIAN);
+			long size = inputStream.readUnsignedInt();
+			inputStream.setByteOrder(ByteOrder.BIG_ENDIAN);
+			long dataStart = inputStream.getStreamPosition();
+
+			if (fourCc == WEBP_EXIF) {
+				// 일부 인코더는 JPEG처럼 "Exif\0\0" 헤더를 붙여서 저장합니다.
+				if (size >= 6 && inputStream.readInt() == EXIF_HEADER && inputStream.readUnsignedShort() == 0) {
+					return readTiff(inputStream, dataStart + 6);
+				}
+				return readTiff(inputStream, dataStart);
+			}
+			inputStream.seek(dataStart + size + (size & 1));
+		}
+		return DEFAULT_ORIENTATION;
+	}
+
+	/**
+	 * TIFF 헤더에서 바이트 순서를 확인하고 IFD0 엔트리 중 Orientation 태그만 찾습니다.
+	 * @param tiffStart TIFF 헤더 시작 위치 (IFD 오프셋의 기준점)
+	 */
+	private static int readTiff(ImageInputStream inputStream, long tiffStart) throws IOException {
+		inputStream.seek(tiffStart);
+		int byteOrder = inputStream.readUnsignedShort();
+		if (byteOrder == 0x4949) {
+			inputStream.setByteOrder(ByteOrder.LITTLE_ENDIAN);
+		} else if (byteOrder != 0x4D4D) {
+			return DEFAULT_ORIENTATION;
+		}
+
+		if (inputStream.readUnsignedShort() != 42) {
+			return DEFAULT_ORIENTATION;
+		}
+
+		long ifdOffset = inputStream.readUnsignedInt();
+		inputStream.seek(tiffStart + ifdOffset);
+
+		int entryCount = inputStream.readUnsignedShort();
+		if (entryCount > MAX_IFD_ENTRIES) {
+			return DEFAULT_ORIENTATION;
+		}
+
+		for (int i = 0; i < entryCount; i++) {
+			int tag = inputStream.readUnsignedShort();
+			int type = inputStream.readUnsignedShort();
+			if (tag == TAG_ORIENTATION && type == TYPE_SHORT) {
+				inputStream.skipBytes(4);
+				return inputStream.readUnsignedShort();
+			}
+			// count(4) + value/offset(4)
+			inputStream.skipBytes(8);
+		}
+		return DEFAULT_ORIENTATION;
+	}
+}
@@ -0,0 +1,181 @@
+package com.bokkurin.trackery.image;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import java.util.Locale;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import com.bokkurin.trackery.model.ImageHeader;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : ImageHeaderReader
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 픽셀을 디코딩하지 않고 포맷, 크기, EXIF 방향만 읽는 클래스
+ *                  WebP 리더는 크기만 물어봐도 스트림 전체를 읽고, PNG 리더는 읽은 부분을 flush해서 되감을 수 없기 때문에
+ *                  두 포맷은 헤더를 직접 파싱하고 JPEG 등 나머지는 ImageReader로 읽습니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+public final class ImageHeaderReader {
+	private static final int RIFF = 0x52494646; // "RIFF"
+	private static final int WEBP = 0x57454250; // "WEBP"
+	private static final int VP8 = 0x56503820; // "VP8 "
+	private static final int VP8L = 0x5650384C; // "VP8L"
+	private static final int VP8X = 0x56503858; // "VP8X"
+
+	private static final int VP8_START_CODE = 0x9D012A;
+	private static final int VP8L_SIGNATURE = 0x2F;
+
+	private static final int PNG_MAGIC = 0x89504E47;
+	private static final int PNG_IHDR = 0x49484452; // "IHDR"
+	private static final String PNG = "png";
+
+	private ImageHeaderReader() {
+	}
+
+	/**
+	 * 이미지 스트림의 현재 위치부터 헤더를 읽는 메서드
+	 * 읽은 뒤 스트림 위치와 바이트 순서는 원래대로 되돌려 놓으므로 바로 디코더에 넘겨도 됩니다.
+	 * @param inputStream 원본 이미지 스트림
+	 * @return 포맷, 저장된 크기, EXIF 방향
+	 * @throws IOException 지원하지 않는 형식이거나 헤더가 손상되었을 때 발생하는 예외
+	 */
+	public static ImageHeader read(ImageInputStream inputStream) throws IOException {
+		if (inputStream == null) {
+			throw new IOException("원본 이미지 불러오기 실패");
+		}
+
+		int orientation = ExifOrientationReader.readOrientation(inputStream);
+
+		ByteOrder originalOrder = inputStream.getByteOrder();
+		long start = inputStream.getStreamPosition();
+		try {
+			ImageHeader webpHeader = readWebP(inputStream, orientation);
+			if (webpHeader != null) {
+				return webpHeader;
+			}
+
+			inputStream.seek(start);
+			ImageHeader pngHeader = readPng(inputStream, orientation);
+			if (pngHeader != null) {
+				return pngHeader;
+			}
+
+			inputStream.seek(start);
+			return readWithImageReader(inputStream, orientation);
+		} finally {
+			inputStream.setByteOrder(originalOrder);
+			inputStream.seek(start);
+		}
+	}
+
+	/**
+	 * RIFF/WEBP 컨테이너의 첫 청크(VP8X, VP8, VP8L)에서 크기를 읽습니다.
+	 * @return WebP가 아니면 null
+	 */
+	private static ImageHeader readWebP(ImageInputStream inputStream, int orientation) throws IOException {
+		inputStream.setByteOrder(ByteOrder.BIG_ENDIAN);
+		byte[] magic = new byte[12];
+		if (inputStream.read(magic) != magic.length || readIntBigEndian(magic, 0) != RIFF
+			|| readIntBigEndian(magic, 8) != WEBP) {
+			return null;
+		}
+
+		int chunkType = inputStream.readInt();
+		inputStream.setByteOrder(ByteOrder.LITTLE_ENDIAN);
+		inputStream.skipBytes(4); // 청크 크기
+
+		int width;
+		int height;
+		switch (chunkType) {
+			case VP8X -> {
+				inputStream.skipBytes(4); // 플래그 + 예약 영역
+				width = readUnsigned24(inputStream) + 1;
+				height = readUnsigned24(inputStream) + 1;
+			}
+			case VP8 -> {
+				inputStream.skipBytes(3); // 프레임 태그
+				if (readUnsigned24BigEndian(inputStream) != VP8_START_CODE) {
+					throw new IOException("손상된 WebP(VP8) 헤더");
+				}
+				width = inputStream.readUnsignedShort() & 0x3FFF;
+				height = inputStream.readUnsignedShort() & 0x3FFF;
+			}
+			case VP8L -> {
+				if (inputStream.readUnsignedByte() != VP8L_SIGNATURE) {
+					throw new IOException("손상된 WebP(VP8L) 헤더");
+				}
+				int bits = inputStream.readInt();
+				width = (bits & 0x3FFF) + 1;
+				height = ((bits >>> 14) & 0x3FFF) + 1;
+			}
+			default -> throw new IOException("지원하지 않는 WebP 청크");
+		}
+
+		return new ImageHeader(ImageHeader.WEBP, width, height, orientation);
+	}
+
+	/**
+	 * PNG 시그니처 바로 뒤에 오는 IHDR 청크에서 크기를 읽습니다.
+	 * @return PNG가 아니면 null
+	 */
+	private static ImageHeader readPng(ImageInputStream inputStream, int orientation) throws IOException {
+		inputStream.setByteOrder(ByteOrder.BIG_ENDIAN);
+		if (inputStream.readInt() != PNG_MAGIC) {
+			return null;
+		}
+
+		inputStream.skipBytes(4 + 4); // 시그니처 나머지 + IHDR 길이
+		if (inputStream.readInt() != PNG_IHDR) {
+			throw new IOException("손상된 PNG 헤더");
+		}
+		int width = inputStream.readInt();
+		int height = inputStream.readInt();
+
+		return new ImageHeader(PNG, width, height, orientation);
+	}
+
+	private static ImageHeader readWithImageReader(ImageInputStream inputStream, int orientation)
+		throws IOException {
+		Iterator<ImageReader> readers = ImageIO.getImageReaders(inputStream);
+		if (!readers.hasNext()) {
+			throw new IOException("지원하지 않는 이미지 형식");
+		}
+
+		ImageReader reader = readers.next();
+		try {
+			reader.setInput(inputStream, false, true);
+			return new ImageHeader(reader.getFormatName().toLowerCase(Locale.ROOT), reader.getWidth(0),
+				reader.getHeight(0), orientation);
+		} finally {
+			reader.dispose();
+		}
+	}
+
+	private static int readIntBigEndian(byte[] bytes, int offset) {
+		return (bytes[offset] & 0xFF) << 24 | (bytes[offset + 1] & 0xFF) << 16
+			| (bytes[offset + 2] & 0xFF) << 8 | bytes[offset + 3] & 0xFF;
+	}
+
+	private static int readUnsigned24(ImageInputStream inputStream) throws IOException {
+		int b0 = inputStream.readUnsignedByte();
+		int b1 = inputStream.readUnsignedByte();
+		int b2 = inputStream.readUnsignedByte();
+		return b0 | b1 << 8 | b2 << 16;
+	}
+
+	private static int readUnsigned24BigEndian(ImageInputStream inputStream) throws IOException {
+		int b0 = inputStream.readUnsignedByte();
+		int b1 = inputStream.readUnsignedByte();
+		int b2 = inputStream.readUnsignedByte();
+		return b0 << 16 | b1 << 8 | b2;
+	}
+}
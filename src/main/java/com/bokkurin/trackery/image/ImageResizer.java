@@ -0,0 +1,436 @@
+package com.bokkurin.trackery.image;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+import com.bokkurin.trackery.config.BufferPoolConfiguration;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : ImageResizer
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 품질/속도를 고를 수 있는 리사이즈 엔진
+ *                  면적 평균, 단계적 절반 축소 + 바이리니어, int[] 래스터 위의 분리형 바이큐빅/Lanczos 필터를 제공합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		결과 이미지와 중간 버퍼를 BufferPool에서 받아 재사용
+ * 26. 10. 18.		durururuk		입력을 PixelNormalizer로 정규화, 알파가 있으면 TYPE_INT_ARGB_PRE로 알파 유지
+ */
+public final class ImageResizer {
+	private static final int WEIGHT_BITS = 14;
+	private static final int WEIGHT_ONE = 1 << WEIGHT_BITS;
+	private static final int WEIGHT_ROUND = 1 << (WEIGHT_BITS - 1);
+
+	public enum ResizeMode {
+		/** 박스 필터(면적 평균), 가장 빠르고 축소 시 앨리어싱이 적음 */
+		AREA_AVERAGE,
+		/** 목표 크기의 2배 이하가 될 때까지 절반씩 줄인 뒤 바이리니어로 마무리 */
+		PROGRESSIVE_BILINEAR,
+		/** 분리형 Catmull-Rom 바이큐빅 필터 */
+		BICUBIC,
+		/** 분리형 Lanczos3 필터, 가장 선명하지만 가장 느림 */
+		LANCZOS
+	}
+
+	private ImageResizer() {
+	}
+
+	/**
+	 * 이미지를 지정한 크기로 리사이징
+	 * 결과는 원본에 알파가 있으면 TYPE_INT_ARGB_PRE, 없으면 TYPE_INT_RGB입니다.
+	 * @param image 원본 이미지
+	 * @param width 목표 너비
+	 * @param height 목표 높이
+	 * @param mode 리사이즈 알고리즘
+	 * @return 리사이징된 이미지
+	 */
+	public static BufferedImage resize(BufferedImage image, int width, int height, ResizeMode mode) {
+		return resize(image, width, height, mode, BufferPoolConfiguration.getBufferPool());
+	}
+
+	/**
+	 * 이미지를 지정한 크기로 리사이징
+	 * 결과 이미지와 중간 버퍼는 bufferPool에서 받으며, 중간 버퍼는 끝나면 바로 돌려줍니다.
+	 * 결과 이미지를 다 쓰고 나면 호출한 쪽에서 bufferPool.release(image)로 돌려줄 수 있습니다.
+	 * 정규화되지 않은 입력(PixelNormalizer.isNormalized가 false)은 먼저 변환한 뒤 줄입니다.
+	 * @param bufferPool 버퍼를 받을 풀
+	 * @return 리사이징된 이미지 (TYPE_INT_RGB 또는 TYPE_INT_ARGB_PRE)
+	 */
+	public static BufferedImage resize(BufferedImage image, int width, int height, ResizeMode mode,
+		BufferPool bufferPool) {
+		BufferedImage source = PixelNormalizer.normalize(image, bufferPool);
+		try {
+			return switch (mode) {
+				case PROGRESSIVE_BILINEAR -> resizeProgressive(source, width, height, bufferPool);
+				case AREA_AVERAGE -> resizeSeparable(source, width, height, Filter.BOX, bufferPool);
+				case BICUBIC -> resizeSeparable(source, width, height, Filter.CATMULL_ROM, bufferPool);
+				case LANCZOS -> resizeSeparable(source, width, height, Filter.LANCZOS3, bufferPool);
+			};
+		} finally {
+			if (source != image) {
+				bufferPool.release(source);
+			}
+		}
+	}
+
+	/**
+	 * 절반씩 줄이는 동안은 바이리니어가 2x2 평균과 같아서 앨리어싱 없이 빠르게 줄어듭니다.
+	 */
+	private static BufferedImage resizeProgressive(BufferedImage image, int width, int height,
+		BufferPool bufferPool) {
+		BufferedImage current = image;
+		int currentWidth = image.getWidth();
+		int currentHeight = image.getHeight();
+
+		while (currentWidth / 2 >= width && currentHeight / 2 >= height) {
+			currentWidth /= 2;
+			currentHeight /= 2;
+			current = drawBilinearStep(image, current, currentWidth, currentHeight, bufferPool);
+		}
+
+		if (current == image || currentWidth != width || currentHeight != height) {
+			current = drawBilinearStep(image, current, width, height, bufferPool);
+		}
+		return current;
+	}
+
+	/**
+	 * 한 단계 줄이고, 앞 단계의 중간 결과(원본이 아닌 것)는 풀에 돌려줌
+	 */
+	private static BufferedImage drawBilinearStep(BufferedImage original, BufferedImage current, int width,
+		int height, BufferPool bufferPool) {
+		BufferedImage resizedImage = drawBilinear(current, width, height, bufferPool);
+		if (current != original) {
+			bufferPool.release(current);
+		}
+		return resizedImage;
+	}
+
+	private static BufferedImage drawBilinear(BufferedImage image, int width, int height, BufferPool bufferPool) {
+		BufferedImage resizedImage = bufferPool.createImage(width, height, image.getType());
+		Graphics2D graphics = resizedImage.createGraphics();
+
+		// 풀 버퍼에는 이전 픽셀이 남아 있으므로 합성하지 않고 덮어씀
+		graphics.setComposite(AlphaComposite.Src);
+		graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+
+		graphics.drawImage(image, 0, 0, width, height, null);
+		graphics.dispose();
+
+		return resizedImage;
+	}
+
+	/**
+	 * 가로 방향으로 한 번, 세로 방향으로 한 번 필터를 적용하는 분리형 리샘플링
+	 * 가중치는 14비트 고정소수점으로 미리 계산하고, 채널마다 int 누산기로 더합니다.
+	 * 알파가 있는 이미지는 프리멀티플라이 값을 그대로 평균하므로 투명한 픽셀의 색이 경계로 번지지 않습니다.
+	 * @param image 정규화된 이미지
+	 */
+	private static BufferedImage resizeSeparable(BufferedImage image, int width, int height, Filter filter,
+		BufferPool bufferPool) {
+		int sourceWidth = image.getWidth();
+		int sourceHeight = image.getHeight();
+		boolean alpha = image.getType() == BufferedImage.TYPE_INT_ARGB_PRE;
+		int[] source = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+
+		Contributions horizontal = Contributions.of(sourceWidth, width, filter);
+		int[] intermediate = bufferPool.acquireInts(width * sourceHeight);
+		if (alpha) {
+			resampleHorizontalArgb(source, sourceWidth, sourceHeight, intermediate, width, horizontal);
+		} else {
+			resampleHorizontal(source, sourceWidth, sourceHeight, intermediate, width, horizontal);
+		}
+
+		BufferedImage resizedImage = bufferPool.createImage(width, height, image.getType());
+		int[] destination = ((DataBufferInt)resizedImage.getRaster().getDataBuffer()).getData();
+
+		Contributions vertical = Contributions.of(sourceHeight, height, filter);
+		if (alpha) {
+			resampleVerticalArgb(intermediate, width, destination, height, vertical, bufferPool);
+		} else {
+			resampleVertical(intermediate, width, destination, height, vertical, bufferPool);
+		}
+		bufferPool.release(intermediate);
+
+		return resizedImage;
+	}
+
+	private static void resampleHorizontal(int[] source, int sourceWidth, int sourceHeight, int[] output, int width,
+		Contributions contributions) {
+		int[] weights = contributions.weights;
+		int stride = contributions.stride;
+
+		for (int y = 0; y < sourceHeight; y++) {
+			int rowOffset = y * sourceWidth;
+			int outputOffset = y * width;
+
+			for (int x = 0; x < width; x++) {
+				int start = contributions.start[x];
+				int count = contributions.count[x];
+				int weightOffset = x * stride;
+				int red = WEIGHT_ROUND;
+				int green = WEIGHT_ROUND;
+				int blue = WEIGHT_ROUND;
+
+				for (int k = 0; k < count; k++) {
+					int pixel = source[rowOffset + start + k];
+					int weight = weights[weightOffset + k];
+					red += ((pixel >> 16) & 0xFF) * weight;
+					green += ((pixel >> 8) & 0xFF) * weight;
+					blue += (pixel & 0xFF) * weight;
+				}
+				output[outputOffset + x] = pack(red, green, blue);
+			}
+		}
+	}
+
+	/**
+	 * 세로 방향은 행 단위로 누산해서 원본 배열을 순서대로 읽습니다.
+	 */
+	private static void resampleVertical(int[] source, int width, int[] destination, int height,
+		Contributions contributions, BufferPool bufferPool) {
+		int[] red = bufferPool.acquireInts(width);
+		int[] green = bufferPool.acquireInts(width);
+		int[] blue = bufferPool.acquireInts(width);
+		int[] weights = contributions.weights;
+		int stride = contributions.stride;
+
+		for (int y = 0; y < height; y++) {
+			Arrays.fill(red, WEIGHT_ROUND);
+			Arrays.fill(green, WEIGHT_ROUND);
+			Arrays.fill(blue, WEIGHT_ROUND);
+
+			int start = contributions.start[y];
+			int count = contributions.count[y];
+			for (int k = 0; k < count; k++) {
+				int rowOffset = (start + k) * width;
+				int weight = weights[y * stride + k];
+				for (int x = 0; x < width; x++) {
+					int pixel = source[rowOffset + x];
+					red[x] += ((pixel >> 16) & 0xFF) * weight;
+					green[x] += ((pixel >> 8) & 0xFF) * weight;
+					blue[x] += (pixel & 0xFF) * weight;
+				}
+			}
+
+			int outputOffset = y * width;
+			for (int x = 0; x < width; x++) {
+				destination[outputOffset + x] = pack(red[x], green[x], blue[x]);
+			}
+		}
+		bufferPool.release(red);
+		bufferPool.release(green);
+		bufferPool.release(blue);
+	}
+
+	private static void resampleHorizontalArgb(int[] source, int sourceWidth, int sourceHeight, int[] output,
+		int width, Contributions contributions) {
+		int[] weights = contributions.weights;
+		int stride = contributions.stride;
+
+		for (int y = 0; y < sourceHeight; y++) {
+			int rowOffset = y * sourceWidth;
+			int outputOffset = y * width;
+
+			for (int x = 0; x < width; x++) {
+				int start = contributions.start[x];
+				int count = contributions.count[x];
+				int weightOffset = x * stride;
+				int alpha = WEIGHT_ROUND;
+				int red = WEIGHT_ROUND;
+				int green = WEIGHT_ROUND;
+				int blue = WEIGHT_ROUND;
+
+				for (int k = 0; k < count; k++) {
+					int pixel = source[rowOffset + start + k];
+					int weight = weights[weightOffset + k];
+					alpha += (pixel >>> 24) * weight;
+					red += ((pixel >> 16) & 0xFF) * weight;
+					green += ((pixel >> 8) & 0xFF) * weight;
+					blue += (pixel & 0xFF) * weight;
+				}
+				output[outputOffset + x] = packPremultiplied(alpha, red, green, blue);
+			}
+		}
+	}
+
+	private static void resampleVerticalArgb(int[] source, int width, int[] destination, int height,
+		Contributions contributions, BufferPool bufferPool) {
+		int[] alpha = bufferPool.acquireInts(width);
+		int[] red = bufferPool.acquireInts(width);
+		int[] green = bufferPool.acquireInts(width);
+		int[] blue = bufferPool.acquireInts(width);
+		int[] weights = contributions.weights;
+		int stride = contributions.stride;
+
+		for (int y = 0; y < height; y++) {
+			Arrays.fill(alpha, WEIGHT_ROUND);
+			Arrays.fill(red, WEIGHT_ROUND);
+			Arrays.fill(green, WEIGHT_ROUND);
+			Arrays.fill(blue, WEIGHT_ROUND);
+
+			int start = contributions.start[y];
+			int count = contributions.count[y];
+			for (int k = 0; k < count; k++) {
+				int rowOffset = (start + k) * width;
+				int weight = weights[y * stride + k];
+				for (int x = 0; x < width; x++) {
+					int pixel = source[rowOffset + x];
+					alpha[x] += (pixel >>> 24) * weight;
+					red[x] += ((pixel >> 16) & 0xFF) * weight;
+					green[x] += ((pixel >> 8) & 0xFF) * weight;
+					blue[x] += (pixel & 0xFF) * weight;
+				}
+			}
+
+			int outputOffset = y * width;
+			for (int x = 0; x < width; x++) {
+				destination[outputOffset + x] = packPremultiplied(alpha[x], red[x], green[x], blue[x]);
+			}
+		}
+		bufferPool.release(alpha);
+		bufferPool.release(red);
+		bufferPool.release(green);
+		bufferPool.release(blue);
+	}
+
+	/**
+	 * 음수 가중치가 있는 필터(바이큐빅, Lanczos)는 색이 알파보다 커질 수 있으므로 알파 이하로 자름
+	 */
+	private static int packPremultiplied(int alpha, int red, int green, int blue) {
+		int clampedAlpha = clamp(alpha >> WEIGHT_BITS);
+		return clampedAlpha << 24
+			| Math.min(clampedAlpha, clamp(red >> WEIGHT_BITS)) << 16
+			| Math.min(clampedAlpha, clamp(green >> WEIGHT_BITS)) << 8
+			| Math.min(clampedAlpha, clamp(blue >> WEIGHT_BITS));
+	}
+
+	private static int pack(int red, int green, int blue) {
+		return clamp(red >> WEIGHT_BITS) << 16 | clamp(green >> WEIGHT_BITS) << 8 | clamp(blue >> WEIGHT_BITS);
+	}
+
+	private static int clamp(int value) {
+		return value < 0 ? 0 : Math.min(value, 255);
+	}
+
+	/**
+	 * 리샘플링 필터 커널
+	 */
+	private enum Filter {
+		BOX(0.5) {
+			@Override
+			double weight(double distance) {
+				return distance < 0.5 ? 1.0 : 0.0;
+			}
+		},
+		CATMULL_ROM(2.0) {
+			@Override
+			double weight(double distance) {
+				if (distance < 1.0) {
+					return 1.5 * distance * distance * distance - 2.5 * distance * distance + 1.0;
+				}
+				if (distance < 2.0) {
+					return -0.5 * distance * distance * distance + 2.5 * distance * distance - 4.0 * distance + 2.0;
+				}
+				return 0.0;
+			}
+		},
+		LANCZOS3(3.0) {
+			@Override
+			double weight(double distance) {
+				if (distance == 0.0) {
+					return 1.0;
+				}
+				if (distance >= 3.0) {
+					return 0.0;
+				}
+				double piDistance = Math.PI * distance;
+				return 3.0 * Math.sin(piDistance) * Math.sin(piDistance / 3.0) / (piDistance * piDistance);
+			}
+		};
+
+		final double support;
+
+		Filter(double support) {
+			this.support = support;
+		}
+
+		abstract double weight(double distance);
+	}
+
+	/**
+	 * 결과 좌표마다 참조할 원본 구간(start, count)과 고정소수점 가중치
+	 * 축소할 때는 필터 폭을 배율만큼 넓혀서 원본 픽셀을 빠짐없이 반영합니다.
+	 */
+	private static final class Contributions {
+		final int[] start;
+		final int[] count;
+		final int[] weights;
+		final int stride;
+
+		private Contributions(int[] start, int[] count, int[] weights, int stride) {
+			this.start = start;
+			this.count = count;
+			this.weights = weights;
+			this.stride = stride;
+		}
+
+		static Contributions of(int sourceLength, int targetLength, Filter filter) {
+			double scale = (double)sourceLength / targetLength;
+			double filterScale = Math.max(1.0, scale);
+			double support = filter.support * filterScale;
+			int stride = (int)Math.ceil(support) * 2 + 1;
+
+			int[] start = new int[targetLength];
+			int[] count = new int[targetLength];
+			int[] weights = new int[targetLength * stride];
+			double[] rawWeights = new double[stride];
+
+			for (int i = 0; i < targetLength; i++) {
+				double center = (i + 0.5) * scale;
+				int first = Math.max(0, (int)Math.floor(center - support));
+				int last = Math.min(sourceLength - 1, (int)Math.ceil(center + support) - 1);
+				int length = Math.min(stride, last - first + 1);
+
+				double total = 0.0;
+				for (int k = 0; k < length; k++) {
+					double distance = Math.abs(first + k + 0.5 - center) / filterScale;
+					rawWeights[k] = filter.weight(distance);
+					total += rawWeights[k];
+				}
+				if (total == 0.0) {
+					// 필터 범위 안에 원본 픽셀이 없으면 가장 가까운 픽셀을 그대로 사용
+					first = Math.min(sourceLength - 1, (int)center);
+					length = 1;
+					rawWeights[0] = 1.0;
+					total = 1.0;
+				}
+
+				int sum = 0;
+				int largest = 0;
+				for (int k = 0; k < length; k++) {
+					int weight = (int)Math.round(rawWeights[k] / total * WEIGHT_ONE);
+					weights[i * stride + k] = weight;
+					sum += weight;
+					if (weight > weights[i * stride + largest]) {
+						largest = k;
+					}
+				}
+				// 반올림 오차를 가장 큰 가중치에 몰아서 합이 정확히 1이 되게 함
+				weights[i * stride + largest] += WEIGHT_ONE - sum;
+
+				start[i] = first;
+				count[i] = length;
+			}
+			return new Contributions(start, count, weights, stride);
+		}
+	}
+}
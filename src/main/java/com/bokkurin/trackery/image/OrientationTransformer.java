@@ -0,0 +1,197 @@
+package com.bokkurin.trackery.image;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+
+import com.bokkurin.trackery.config.BufferPoolConfiguration;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : OrientationTransformer
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : EXIF 방향 값(1-8)에 맞게 픽셀 인덱스만 재배치해서 이미지를 회전/반전하는 클래스
+ *                  보간 없이 DataBuffer의 int/byte 배열을 직접 복사하므로 결과가 무손실입니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		결과 이미지와 중간 변환 이미지를 BufferPool에서 받아 재사용
+ */
+public final class OrientationTransformer {
+	private OrientationTransformer() {
+	}
+
+	/**
+	 * EXIF 방향 값에 따라 가로세로가 바뀌는지 확인 (5-8은 90도 회전 포함)
+	 */
+	public static boolean isTransposed(int orientation) {
+		return orientation >= 5 && orientation <= 8;
+	}
+
+	/**
+	 * EXIF 방향 값에 맞게 이미지를 정상 방향으로 변환
+	 * int 배열(TYPE_INT_*)과 픽셀 단위 byte 배열(TYPE_3BYTE_BGR, TYPE_4BYTE_ABGR, TYPE_BYTE_GRAY 등)은
+	 * 같은 타입 그대로 복사하고, 그 외 레이아웃은 TYPE_INT_ARGB/TYPE_INT_RGB로 펼친 뒤 재배치합니다.
+	 * @param image 원본 이미지
+	 * @param orientation EXIF 방향 값
+	 * @return 방향이 보정된 이미지 (1이나 알 수 없는 값이면 원본 그대로)
+	 */
+	public static BufferedImage apply(BufferedImage image, int orientation) {
+		return apply(image, orientation, BufferPoolConfiguration.getBufferPool());
+	}
+
+	/**
+	 * EXIF 방향 값에 맞게 이미지를 정상 방향으로 변환
+	 * 결과 이미지는 bufferPool에서 받습니다. 원본은 건드리지 않으므로 필요 없으면 호출한 쪽에서 돌려줍니다.
+	 * @param bufferPool 결과 이미지와 중간 변환 버퍼를 받을 풀
+	 * @return 방향이 보정된 이미지 (1이나 알 수 없는 값이면 원본 그대로)
+	 */
+	public static BufferedImage apply(BufferedImage image, int orientation, BufferPool bufferPool) {
+		if (orientation < 2 || orientation > 8) {
+			return image;
+		}
+
+		if (isPackedInt(image)) {
+			return remapInt(image, orientation, bufferPool);
+		}
+		if (isInterleavedByte(image)) {
+			return remapByte(image, orientation, bufferPool);
+		}
+
+		BufferedImage intImage = toIntImage(image, bufferPool);
+		BufferedImage target = remapInt(intImage, orientation, bufferPool);
+		bufferPool.release(intImage);
+		return target;
+	}
+
+	private static BufferedImage remapInt(BufferedImage image, int orientation, BufferPool bufferPool) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		BufferedImage target = createTarget(image, orientation, bufferPool);
+
+		int[] source = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+		int[] destination = ((DataBufferInt)target.getRaster().getDataBuffer()).getData();
+		IndexMapping mapping = IndexMapping.of(orientation, width, height);
+
+		int sourceIndex = 0;
+		for (int y = 0; y < height; y++) {
+			int destinationIndex = mapping.base + y * mapping.stepY;
+			for (int x = 0; x < width; x++) {
+				destination[destinationIndex] = source[sourceIndex++];
+				destinationIndex += mapping.stepX;
+			}
+		}
+		return target;
+	}
+
+	private static BufferedImage remapByte(BufferedImage image, int orientation, BufferPool bufferPool) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int pixelStride = ((ComponentSampleModel)image.getSampleModel()).getPixelStride();
+		BufferedImage target = createTarget(image, orientation, bufferPool);
+
+		byte[] source = ((DataBufferByte)image.getRaster().getDataBuffer()).getData();
+		byte[] destination = ((DataBufferByte)target.getRaster().getDataBuffer()).getData();
+		IndexMapping mapping = IndexMapping.of(orientation, width, height);
+
+		int sourceIndex = 0;
+		for (int y = 0; y < height; y++) {
+			int destinationPixel = mapping.base + y * mapping.stepY;
+			for (int x = 0; x < width; x++) {
+				System.arraycopy(source, sourceIndex, destination, destinationPixel * pixelStride, pixelStride);
+				sourceIndex += pixelStride;
+				destinationPixel += mapping.stepX;
+			}
+		}
+		return target;
+	}
+
+	private static BufferedImage createTarget(BufferedImage image, int orientation, BufferPool bufferPool) {
+		int targetWidth = isTransposed(orientation) ? image.getHeight() : image.getWidth();
+		int targetHeight = isTransposed(orientation) ? image.getWidth() : image.getHeight();
+		return bufferPool.createImage(targetWidth, targetHeight, image.getType());
+	}
+
+	/**
+	 * 빠른 경로가 없는 레이아웃(TYPE_CUSTOM, 인덱스 컬러, 16비트 등)을 int 배열 이미지로 펼침
+	 */
+	private static BufferedImage toIntImage(BufferedImage image, BufferPool bufferPool) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+		BufferedImage converted = bufferPool.createImage(width, height, type);
+
+		int[] destination = ((DataBufferInt)converted.getRaster().getDataBuffer()).getData();
+		image.getRGB(0, 0, width, height, destination, 0, width);
+		return converted;
+	}
+
+	private static boolean isPackedInt(BufferedImage image) {
+		int type = image.getType();
+		if (type != BufferedImage.TYPE_INT_RGB && type != BufferedImage.TYPE_INT_ARGB
+			&& type != BufferedImage.TYPE_INT_ARGB_PRE && type != BufferedImage.TYPE_INT_BGR) {
+			return false;
+		}
+		SampleModel sampleModel = image.getSampleModel();
+		return sampleModel instanceof SinglePixelPackedSampleModel packed
+			&& packed.getScanlineStride() == image.getWidth()
+			&& isUnshared(image.getRaster());
+	}
+
+	private static boolean isInterleavedByte(BufferedImage image) {
+		int type = image.getType();
+		if (type != BufferedImage.TYPE_3BYTE_BGR && type != BufferedImage.TYPE_4BYTE_ABGR
+			&& type != BufferedImage.TYPE_4BYTE_ABGR_PRE && type != BufferedImage.TYPE_BYTE_GRAY) {
+			return false;
+		}
+		SampleModel sampleModel = image.getSampleModel();
+		return sampleModel instanceof ComponentSampleModel component
+			&& component.getScanlineStride() == image.getWidth() * component.getPixelStride()
+			&& isUnshared(image.getRaster());
+	}
+
+	/**
+	 * 서브 이미지가 아니라 배열 처음부터 이미지 하나만 담고 있는 래스터인지 확인
+	 */
+	private static boolean isUnshared(WritableRaster raster) {
+		DataBuffer dataBuffer = raster.getDataBuffer();
+		return raster.getParent() == null
+			&& raster.getSampleModelTranslateX() == 0
+			&& raster.getSampleModelTranslateY() == 0
+			&& dataBuffer.getNumBanks() == 1
+			&& dataBuffer.getOffset() == 0;
+	}
+
+	/**
+	 * 원본 (x, y) 픽셀이 들어갈 대상 인덱스 = base + x * stepX + y * stepY
+	 */
+	private record IndexMapping(int base, int stepX, int stepY) {
+
+		static IndexMapping of(int orientation, int width, int height) {
+			return switch (orientation) {
+				// 수평 반전
+				case 2 -> new IndexMapping(width - 1, -1, width);
+				// 180도 회전
+				case 3 -> new IndexMapping((height - 1) * width + width - 1, -1, -width);
+				// 수직 반전
+				case 4 -> new IndexMapping((height - 1) * width, 1, -width);
+				// 전치 (90도 반시계 회전 + 수평 반전)
+				case 5 -> new IndexMapping(0, height, 1);
+				// 90도 시계방향 회전
+				case 6 -> new IndexMapping(height - 1, height, -1);
+				// 역전치 (90도 시계 회전 + 수평 반전)
+				case 7 -> new IndexMapping((width - 1) * height + height - 1, -height, -1);
+				// 90도 반시계방향 회전
+				case 8 -> new IndexMapping((width - 1) * height, -height, 1);
+				default -> new IndexMapping(0, 1, width);
+			};
+		}
+	}
+}
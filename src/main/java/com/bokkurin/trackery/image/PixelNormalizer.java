@@ -0,0 +1,405 @@
+package com.bokkurin.trackery.image;
+
+import java.awt.color.ColorSpace;
+import java.awt.color.ICC_ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorConvertOp;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+
+import com.bokkurin.trackery.config.BufferPoolConfiguration;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : PixelNormalizer
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 디코딩 결과를 리사이즈/인코딩이 다루는 두 가지 레이아웃으로 바꾸는 클래스
+ *                  알파가 없으면 TYPE_INT_RGB, 있으면 TYPE_INT_ARGB_PRE (행 사이 여백 없는 int 배열)로 바꿉니다.
+ *                  PNG/JPEG가 돌려주는 TYPE_CUSTOM(RGB 순서 바이트, 회색+알파, 16비트), 인덱스 컬러, CMYK는
+ *                  Java2D 일반 픽셀 루프(getRGB, drawImage) 대신 배열을 직접 읽는 루프로 바꾸고,
+ *                  sRGB가 아닌 ICC 색 공간만 ColorConvertOp로 변환합니다.
+ *                  알파 채널이 있어도 모든 픽셀이 불투명하면 TYPE_INT_RGB로 돌려줍니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+public final class PixelNormalizer {
+	private static final int[] RGB_MASKS = {0xFF0000, 0xFF00, 0xFF};
+	private static final DirectColorModel RGB_MODEL = new DirectColorModel(24, 0xFF0000, 0xFF00, 0xFF);
+	private static final int OPAQUE = 0xFF000000;
+
+	private PixelNormalizer() {
+	}
+
+	/**
+	 * 이미지를 TYPE_INT_RGB 또는 TYPE_INT_ARGB_PRE로 바꿈
+	 * @param image 디코딩된 이미지
+	 * @return 이미 맞는 레이아웃이면 같은 이미지, 아니면 기본 버퍼 풀에서 받은 새 이미지
+	 */
+	public static BufferedImage normalize(BufferedImage image) {
+		return normalize(image, BufferPoolConfiguration.getBufferPool());
+	}
+
+	/**
+	 * 이미지를 TYPE_INT_RGB 또는 TYPE_INT_ARGB_PRE로 바꿈
+	 * 원본은 건드리지 않으므로 새 이미지를 받았으면 원본은 호출한 쪽에서 풀에 돌려줍니다.
+	 * @param bufferPool 결과 이미지와 행 버퍼를 받을 풀
+	 * @return 이미 맞는 레이아웃이면 같은 이미지, 아니면 bufferPool에서 받은 새 이미지
+	 */
+	public static BufferedImage normalize(BufferedImage image, BufferPool bufferPool) {
+		if (isNormalized(image)) {
+			return image;
+		}
+
+		if (isUnsharedPackedInt(image)) {
+			if (image.getType() == BufferedImage.TYPE_INT_ARGB) {
+				return premultiplyArgb(image, bufferPool);
+			}
+			if (image.getType() == BufferedImage.TYPE_INT_BGR) {
+				return swapBgr(image, bufferPool);
+			}
+		}
+
+		ComponentLayout layout = ComponentLayout.of(image);
+		if (layout != null) {
+			return convertComponents(image, layout, bufferPool);
+		}
+		if (image.getColorModel() instanceof IndexColorModel indexColorModel) {
+			return convertIndexed(image, indexColorModel, bufferPool);
+		}
+		return convertGeneric(image, bufferPool);
+	}
+
+	/**
+	 * 리사이즈/인코딩 빠른 경로가 바로 읽을 수 있는 레이아웃인지 확인
+	 * (TYPE_INT_RGB 또는 TYPE_INT_ARGB_PRE이고 배열 처음부터 행 사이 여백 없이 이미지 하나만 담고 있음)
+	 */
+	public static boolean isNormalized(BufferedImage image) {
+		int type = image.getType();
+		return (type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_ARGB_PRE)
+			&& isUnsharedPackedInt(image);
+	}
+
+	private static boolean isUnsharedPackedInt(BufferedImage image) {
+		WritableRaster raster = image.getRaster();
+		DataBuffer dataBuffer = raster.getDataBuffer();
+		return image.getSampleModel() instanceof SinglePixelPackedSampleModel packed
+			&& dataBuffer instanceof DataBufferInt
+			&& packed.getScanlineStride() == image.getWidth()
+			&& raster.getParent() == null
+			&& raster.getSampleModelTranslateX() == 0
+			&& raster.getSampleModelTranslateY() == 0
+			&& dataBuffer.getNumBanks() == 1
+			&& dataBuffer.getOffset() == 0
+			&& dataBuffer.getSize() == image.getWidth() * image.getHeight();
+	}
+
+	private static BufferedImage premultiplyArgb(BufferedImage image, BufferPool bufferPool) {
+		int[] source = intData(image);
+		BufferedImage target = bufferPool.createImage(image.getWidth(), image.getHeight(),
+			BufferedImage.TYPE_INT_ARGB_PRE);
+		int[] destination = intData(target);
+
+		int alphaAnd = OPAQUE;
+		for (int i = 0, length = image.getWidth() * image.getHeight(); i < length; i++) {
+			int pixel = source[i];
+			alphaAnd &= pixel;
+			destination[i] = premultiply(pixel >>> 24, (pixel >> 16) & 0xFF, (pixel >> 8) & 0xFF, pixel & 0xFF);
+		}
+		return alphaAnd == OPAQUE ? asOpaque(target) : target;
+	}
+
+	private static BufferedImage swapBgr(BufferedImage image, BufferPool bufferPool) {
+		int[] source = intData(image);
+		BufferedImage target = bufferPool.createImage(image.getWidth(), image.getHeight(),
+			BufferedImage.TYPE_INT_RGB);
+		int[] destination = intData(target);
+
+		for (int i = 0, length = image.getWidth() * image.getHeight(); i < length; i++) {
+			int pixel = source[i];
+			destination[i] = OPAQUE | (pixel & 0xFF) << 16 | (pixel & 0xFF00) | (pixel >> 16) & 0xFF;
+		}
+		return target;
+	}
+
+	/**
+	 * 밴드마다 샘플 하나인 레이아웃(바이트/16비트, 회색/RGB/CMYK, 알파 선택)을 한 행씩 변환
+	 * 바이트 래스터는 배열을 직접 읽고, 16비트는 getPixels로 한 행을 꺼낸 뒤 상위 8비트만 씁니다.
+	 */
+	private static BufferedImage convertComponents(BufferedImage image, ComponentLayout layout,
+		BufferPool bufferPool) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int bands = layout.bands();
+		BufferedImage target = bufferPool.createImage(width, height,
+			layout.alpha ? BufferedImage.TYPE_INT_ARGB_PRE : BufferedImage.TYPE_INT_RGB);
+		int[] destination = intData(target);
+		int[] row = bufferPool.acquireInts(width * bands);
+
+		WritableRaster raster = image.getRaster();
+		ComponentSampleModel sampleModel = (ComponentSampleModel)image.getSampleModel();
+		boolean directBytes = raster.getDataBuffer() instanceof DataBufferByte && raster.getParent() == null
+			&& raster.getSampleModelTranslateX() == 0 && raster.getSampleModelTranslateY() == 0;
+		byte[] bytes = directBytes ? ((DataBufferByte)raster.getDataBuffer()).getData() : null;
+		int[] bandOffsets = sampleModel.getBandOffsets();
+		int pixelStride = sampleModel.getPixelStride();
+		int scanlineStride = sampleModel.getScanlineStride();
+		int bufferOffset = raster.getDataBuffer().getOffset();
+
+		int alphaAnd = OPAQUE;
+		for (int y = 0; y < height; y++) {
+			if (directBytes) {
+				int rowStart = bufferOffset + y * scanlineStride;
+				for (int band = 0; band < bands; band++) {
+					int sourceIndex = rowStart + bandOffsets[band];
+					for (int x = band; x < width * bands; x += bands) {
+						row[x] = bytes[sourceIndex] & 0xFF;
+						sourceIndex += pixelStride;
+					}
+				}
+			} else {
+				raster.getPixels(0, y, width, 1, row);
+			}
+			alphaAnd &= convertRow(row, destination, y * width, width, layout);
+		}
+		bufferPool.release(row);
+		return layout.alpha && alphaAnd == OPAQUE ? asOpaque(target) : target;
+	}
+
+	/**
+	 * 한 행의 샘플을 ARGB로 바꿔 씀
+	 * @return 쓴 픽셀 전체의 AND (모든 픽셀이 불투명하면 알파 바이트가 0xFF)
+	 */
+	private static int convertRow(int[] row, int[] destination, int offset, int width, ComponentLayout layout) {
+		int shift = layout.shift;
+		int alphaAnd = OPAQUE;
+		switch (layout.kind) {
+			case GRAY -> {
+				if (!layout.alpha) {
+					for (int x = 0; x < width; x++) {
+						destination[offset + x] = OPAQUE | (row[x] >> shift) * 0x010101;
+					}
+					break;
+				}
+				for (int x = 0, i = 0; x < width; x++, i += 2) {
+					int gray = row[i] >> shift;
+					int alpha = row[i + 1] >> shift;
+					int pixel = layout.premultiplied
+						? alpha << 24 | gray * 0x010101
+						: premultiply(alpha, gray, gray, gray);
+					destination[offset + x] = pixel;
+					alphaAnd &= pixel;
+				}
+			}
+			case RGB -> {
+				if (!layout.alpha) {
+					for (int x = 0, i = 0; x < width; x++, i += 3) {
+						destination[offset + x] = OPAQUE | (row[i] >> shift) << 16 | (row[i + 1] >> shift) << 8
+							| row[i + 2] >> shift;
+					}
+					break;
+				}
+				for (int x = 0, i = 0; x < width; x++, i += 4) {
+					int red = row[i] >> shift;
+					int green = row[i + 1] >> shift;
+					int blue = row[i + 2] >> shift;
+					int alpha = row[i + 3] >> shift;
+					int pixel = layout.premultiplied
+						? alpha << 24 | red << 16 | green << 8 | blue
+						: premultiply(alpha, red, green, blue);
+					destination[offset + x] = pixel;
+					alphaAnd &= pixel;
+				}
+			}
+			case CMYK -> {
+				// 프로파일이 없는 CMYK는 잉크 비율을 그대로 곱함 (JPEG 리더가 Adobe 반전, YCCK 변환은 이미 처리함)
+				for (int x = 0, i = 0; x < width; x++, i += 4) {
+					int white = 255 - (row[i + 3] >> shift);
+					destination[offset + x] = OPAQUE | multiply(255 - (row[i] >> shift), white) << 16
+						| multiply(255 - (row[i + 1] >> shift), white) << 8
+						| multiply(255 - (row[i + 2] >> shift), white);
+				}
+			}
+		}
+		return alphaAnd;
+	}
+
+	/**
+	 * 팔레트를 한 번만 변환(프리멀티플라이)해 두고 픽셀은 인덱스로 찾음 (1/2/4/8비트 모두 getSamples로 읽음)
+	 */
+	private static BufferedImage convertIndexed(BufferedImage image, IndexColorModel colorModel,
+		BufferPool bufferPool) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		boolean alpha = colorModel.hasAlpha();
+
+		int[] palette = new int[Math.max(colorModel.getMapSize(), 1 << Math.min(16, colorModel.getPixelSize()))];
+		colorModel.getRGBs(palette);
+		for (int i = 0; i < colorModel.getMapSize(); i++) {
+			int argb = palette[i];
+			palette[i] = alpha
+				? premultiply(argb >>> 24, (argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF)
+				: OPAQUE | argb;
+		}
+
+		BufferedImage target = bufferPool.createImage(width, height,
+			alpha ? BufferedImage.TYPE_INT_ARGB_PRE : BufferedImage.TYPE_INT_RGB);
+		int[] destination = intData(target);
+		int[] row = bufferPool.acquireInts(width);
+		Raster raster = image.getRaster();
+
+		int alphaAnd = OPAQUE;
+		for (int y = 0; y < height; y++) {
+			raster.getSamples(0, y, width, 1, 0, row);
+			int offset = y * width;
+			for (int x = 0; x < width; x++) {
+				int pixel = palette[row[x]];
+				destination[offset + x] = pixel;
+				alphaAnd &= pixel;
+			}
+		}
+		bufferPool.release(row);
+		return alpha && alphaAnd == OPAQUE ? asOpaque(target) : target;
+	}
+
+	/**
+	 * 빠른 경로가 없는 레이아웃
+	 * sRGB가 아닌 ICC 색 공간(Adobe RGB, Display P3, 프로파일이 붙은 CMYK 등)은 ColorConvertOp로 한 번에 변환하고,
+	 * 알파가 있거나 그 외 레이아웃(TYPE_USHORT_565_RGB 등)은 한 행씩 getRGB로 읽습니다.
+	 */
+	private static BufferedImage convertGeneric(BufferedImage image, BufferPool bufferPool) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		ColorModel colorModel = image.getColorModel();
+		ColorSpace colorSpace = colorModel.getColorSpace();
+
+		if (!colorModel.hasAlpha() && colorSpace instanceof ICC_ColorSpace && !colorSpace.isCS_sRGB()) {
+			BufferedImage target = bufferPool.createImage(width, height, BufferedImage.TYPE_INT_RGB);
+			new ColorConvertOp(null).filter(image, target);
+			return target;
+		}
+
+		boolean alpha = colorModel.hasAlpha();
+		BufferedImage target = bufferPool.createImage(width, height,
+			alpha ? BufferedImage.TYPE_INT_ARGB_PRE : BufferedImage.TYPE_INT_RGB);
+		int[] destination = intData(target);
+
+		int alphaAnd = OPAQUE;
+		for (int y = 0; y < height; y++) {
+			int offset = y * width;
+			image.getRGB(0, y, width, 1, destination, offset, width);
+			if (alpha) {
+				for (int x = offset; x < offset + width; x++) {
+					int pixel = destination[x];
+					alphaAnd &= pixel;
+					destination[x] = premultiply(pixel >>> 24, (pixel >> 16) & 0xFF, (pixel >> 8) & 0xFF,
+						pixel & 0xFF);
+				}
+			}
+		}
+		return alpha && alphaAnd == OPAQUE ? asOpaque(target) : target;
+	}
+
+	/**
+	 * 모든 픽셀이 불투명한 TYPE_INT_ARGB_PRE 이미지를 같은 배열을 쓰는 TYPE_INT_RGB 이미지로 바꿈
+	 * (알파 바이트가 0xFF라서 값은 그대로 맞고, 인코더가 알파 채널을 만들지 않음)
+	 */
+	private static BufferedImage asOpaque(BufferedImage image) {
+		WritableRaster raster = Raster.createPackedRaster(image.getRaster().getDataBuffer(), image.getWidth(),
+			image.getHeight(), image.getWidth(), RGB_MASKS, null);
+		return new BufferedImage(RGB_MODEL, raster, false, null);
+	}
+
+	private static int[] intData(BufferedImage image) {
+		return ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+	}
+
+	private static int premultiply(int alpha, int red, int green, int blue) {
+		if (alpha == 255) {
+			return OPAQUE | red << 16 | green << 8 | blue;
+		}
+		return alpha << 24 | multiply(red, alpha) << 16 | multiply(green, alpha) << 8 | multiply(blue, alpha);
+	}
+
+	/**
+	 * value * factor / 255 (반올림)
+	 */
+	private static int multiply(int value, int factor) {
+		int product = value * factor + 128;
+		return (product + (product >> 8)) >> 8;
+	}
+
+	private enum ColorKind {
+		GRAY, RGB, CMYK
+	}
+
+	/**
+	 * 밴드별 샘플 레이아웃
+	 * @param shift 샘플을 8비트로 줄일 때 오른쪽으로 미는 비트 수 (8비트 0, 16비트 8)
+	 */
+	private record ComponentLayout(ColorKind kind, boolean alpha, boolean premultiplied, int shift) {
+
+		/**
+		 * 단일 뱅크 8/16비트 ComponentSampleModel이고 sRGB, 회색, 프로파일 없는 CMYK이면 레이아웃, 아니면 null
+		 * 회색은 JDK가 선형 회색으로 취급해서 getRGB가 밝게 바꾸지만, 파일의 회색 값은 이미 감마가 적용된 값이라 그대로 씁니다.
+		 */
+		static ComponentLayout of(BufferedImage image) {
+			if (!(image.getColorModel() instanceof ComponentColorModel colorModel)
+				|| !(image.getSampleModel() instanceof ComponentSampleModel sampleModel)) {
+				return null;
+			}
+			int dataType = sampleModel.getDataType();
+			if (dataType != DataBuffer.TYPE_BYTE && dataType != DataBuffer.TYPE_USHORT) {
+				return null;
+			}
+			int bits = dataType == DataBuffer.TYPE_BYTE ? 8 : 16;
+			for (int size : sampleModel.getSampleSize()) {
+				if (size != bits) {
+					return null;
+				}
+			}
+			for (int bank : sampleModel.getBankIndices()) {
+				if (bank != 0) {
+					return null;
+				}
+			}
+
+			ColorSpace colorSpace = colorModel.getColorSpace();
+			ColorKind kind;
+			if (colorSpace.isCS_sRGB()) {
+				kind = ColorKind.RGB;
+			} else if (colorSpace.getType() == ColorSpace.TYPE_GRAY) {
+				kind = ColorKind.GRAY;
+			} else if (colorSpace.getType() == ColorSpace.TYPE_CMYK && !(colorSpace instanceof ICC_ColorSpace)
+				&& !colorModel.hasAlpha()) {
+				kind = ColorKind.CMYK;
+			} else {
+				return null;
+			}
+
+			ComponentLayout layout = new ComponentLayout(kind, colorModel.hasAlpha(),
+				colorModel.isAlphaPremultiplied(), bits - 8);
+			return sampleModel.getNumBands() == layout.bands() ? layout : null;
+		}
+
+		int bands() {
+			int colorBands = switch (kind) {
+				case GRAY -> 1;
+				case RGB -> 3;
+				case CMYK -> 4;
+			};
+			return alpha ? colorBands + 1 : colorBands;
+		}
+	}
+}
@@ -0,0 +1,237 @@
+package com.bokkurin.trackery.image;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.bokkurin.trackery.model.ImagePlaceholder;
+import com.bokkurin.trackery.model.WebPEncodeSettings;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : PlaceholderGenerator
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 썸네일 크기 이미지에서 BlurHash, 대표 색, 작은 LQIP WebP를 만드는 클래스
+ *                  BlurHash는 정규화된(TYPE_INT_RGB/TYPE_INT_ARGB_PRE) 래스터의 int[]를 복사 없이 바로 읽고,
+ *                  가로 방향 코사인 합을 행마다 먼저 구하는 분리형 계산으로 픽셀당 곱셈 수를 줄였습니다.
+ *                  대표 색은 BlurHash의 DC 성분(선형 색 공간 평균)을 그대로 씁니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+public final class PlaceholderGenerator {
+	private static final String BASE83 =
+		"0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+	private static final double[] SRGB_TO_LINEAR = new double[256];
+
+	/**
+	 * 긴 쪽 성분 수 / 짧은 쪽 성분 수 (가로가 길면 4x3, 세로가 길면 3x4)
+	 */
+	private static final int MAJOR_COMPONENTS = 4;
+	private static final int MINOR_COMPONENTS = 3;
+	static final int LQIP_SIZE = 16;
+	static final WebPEncodeSettings LQIP_ENCODING = WebPEncodeSettings.lossy(0.5f);
+	/**
+	 * S3 사용자 메타데이터는 전체 2KB까지라 Base64로 늘어난 뒤에도 여유가 남도록 제한
+	 */
+	static final int MAX_LQIP_BYTES = 1024;
+
+	static {
+		for (int i = 0; i < SRGB_TO_LINEAR.length; i++) {
+			double value = i / 255.0;
+			SRGB_TO_LINEAR[i] = value <= 0.04045 ? value / 12.92 : Math.pow((value + 0.055) / 1.055, 2.4);
+		}
+	}
+
+	private PlaceholderGenerator() {
+	}
+
+	/**
+	 * 자리 표시 정보를 만듦 (입력 이미지는 읽기만 함)
+	 * 정규화되지 않은 입력은 먼저 변환하고, 변환/축소 버퍼는 끝나면 bufferPool에 돌려줍니다.
+	 * @param image 썸네일 크기로 줄인 이미지
+	 * @param bufferPool 중간 버퍼를 받을 풀
+	 * @throws IOException LQIP 인코딩에 실패했을 때
+	 */
+	public static ImagePlaceholder generate(BufferedImage image, BufferPool bufferPool) throws IOException {
+		BufferedImage source = PixelNormalizer.normalize(image, bufferPool);
+		try {
+			boolean landscape = source.getWidth() >= source.getHeight();
+			String blurHash = blurHash(source,
+				landscape ? MAJOR_COMPONENTS : MINOR_COMPONENTS, landscape ? MINOR_COMPONENTS : MAJOR_COMPONENTS);
+			return new ImagePlaceholder(blurHash, averageColor(blurHash), createLqip(source, bufferPool));
+		} finally {
+			if (source != image) {
+				bufferPool.release(source);
+			}
+		}
+	}
+
+	/**
+	 * 정규화된 이미지의 BlurHash
+	 * 알파가 있는 이미지(TYPE_INT_ARGB_PRE)는 흰 배경에 합성한 색으로 계산합니다.
+	 * @param componentsX 가로 성분 수 (1 - 9)
+	 * @param componentsY 세로 성분 수 (1 - 9)
+	 */
+	static String blurHash(BufferedImage image, int componentsX, int componentsY) {
+		if (componentsX < 1 || componentsX > 9 || componentsY < 1 || componentsY > 9) {
+			throw new IllegalArgumentException("BlurHash 성분 수는 1 - 9 사이여야 합니다: "
+				+ componentsX + "x" + componentsY);
+		}
+
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int[] pixels = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+		boolean premultiplied = image.isAlphaPremultiplied();
+
+		double[] cosX = cosineTable(width, componentsX);
+		double[] cosY = cosineTable(height, componentsY);
+		double[] rowSums = new double[componentsX * 3];
+		double[] factors = new double[componentsX * componentsY * 3];
+
+		for (int y = 0; y < height; y++) {
+			Arrays.fill(rowSums, 0);
+			int rowOffset = y * width;
+			for (int x = 0; x < width; x++) {
+				int pixel = pixels[rowOffset + x];
+				int red = pixel >> 16 & 0xFF;
+				int green = pixel >> 8 & 0xFF;
+				int blue = pixel & 0xFF;
+				if (premultiplied) {
+					// 프리멀티플라이 값에 (255 - alpha)를 더하면 흰 배경에 합성한 색
+					int transparency = 255 - (pixel >>> 24);
+					red += transparency;
+					green += transparency;
+					blue += transparency;
+				}
+				double linearRed = SRGB_TO_LINEAR[red];
+				double linearGreen = SRGB_TO_LINEAR[green];
+				double linearBlue = SRGB_TO_LINEAR[blue];
+				for (int i = 0, base = x; i < componentsX; i++, base += width) {
+					double basis = cosX[base];
+					rowSums[i * 3] += basis * linearRed;
+					rowSums[i * 3 + 1] += basis * linearGreen;
+					rowSums[i * 3 + 2] += basis * linearBlue;
+				}
+			}
+
+			for (int j = 0; j < componentsY; j++) {
+				double basis = cosY[j * height + y];
+				int factorOffset = j * componentsX * 3;
+				for (int k = 0; k < rowSums.length; k++) {
+					factors[factorOffset + k] += basis * rowSums[k];
+				}
+			}
+		}
+
+		double pixelCount = (double)width * height;
+		for (int k = 0; k < factors.length; k++) {
+			// DC 성분은 평균, AC 성분은 2배 (BlurHash 정의)
+			factors[k] *= (k < 3 ? 1 : 2) / pixelCount;
+		}
+		return encode(factors, componentsX, componentsY);
+	}
+
+	/**
+	 * BlurHash의 DC 성분(3 - 6번째 문자)을 0xRRGGBB로 읽음
+	 */
+	static int averageColor(String blurHash) {
+		int value = 0;
+		for (int i = 2; i < 6; i++) {
+			value = value * 83 + BASE83.indexOf(blurHash.charAt(i));
+		}
+		return value;
+	}
+
+	private static String encode(double[] factors, int componentsX, int componentsY) {
+		int componentCount = componentsX * componentsY;
+		StringBuilder hash = new StringBuilder(4 + 2 * componentCount);
+		appendBase83(hash, (componentsX - 1) + (componentsY - 1) * 9, 1);
+
+		double maximumValue = 1;
+		if (componentCount > 1) {
+			double actualMaximum = 0;
+			for (int k = 3; k < factors.length; k++) {
+				actualMaximum = Math.max(actualMaximum, Math.abs(factors[k]));
+			}
+			int quantisedMaximum = (int)Math.max(0, Math.min(82, Math.floor(actualMaximum * 166 - 0.5)));
+			maximumValue = (quantisedMaximum + 1) / 166.0;
+			appendBase83(hash, quantisedMaximum, 1);
+		} else {
+			appendBase83(hash, 0, 1);
+		}
+
+		appendBase83(hash, linearToSrgb(factors[0]) << 16 | linearToSrgb(factors[1]) << 8 | linearToSrgb(factors[2]),
+			4);
+		for (int k = 3; k < factors.length; k += 3) {
+			int value = quantiseAc(factors[k], maximumValue) * 19 * 19
+				+ quantiseAc(factors[k + 1], maximumValue) * 19
+				+ quantiseAc(factors[k + 2], maximumValue);
+			appendBase83(hash, value, 2);
+		}
+		return hash.toString();
+	}
+
+	/**
+	 * table[component * length + position] = cos(PI * component * position / length)
+	 */
+	private static double[] cosineTable(int length, int components) {
+		double[] table = new double[components * length];
+		for (int component = 0; component < components; component++) {
+			for (int position = 0; position < length; position++) {
+				table[component * length + position] = Math.cos(Math.PI * component * position / length);
+			}
+		}
+		return table;
+	}
+
+	private static int quantiseAc(double value, double maximumValue) {
+		double normalized = value / maximumValue;
+		double signedRoot = Math.copySign(Math.sqrt(Math.abs(normalized)), normalized);
+		return (int)Math.max(0, Math.min(18, Math.floor(signedRoot * 9 + 9.5)));
+	}
+
+	private static int linearToSrgb(double value) {
+		double clamped = Math.max(0, Math.min(1, value));
+		return clamped <= 0.0031308
+			? (int)(clamped * 12.92 * 255 + 0.5)
+			: (int)((1.055 * Math.pow(clamped, 1 / 2.4) - 0.055) * 255 + 0.5);
+	}
+
+	private static void appendBase83(StringBuilder builder, int value, int length) {
+		for (int i = length - 1; i >= 0; i--) {
+			int digit = (int)(value / pow83(i) % 83);
+			builder.append(BASE83.charAt(digit));
+		}
+	}
+
+	private static long pow83(int exponent) {
+		long result = 1;
+		for (int i = 0; i < exponent; i++) {
+			result *= 83;
+		}
+		return result;
+	}
+
+	/**
+	 * 긴 변이 LQIP_SIZE가 되도록 면적 평균으로 줄여서 WebP로 인코딩
+	 * @return WebP 바이트, MAX_LQIP_BYTES를 넘으면 null
+	 */
+	private static byte[] createLqip(BufferedImage image, BufferPool bufferPool) throws IOException {
+		double scale = Math.min(1.0, (double)LQIP_SIZE / Math.max(image.getWidth(), image.getHeight()));
+		int width = Math.max(1, (int)Math.round(image.getWidth() * scale));
+		int height = Math.max(1, (int)Math.round(image.getHeight() * scale));
+
+		BufferedImage lqipImage = ImageResizer.resize(image, width, height, ImageResizer.ResizeMode.AREA_AVERAGE,
+			bufferPool);
+		try {
+			byte[] webpBytes = WebPEncoder.encode(lqipImage, LQIP_ENCODING);
+			return webpBytes.length <= MAX_LQIP_BYTES ? webpBytes : null;
+		} finally {
+			bufferPool.release(lqipImage);
+		}
+	}
+}
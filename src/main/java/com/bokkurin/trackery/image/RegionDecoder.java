@@ -0,0 +1,116 @@
+package com.bokkurin.trackery.image;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+
+import com.bokkurin.trackery.image.ImageResizer.ResizeMode;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : RegionDecoder
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 픽셀 예산을 넘는 이미지를 가로 띠 단위로 나눠 디코딩하면서 바로 축소해 붙이는 클래스
+ *                  원본 전체 래스터를 만들지 않으므로 최대 메모리는 결과 크기와 띠 하나 크기로 정해집니다.
+ *                  띠마다 setSourceRegion으로 필요한 행만, setSourceSubsampling으로 결과의 2배 이상 해상도만 남겨 읽고
+ *                  면적 평균으로 줄입니다. 결과는 알파가 있는 포맷이면 TYPE_INT_ARGB_PRE, 아니면 TYPE_INT_RGB입니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		알파 채널 유지
+ * 26. 10. 18.		durururuk		띠 수를 MAX_STRIPS로 제한 (띠마다 앞부분부터 다시 디코딩하므로)
+ */
+public final class RegionDecoder {
+	/**
+	 * 최대 띠 수 (JPEG/PNG 리더는 띠마다 처음부터 다시 디코딩하므로 디코딩 시간이 띠 수에 비례함)
+	 * 띠가 이보다 많아지면 띠 하나를 stripPixels보다 크게 잡습니다. (서브샘플링 후 원본은 결과의 4 - 16배라
+	 * 띠 하나는 최대 결과 크기의 4배까지 커질 수 있음)
+	 */
+	static final int MAX_STRIPS = 4;
+
+	private RegionDecoder() {
+	}
+
+	/**
+	 * 이미지를 띠 단위로 디코딩해서 지정한 크기로 줄임
+	 * JPEG/PNG 리더는 띠를 읽을 때마다 앞부분부터 다시 읽으므로 리더 입력은 seekForwardOnly=false로 연결해야 하고,
+	 * 전체 디코딩 횟수가 늘지 않도록 띠는 최대 MAX_STRIPS개로 나눕니다.
+	 * @param reader 입력이 연결된 ImageReader
+	 * @param targetWidth 결과 너비
+	 * @param targetHeight 결과 높이
+	 * @param stripPixels 띠 하나로 디코딩할 픽셀 수 (서브샘플링 후 기준, 띠 수가 MAX_STRIPS를 넘으면 더 커짐)
+	 * @param bufferPool 결과 이미지와 띠 버퍼를 받을 풀
+	 * @return 축소된 이미지
+	 * @throws IOException 디코딩에 실패했을 때 발생하는 예외
+	 */
+	public static BufferedImage decodeDownscaled(ImageReader reader, int targetWidth, int targetHeight,
+		long stripPixels, BufferPool bufferPool) throws IOException {
+		int sourceWidth = reader.getWidth(0);
+		int sourceHeight = reader.getHeight(0);
+
+		// 결과의 2배 이상 해상도가 남는 가장 큰 서브샘플링 배율 (건너뛴 행은 디코더가 버퍼에 담지 않음)
+		int subsampling = Math.max(1, Math.min(sourceWidth / (2 * targetWidth), sourceHeight / (2 * targetHeight)));
+		int sampledWidth = ceilDiv(sourceWidth, subsampling);
+		int sampledHeight = ceilDiv(sourceHeight, subsampling);
+		double rowScale = (double)sampledHeight / targetHeight;
+		int targetRowsPerStrip = (int)Math.max(ceilDiv(targetHeight, MAX_STRIPS),
+			Math.min(targetHeight, stripPixels / sampledWidth / rowScale));
+
+		ImageTypeSpecifier stripType = firstImageType(reader);
+		boolean alpha = stripType != null && stripType.getColorModel().hasAlpha();
+		BufferedImage result = bufferPool.createImage(targetWidth, targetHeight,
+			alpha ? BufferedImage.TYPE_INT_ARGB_PRE : BufferedImage.TYPE_INT_RGB);
+		int[] resultPixels = ((DataBufferInt)result.getRaster().getDataBuffer()).getData();
+
+		for (int targetY = 0; targetY < targetHeight; targetY += targetRowsPerStrip) {
+			int stripTargetRows = Math.min(targetRowsPerStrip, targetHeight - targetY);
+			int sampledStart = (int)Math.floor(targetY * rowScale);
+			int sampledEnd = Math.min(sampledHeight, (int)Math.ceil((targetY + stripTargetRows) * rowScale));
+			int sourceY = sampledStart * subsampling;
+			int sourceRows = Math.min(sourceHeight, sampledEnd * subsampling) - sourceY;
+
+			ImageReadParam readParam = reader.getDefaultReadParam();
+			readParam.setSourceRegion(new Rectangle(0, sourceY, sourceWidth, sourceRows));
+			readParam.setSourceSubsampling(subsampling, subsampling, 0, 0);
+			BufferedImage destination = stripType != null
+				? bufferPool.createDecodeImage(stripType, sampledWidth, sampledEnd - sampledStart)
+				: null;
+			readParam.setDestination(destination);
+
+			BufferedImage strip = reader.read(0, readParam);
+			BufferedImage scaledStrip = ImageResizer.resize(strip, targetWidth, stripTargetRows,
+				ResizeMode.AREA_AVERAGE, bufferPool);
+			bufferPool.release(destination);
+
+			int[] scaledPixels = ((DataBufferInt)scaledStrip.getRaster().getDataBuffer()).getData();
+			if (alpha && scaledStrip.getType() == BufferedImage.TYPE_INT_RGB) {
+				// 불투명한 띠는 TYPE_INT_RGB로 줄어들어 알파 바이트가 비어 있으므로 채워서 복사
+				for (int i = 0, offset = targetY * targetWidth; i < stripTargetRows * targetWidth; i++) {
+					resultPixels[offset + i] = 0xFF000000 | scaledPixels[i];
+				}
+			} else {
+				System.arraycopy(scaledPixels, 0, resultPixels, targetY * targetWidth,
+					stripTargetRows * targetWidth);
+			}
+			bufferPool.release(scaledStrip);
+		}
+		return result;
+	}
+
+	private static ImageTypeSpecifier firstImageType(ImageReader reader) throws IOException {
+		Iterator<ImageTypeSpecifier> imageTypes = reader.getImageTypes(0);
+		return imageTypes.hasNext() ? imageTypes.next() : null;
+	}
+
+	private static int ceilDiv(int value, int divisor) {
+		return (value + divisor - 1) / divisor;
+	}
+}
@@ -0,0 +1,166 @@
+package com.bokkurin.trackery.image;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+
+import com.bokkurin.trackery.config.AppConstants;
+import com.bokkurin.trackery.config.BufferPoolConfiguration;
+import com.bokkurin.trackery.model.WebPEncodeSettings;
+import com.luciad.imageio.webp.WebPWriteParam;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : WebPEncoder
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : webp-imageio ImageWriter로 설정(손실/무손실, 품질, method)을 지정해서 인코딩하는 클래스
+ *                  WebP ImageWriter는 스레드 안전하지 않기 때문에 스레드마다 하나씩 만들어 재사용합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		ByteArrayImageOutputStream으로 결과를 한 번만 복사
+ * 26. 10. 18.		durururuk		출력 스트림 재사용, libwebp 결과 배열을 복사 없이 반환, writer의 래스터 전체 복사 제거
+ * 26. 10. 18.		durururuk		프리멀티플라이 알파 이미지는 일반 ARGB로 되돌려서 인코딩
+ */
+public final class WebPEncoder {
+	private static final ThreadLocal<ImageWriter> WRITERS = new ThreadLocal<>();
+	private static final ThreadLocal<ByteArrayImageOutputStream> OUTPUTS =
+		ThreadLocal.withInitial(() -> new ByteArrayImageOutputStream(true));
+
+	private WebPEncoder() {
+	}
+
+	/**
+	 * 이미지를 지정한 설정의 WebP 바이트 배열로 인코딩
+	 * @param image    인코딩할 이미지
+	 * @param settings 인코더 설정
+	 * @return WebP 바이트 배열
+	 * @throws IOException WebP writer가 없거나 인코딩에 실패했을 때 발생하는 예외
+	 */
+	public static byte[] encode(BufferedImage image, WebPEncodeSettings settings) throws IOException {
+		if (!image.isAlphaPremultiplied()) {
+			return write(image, settings);
+		}
+
+		BufferPool bufferPool = BufferPoolConfiguration.getBufferPool();
+		BufferedImage straightImage = unpremultiply(image, bufferPool);
+		try {
+			return write(straightImage, settings);
+		} finally {
+			bufferPool.release(straightImage);
+		}
+	}
+
+	private static byte[] write(BufferedImage image, WebPEncodeSettings settings) throws IOException {
+		ImageWriter writer = getWriter();
+
+		// 스트림 객체는 스레드마다 재사용하고, 결과 배열은 libwebp가 만든 배열을 복사 없이 그대로 넘겨받음
+		ByteArrayImageOutputStream outputStream = OUTPUTS.get();
+		outputStream.reset();
+		try {
+			writer.setOutput(outputStream);
+			writer.write(null, new IIOImage(withoutRasterCopy(image), null, null), createWriteParam(writer, settings));
+			return outputStream.toByteArray();
+		} catch (IOException | RuntimeException e) {
+			// 실패한 writer는 상태를 믿을 수 없으므로 버리고 다음 호출에서 새로 만듦
+			WRITERS.remove();
+			writer.dispose();
+			throw e;
+		} finally {
+			writer.setOutput(null);
+			outputStream.reset();
+		}
+	}
+
+	/**
+	 * webp-imageio는 알파 채널과 색 값을 그대로 libwebp에 넘기므로 프리멀티플라이 값이면 반투명 부분이 어두워집니다.
+	 * TYPE_INT_ARGB로 되돌린 복사본을 만듭니다. (PixelNormalizer 레이아웃이 아니면 getRGB로 읽음)
+	 */
+	private static BufferedImage unpremultiply(BufferedImage image, BufferPool bufferPool) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		BufferedImage straightImage = bufferPool.createImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		int[] destination = ((DataBufferInt)straightImage.getRaster().getDataBuffer()).getData();
+
+		if (!PixelNormalizer.isNormalized(image)) {
+			image.getRGB(0, 0, width, height, destination, 0, width);
+			return straightImage;
+		}
+
+		int[] source = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+		for (int i = 0, length = width * height; i < length; i++) {
+			int pixel = source[i];
+			int alpha = pixel >>> 24;
+			if (alpha == 255 || alpha == 0) {
+				destination[i] = pixel;
+				continue;
+			}
+			// 255 / alpha를 16비트 고정소수점으로 한 번만 계산
+			int scale = (255 << 16) / alpha;
+			int red = Math.min(255, (((pixel >> 16) & 0xFF) * scale + 0x8000) >> 16);
+			int green = Math.min(255, (((pixel >> 8) & 0xFF) * scale + 0x8000) >> 16);
+			int blue = Math.min(255, ((pixel & 0xFF) * scale + 0x8000) >> 16);
+			destination[i] = alpha << 24 | red << 16 | green << 8 | blue;
+		}
+		return straightImage;
+	}
+
+	/**
+	 * WebP writer는 픽셀을 꺼내기 전에 getData()로 래스터 전체를 복사하지만 복사본을 읽기만 합니다.
+	 * 배열 처음부터 시작하는 래스터면 getData()가 같은 래스터를 돌려주게 감싸서 이미지 크기만큼의 할당을 없앱니다.
+	 */
+	private static RenderedImage withoutRasterCopy(BufferedImage image) {
+		WritableRaster raster = image.getRaster();
+		if (raster.getParent() != null || raster.getMinX() != 0 || raster.getMinY() != 0
+			|| raster.getSampleModelTranslateX() != 0 || raster.getSampleModelTranslateY() != 0
+			|| raster.getDataBuffer().getOffset() != 0) {
+			return image;
+		}
+
+		return new BufferedImage(image.getColorModel(), raster, image.isAlphaPremultiplied(), null) {
+			@Override
+			public Raster getData() {
+				return getRaster();
+			}
+		};
+	}
+
+	private static ImageWriteParam createWriteParam(ImageWriter writer, WebPEncodeSettings settings) {
+		ImageWriteParam writeParam = writer.getDefaultWriteParam();
+		writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+		writeParam.setCompressionType(settings.lossless() ? "Lossless" : "Lossy");
+		writeParam.setCompressionQuality(settings.quality());
+
+		if (writeParam instanceof WebPWriteParam webPWriteParam) {
+			webPWriteParam.setMethod(settings.method());
+		}
+		return writeParam;
+	}
+
+	private static ImageWriter getWriter() throws IOException {
+		ImageWriter writer = WRITERS.get();
+		if (writer != null) {
+			return writer;
+		}
+
+		Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(AppConstants.OUTPUT_FORMAT);
+		if (!writers.hasNext()) {
+			throw new IOException("WebP writer를 찾을 수 없습니다");
+		}
+
+		writer = writers.next();
+		WRITERS.set(writer);
+		return writer;
+	}
+}
@@ -0,0 +1,322 @@
+package com.bokkurin.trackery.local;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CopyObjectResponse;
+import software.amazon.awssdk.services.s3.model.CopyObjectResult;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * packageName    : com.bokkurin.trackery.local
+ * fileName       : LocalS3Client
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 로컬 디렉터리를 버킷처럼 쓰는 S3Client 대역 (벤치마크, 오프라인 테스트용)
+ *                  rootDirectory/버킷/키 경로에 객체를 파일로 저장하고, ETag, 컨텐츠 타입, 사용자 메타데이터는
+ *                  rootDirectory/.metadata/버킷/키.properties에 따로 저장합니다. (S3 버킷 이름은 .으로 시작할 수 없음)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성 (GetObject, PutObject)
+ * 26. 10. 18.		durururuk		CopyObject 추가
+ * 26. 10. 18.		durururuk		HeadObject, ETag(MD5)와 사용자 메타데이터 사이드카 추가
+ * 26. 10. 18.		durururuk		ListObjectsV2 추가 (백필 오프라인 테스트용)
+ */
+public class LocalS3Client implements S3Client {
+	private static final String METADATA_DIRECTORY = ".metadata";
+	private static final String ETAG = "eTag";
+	private static final String CONTENT_TYPE = "contentType";
+	private static final String USER_METADATA_PREFIX = "meta.";
+
+	private final Path rootDirectory;
+
+	public LocalS3Client(Path rootDirectory) {
+		this.rootDirectory = rootDirectory;
+	}
+
+	@Override
+	public <ReturnT> ReturnT getObject(GetObjectRequest getObjectRequest,
+		ResponseTransformer<GetObjectResponse, ReturnT> responseTransformer) {
+		Path objectPath = resolve(getObjectRequest.bucket(), getObjectRequest.key());
+
+		try {
+			ObjectMetadata metadata = readMetadata(getObjectRequest.bucket(), getObjectRequest.key());
+			GetObjectResponse response = GetObjectResponse.builder()
+				.contentLength(Files.size(objectPath))
+				.eTag(metadata.eTag())
+				.contentType(metadata.contentType())
+				.metadata(metadata.userMetadata())
+				.build();
+			InputStream inputStream = Files.newInputStream(objectPath);
+			return responseTransformer.transform(response, AbortableInputStream.create(inputStream));
+
+		} catch (NoSuchFileException e) {
+			throw noSuchKey(getObjectRequest.bucket(), getObjectRequest.key());
+		} catch (Exception e) {
+			throw SdkClientException.create("로컬 객체 읽기 실패: " + objectPath, e);
+		}
+	}
+
+	@Override
+	public HeadObjectResponse headObject(HeadObjectRequest headObjectRequest) {
+		Path objectPath = resolve(headObjectRequest.bucket(), headObjectRequest.key());
+
+		try {
+			ObjectMetadata metadata = readMetadata(headObjectRequest.bucket(), headObjectRequest.key());
+			return HeadObjectResponse.builder()
+				.contentLength(Files.size(objectPath))
+				.eTag(metadata.eTag())
+				.contentType(metadata.contentType())
+				.metadata(metadata.userMetadata())
+				.build();
+
+		} catch (NoSuchFileException e) {
+			throw noSuchKey(headObjectRequest.bucket(), headObjectRequest.key());
+		} catch (IOException e) {
+			throw new UncheckedIOException("로컬 객체 읽기 실패: " + objectPath, e);
+		}
+	}
+
+	@Override
+	public PutObjectResponse putObject(PutObjectRequest putObjectRequest, RequestBody requestBody) {
+		Path objectPath = resolve(putObjectRequest.bucket(), putObjectRequest.key());
+
+		String eTag;
+		try (DigestInputStream inputStream = new DigestInputStream(
+			requestBody.contentStreamProvider().newStream(), md5())) {
+			Files.createDirectories(objectPath.getParent());
+			Files.copy(inputStream, objectPath, StandardCopyOption.REPLACE_EXISTING);
+			eTag = quote(HexFormat.of().formatHex(inputStream.getMessageDigest().digest()));
+
+			writeMetadata(putObjectRequest.bucket(), putObjectRequest.key(),
+				new ObjectMetadata(eTag, putObjectRequest.contentType(), putObjectRequest.metadata()));
+		} catch (IOException e) {
+			throw new UncheckedIOException("로컬 객체 쓰기 실패: " + objectPath, e);
+		}
+
+		return PutObjectResponse.builder().eTag(eTag).build();
+	}
+
+	@Override
+	public CopyObjectResponse copyObject(CopyObjectRequest copyObjectRequest) {
+		Path sourcePath = resolve(copyObjectRequest.sourceBucket(), copyObjectRequest.sourceKey());
+		Path destinationPath = resolve(copyObjectRequest.destinationBucket(), copyObjectRequest.destinationKey());
+
+		ObjectMetadata sourceMetadata;
+		try {
+			sourceMetadata = readMetadata(copyObjectRequest.sourceBucket(), copyObjectRequest.sourceKey());
+			Files.createDirectories(destinationPath.getParent());
+			Files.copy(sourcePath, destinationPath, StandardCopyOption.REPLACE_EXISTING);
+
+			// S3와 같이 REPLACE일 때만 요청의 메타데이터를 쓰고, 아니면 원본 메타데이터를 그대로 복사
+			ObjectMetadata destinationMetadata = copyObjectRequest.metadataDirective() == MetadataDirective.REPLACE
+				? new ObjectMetadata(sourceMetadata.eTag(), copyObjectRequest.contentType(),
+				copyObjectRequest.metadata())
+				: sourceMetadata;
+			writeMetadata(copyObjectRequest.destinationBucket(), copyObjectRequest.destinationKey(),
+				destinationMetadata);
+		} catch (NoSuchFileException e) {
+			throw noSuchKey(copyObjectRequest.sourceBucket(), copyObjectRequest.sourceKey());
+		} catch (IOException e) {
+			throw new UncheckedIOException("로컬 객체 복사 실패: " + sourcePath, e);
+		}
+
+		return CopyObjectResponse.builder()
+			.copyObjectResult(CopyObjectResult.builder().eTag(sourceMetadata.eTag()).build())
+			.build();
+	}
+
+	/**
+	 * 버킷 디렉터리 아래 파일을 키 사전순으로 나열
+	 * 접두사, startAfter, maxKeys를 지원하고 continuationToken은 이전 페이지의 마지막 키를 그대로 씁니다.
+	 * delimiter(공통 접두사 묶기)는 지원하지 않습니다.
+	 */
+	@Override
+	public ListObjectsV2Response listObjectsV2(ListObjectsV2Request listObjectsV2Request) {
+		String bucket = listObjectsV2Request.bucket();
+		String prefix = listObjectsV2Request.prefix() != null ? listObjectsV2Request.prefix() : "";
+		String after = listObjectsV2Request.continuationToken() != null
+			? listObjectsV2Request.continuationToken()
+			: listObjectsV2Request.startAfter();
+		int maxKeys = listObjectsV2Request.maxKeys() != null ? listObjectsV2Request.maxKeys() : 1000;
+		Path bucketDirectory = rootDirectory.resolve(bucket).normalize();
+
+		List<String> keys;
+		if (!Files.isDirectory(bucketDirectory)) {
+			keys = List.of();
+		} else {
+			try (Stream<Path> paths = Files.walk(bucketDirectory)) {
+				keys = paths.filter(Files::isRegularFile)
+					.map(path -> bucketDirectory.relativize(path).toString().replace('\\', '/'))
+					.filter(key -> key.startsWith(prefix))
+					.filter(key -> after == null || key.compareTo(after) > 0)
+					.sorted()
+					.limit(maxKeys + 1L)
+					.toList();
+			} catch (IOException e) {
+				throw new UncheckedIOException("로컬 버킷 목록 조회 실패: " + bucketDirectory, e);
+			}
+		}
+
+		boolean truncated = keys.size() > maxKeys;
+		List<String> pageKeys = truncated ? keys.subList(0, maxKeys) : keys;
+		List<S3Object> contents = new ArrayList<>(pageKeys.size());
+		for (String key : pageKeys) {
+			try {
+				contents.add(S3Object.builder()
+					.key(key)
+					.size(Files.size(resolve(bucket, key)))
+					.eTag(readMetadata(bucket, key).eTag())
+					.build());
+			} catch (IOException e) {
+				throw new UncheckedIOException("로컬 객체 읽기 실패: " + key, e);
+			}
+		}
+
+		return ListObjectsV2Response.builder()
+			.name(bucket)
+			.prefix(listObjectsV2Request.prefix())
+			.maxKeys(maxKeys)
+			.keyCount(contents.size())
+			.contents(contents)
+			.isTruncated(truncated)
+			.nextContinuationToken(truncated ? pageKeys.get(pageKeys.size() - 1) : null)
+			.build();
+	}
+
+	/**
+	 * 버킷/키에 해당하는 로컬 파일 경로
+	 * 키에 ..가 들어 있어서 버킷 디렉터리 밖을 가리키면 거부합니다.
+	 */
+	public Path resolve(String bucket, String key) {
+		return resolve(rootDirectory, bucket, key);
+	}
+
+	private Path resolve(Path baseDirectory, String bucket, String key) {
+		Path bucketDirectory = baseDirectory.resolve(bucket).normalize();
+		Path objectPath = bucketDirectory.resolve(key).normalize();
+		if (!objectPath.startsWith(bucketDirectory) || objectPath.equals(bucketDirectory)) {
+			throw new IllegalArgumentException("잘못된 객체 키: " + key);
+		}
+		return objectPath;
+	}
+
+	private Path metadataPath(String bucket, String key) {
+		Path objectPath = resolve(rootDirectory.resolve(METADATA_DIRECTORY), bucket, key);
+		return objectPath.resolveSibling(objectPath.getFileName() + ".properties");
+	}
+
+	/**
+	 * 사이드카 파일에서 메타데이터를 읽음
+	 * 사이드카 없이 직접 넣은 파일은 내용으로 ETag를 계산합니다.
+	 */
+	private ObjectMetadata readMetadata(String bucket, String key) throws IOException {
+		Path metadataPath = metadataPath(bucket, key);
+		if (!Files.exists(metadataPath)) {
+			try (DigestInputStream inputStream = new DigestInputStream(
+				Files.newInputStream(resolve(bucket, key)), md5())) {
+				inputStream.transferTo(OutputStream.nullOutputStream());
+				return new ObjectMetadata(quote(HexFormat.of().formatHex(inputStream.getMessageDigest().digest())),
+					null, Map.of());
+			}
+		}
+
+		Properties properties = new Properties();
+		try (InputStream inputStream = Files.newInputStream(metadataPath)) {
+			properties.load(inputStream);
+		}
+
+		Map<String, String> userMetadata = new HashMap<>();
+		for (String name : properties.stringPropertyNames()) {
+			if (name.startsWith(USER_METADATA_PREFIX)) {
+				userMetadata.put(name.substring(USER_METADATA_PREFIX.length()), properties.getProperty(name));
+			}
+		}
+		return new ObjectMetadata(properties.getProperty(ETAG), properties.getProperty(CONTENT_TYPE), userMetadata);
+	}
+
+	private void writeMetadata(String bucket, String key, ObjectMetadata metadata) throws IOException {
+		Properties properties = new Properties();
+		properties.setProperty(ETAG, metadata.eTag());
+		if (metadata.contentType() != null) {
+			properties.setProperty(CONTENT_TYPE, metadata.contentType());
+		}
+		if (metadata.userMetadata() != null) {
+			metadata.userMetadata().forEach((name, value) -> properties.setProperty(USER_METADATA_PREFIX + name, value));
+		}
+
+		Path metadataPath = metadataPath(bucket, key);
+		Files.createDirectories(metadataPath.getParent());
+		try (OutputStream outputStream = Files.newOutputStream(metadataPath)) {
+			properties.store(outputStream, null);
+		}
+	}
+
+	private static MessageDigest md5() {
+		try {
+			return MessageDigest.getInstance("MD5");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String quote(String eTag) {
+		return "\"" + eTag + "\"";
+	}
+
+	private NoSuchKeyException noSuchKey(String bucket, String key) {
+		String message = String.format("로컬 객체가 없습니다 - 버킷: %s, 키: %s", bucket, key);
+		return NoSuchKeyException.builder()
+			.statusCode(404)
+			.awsErrorDetails(AwsErrorDetails.builder().errorCode("NoSuchKey").errorMessage(message).build())
+			.message(message)
+			.build();
+	}
+
+	@Override
+	public String serviceName() {
+		return SERVICE_NAME;
+	}
+
+	@Override
+	public void close() {
+		// 닫을 리소스 없음
+	}
+
+	private record ObjectMetadata(String eTag, String contentType, Map<String, String> userMetadata) {
+	}
+}
@@ -0,0 +1,201 @@
+package com.bokkurin.trackery.metrics;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * packageName    : com.bokkurin.trackery.metrics
+ * fileName       : MetricsEmitter
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 레코드/호출 지표를 CloudWatch Embedded Metric Format(EMF) JSON 한 줄로 출력하는 클래스
+ *                  람다는 표준 출력의 EMF 줄을 읽어 PutMetricData 호출 없이 지표로 만들고,
+ *                  ObjectKey 같은 지표가 아닌 값은 Logs Insights에서 검색할 수 있는 속성으로 남습니다.
+ *                  지표 정의 부분은 생성할 때 한 번만 만들고, 값은 스레드별 StringBuilder에 붙여서 출력합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+public class MetricsEmitter {
+	private static final String MILLISECONDS = "Milliseconds";
+	private static final String BYTES = "Bytes";
+	private static final String COUNT = "Count";
+	private static final String NONE = "None";
+
+	private static final Stage[] STAGES = Stage.values();
+	private static final AtomicBoolean coldStart = new AtomicBoolean(true);
+	private static final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(2048));
+
+	private final Consumer<String> sink;
+	private final String recordDefinition;
+	private final String invocationDefinition;
+
+	/**
+	 * @param sink EMF 줄을 받을 곳 (람다에서는 표준 출력)
+	 * @param namespace CloudWatch 지표 네임스페이스
+	 * @param functionName 지표 차원(FunctionName) 값
+	 */
+	public MetricsEmitter(Consumer<String> sink, String namespace, String functionName) {
+		this.sink = sink;
+
+		StringBuilder recordMetrics = new StringBuilder();
+		for (Stage stage : STAGES) {
+			appendDefinition(recordMetrics, stage.metricName(), MILLISECONDS);
+		}
+		appendDefinition(recordMetrics, "TotalTime", MILLISECONDS);
+		appendDefinition(recordMetrics, "SourceBytes", BYTES);
+		appendDefinition(recordMetrics, "OutputBytes", BYTES);
+		appendDefinition(recordMetrics, "Megapixels", NONE);
+		appendDefinition(recordMetrics, "Renditions", COUNT);
+		appendDefinition(recordMetrics, "Copies", COUNT);
+		appendDefinition(recordMetrics, "Skipped", COUNT);
+		appendDefinition(recordMetrics, "Failed", COUNT);
+		this.recordDefinition = createDefinition(namespace, functionName, recordMetrics);
+
+		StringBuilder invocationMetrics = new StringBuilder();
+		appendDefinition(invocationMetrics, "ColdStart", COUNT);
+		appendDefinition(invocationMetrics, "Records", COUNT);
+		appendDefinition(invocationMetrics, "FailedRecords", COUNT);
+		appendDefinition(invocationMetrics, "InvocationTime", MILLISECONDS);
+		this.invocationDefinition = createDefinition(namespace, functionName, invocationMetrics);
+	}
+
+	/**
+	 * 아무것도 출력하지 않는 출력기 (METRICS_ENABLED=false, 벤치마크용)
+	 */
+	public static MetricsEmitter disabled() {
+		return new MetricsEmitter(null, "", "");
+	}
+
+	/**
+	 * 컨테이너(또는 SnapStart 복원) 후 첫 호출인지 확인하고 표시를 지움
+	 * @return 첫 호출이면 true
+	 */
+	public static boolean markInvocation() {
+		return coldStart.getAndSet(false);
+	}
+
+	/**
+	 * 다음 호출을 다시 콜드 스타트로 표시 (SnapStart 복원 직후)
+	 */
+	public static void resetColdStart() {
+		coldStart.set(true);
+	}
+
+	/**
+	 * 레코드 하나의 단계별 소요 시간, 크기, 결과를 출력
+	 */
+	public void emitRecord(RecordMetrics metrics) {
+		if (sink == null) {
+			return;
+		}
+
+		StringBuilder builder = begin(recordDefinition);
+		builder.append(",\"ObjectKey\":");
+		appendString(builder, metrics.objectKey());
+		for (Stage stage : STAGES) {
+			appendMillis(builder, stage.metricName(), metrics.stageNanos(stage));
+		}
+		appendMillis(builder, "TotalTime", metrics.totalNanos());
+		appendValue(builder, "SourceBytes", metrics.sourceBytes());
+		appendValue(builder, "OutputBytes", metrics.outputBytes());
+		appendName(builder, "Megapixels");
+		appendThousandths(builder, metrics.sourcePixels() / 1000);
+		appendValue(builder, "Renditions", metrics.renditions());
+		appendValue(builder, "Copies", metrics.copies());
+		appendValue(builder, "Skipped", metrics.skipped() ? 1 : 0);
+		appendValue(builder, "Failed", metrics.failed() ? 1 : 0);
+		sink.accept(builder.append('}').toString());
+	}
+
+	/**
+	 * 람다 호출 하나의 지표를 출력
+	 * @param coldStart 컨테이너 첫 호출 여부 (markInvocation 결과)
+	 * @param records 처리한 레코드 수
+	 * @param failedRecords 실패한 레코드 수
+	 * @param durationNanos 호출 전체 소요 시간
+	 */
+	public void emitInvocation(boolean coldStart, int records, int failedRecords, long durationNanos) {
+		if (sink == null) {
+			return;
+		}
+
+		StringBuilder builder = begin(invocationDefinition);
+		appendValue(builder, "ColdStart", coldStart ? 1 : 0);
+		appendValue(builder, "Records", records);
+		appendValue(builder, "FailedRecords", failedRecords);
+		appendMillis(builder, "InvocationTime", durationNanos);
+		sink.accept(builder.append('}').toString());
+	}
+
+	private static StringBuilder begin(String definition) {
+		StringBuilder builder = buffers.get();
+		builder.setLength(0);
+		return builder.append("{\"_aws\":{\"Timestamp\":").append(System.currentTimeMillis()).append(definition);
+	}
+
+	private static String createDefinition(String namespace, String functionName, StringBuilder metrics) {
+		StringBuilder builder = new StringBuilder(",\"CloudWatchMetrics\":[{\"Namespace\":");
+		appendString(builder, namespace);
+		builder.append(",\"Dimensions\":[[\"FunctionName\"]],\"Metrics\":[").append(metrics).append("]}]}");
+		builder.append(",\"FunctionName\":");
+		appendString(builder, functionName);
+		return builder.toString();
+	}
+
+	private static void appendDefinition(StringBuilder builder, String name, String unit) {
+		if (!builder.isEmpty()) {
+			builder.append(',');
+		}
+		builder.append("{\"Name\":\"").append(name).append("\",\"Unit\":\"").append(unit).append("\"}");
+	}
+
+	private static void appendName(StringBuilder builder, String name) {
+		builder.append(",\"").append(name).append("\":");
+	}
+
+	private static void appendValue(StringBuilder builder, String name, long value) {
+		appendName(builder, name);
+		builder.append(value);
+	}
+
+	private static void appendMillis(StringBuilder builder, String name, long nanos) {
+		appendName(builder, name);
+		appendThousandths(builder, nanos / 1000);
+	}
+
+	/**
+	 * 1/1000 단위 정수를 소수점 셋째 자리까지의 10진수로 붙임 (double 변환 없이)
+	 */
+	private static void appendThousandths(StringBuilder builder, long thousandths) {
+		long fraction = thousandths % 1000;
+		builder.append(thousandths / 1000).append('.');
+		if (fraction < 100) {
+			builder.append('0');
+		}
+		if (fraction < 10) {
+			builder.append('0');
+		}
+		builder.append(fraction);
+	}
+
+	private static void appendString(StringBuilder builder, String value) {
+		if (value == null) {
+			builder.append("null");
+			return;
+		}
+		builder.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				builder.append('\\').append(c);
+			} else if (c < 0x20) {
+				builder.append(String.format("\\u%04x", (int)c));
+			} else {
+				builder.append(c);
+			}
+		}
+		builder.append('"');
+	}
+}
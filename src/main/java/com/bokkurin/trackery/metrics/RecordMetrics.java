@@ -0,0 +1,153 @@
+package com.bokkurin.trackery.metrics;
+
+import java.util.Arrays;
+
+/**
+ * packageName    : com.bokkurin.trackery.metrics
+ * fileName       : RecordMetrics
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 레코드 하나를 처리하는 동안 단계별 소요 시간과 크기를 모으는 클래스
+ *                  레코드는 한 스레드에서 처리되므로 스레드마다 인스턴스 하나를 두고 레코드마다 초기화해서 재사용합니다.
+ *                  ImageProcessService, S3ActionService는 record(Stage, 시작 시각)만 호출하면 되고,
+ *                  레코드 처리 중이 아닌 스레드(단독 호출, 벤치마크)에서는 아무것도 기록하지 않습니다.
+ *                  기록은 long 배열에 더하기만 하므로 호출마다 객체를 만들지 않습니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+public final class RecordMetrics {
+	private static final ThreadLocal<RecordMetrics> CURRENT = ThreadLocal.withInitial(RecordMetrics::new);
+
+	private final long[] stageNanos = new long[Stage.values().length];
+	private boolean active;
+	private String objectKey;
+	private long startNanos;
+	private long totalNanos;
+	private long sourceBytes;
+	private long outputBytes;
+	private long sourcePixels;
+	private int renditions;
+	private int copies;
+	private boolean skipped;
+	private boolean failed;
+
+	private RecordMetrics() {
+	}
+
+	/**
+	 * 현재 스레드의 지표를 초기화하고 기록을 시작
+	 * @param objectKey 처리할 객체 키 (지표 속성으로 남음)
+	 * @return 현재 스레드의 지표
+	 */
+	public static RecordMetrics start(String objectKey) {
+		RecordMetrics metrics = CURRENT.get();
+		metrics.reset(objectKey);
+		return metrics;
+	}
+
+	/**
+	 * 현재 스레드에서 처리 중인 레코드에 단계 소요 시간을 더함 (처리 중이 아니면 무시)
+	 * @param stage 단계
+	 * @param startNanos 단계를 시작할 때의 System.nanoTime()
+	 */
+	public static void record(Stage stage, long startNanos) {
+		RecordMetrics metrics = CURRENT.get();
+		if (metrics.active) {
+			metrics.stageNanos[stage.ordinal()] += System.nanoTime() - startNanos;
+		}
+	}
+
+	/**
+	 * 기록을 끝내고 전체 소요 시간을 확정
+	 * @param failed 처리에 실패했으면 true
+	 */
+	public void finish(boolean failed) {
+		this.totalNanos = System.nanoTime() - startNanos;
+		this.failed = failed;
+		this.active = false;
+	}
+
+	private void reset(String objectKey) {
+		Arrays.fill(stageNanos, 0);
+		this.active = true;
+		this.objectKey = objectKey;
+		this.startNanos = System.nanoTime();
+		this.totalNanos = 0;
+		this.sourceBytes = 0;
+		this.outputBytes = 0;
+		this.sourcePixels = 0;
+		this.renditions = 0;
+		this.copies = 0;
+		this.skipped = false;
+		this.failed = false;
+	}
+
+	public void setSourceBytes(long sourceBytes) {
+		this.sourceBytes = sourceBytes;
+	}
+
+	public void setSourcePixels(long sourcePixels) {
+		this.sourcePixels = sourcePixels;
+	}
+
+	/**
+	 * 인코딩한 결과물 하나를 더함
+	 */
+	public void addRendition(long bytes) {
+		this.renditions++;
+		this.outputBytes += bytes;
+	}
+
+	/**
+	 * 재인코딩 없이 복사한 결과물 하나를 더함
+	 */
+	public void addCopy() {
+		this.copies++;
+	}
+
+	public void markSkipped() {
+		this.skipped = true;
+	}
+
+	public long stageNanos(Stage stage) {
+		return stageNanos[stage.ordinal()];
+	}
+
+	public String objectKey() {
+		return objectKey;
+	}
+
+	public long totalNanos() {
+		return totalNanos;
+	}
+
+	public long sourceBytes() {
+		return sourceBytes;
+	}
+
+	public long outputBytes() {
+		return outputBytes;
+	}
+
+	public long sourcePixels() {
+		return sourcePixels;
+	}
+
+	public int renditions() {
+		return renditions;
+	}
+
+	public int copies() {
+		return copies;
+	}
+
+	public boolean skipped() {
+		return skipped;
+	}
+
+	public boolean failed() {
+		return failed;
+	}
+}
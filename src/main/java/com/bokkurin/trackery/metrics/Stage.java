@@ -0,0 +1,55 @@
+package com.bokkurin.trackery.metrics;
+
+/**
+ * packageName    : com.bokkurin.trackery.metrics
+ * fileName       : Stage
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 레코드 처리 단계 (단계별 소요 시간 지표 이름)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		픽셀 레이아웃 정규화 단계 추가
+ * 26. 10. 18.		durururuk		자리 표시(BlurHash, 대표 색, LQIP) 생성 단계 추가
+ */
+public enum Stage {
+	/**
+	 * 결과물 처리 여부 확인 (HeadObject)
+	 */
+	CHECK("CheckTime"),
+	/**
+	 * GetObject 응답 헤더를 받을 때까지 (본문은 디코딩하면서 읽으므로 DECODE에 포함)
+	 */
+	DOWNLOAD("DownloadTime"),
+	/**
+	 * 포맷, 크기, EXIF 방향 읽기
+	 */
+	HEADER("HeaderTime"),
+	DECODE("DecodeTime"),
+	/**
+	 * 디코딩 결과를 TYPE_INT_RGB/TYPE_INT_ARGB_PRE로 변환
+	 */
+	NORMALIZE("NormalizeTime"),
+	ROTATE("RotateTime"),
+	RESIZE("ResizeTime"),
+	ENCODE("EncodeTime"),
+	/**
+	 * 가장 작은 렌디션에서 BlurHash, 대표 색, LQIP 생성
+	 */
+	PLACEHOLDER("PlaceholderTime"),
+	/**
+	 * 인코딩이 끝난 뒤 남은 업로드/복사를 기다린 시간 (인코딩과 겹친 업로드 시간은 빠짐)
+	 */
+	UPLOAD("UploadTime");
+
+	private final String metricName;
+
+	Stage(String metricName) {
+		this.metricName = metricName;
+	}
+
+	public String metricName() {
+		return metricName;
+	}
+}
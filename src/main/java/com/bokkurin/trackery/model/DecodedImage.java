@@ -0,0 +1,17 @@
+package com.bokkurin.trackery.model;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * packageName    : com.bokkurin.trackery.model
+ * fileName       : DecodedImage
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 방향 보정까지 끝난 디코딩 결과와 적용한 EXIF 방향 값
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+public record DecodedImage(BufferedImage image, int orientation) {
+}
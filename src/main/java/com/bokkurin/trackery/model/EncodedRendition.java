@@ -0,0 +1,19 @@
+package com.bokkurin.trackery.model;
+
+/**
+ * packageName    : com.bokkurin.trackery.model
+ * fileName       : EncodedRendition
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 인코딩이 끝난 렌디션 하나 (설정, 크기, WebP 바이트, 자리 표시 정보)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		가장 작은 렌디션에 붙는 자리 표시 정보 추가
+ *
+ * @param placeholder 자리 표시 정보, 만들지 않은 렌디션은 null
+ */
+public record EncodedRendition(RenditionProfile profile, int width, int height, byte[] bytes,
+							   ImagePlaceholder placeholder) {
+}
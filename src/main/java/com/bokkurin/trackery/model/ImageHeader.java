@@ -0,0 +1,32 @@
+package com.bokkurin.trackery.model;
+
+/**
+ * packageName    : com.bokkurin.trackery.model
+ * fileName       : ImageHeader
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 픽셀을 디코딩하지 않고 헤더에서 읽은 이미지 정보 (포맷, 크기, EXIF 방향)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ *
+ * @param formatName  포맷 이름 (jpeg, png, webp 등 ImageIO 기준 소문자)
+ * @param width       저장된 그대로의 너비 (방향 보정 전)
+ * @param height      저장된 그대로의 높이 (방향 보정 전)
+ * @param orientation EXIF 방향 값 (1-8)
+ */
+public record ImageHeader(String formatName, int width, int height, int orientation) {
+	public static final String WEBP = "webp";
+
+	public boolean isWebP() {
+		return WEBP.equals(formatName);
+	}
+
+	/**
+	 * 방향 보정 없이 그대로 보여줘도 되는지 여부
+	 */
+	public boolean isUpright() {
+		return orientation == 1;
+	}
+}
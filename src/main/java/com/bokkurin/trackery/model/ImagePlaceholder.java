@@ -0,0 +1,35 @@
+package com.bokkurin.trackery.model;
+
+import java.util.Base64;
+
+/**
+ * packageName    : com.bokkurin.trackery.model
+ * fileName       : ImagePlaceholder
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 썸네일을 받기 전에 먼저 그릴 자리 표시 정보 (BlurHash, 대표 색, 16px 크기 WebP)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ *
+ * @param blurHash BlurHash 문자열
+ * @param color 대표 색 (0xRRGGBB, 선형 색 공간에서 평균한 색)
+ * @param lqipWebP 긴 변 16px 이하로 줄인 WebP, 메타데이터에 넣기에 너무 크면 null
+ */
+public record ImagePlaceholder(String blurHash, int color, byte[] lqipWebP) {
+
+	/**
+	 * CSS 색 문자열 (#rrggbb)
+	 */
+	public String colorHex() {
+		return "#%06x".formatted(color & 0xFFFFFF);
+	}
+
+	/**
+	 * img src에 바로 넣을 수 있도록 Base64로 인코딩한 LQIP, 없으면 null
+	 */
+	public String lqipBase64() {
+		return lqipWebP == null ? null : Base64.getEncoder().encodeToString(lqipWebP);
+	}
+}
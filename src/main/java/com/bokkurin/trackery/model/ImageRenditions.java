@@ -0,0 +1,15 @@
+package com.bokkurin.trackery.model;
+
+/**
+ * packageName    : com.bokkurin.trackery.model
+ * fileName       : ImageRenditions
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 한 번의 디코딩으로 만들어진 원본 WebP와 썸네일 결과물 묶음
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+public record ImageRenditions(byte[] originalWebP, byte[] thumbnailWebP) {
+}
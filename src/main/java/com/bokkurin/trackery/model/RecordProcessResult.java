@@ -0,0 +1,27 @@
+package com.bokkurin.trackery.model;
+
+/**
+ * packageName    : com.bokkurin.trackery.model
+ * fileName       : RecordProcessResult
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 레코드 하나의 처리 결과
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+public record RecordProcessResult(S3ObjectTarget target, Exception error) {
+
+	public static RecordProcessResult success(S3ObjectTarget target) {
+		return new RecordProcessResult(target, null);
+	}
+
+	public static RecordProcessResult failure(S3ObjectTarget target, Exception error) {
+		return new RecordProcessResult(target, error);
+	}
+
+	public boolean isSuccess() {
+		return error == null;
+	}
+}
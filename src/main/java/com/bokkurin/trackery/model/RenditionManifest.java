@@ -0,0 +1,109 @@
+package com.bokkurin.trackery.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * packageName    : com.bokkurin.trackery.model
+ * fileName       : RenditionManifest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 원본 하나에서 만든 결과물 목록 (userId/manifest/파일명.json 으로 업로드)
+ *                  API 서버가 결과물마다 HeadObject를 보내거나 내려받지 않고 크기, 용량, 해시를 알 수 있게 합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		자리 표시 정보(BlurHash, 대표 색, LQIP) 추가
+ *
+ * @param sourceKey 원본 키
+ * @param sourceETag 원본 ETag (따옴표 없음)
+ * @param header 원본 헤더 (포맷, 방향 보정 전 크기, EXIF 방향)
+ * @param sourceBytes 원본 크기 (모르면 -1)
+ * @param outputs 결과물 목록 (원본 WebP가 먼저, 이후 렌디션 설정 순서)
+ * @param placeholder 가장 작은 렌디션에서 만든 자리 표시 정보, 만들지 않았으면 null
+ * @param timingsMillis 단계별 소요 시간 (지표 이름 기준, 기록된 단계만)
+ */
+public record RenditionManifest(String sourceKey, String sourceETag, ImageHeader header, long sourceBytes,
+								List<Output> outputs, ImagePlaceholder placeholder, Map<String, Long> timingsMillis) {
+	public static final int VERSION = 1;
+	private static final JsonFactory jsonFactory = new JsonFactory();
+
+	/**
+	 * 결과물 하나
+	 * @param name 결과물 이름 (original 또는 렌디션 이름)
+	 * @param key 대상 버킷의 키
+	 * @param width 방향 보정 후 너비
+	 * @param height 방향 보정 후 높이
+	 * @param bytes 결과물 크기
+	 * @param md5 내용의 MD5 (16진수, 단일 PUT 업로드의 S3 ETag와 같음), 모르면 null
+	 * @param copied 재인코딩 없이 원본을 복사했으면 true
+	 */
+	public record Output(String name, String key, int width, int height, long bytes, String md5, boolean copied) {
+	}
+
+	/**
+	 * 간결한 JSON으로 변환 (값이 없는 필드는 생략)
+	 */
+	public byte[] toJson() throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream(512);
+		try (JsonGenerator generator = jsonFactory.createGenerator(outputStream, JsonEncoding.UTF8)) {
+			generator.writeStartObject();
+			generator.writeNumberField("version", VERSION);
+
+			generator.writeObjectFieldStart("source");
+			generator.writeStringField("key", sourceKey);
+			writeOptionalString(generator, "eTag", sourceETag);
+			generator.writeStringField("format", header.formatName());
+			generator.writeNumberField("width", header.width());
+			generator.writeNumberField("height", header.height());
+			if (sourceBytes >= 0) {
+				generator.writeNumberField("bytes", sourceBytes);
+			}
+			generator.writeNumberField("orientation", header.orientation());
+			generator.writeEndObject();
+
+			generator.writeArrayFieldStart("outputs");
+			for (Output output : outputs) {
+				generator.writeStartObject();
+				generator.writeStringField("name", output.name());
+				generator.writeStringField("key", output.key());
+				generator.writeNumberField("width", output.width());
+				generator.writeNumberField("height", output.height());
+				generator.writeNumberField("bytes", output.bytes());
+				writeOptionalString(generator, "md5", output.md5());
+				generator.writeBooleanField("copied", output.copied());
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+
+			if (placeholder != null) {
+				generator.writeObjectFieldStart("placeholder");
+				generator.writeStringField("blurHash", placeholder.blurHash());
+				generator.writeStringField("color", placeholder.colorHex());
+				writeOptionalString(generator, "lqip", placeholder.lqipBase64());
+				generator.writeEndObject();
+			}
+
+			generator.writeObjectFieldStart("timingsMs");
+			for (Map.Entry<String, Long> timing : timingsMillis.entrySet()) {
+				generator.writeNumberField(timing.getKey(), timing.getValue());
+			}
+			generator.writeEndObject();
+			generator.writeEndObject();
+		}
+		return outputStream.toByteArray();
+	}
+
+	private static void writeOptionalString(JsonGenerator generator, String name, String value) throws IOException {
+		if (value != null) {
+			generator.writeStringField(name, value);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package com.bokkurin.trackery.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.bokkurin.trackery.image.ImageResizer.ResizeMode;
+
+/**
+ * packageName    : com.bokkurin.trackery.model
+ * fileName       : RenditionProfile
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 리사이즈 결과물(썸네일, srcset용 폭 등) 하나의 출력 설정
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		렌디션별 리사이즈 알고리즘 설정 추가
+ * 26. 10. 18.		durururuk		품질 대신 WebP 인코더 설정(손실/무손실, 품질, method)을 갖도록 변경
+ *
+ * @param name      S3 경로의 타입 폴더 이름 (예: thumbnail, w640)
+ * @param size      기준 길이(px), fitMode에 따라 짧은 변/긴 변/너비에 적용
+ * @param fitMode   size를 적용할 기준
+ * @param encoding  WebP 인코더 설정 (손실/무손실, 품질, method)
+ * @param keySuffix 파일명 접미사 (예: -thumbnail)
+ * @param resizeMode 리사이즈 알고리즘 (품질/속도 선택)
+ */
+public record RenditionProfile(String name, int size, FitMode fitMode, WebPEncodeSettings encoding,
+							   String keySuffix, ResizeMode resizeMode) {
+	public static final ResizeMode DEFAULT_RESIZE_MODE = ResizeMode.PROGRESSIVE_BILINEAR;
+
+	public enum FitMode {
+		/** 짧은 변을 size에 맞춤 (기존 썸네일 방식) */
+		SHORT_EDGE,
+		/** 긴 변을 size에 맞춤 (size x size 박스 안에 들어감) */
+		LONG_EDGE,
+		/** 너비를 size에 맞춤 (srcset의 w 기준) */
+		WIDTH
+	}
+
+	public RenditionProfile {
+		if (name == null || name.isBlank()) {
+			throw new IllegalArgumentException("렌디션 이름이 비어 있습니다");
+		}
+		if (size <= 0) {
+			throw new IllegalArgumentException("렌디션 크기는 0보다 커야 합니다: " + name);
+		}
+		if (encoding == null) {
+			encoding = WebPEncodeSettings.DEFAULT;
+		}
+		if (resizeMode == null) {
+			resizeMode = DEFAULT_RESIZE_MODE;
+		}
+	}
+
+	/**
+	 * 원본 크기에 이 설정을 적용했을 때의 축소 비율 (원본 / 결과)
+	 */
+	public double scaleRatio(int sourceWidth, int sourceHeight) {
+		return switch (fitMode) {
+			case SHORT_EDGE -> (double)Math.min(sourceWidth, sourceHeight) / size;
+			case LONG_EDGE -> (double)Math.max(sourceWidth, sourceHeight) / size;
+			case WIDTH -> (double)sourceWidth / size;
+		};
+	}
+
+	/**
+	 * 렌디션 설정 문자열을 파싱
+	 * 형식: name:size:fitMode:encoding:keySuffix[:resizeMode] 를 쉼표로 구분 (예: thumbnail:300:SHORT_EDGE:0.8:-thumbnail)
+	 * encoding은 quality[/method] 또는 lossless[/method] 형식입니다. (예: 0.8/6, lossless)
+	 * resizeMode를 생략하면 PROGRESSIVE_BILINEAR를 사용합니다.
+	 * @param spec 설정 문자열
+	 * @return 렌디션 설정 목록
+	 */
+	public static List<RenditionProfile> parseAll(String spec) {
+		List<RenditionProfile> profiles = new ArrayList<>();
+		for (String entry : spec.split(",")) {
+			if (entry.isBlank()) {
+				continue;
+			}
+
+			String[] parts = entry.trim().split(":");
+			if (parts.length != 5 && parts.length != 6) {
+				throw new IllegalArgumentException(
+					"렌디션 설정 형식 오류 (name:size:fitMode:encoding:keySuffix[:resizeMode]): " + entry);
+			}
+
+			profiles.add(new RenditionProfile(
+				parts[0],
+				Integer.parseInt(parts[1]),
+				FitMode.valueOf(parts[2].toUpperCase(Locale.ROOT)),
+				WebPEncodeSettings.parse(parts[3]),
+				parts[4],
+				parts.length == 6 ? ResizeMode.valueOf(parts[5].toUpperCase(Locale.ROOT)) : DEFAULT_RESIZE_MODE
+			));
+		}
+		return profiles;
+	}
+}
@@ -0,0 +1,27 @@
+package com.bokkurin.trackery.model;
+
+/**
+ * packageName    : com.bokkurin.trackery.model
+ * fileName       : S3ObjectTarget
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 처리할 S3 객체 (버킷, 키, 이벤트에 담긴 ETag)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		중복 처리 확인용 ETag 추가
+ * 26. 10. 18.		durururuk		중복 처리 확인 없이 다시 만드는 reprocess 추가 (백필용)
+ *
+ * @param eTag 이벤트에 담긴 원본 ETag (따옴표 없음), 모르면 null
+ * @param reprocess 결과물이 같은 원본 ETag로 이미 있어도 다시 만들지 여부 (렌디션 설정을 바꾼 뒤 백필할 때)
+ */
+public record S3ObjectTarget(String bucketName, String objectKey, String eTag, boolean reprocess) {
+	public S3ObjectTarget(String bucketName, String objectKey, String eTag) {
+		this(bucketName, objectKey, eTag, false);
+	}
+
+	public S3ObjectTarget(String bucketName, String objectKey) {
+		this(bucketName, objectKey, null);
+	}
+}
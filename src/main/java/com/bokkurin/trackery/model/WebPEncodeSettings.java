@@ -0,0 +1,80 @@
+package com.bokkurin.trackery.model;
+
+import java.util.Locale;
+
+import com.bokkurin.trackery.config.AppConstants;
+
+/**
+ * packageName    : com.bokkurin.trackery.model
+ * fileName       : WebPEncodeSettings
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : WebP 인코더 설정 (손실/무손실, 품질, method)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ *
+ * @param lossless 무손실 압축 여부
+ * @param quality  손실 압축 품질 (0.0 - 1.0), 무손실일 때는 압축 노력 정도로 쓰임
+ * @param method   libwebp method (0 - 6), 클수록 느리지만 결과가 작아짐
+ */
+public record WebPEncodeSettings(boolean lossless, float quality, int method) {
+	public static final int DEFAULT_METHOD = 4;
+	public static final int MIN_METHOD = 0;
+	public static final int MAX_METHOD = 6;
+
+	/**
+	 * 기존 ImageIO.write 기본값과 같은 설정 (손실, 0.75, method 4)
+	 */
+	public static final WebPEncodeSettings DEFAULT = lossy(AppConstants.DEFAULT_WEBP_QUALITY);
+
+	private static final String LOSSLESS = "lossless";
+
+	public WebPEncodeSettings {
+		if (quality < 0f || quality > 1f) {
+			throw new IllegalArgumentException("WebP 품질은 0.0 - 1.0 사이여야 합니다: " + quality);
+		}
+		if (method < MIN_METHOD || method > MAX_METHOD) {
+			throw new IllegalArgumentException("WebP method는 0 - 6 사이여야 합니다: " + method);
+		}
+	}
+
+	public static WebPEncodeSettings lossy(float quality) {
+		return new WebPEncodeSettings(false, quality, DEFAULT_METHOD);
+	}
+
+	public static WebPEncodeSettings lossless(int method) {
+		return new WebPEncodeSettings(true, AppConstants.DEFAULT_WEBP_QUALITY, method);
+	}
+
+	public WebPEncodeSettings withMethod(int method) {
+		return new WebPEncodeSettings(lossless, quality, method);
+	}
+
+	/**
+	 * 인코더 설정 문자열을 파싱
+	 * 형식: quality[/method] 또는 lossless[/method] (예: 0.8, 0.8/6, lossless/2)
+	 * method를 생략하면 4를 사용합니다.
+	 * @param spec 설정 문자열
+	 * @return 인코더 설정
+	 */
+	public static WebPEncodeSettings parse(String spec) {
+		String[] parts = spec.trim().split("/");
+		if (parts.length > 2 || parts[0].isBlank()) {
+			throw new IllegalArgumentException("WebP 설정 형식 오류 (quality[/method] 또는 lossless[/method]): " + spec);
+		}
+
+		int method = parts.length == 2 ? Integer.parseInt(parts[1].trim()) : DEFAULT_METHOD;
+		String mode = parts[0].trim().toLowerCase(Locale.ROOT);
+
+		return LOSSLESS.equals(mode)
+			? lossless(method)
+			: lossy(Float.parseFloat(mode)).withMethod(method);
+	}
+
+	@Override
+	public String toString() {
+		return (lossless ? LOSSLESS : String.valueOf(quality)) + "/" + method;
+	}
+}
@@ -0,0 +1,311 @@
+package com.bokkurin.trackery.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * packageName    : com.bokkurin.trackery.server
+ * fileName       : RenditionCache
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 인코딩된 렌디션 바이트를 메모리와 디스크 두 단계로 보관하는 LRU 캐시
+ *                  두 단계 모두 바이트 합계로 크기를 제한하고, 넘으면 가장 오래 쓰지 않은 항목부터 내보냅니다.
+ *                  메모리에 없으면 디스크를 확인하고, 디스크에서 찾은 항목은 메모리로 다시 올립니다.
+ *                  디스크 파일 이름은 캐시 키의 SHA-256이고, 시작할 때 수정 시각 순으로 목록을 다시 만듭니다.
+ *                  파일 입출력은 잠금 밖에서 하므로 디스크를 읽는 동안 다른 요청의 메모리 조회가 막히지 않습니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+public final class RenditionCache {
+	private static final Logger logger = LoggerFactory.getLogger(RenditionCache.class);
+	private static final String FILE_EXTENSION = ".webp";
+
+	private final MemoryTier memoryTier;
+	private final DiskTier diskTier;
+
+	private final LongAdder memoryHits = new LongAdder();
+	private final LongAdder diskHits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * @param memoryBudgetBytes 메모리에 보관할 최대 바이트 수 (0이면 메모리 단계를 쓰지 않음)
+	 * @param diskDirectory 디스크 단계 디렉터리 (null이면 디스크 단계를 쓰지 않음)
+	 * @param diskBudgetBytes 디스크에 보관할 최대 바이트 수
+	 * @throws IOException 디스크 디렉터리를 만들거나 읽지 못했을 때
+	 */
+	public RenditionCache(long memoryBudgetBytes, Path diskDirectory, long diskBudgetBytes) throws IOException {
+		this.memoryTier = new MemoryTier(memoryBudgetBytes);
+		this.diskTier = diskDirectory != null && diskBudgetBytes > 0
+			? new DiskTier(diskDirectory, diskBudgetBytes)
+			: null;
+	}
+
+	/**
+	 * 캐시된 렌디션 조회 (메모리, 디스크 순서)
+	 * @return 찾은 항목과 찾은 단계, 없으면 null
+	 */
+	public Entry get(String key) {
+		byte[] bytes = memoryTier.get(key);
+		if (bytes != null) {
+			memoryHits.increment();
+			return new Entry(bytes, Tier.MEMORY);
+		}
+
+		if (diskTier != null) {
+			bytes = diskTier.get(key);
+			if (bytes != null) {
+				diskHits.increment();
+				memoryTier.put(key, bytes);
+				return new Entry(bytes, Tier.DISK);
+			}
+		}
+
+		misses.increment();
+		return null;
+	}
+
+	/**
+	 * 렌디션을 두 단계 모두에 저장
+	 * 디스크 저장에 실패해도 메모리에는 남기고 경고만 남깁니다.
+	 */
+	public void put(String key, byte[] bytes) {
+		memoryTier.put(key, bytes);
+		if (diskTier == null) {
+			return;
+		}
+		try {
+			diskTier.put(key, bytes);
+		} catch (IOException e) {
+			logger.warn("렌디션 디스크 캐시 저장 실패 - 키: {}", key, e);
+		}
+	}
+
+	public Stats stats() {
+		return new Stats(memoryHits.sum(), diskHits.sum(), misses.sum(), memoryTier.entryCount(),
+			memoryTier.sizeBytes(), diskTier != null ? diskTier.entryCount() : 0,
+			diskTier != null ? diskTier.sizeBytes() : 0);
+	}
+
+	/**
+	 * 항목을 찾은 단계
+	 */
+	public enum Tier {
+		MEMORY,
+		DISK
+	}
+
+	/**
+	 * 캐시 조회 결과
+	 * @param bytes 인코딩된 렌디션 바이트
+	 * @param tier 찾은 단계
+	 */
+	public record Entry(byte[] bytes, Tier tier) {
+	}
+
+	/**
+	 * 누적 조회 수와 현재 보관 크기
+	 */
+	public record Stats(long memoryHits, long diskHits, long misses, int memoryEntries, long memoryBytes,
+						int diskEntries, long diskBytes) {
+		/**
+		 * 전체 조회 중 메모리나 디스크에서 찾은 비율 (조회가 없으면 0)
+		 */
+		public double hitRatio() {
+			long lookups = memoryHits + diskHits + misses;
+			return lookups == 0 ? 0 : (double)(memoryHits + diskHits) / lookups;
+		}
+	}
+
+	/**
+	 * 메모리 단계 (접근 순서 LinkedHashMap, 바이트 합계로 제한)
+	 */
+	private static final class MemoryTier {
+		private final long budgetBytes;
+		private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+		private long sizeBytes;
+
+		private MemoryTier(long budgetBytes) {
+			this.budgetBytes = budgetBytes;
+		}
+
+		private synchronized byte[] get(String key) {
+			return entries.get(key);
+		}
+
+		private synchronized void put(String key, byte[] bytes) {
+			if (bytes.length > budgetBytes) {
+				return;
+			}
+			byte[] previous = entries.put(key, bytes);
+			sizeBytes += bytes.length - (previous != null ? previous.length : 0);
+
+			Iterator<byte[]> iterator = entries.values().iterator();
+			while (sizeBytes > budgetBytes && iterator.hasNext()) {
+				sizeBytes -= iterator.next().length;
+				iterator.remove();
+			}
+		}
+
+		private synchronized int entryCount() {
+			return entries.size();
+		}
+
+		private synchronized long sizeBytes() {
+			return sizeBytes;
+		}
+	}
+
+	/**
+	 * 디스크 단계 (키별 파일 크기만 접근 순서로 들고 있고 바이트는 파일에만 둠)
+	 */
+	private static final class DiskTier {
+		private final Path directory;
+		private final long budgetBytes;
+		private final LinkedHashMap<String, Long> fileSizes = new LinkedHashMap<>(16, 0.75f, true);
+		private long sizeBytes;
+
+		private DiskTier(Path directory, long budgetBytes) throws IOException {
+			this.directory = directory;
+			this.budgetBytes = budgetBytes;
+			Files.createDirectories(directory);
+			load();
+		}
+
+		/**
+		 * 이전 실행에서 남은 파일을 오래된 것부터 목록에 넣음 (예산을 넘는 만큼은 지움)
+		 */
+		private void load() throws IOException {
+			List<Path> files;
+			try (Stream<Path> stream = Files.list(directory)) {
+				files = new ArrayList<>(stream.filter(path -> path.toString().endsWith(FILE_EXTENSION)).toList());
+			}
+			files.sort(Comparator.comparing(DiskTier::lastModified));
+
+			List<Path> evicted = new ArrayList<>();
+			synchronized (this) {
+				for (Path file : files) {
+					String fileName = file.getFileName().toString();
+					long size = Files.size(file);
+					fileSizes.put(fileName.substring(0, fileName.length() - FILE_EXTENSION.length()), size);
+					sizeBytes += size;
+				}
+				evictOverBudget(evicted);
+			}
+			deleteAll(evicted);
+			logger.info("렌디션 디스크 캐시 로드 - 디렉터리: {}, {}개, {} bytes", directory, fileSizes.size(), sizeBytes);
+		}
+
+		private byte[] get(String key) {
+			String name = fileName(key);
+			synchronized (this) {
+				if (fileSizes.get(name) == null) {
+					return null;
+				}
+			}
+			try {
+				return Files.readAllBytes(path(name));
+			} catch (NoSuchFileException e) {
+				// 읽기 직전에 다른 요청이 내보낸 경우
+				return null;
+			} catch (IOException e) {
+				logger.warn("렌디션 디스크 캐시 읽기 실패 - 키: {}", key, e);
+				return null;
+			}
+		}
+
+		/**
+		 * 임시 파일에 쓴 뒤 이름을 바꾸므로 읽는 쪽이 쓰다 만 파일을 보지 않습니다.
+		 */
+		private void put(String key, byte[] bytes) throws IOException {
+			if (bytes.length > budgetBytes) {
+				return;
+			}
+			String name = fileName(key);
+			Path temporaryPath = Files.createTempFile(directory, name, ".tmp");
+			try (OutputStream outputStream = Files.newOutputStream(temporaryPath)) {
+				outputStream.write(bytes);
+			}
+			Files.move(temporaryPath, path(name), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+
+			List<Path> evicted = new ArrayList<>();
+			synchronized (this) {
+				Long previous = fileSizes.put(name, (long)bytes.length);
+				sizeBytes += bytes.length - (previous != null ? previous : 0);
+				evictOverBudget(evicted);
+			}
+			deleteAll(evicted);
+		}
+
+		private void evictOverBudget(List<Path> evicted) {
+			Iterator<Map.Entry<String, Long>> iterator = fileSizes.entrySet().iterator();
+			while (sizeBytes > budgetBytes && iterator.hasNext()) {
+				Map.Entry<String, Long> eldest = iterator.next();
+				sizeBytes -= eldest.getValue();
+				evicted.add(path(eldest.getKey()));
+				iterator.remove();
+			}
+		}
+
+		private void deleteAll(List<Path> paths) {
+			for (Path path : paths) {
+				try {
+					Files.deleteIfExists(path);
+				} catch (IOException e) {
+					logger.warn("렌디션 디스크 캐시 파일 삭제 실패: {}", path, e);
+				}
+			}
+		}
+
+		private synchronized int entryCount() {
+			return fileSizes.size();
+		}
+
+		private synchronized long sizeBytes() {
+			return sizeBytes;
+		}
+
+		private Path path(String name) {
+			return directory.resolve(name + FILE_EXTENSION);
+		}
+
+		private static String fileName(String key) {
+			try {
+				MessageDigest digest = MessageDigest.getInstance("SHA-256");
+				return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+			}
+		}
+
+		private static FileTime lastModified(Path path) {
+			try {
+				return Files.getLastModifiedTime(path);
+			} catch (IOException e) {
+				return FileTime.fromMillis(0);
+			}
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package com.bokkurin.trackery.server;
+
+/**
+ * packageName    : com.bokkurin.trackery.server
+ * fileName       : RenditionRequest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 렌디션 서버 요청 하나 (GET /{userId}/{key}?w=640)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ *
+ * @param userId 사용자 ID (원본 키의 접두사 다음 폴더)
+ * @param key 사용자 폴더 아래 원본 파일 경로 (예: photo.jpg)
+ * @param width 결과 너비(px), 0이면 원본 크기
+ */
+public record RenditionRequest(String userId, String key, int width) {
+	private static final String WIDTH_PARAMETER = "w";
+
+	/**
+	 * 요청 경로와 쿼리 문자열을 읽음
+	 * @param path 디코딩된 요청 경로 (예: /1/photo.jpg)
+	 * @param rawQuery 쿼리 문자열 (예: w=640), 없으면 null
+	 * @param maxWidth 허용하는 최대 너비
+	 * @throws IllegalArgumentException 경로 형식이 맞지 않거나 너비가 범위를 벗어났을 때
+	 */
+	public static RenditionRequest parse(String path, String rawQuery, int maxWidth) {
+		String trimmedPath = path.startsWith("/") ? path.substring(1) : path;
+		int separator = trimmedPath.indexOf('/');
+		if (separator <= 0 || separator == trimmedPath.length() - 1) {
+			throw new IllegalArgumentException("경로는 /{userId}/{key} 형식이어야 합니다: " + path);
+		}
+
+		String userId = trimmedPath.substring(0, separator);
+		String key = trimmedPath.substring(separator + 1);
+		for (String segment : key.split("/", -1)) {
+			if (segment.isEmpty() || segment.equals(".") || segment.equals("..")) {
+				throw new IllegalArgumentException("잘못된 키 경로: " + path);
+			}
+		}
+
+		int width = 0;
+		if (rawQuery != null) {
+			for (String parameter : rawQuery.split("&")) {
+				int equals = parameter.indexOf('=');
+				if (equals > 0 && parameter.substring(0, equals).equals(WIDTH_PARAMETER)) {
+					width = parseWidth(parameter.substring(equals + 1), maxWidth);
+				}
+			}
+		}
+		return new RenditionRequest(userId, key, width);
+	}
+
+	private static int parseWidth(String value, int maxWidth) {
+		int width;
+		try {
+			width = Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("너비는 숫자여야 합니다: " + value);
+		}
+		if (width <= 0 || width > maxWidth) {
+			throw new IllegalArgumentException("너비는 1 이상 " + maxWidth + " 이하여야 합니다: " + width);
+		}
+		return width;
+	}
+
+	/**
+	 * 원본 버킷에서의 키 (업로드 경로와 같은 접두사/사용자ID/파일 구조)
+	 * @param sourcePrefix 원본 키 접두사 (null이면 없음)
+	 */
+	public String sourceKey(String sourcePrefix) {
+		String prefix = sourcePrefix != null ? sourcePrefix : "";
+		return prefix + userId + "/" + key;
+	}
+
+	/**
+	 * 캐시 키 (같은 원본과 너비면 같은 결과)
+	 */
+	public String cacheKey() {
+		return userId + "/" + key + "?" + WIDTH_PARAMETER + "=" + width;
+	}
+}
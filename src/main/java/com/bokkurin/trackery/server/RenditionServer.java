@@ -0,0 +1,232 @@
+package com.bokkurin.trackery.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.bokkurin.trackery.config.AwsConfiguration;
+import com.bokkurin.trackery.config.RenditionConfiguration;
+import com.bokkurin.trackery.local.LocalS3Client;
+import com.bokkurin.trackery.service.ImageProcessService;
+import com.bokkurin.trackery.service.S3ActionService;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+/**
+ * packageName    : com.bokkurin.trackery.server
+ * fileName       : RenditionServer
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 요청이 올 때 렌디션을 만들어 주는 HTTP 서버 (명령행 실행용, 업로드 이벤트 람다와 별도)
+ *                  GET /{userId}/{key}?w=640 으로 원본 버킷의 접두사/userId/key 이미지를 너비 640 WebP로 돌려주고,
+ *                  w가 없으면 원본 크기 WebP를 돌려줍니다. 응답의 X-Cache 헤더로 캐시 적중 여부를 알 수 있고,
+ *                  GET /_stats 는 캐시 적중률과 렌더링 횟수/시간을 JSON으로 돌려줍니다.
+ *
+ *                  실행: java -cp trackery-lambda.jar com.bokkurin.trackery.server.RenditionServer \
+ *                          --bucket 원본버킷 --prefix uploads/ --disk-cache /var/cache/trackery --port 8080
+ *                  --local-root를 주면 S3 대신 로컬 디렉터리(LocalS3Client)를 버킷으로 씁니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+public class RenditionServer {
+	private static final Logger logger = LoggerFactory.getLogger(RenditionServer.class);
+	private static final JsonFactory jsonFactory = new JsonFactory();
+	static final String STATS_PATH = "/_stats";
+	static final String CACHE_HEADER = "X-Cache";
+	/**
+	 * 렌더링을 기다리는 요청이 스레드를 잡고 있어도 캐시 적중 요청이 밀리지 않도록 렌더링 수보다 넉넉히 잡음
+	 */
+	private static final int HANDLER_THREADS_PER_RENDER = 4;
+	private static final int MIN_HANDLER_THREADS = 16;
+
+	private final RenditionService renditionService;
+	private final int maxWidth;
+	private final HttpServer httpServer;
+	private final ExecutorService handlerExecutor;
+
+	/**
+	 * @param address 수신 주소 (포트 0이면 빈 포트)
+	 * @param maxWidth 요청할 수 있는 최대 너비
+	 * @param renderConcurrency 동시 렌더링 수 (요청 처리 스레드 수 계산에 사용)
+	 * @throws IOException 포트를 열지 못했을 때
+	 */
+	public RenditionServer(RenditionService renditionService, InetSocketAddress address, int maxWidth,
+		int renderConcurrency) throws IOException {
+		this.renditionService = renditionService;
+		this.maxWidth = maxWidth;
+		this.httpServer = HttpServer.create(address, 0);
+		this.handlerExecutor = Executors.newFixedThreadPool(
+			Math.max(MIN_HANDLER_THREADS, renderConcurrency * HANDLER_THREADS_PER_RENDER), handlerThreadFactory());
+		httpServer.setExecutor(handlerExecutor);
+		httpServer.createContext("/", this::handle);
+	}
+
+	public static void main(String[] args) throws Exception {
+		ServerOptions options;
+		try {
+			options = ServerOptions.parse(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.exit(2);
+			return;
+		}
+
+		S3Client s3Client = options.localRoot() != null
+			? new LocalS3Client(options.localRoot())
+			: AwsConfiguration.getS3Client();
+		RenditionCache cache = new RenditionCache(options.memoryCacheBytes(), options.diskCacheDirectory(),
+			options.diskCacheBytes());
+		RenditionService renditionService = new RenditionService(new S3ActionService(() -> s3Client, null),
+			new ImageProcessService(), cache, options.bucket(), options.prefix(),
+			RenditionConfiguration.DEFAULT_THUMBNAIL.encoding(), options.concurrency());
+
+		RenditionServer server = new RenditionServer(renditionService, new InetSocketAddress(options.port()),
+			options.maxWidth(), options.concurrency());
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			server.stop();
+			s3Client.close();
+		}, "rendition-server-shutdown"));
+		server.start();
+	}
+
+	public void start() {
+		httpServer.start();
+		logger.info("렌디션 서버 시작 - 포트: {}", port());
+	}
+
+	/**
+	 * 새 요청을 받지 않고 처리 중인 요청이 끝날 때까지 최대 1초 기다린 뒤 종료
+	 */
+	public void stop() {
+		httpServer.stop(1);
+		handlerExecutor.shutdown();
+		try {
+			handlerExecutor.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		logger.info("렌디션 서버 종료 - {}", renditionService.stats());
+	}
+
+	public int port() {
+		return httpServer.getAddress().getPort();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		long startNanos = System.nanoTime();
+		try (exchange) {
+			String method = exchange.getRequestMethod();
+			if (!"GET".equals(method) && !"HEAD".equals(method)) {
+				sendText(exchange, 405, "GET 요청만 지원합니다");
+				return;
+			}
+
+			String path = exchange.getRequestURI().getPath();
+			if (STATS_PATH.equals(path)) {
+				send(exchange, 200, "application/json", writeStats(renditionService.stats()));
+				return;
+			}
+
+			RenditionService.Result result;
+			try {
+				result = renditionService.get(
+					RenditionRequest.parse(path, exchange.getRequestURI().getRawQuery(), maxWidth));
+			} catch (IllegalArgumentException e) {
+				sendText(exchange, 400, e.getMessage());
+				return;
+			} catch (IOException e) {
+				if (isNotFound(e)) {
+					sendText(exchange, 404, "원본을 찾을 수 없습니다");
+				} else {
+					logger.error("렌디션 생성 실패 - 경로: {}", path, e);
+					sendText(exchange, 500, "렌디션 생성 실패");
+				}
+				return;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				sendText(exchange, 503, "서버 종료 중");
+				return;
+			}
+
+			exchange.getResponseHeaders().set(CACHE_HEADER, result.origin().name());
+			send(exchange, 200, "image/webp", result.bytes());
+			logger.debug("렌디션 응답 - 경로: {}, {}, {} bytes, {}ms", path, result.origin(), result.bytes().length,
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+		}
+	}
+
+	private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		boolean head = "HEAD".equals(exchange.getRequestMethod());
+		exchange.sendResponseHeaders(status, head ? -1 : body.length);
+		if (!head) {
+			try (OutputStream outputStream = exchange.getResponseBody()) {
+				outputStream.write(body);
+			}
+		}
+	}
+
+	private static void sendText(HttpExchange exchange, int status, String message) throws IOException {
+		send(exchange, status, "text/plain; charset=utf-8", message.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * S3ActionService가 감싼 예외 중에 NoSuchKeyException이 있는지 확인
+	 */
+	private static boolean isNotFound(Throwable error) {
+		for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+			if (cause instanceof NoSuchKeyException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static byte[] writeStats(RenditionService.Stats stats) throws IOException {
+		RenditionCache.Stats cache = stats.cache();
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (JsonGenerator generator = jsonFactory.createGenerator(outputStream, JsonEncoding.UTF8)) {
+			generator.writeStartObject();
+			generator.writeNumberField("memoryHits", cache.memoryHits());
+			generator.writeNumberField("diskHits", cache.diskHits());
+			generator.writeNumberField("misses", cache.misses());
+			generator.writeNumberField("hitRatio", cache.hitRatio());
+			generator.writeNumberField("coalesced", stats.coalesced());
+			generator.writeNumberField("renders", stats.renders());
+			generator.writeNumberField("renderMillis", TimeUnit.NANOSECONDS.toMillis(stats.renderNanos()));
+			generator.writeNumberField("memoryEntries", cache.memoryEntries());
+			generator.writeNumberField("memoryBytes", cache.memoryBytes());
+			generator.writeNumberField("diskEntries", cache.diskEntries());
+			generator.writeNumberField("diskBytes", cache.diskBytes());
+			generator.writeEndObject();
+		}
+		return outputStream.toByteArray();
+	}
+
+	private static ThreadFactory handlerThreadFactory() {
+		AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, "rendition-http-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
@@ -0,0 +1,210 @@
+package com.bokkurin.trackery.server;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.bokkurin.trackery.config.AppConstants;
+import com.bokkurin.trackery.handler.SourceKeyFilter;
+import com.bokkurin.trackery.model.EncodedRendition;
+import com.bokkurin.trackery.model.RenditionProfile;
+import com.bokkurin.trackery.model.WebPEncodeSettings;
+import com.bokkurin.trackery.service.ImageProcessService;
+import com.bokkurin.trackery.service.S3ActionService;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+/**
+ * packageName    : com.bokkurin.trackery.server
+ * fileName       : RenditionService
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 요청받은 렌디션을 캐시에서 찾거나 원본에서 바로 만들어 주는 서비스
+ *                  같은 렌디션을 동시에 요청하면 처음 요청만 원본을 디코딩하고 나머지는 그 결과를 기다립니다.
+ *                  동시에 디코딩하는 원본 수는 renderConcurrency로 제한해서 요청이 몰려도 메모리가 넘치지 않게 합니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		진행 중 목록에 등록한 뒤 캐시를 다시 확인해서 직전에 끝난 렌더링을 반복하지 않음
+ */
+public class RenditionService {
+	private static final Logger logger = LoggerFactory.getLogger(RenditionService.class);
+	private static final SourceKeyFilter keyFilter = new SourceKeyFilter(null, AppConstants.SUPPORTED_EXTENSIONS);
+
+	private final S3ActionService s3ActionService;
+	private final ImageProcessService imageProcessService;
+	private final RenditionCache cache;
+	private final String sourceBucket;
+	private final String sourcePrefix;
+	private final WebPEncodeSettings encoding;
+	private final Semaphore renderPermits;
+	private final ConcurrentHashMap<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+	private final LongAdder renders = new LongAdder();
+	private final LongAdder renderNanos = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+
+	/**
+	 * @param sourceBucket 원본 버킷
+	 * @param sourcePrefix 원본 키 접두사 (예: uploads/)
+	 * @param encoding 너비를 지정한 렌디션의 WebP 인코더 설정 (원본 크기는 원본 인코더 설정 사용)
+	 * @param renderConcurrency 동시에 디코딩/인코딩할 최대 원본 수
+	 */
+	public RenditionService(S3ActionService s3ActionService, ImageProcessService imageProcessService,
+		RenditionCache cache, String sourceBucket, String sourcePrefix, WebPEncodeSettings encoding,
+		int renderConcurrency) {
+		this.s3ActionService = s3ActionService;
+		this.imageProcessService = imageProcessService;
+		this.cache = cache;
+		this.sourceBucket = sourceBucket;
+		this.sourcePrefix = sourcePrefix;
+		this.encoding = encoding;
+		this.renderPermits = new Semaphore(renderConcurrency);
+	}
+
+	/**
+	 * 렌디션을 캐시에서 찾고, 없으면 만들어서 캐시에 넣은 뒤 반환
+	 * @return WebP 바이트와 어디서 가져왔는지
+	 * @throws IllegalArgumentException 지원하지 않는 확장자일 때
+	 * @throws IOException 원본을 읽지 못했거나 변환에 실패했을 때
+	 * @throws InterruptedException 렌더링 차례를 기다리는 중 인터럽트됐을 때
+	 */
+	public Result get(RenditionRequest request) throws IOException, InterruptedException {
+		if (!keyFilter.hasSupportedExtension(request.key())) {
+			throw new IllegalArgumentException("지원하지 않는 확장자: " + request.key());
+		}
+
+		String cacheKey = request.cacheKey();
+		RenditionCache.Entry cached = cache.get(cacheKey);
+		if (cached != null) {
+			return cachedResult(cached);
+		}
+
+		CompletableFuture<byte[]> pending = new CompletableFuture<>();
+		CompletableFuture<byte[]> existing = inFlight.putIfAbsent(cacheKey, pending);
+		if (existing != null) {
+			coalesced.increment();
+			return new Result(await(existing), Origin.COALESCED);
+		}
+
+		try {
+			// 캐시 확인과 등록 사이에 앞선 렌더링이 캐시에 넣고 목록에서 빠졌을 수 있으므로 다시 확인
+			cached = cache.get(cacheKey);
+			if (cached != null) {
+				pending.complete(cached.bytes());
+				return cachedResult(cached);
+			}
+
+			byte[] bytes = render(request);
+			cache.put(cacheKey, bytes);
+			pending.complete(bytes);
+			return new Result(bytes, Origin.RENDERED);
+		} catch (IOException | RuntimeException e) {
+			pending.completeExceptionally(e);
+			throw e;
+		} catch (InterruptedException e) {
+			pending.completeExceptionally(new IOException("렌더링 대기 중 인터럽트", e));
+			throw e;
+		} finally {
+			inFlight.remove(cacheKey, pending);
+		}
+	}
+
+	/**
+	 * 원본을 내려받아 요청 너비로 인코딩
+	 * 요청 너비가 원본보다 크거나 없으면 키우지 않고 원본 크기로 인코딩합니다.
+	 */
+	private byte[] render(RenditionRequest request) throws IOException, InterruptedException {
+		String sourceKey = request.sourceKey(sourcePrefix);
+		renderPermits.acquire();
+		long startNanos = System.nanoTime();
+		BufferedImage image = null;
+		try (ResponseInputStream<GetObjectResponse> imageStream = s3ActionService.openImageStream(sourceBucket,
+			sourceKey)) {
+			image = imageProcessService.decodeImage(imageStream).image();
+			byte[] bytes;
+			if (request.width() == 0 || request.width() >= image.getWidth()) {
+				bytes = imageProcessService.encodeOriginal(image);
+			} else {
+				RenditionProfile profile = new RenditionProfile("w" + request.width(), request.width(),
+					RenditionProfile.FitMode.WIDTH, encoding, "-w" + request.width(), null);
+				List<EncodedRendition> renditions = imageProcessService.createRenditions(image, List.of(profile),
+					rendition -> {
+					});
+				bytes = renditions.get(0).bytes();
+			}
+			logger.info("렌디션 생성 - 키: {}, 너비: {}, {} bytes", sourceKey, request.width(), bytes.length);
+			return bytes;
+		} finally {
+			if (image != null) {
+				imageProcessService.releaseImage(image);
+			}
+			renders.increment();
+			renderNanos.add(System.nanoTime() - startNanos);
+			renderPermits.release();
+		}
+	}
+
+	private static Result cachedResult(RenditionCache.Entry cached) {
+		return new Result(cached.bytes(), cached.tier() == RenditionCache.Tier.MEMORY ? Origin.MEMORY : Origin.DISK);
+	}
+
+	private static byte[] await(CompletableFuture<byte[]> future) throws IOException {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException ioException) {
+				throw new IOException(ioException.getMessage(), ioException);
+			}
+			if (cause instanceof UncheckedIOException uncheckedIOException) {
+				throw uncheckedIOException.getCause();
+			}
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw e;
+		}
+	}
+
+	public Stats stats() {
+		return new Stats(cache.stats(), renders.sum(), renderNanos.sum(), coalesced.sum());
+	}
+
+	/**
+	 * 렌디션을 가져온 곳 (응답 X-Cache 헤더 값)
+	 */
+	public enum Origin {
+		MEMORY,
+		DISK,
+		COALESCED,
+		RENDERED
+	}
+
+	/**
+	 * @param bytes WebP 바이트
+	 * @param origin 가져온 곳
+	 */
+	public record Result(byte[] bytes, Origin origin) {
+	}
+
+	/**
+	 * @param cache 캐시 조회 통계
+	 * @param renders 원본에서 만든 횟수 (실패 포함)
+	 * @param renderNanos 원본에서 만드는 데 걸린 누적 시간
+	 * @param coalesced 진행 중인 렌더링 결과를 기다린 요청 수
+	 */
+	public record Stats(RenditionCache.Stats cache, long renders, long renderNanos, long coalesced) {
+	}
+}
@@ -0,0 +1,79 @@
+package com.bokkurin.trackery.server;
+
+import java.nio.file.Path;
+
+import com.bokkurin.trackery.config.AppConstants;
+import com.bokkurin.trackery.config.ExecutorConfiguration;
+
+/**
+ * packageName    : com.bokkurin.trackery.server
+ * fileName       : ServerOptions
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 렌디션 서버 실행 옵션 (명령행 인자, 비어 있으면 람다와 같은 환경변수 사용)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ *
+ * @param port 수신 포트 (--port, 기본 8080)
+ * @param bucket 원본 버킷 (--bucket, 기본 SOURCE_BUCKET)
+ * @param prefix 원본 키 접두사 (--prefix, 기본 SOURCE_PREFIX)
+ * @param localRoot 로컬 S3 대역 디렉터리 (--local-root), null이면 실제 S3 사용
+ * @param memoryCacheBytes 메모리 캐시 크기 (--memory-cache-mb, 기본 256MB)
+ * @param diskCacheDirectory 디스크 캐시 디렉터리 (--disk-cache), null이면 디스크 캐시를 쓰지 않음
+ * @param diskCacheBytes 디스크 캐시 크기 (--disk-cache-mb, 기본 4096MB)
+ * @param maxWidth 요청할 수 있는 최대 너비 (--max-width, 기본 4096)
+ * @param concurrency 동시에 렌더링할 원본 수 (--concurrency, 기본 RECORD_CONCURRENCY 또는 코어/메모리로 계산)
+ */
+public record ServerOptions(int port, String bucket, String prefix, Path localRoot, long memoryCacheBytes,
+							Path diskCacheDirectory, long diskCacheBytes, int maxWidth, int concurrency) {
+	static final String USAGE = "사용법: RenditionServer --bucket <원본 버킷> [--port <포트>] [--prefix <접두사>]"
+		+ " [--local-root <디렉터리>] [--memory-cache-mb <MB>] [--disk-cache <디렉터리>] [--disk-cache-mb <MB>]"
+		+ " [--max-width <px>] [--concurrency <동시 렌더링 수>]";
+	private static final long MEGABYTE = 1024L * 1024;
+
+	/**
+	 * 명령행 인자를 읽음
+	 * @throws IllegalArgumentException 알 수 없는 옵션, 값 누락, 버킷이 정해지지 않았을 때
+	 */
+	public static ServerOptions parse(String[] args) {
+		int port = 8080;
+		String bucket = AppConstants.SOURCE_BUCKET;
+		String prefix = AppConstants.SOURCE_PREFIX;
+		Path localRoot = null;
+		long memoryCacheMb = 256;
+		Path diskCacheDirectory = null;
+		long diskCacheMb = 4096;
+		int maxWidth = 4096;
+		int concurrency = 0;
+
+		for (int i = 0; i < args.length; i += 2) {
+			if (i + 1 >= args.length) {
+				throw new IllegalArgumentException("옵션 값이 없습니다: " + args[i] + "\n" + USAGE);
+			}
+			String value = args[i + 1];
+			switch (args[i]) {
+				case "--port" -> port = Integer.parseInt(value);
+				case "--bucket" -> bucket = value;
+				case "--prefix" -> prefix = value;
+				case "--local-root" -> localRoot = Path.of(value);
+				case "--memory-cache-mb" -> memoryCacheMb = Long.parseLong(value);
+				case "--disk-cache" -> diskCacheDirectory = Path.of(value);
+				case "--disk-cache-mb" -> diskCacheMb = Long.parseLong(value);
+				case "--max-width" -> maxWidth = Integer.parseInt(value);
+				case "--concurrency" -> concurrency = Integer.parseInt(value);
+				default -> throw new IllegalArgumentException("알 수 없는 옵션: " + args[i] + "\n" + USAGE);
+			}
+		}
+
+		if (bucket == null || bucket.isBlank()) {
+			throw new IllegalArgumentException("원본 버킷이 필요합니다.\n" + USAGE);
+		}
+		if (concurrency <= 0) {
+			concurrency = ExecutorConfiguration.getRecordConcurrency();
+		}
+		return new ServerOptions(port, bucket, prefix, localRoot, memoryCacheMb * MEGABYTE, diskCacheDirectory,
+			diskCacheMb * MEGABYTE, maxWidth, concurrency);
+	}
+}
@@ -0,0 +1,77 @@
+package com.bokkurin.trackery.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import com.bokkurin.trackery.model.ImagePlaceholder;
+import com.bokkurin.trackery.model.RenditionProfile;
+
+/**
+ * packageName    : com.bokkurin.trackery.service
+ * fileName       : ExecutorImageUploader
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 동기 S3ActionService 호출을 업로드 전용 스레드 풀에서 실행하는 ImageUploader
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성 (ImageRecordExecutor에서 분리)
+ * 26. 10. 18.		durururuk		결과물 목록(manifest) JSON 업로드 추가
+ * 26. 10. 18.		durururuk		렌디션 업로드에 자리 표시 정보 메타데이터 추가
+ */
+public class ExecutorImageUploader implements ImageUploader {
+	private final S3ActionService s3ActionService;
+	private final ExecutorService uploadExecutor;
+
+	/**
+	 * @param uploadExecutor 업로드 전용 스레드 풀, 레코드 작업이 업로드를 기다리며 교착되지 않도록 분리합니다.
+	 */
+	public ExecutorImageUploader(S3ActionService s3ActionService, ExecutorService uploadExecutor) {
+		this.s3ActionService = s3ActionService;
+		this.uploadExecutor = uploadExecutor;
+	}
+
+	@Override
+	public CompletableFuture<Void> uploadOriginalWebP(String originalKey, byte[] webpBytes, String sourceETag) {
+		return run(() -> s3ActionService.uploadOriginalWebP(originalKey, webpBytes, sourceETag));
+	}
+
+	@Override
+	public CompletableFuture<Void> uploadRendition(String originalKey, RenditionProfile profile, byte[] webpBytes,
+		String sourceETag, ImagePlaceholder placeholder) {
+		return run(() -> s3ActionService.uploadRendition(originalKey, profile, webpBytes, sourceETag, placeholder));
+	}
+
+	@Override
+	public CompletableFuture<Void> copyOriginalWebP(String sourceBucket, String originalKey, String sourceETag) {
+		return run(() -> s3ActionService.copyOriginalWebP(sourceBucket, originalKey, sourceETag));
+	}
+
+	@Override
+	public CompletableFuture<Void> copyRendition(String sourceBucket, String originalKey, RenditionProfile profile,
+		String sourceETag) {
+		return run(() -> s3ActionService.copyRendition(sourceBucket, originalKey, profile, sourceETag));
+	}
+
+	@Override
+	public CompletableFuture<Void> uploadManifest(String originalKey, byte[] manifestBytes, String sourceETag) {
+		return run(() -> s3ActionService.uploadManifest(originalKey, manifestBytes, sourceETag));
+	}
+
+	private CompletableFuture<Void> run(S3Action action) {
+		return CompletableFuture.runAsync(() -> {
+			try {
+				action.run();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}, uploadExecutor);
+	}
+
+	@FunctionalInterface
+	private interface S3Action {
+		void run() throws IOException;
+	}
+}
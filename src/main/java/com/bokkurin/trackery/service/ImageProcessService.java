@@ -1,24 +1,49 @@
 package com.bokkurin.trackery.service;
 
 import java.awt.*;
-import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.bokkurin.trackery.config.AppConstants;
-import com.drew.imaging.ImageMetadataReader;
-import com.drew.imaging.ImageProcessingException;
-import com.drew.metadata.Metadata;
-import com.drew.metadata.MetadataException;
-import com.drew.metadata.exif.ExifDirectoryBase;
-import com.drew.metadata.exif.ExifIFD0Directory;
+import com.bokkurin.trackery.config.BufferPoolConfiguration;
+import com.bokkurin.trackery.config.DecodeLimitConfiguration;
+import com.bokkurin.trackery.config.RenditionConfiguration;
+import com.bokkurin.trackery.image.BufferPool;
+import com.bokkurin.trackery.image.ExifOrientationReader;
+import com.bokkurin.trackery.image.ImageHeaderReader;
+import com.bokkurin.trackery.image.ImageResizer;
+import com.bokkurin.trackery.image.OrientationTransformer;
+import com.bokkurin.trackery.image.PixelNormalizer;
+import com.bokkurin.trackery.image.PlaceholderGenerator;
+import com.bokkurin.trackery.image.RegionDecoder;
+import com.bokkurin.trackery.image.WebPEncoder;
+import com.bokkurin.trackery.metrics.RecordMetrics;
+import com.bokkurin.trackery.metrics.Stage;
+import com.bokkurin.trackery.model.DecodedImage;
+import com.bokkurin.trackery.model.EncodedRendition;
+import com.bokkurin.trackery.model.ImageHeader;
+import com.bokkurin.trackery.model.ImagePlaceholder;
+import com.bokkurin.trackery.model.ImageRenditions;
+import com.bokkurin.trackery.model.RenditionProfile;
+import com.bokkurin.trackery.model.WebPEncodeSettings;
+import com.luciad.imageio.webp.WebPReadParam;
 
 /**
  * packageName    : com.bokkurin.trackery.service
@@ -32,9 +57,177 @@ import com.drew.metadata.exif.ExifIFD0Directory;
  * 25. 6. 26.		durururuk		최초 생성
  * 25. 6. 26.		durururuk		webp 변환 메서드 작성, 테스트용 샘플 이미지 추가
  * 25. 7. 16.		durururuk		이미지 방향을 받아와서 맞게 수정하는 작업 추가
+ * 26. 10. 18.		durururuk		한 번의 디코딩으로 원본/썸네일을 함께 생성하는 createRenditions 추가
+ * 26. 10. 18.		durururuk		썸네일 전용 서브샘플링 디코딩 경로 추가
+ * 26. 10. 18.		durururuk		레코드 병렬 처리를 위해 디코딩/인코딩 단계 분리
+ * 26. 10. 18.		durururuk		바이트 배열 없이 스트림에서 바로 디코딩하는 getOriginalImage(InputStream) 추가
+ * 26. 10. 18.		durururuk		EXIF 방향을 ExifOrientationReader로 한 번만 읽고 DecodedImage로 전달
+ * 26. 10. 18.		durururuk		방향 보정을 Graphics2D 대신 OrientationTransformer 픽셀 재배치로 변경 (5, 7 크기 오류 수정)
+ * 26. 10. 18.		durururuk		여러 렌디션을 한 번의 디코딩에서 단계적 축소로 생성하는 기능 추가
+ * 26. 10. 18.		durururuk		리사이즈를 ImageResizer로 위임하고 렌디션별 알고리즘 선택 지원
+ * 26. 10. 18.		durururuk		WebP 인코딩을 WebPEncoder로 위임하고 원본/렌디션별 인코더 설정 적용
+ * 26. 10. 18.		durururuk		헤더만 읽는 probeHeader와 WebP 원본 그대로 복사 가능 여부 판단 추가
+ * 26. 10. 18.		durururuk		디코딩/회전/리사이즈 버퍼를 BufferPool에서 받고 다 쓴 중간 이미지는 돌려줌
+ * 26. 10. 18.		durururuk		디코딩 전 픽셀 예산 확인, 예산을 넘으면 영역 분할 축소 디코딩
+ * 26. 10. 18.		durururuk		헤더/디코딩/회전/리사이즈/인코딩 단계별 소요 시간 기록
+ * 26. 10. 18.		durururuk		가장 작은 렌디션의 래스터로 자리 표시 정보(BlurHash, 대표 색, LQIP) 생성
+ * 26. 10. 18.		durururuk		디코딩 직후 PixelNormalizer로 TYPE_INT_RGB/TYPE_INT_ARGB_PRE 정규화 (알파 유지)
+ * 26. 10. 18.		durururuk		축소 디코딩 띠 크기를 픽셀 예산 전체로 잡아 띠 수(전체 디코딩 횟수)를 줄임
  */
 public class ImageProcessService {
 	private static final Logger logger = LoggerFactory.getLogger(ImageProcessService.class);
+	private final boolean passthroughEnabled;
+	private final BufferPool bufferPool;
+	private final long maxDecodePixels;
+	private final long maxSourcePixels;
+
+	public ImageProcessService() {
+		this(AppConstants.WEBP_PASSTHROUGH);
+	}
+
+	/**
+	 * @param passthroughEnabled 이미 조건에 맞는 WebP는 다시 인코딩하지 않고 그대로 복사할지 여부
+	 */
+	public ImageProcessService(boolean passthroughEnabled) {
+		this(passthroughEnabled, BufferPoolConfiguration.getBufferPool());
+	}
+
+	/**
+	 * @param passthroughEnabled 이미 조건에 맞는 WebP는 다시 인코딩하지 않고 그대로 복사할지 여부
+	 * @param bufferPool 디코딩/회전/리사이즈 버퍼를 받을 풀
+	 */
+	public ImageProcessService(boolean passthroughEnabled, BufferPool bufferPool) {
+		this(passthroughEnabled, bufferPool, DecodeLimitConfiguration.getMaxDecodePixels());
+	}
+
+	/**
+	 * @param passthroughEnabled 이미 조건에 맞는 WebP는 다시 인코딩하지 않고 그대로 복사할지 여부
+	 * @param bufferPool 디코딩/회전/리사이즈 버퍼를 받을 풀
+	 * @param maxDecodePixels 전체를 한 번에 디코딩할 최대 픽셀 수, 넘으면 이 크기 안으로 줄여서 디코딩
+	 */
+	public ImageProcessService(boolean passthroughEnabled, BufferPool bufferPool, long maxDecodePixels) {
+		this.passthroughEnabled = passthroughEnabled;
+		this.bufferPool = bufferPool;
+		this.maxDecodePixels = maxDecodePixels;
+		this.maxSourcePixels = DecodeLimitConfiguration.getMaxSourcePixels();
+	}
+
+	/**
+	 * 원본 이미지를 한 번만 디코딩해서 원본 WebP와 썸네일을 함께 생성하는 메서드
+	 * 방향 보정까지 끝난 BufferedImage 하나로 두 결과물을 모두 만들기 때문에 재디코딩이 일어나지 않습니다.
+	 * @param imageBytes 원본 이미지 바이트 배열
+	 * @return 원본 WebP와 썸네일 WebP 바이트 묶음
+	 * @throws IOException 이미지를 불러오지 못했거나 변환에 실패했을 때 발생하는 예외
+	 */
+	public ImageRenditions createRenditions(byte[] imageBytes) throws IOException {
+		logger.info("이미지 변환 시작");
+
+		BufferedImage originalImage = getOriginalImage(imageBytes);
+
+		byte[] originalWebPBytes = encodeOriginal(originalImage);
+		byte[] thumbnailBytes = encodeThumbnail(originalImage);
+
+		return new ImageRenditions(originalWebPBytes, thumbnailBytes);
+	}
+
+	/**
+	 * 방향 보정이 끝난 이미지를 원본 크기 그대로 WebP로 인코딩하는 메서드
+	 * @param orientedImage getOriginalImage로 디코딩된 이미지
+	 * @return 원본 WebP 바이트 배열
+	 * @throws IOException 변환에 실패했을 때 발생하는 예외
+	 */
+	public byte[] encodeOriginal(BufferedImage orientedImage) throws IOException {
+		return convertBufferedImageToWebP(orientedImage, "원본", RenditionConfiguration.getOriginalEncoding());
+	}
+
+	/**
+	 * 방향 보정이 끝난 이미지를 썸네일 크기로 줄여서 WebP로 인코딩하는 메서드
+	 * 원본 이미지는 읽기만 하므로 encodeOriginal과 다른 스레드에서 동시에 호출해도 됩니다.
+	 * @param orientedImage getOriginalImage로 디코딩된 이미지
+	 * @return 썸네일 WebP 바이트 배열
+	 * @throws IOException 변환에 실패했을 때 발생하는 예외
+	 */
+	public byte[] encodeThumbnail(BufferedImage orientedImage) throws IOException {
+		return encodeAndRelease(resizeToThumbnail(orientedImage), "썸네일",
+			RenditionConfiguration.DEFAULT_THUMBNAIL.encoding());
+	}
+
+	/**
+	 * 방향 보정이 끝난 이미지 하나로 여러 렌디션을 만드는 메서드
+	 * 큰 렌디션부터 만들고, 작은 렌디션은 바로 앞의 더 큰 렌디션에서 줄여서 원본을 매번 다시 훑지 않습니다.
+	 * 렌디션 하나가 인코딩될 때마다 onEncoded를 호출하므로 호출한 쪽에서 바로 업로드를 시작할 수 있습니다.
+	 * 중간 렌디션 이미지는 다음 단계에서 쓰고 나면 바로 버퍼 풀에 돌려줍니다. (orientedImage는 돌려주지 않음)
+	 * @param orientedImage getOriginalImage로 디코딩된 이미지
+	 * @param profiles 만들 렌디션 설정 목록
+	 * @param onEncoded 렌디션 하나가 인코딩될 때마다 호출되는 콜백
+	 * @return 인코딩된 렌디션 목록 (큰 것부터)
+	 * @throws IOException 변환에 실패했을 때 발생하는 예외
+	 */
+	public List<EncodedRendition> createRenditions(BufferedImage orientedImage, List<RenditionProfile> profiles,
+		Consumer<EncodedRendition> onEncoded) throws IOException {
+		return createRenditions(orientedImage, profiles, false, onEncoded);
+	}
+
+	/**
+	 * 방향 보정이 끝난 이미지 하나로 여러 렌디션을 만드는 메서드
+	 * placeholder가 true면 가장 작은 렌디션의 래스터가 메모리에 있을 때 자리 표시 정보도 함께 만들어
+	 * 그 렌디션의 EncodedRendition.placeholder에 담습니다. (나머지 렌디션은 null)
+	 * @param placeholder 가장 작은 렌디션에 BlurHash, 대표 색, LQIP를 만들지 여부
+	 * @see #createRenditions(BufferedImage, List, Consumer)
+	 */
+	public List<EncodedRendition> createRenditions(BufferedImage orientedImage, List<RenditionProfile> profiles,
+		boolean placeholder, Consumer<EncodedRendition> onEncoded) throws IOException {
+		int sourceWidth = orientedImage.getWidth();
+		int sourceHeight = orientedImage.getHeight();
+
+		List<RenditionProfile> largestFirst = new ArrayList<>(profiles);
+		largestFirst.sort(Comparator.comparingDouble(
+			(RenditionProfile profile) -> profile.scaleRatio(sourceWidth, sourceHeight)));
+
+		List<EncodedRendition> renditions = new ArrayList<>(largestFirst.size());
+		BufferedImage chainSource = orientedImage;
+
+		try {
+			for (RenditionProfile profile : largestFirst) {
+				Dimension targetSize = calculateTargetSize(sourceWidth, sourceHeight, profile);
+
+				// 앞 단계 결과가 목표보다 작으면(업스케일) 원본에서 다시 만듦
+				BufferedImage resizeSource = chainSource.getWidth() >= targetSize.width
+					&& chainSource.getHeight() >= targetSize.height ? chainSource : orientedImage;
+				BufferedImage resizedImage = resize(resizeSource, targetSize, profile.resizeMode());
+
+				if (chainSource != orientedImage) {
+					bufferPool.release(chainSource);
+				}
+				chainSource = resizedImage;
+
+				byte[] webpBytes = convertBufferedImageToWebP(resizedImage, profile.name(), profile.encoding());
+				ImagePlaceholder imagePlaceholder = placeholder && renditions.size() == largestFirst.size() - 1
+					? createPlaceholder(resizedImage)
+					: null;
+				EncodedRendition rendition = new EncodedRendition(profile, targetSize.width, targetSize.height,
+					webpBytes, imagePlaceholder);
+				renditions.add(rendition);
+				onEncoded.accept(rendition);
+			}
+		} finally {
+			if (chainSource != orientedImage) {
+				bufferPool.release(chainSource);
+			}
+		}
+
+		return renditions;
+	}
+
+	/**
+	 * 썸네일 크기 이미지로 자리 표시 정보를 만들고 소요 시간을 기록하는 메서드
+	 */
+	private ImagePlaceholder createPlaceholder(BufferedImage image) throws IOException {
+		long startNanos = System.nanoTime();
+		ImagePlaceholder placeholder = PlaceholderGenerator.generate(image, bufferPool);
+		RecordMetrics.record(Stage.PLACEHOLDER, startNanos);
+		return placeholder;
+	}
 
 	/**
 	 * 원본 이미지를 WebP로 변환하는 메서드
@@ -47,7 +240,7 @@ public class ImageProcessService {
 
 		BufferedImage originalImage = getOriginalImage(imageBytes);
 
-		return convertBufferedImageToWebP(originalImage, "원본");
+		return convertBufferedImageToWebP(originalImage, "원본", RenditionConfiguration.getOriginalEncoding());
 	}
 
 	/**
@@ -62,179 +255,444 @@ public class ImageProcessService {
 
 		BufferedImage originalImage = getOriginalImage(imageBytes);
 
-		// 원본 이미지 크기
-		int originalWidth = originalImage.getWidth();
-		int originalHeight = originalImage.getHeight();
+		return encodeAndRelease(resizeToThumbnail(originalImage), "썸네일",
+			RenditionConfiguration.DEFAULT_THUMBNAIL.encoding());
+	}
+
+	/**
+	 * 방향 보정이 끝난 이미지를 썸네일 크기로 줄이는 메서드
+	 * 길이, 높이 중 짧은 부분을 300px로 잡고 비율을 맞춰서 리사이징합니다.
+	 * @param originalImage 방향 보정이 끝난 원본 BufferedImage
+	 * @return 썸네일 크기의 BufferedImage
+	 */
+	private BufferedImage resizeToThumbnail(BufferedImage originalImage) {
+		Dimension thumbnailSize = calculateThumbnailSize(originalImage.getWidth(), originalImage.getHeight());
+		return resize(originalImage, thumbnailSize, RenditionConfiguration.DEFAULT_THUMBNAIL.resizeMode());
+	}
+
+	/**
+	 * 버퍼 풀을 써서 리사이즈하고 소요 시간을 기록하는 메서드
+	 */
+	private BufferedImage resize(BufferedImage image, Dimension size, ImageResizer.ResizeMode resizeMode) {
+		long startNanos = System.nanoTime();
+		BufferedImage resizedImage = ImageResizer.resize(image, size.width, size.height, resizeMode, bufferPool);
+		RecordMetrics.record(Stage.RESIZE, startNanos);
+		return resizedImage;
+	}
+
+	/**
+	 * 썸네일 크기를 계산하는 메서드
+	 * 길이, 높이 중 짧은 부분을 300px로 잡고 비율을 맞춥니다.
+	 * @param originalWidth 방향 보정이 끝난 원본 너비
+	 * @param originalHeight 방향 보정이 끝난 원본 높이
+	 * @return 썸네일 크기
+	 */
+	private Dimension calculateThumbnailSize(int originalWidth, int originalHeight) {
+		return calculateTargetSize(originalWidth, originalHeight, RenditionConfiguration.DEFAULT_THUMBNAIL);
+	}
+
+	/**
+	 * 렌디션 설정에 맞는 결과 크기를 계산하는 메서드
+	 * @param originalWidth 방향 보정이 끝난 원본 너비
+	 * @param originalHeight 방향 보정이 끝난 원본 높이
+	 * @param profile 렌디션 설정
+	 * @return 결과 크기 (최소 1x1)
+	 */
+	Dimension calculateTargetSize(int originalWidth, int originalHeight, RenditionProfile profile) {
+		double ratio = profile.scaleRatio(originalWidth, originalHeight);
+
+		int scaledWidth = Math.max(1, (int)(originalWidth / ratio));
+		int scaledHeight = Math.max(1, (int)(originalHeight / ratio));
+
+		return new Dimension(scaledWidth, scaledHeight);
+	}
+
+	/**
+	 * 원본 이미지를 서브샘플링으로 디코딩해서 썸네일을 만드는 메서드
+	 * 썸네일 크기 이상이 남는 가장 큰 서브샘플링 배율로 디코딩한 뒤 고품질 리사이징으로 마무리합니다.
+	 * 결과 크기는 createThumbnail과 동일합니다.
+	 * @param imageBytes 원본 이미지 바이트 배열
+	 * @return 변환된 썸네일 바이트 배열
+	 * @throws IOException 이미지를 불러오지 못했거나 변환에 실패했을 때 발생하는 예외
+	 */
+	public byte[] createThumbnailSubsampled(byte[] imageBytes) throws IOException {
+		logger.info("서브샘플링 썸네일 생성 시작");
+
+		try (ImageInputStream inputStream = new MemoryCacheImageInputStream(new ByteArrayInputStream(imageBytes))) {
+			int orientation = readExifOrientation(inputStream);
+			ImageReader reader = getImageReader(inputStream, true);
+			try {
+				int sourceWidth = reader.getWidth(0);
+				int sourceHeight = reader.getHeight(0);
+				checkSourceSize(sourceWidth, sourceHeight);
+
+				// 90도 회전이 들어가는 방향이면 가로세로를 바꿔서 최종 크기를 계산
+				Dimension thumbnailSize = OrientationTransformer.isTransposed(orientation)
+					? calculateThumbnailSize(sourceHeight, sourceWidth)
+					: calculateThumbnailSize(sourceWidth, sourceHeight);
+
+				int subsampling = calculateSubsampling(sourceWidth, sourceHeight, AppConstants.THUMBNAIL_SIZE);
+				ImageReadParam readParam = reader.getDefaultReadParam();
+				applySubsampling(readParam, sourceWidth, sourceHeight, subsampling);
+
+				BufferedImage subsampledImage = reader.read(0, readParam);
+				logger.info("서브샘플링 디코딩 완료 - 배율: 1/{}, 크기: {}x{}", subsampling,
+					subsampledImage.getWidth(), subsampledImage.getHeight());
+
+				BufferedImage orientedImage = rotateImageByOrientation(normalize(subsampledImage), orientation);
+				BufferedImage thumbnail = resizeWithQuality(orientedImage, thumbnailSize);
+				bufferPool.release(orientedImage);
+				return encodeAndRelease(thumbnail, "썸네일", RenditionConfiguration.DEFAULT_THUMBNAIL.encoding());
+			} finally {
+				reader.dispose();
+			}
+		}
+	}
+
+	/**
+	 * 짧은 변이 목표 크기 이상으로 남는 가장 큰 서브샘플링 배율을 계산하는 메서드
+	 * @param width 원본 너비
+	 * @param height 원본 높이
+	 * @param targetShortEdge 목표 짧은 변 길이
+	 * @return 서브샘플링 배율 (1 이상)
+	 */
+	int calculateSubsampling(int width, int height, int targetShortEdge) {
+		return Math.max(1, Math.min(width, height) / targetShortEdge);
+	}
+
+	/**
+	 * 리더 종류에 맞게 서브샘플링을 설정하는 메서드
+	 * WebP 리더는 setSourceSubsampling을 무시하기 때문에 libwebp 자체 스케일링을 사용합니다.
+	 */
+	private void applySubsampling(ImageReadParam readParam, int sourceWidth, int sourceHeight, int subsampling) {
+		if (subsampling <= 1) {
+			return;
+		}
 
-		//300x300 급으로 스케일링
-		double widthRatio = (double)originalWidth / AppConstants.THUMBNAIL_SIZE;
-		double heightRatio = (double)originalHeight / AppConstants.THUMBNAIL_SIZE;
-		double ratio = Math.min(widthRatio, heightRatio);
+		if (readParam instanceof WebPReadParam webPReadParam) {
+			webPReadParam.setUseScaling(true);
+			webPReadParam.setScaledWidth((sourceWidth + subsampling - 1) / subsampling);
+			webPReadParam.setScaledHeight((sourceHeight + subsampling - 1) / subsampling);
+			return;
+		}
 
-		int scaledWidth = (int)(originalWidth / ratio);
-		int scaledHeight = (int)(originalHeight / ratio);
+		readParam.setSourceSubsampling(subsampling, subsampling, 0, 0);
+	}
 
-		//스케일링된 이미지 생성
-		BufferedImage thumbnailImage = new BufferedImage(scaledWidth, scaledHeight, BufferedImage.TYPE_INT_RGB);
-		Graphics2D graphics = thumbnailImage.createGraphics();
+	/**
+	 * 이미지 스트림에 맞는 ImageReader를 찾아 입력을 연결하는 메서드
+	 * @param seekForwardOnly 한 번만 읽으면 true, 같은 이미지를 영역별로 여러 번 읽을 수 있어야 하면 false
+	 * @throws IOException 지원하지 않는 이미지 형식일 경우 발생합니다.
+	 */
+	private ImageReader getImageReader(ImageInputStream inputStream, boolean seekForwardOnly) throws IOException {
+		if (inputStream == null) {
+			throw new IOException("원본 이미지 불러오기 실패");
+		}
 
-		graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-		graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		Iterator<ImageReader> readers = ImageIO.getImageReaders(inputStream);
+		if (!readers.hasNext()) {
+			throw new IOException("지원하지 않는 이미지 형식");
+		}
 
-		graphics.drawImage(originalImage, 0, 0, scaledWidth, scaledHeight, null);
-		graphics.dispose();
+		ImageReader reader = readers.next();
+		reader.setInput(inputStream, seekForwardOnly, true);
+		return reader;
+	}
 
-		return convertBufferedImageToWebP(thumbnailImage, "썸네일");
+	/**
+	 * 고품질 보간으로 이미지를 지정한 크기로 리사이징하는 메서드
+	 * 서브샘플링 결과는 목표 크기의 2배 미만이라 한 번의 바이큐빅 필터로 충분합니다.
+	 */
+	private BufferedImage resizeWithQuality(BufferedImage image, Dimension size) {
+		return resize(image, size, ImageResizer.ResizeMode.BICUBIC);
 	}
 
 	/**
 	 * 원본 이미지 바이트를 불러오는 메서드
+	 * EXIF 방향 보정까지 적용된 이미지를 반환합니다.
 	 * @param imageBytes 원본 이미지 바이트 배열
 	 * @return 생성된 BufferedImage 객체
 	 * @throws IOException 지원하지 않는 이미지 형식이거나 데이터가 손상되었을 경우 발생합니다.
 	 */
-	private BufferedImage getOriginalImage(byte[] imageBytes) throws IOException {
-		BufferedImage originalImage = ImageIO.read(new ByteArrayInputStream(imageBytes));
-		if (originalImage == null) {
-			throw new IOException("원본 이미지 불러오기 실패");
+	public BufferedImage getOriginalImage(byte[] imageBytes) throws IOException {
+		return decodeImage(new ByteArrayInputStream(imageBytes)).image();
+	}
+
+	/**
+	 * 입력 스트림에서 바로 원본 이미지를 불러오는 메서드
+	 * @param imageStream 원본 이미지 스트림 (예: S3 응답 스트림)
+	 * @return 방향 보정까지 적용된 BufferedImage 객체
+	 * @throws IOException 지원하지 않는 이미지 형식이거나 데이터가 손상되었을 경우 발생합니다.
+	 */
+	public BufferedImage getOriginalImage(InputStream imageStream) throws IOException {
+		return decodeImage(imageStream).image();
+	}
+
+	/**
+	 * 입력 스트림에서 원본 이미지를 디코딩하고 적용한 EXIF 방향 값과 함께 반환하는 메서드
+	 * 전체 바이트 배열을 만들지 않고 ImageInputStream 하나로 EXIF 헤더를 읽은 뒤 처음으로 되돌아가 디코딩합니다.
+	 * 방향 값은 결과에 담겨 전달되므로 다시 파싱할 필요가 없습니다. 전달받은 스트림은 닫지 않습니다.
+	 * @param imageStream 원본 이미지 스트림 (예: S3 응답 스트림)
+	 * @return 방향 보정된 이미지와 적용한 EXIF 방향 값
+	 * @throws IOException 지원하지 않는 이미지 형식이거나 데이터가 손상되었을 경우 발생합니다.
+	 */
+	public DecodedImage decodeImage(InputStream imageStream) throws IOException {
+		try (ImageInputStream inputStream = new MemoryCacheImageInputStream(imageStream)) {
+			return decodeImage(inputStream, readExifOrientation(inputStream));
 		}
+	}
 
-		return applyExifOrientation(originalImage, imageBytes);
+	/**
+	 * probeHeader로 헤더를 확인한 스트림을 이어서 디코딩하는 메서드
+	 * 헤더에서 읽은 EXIF 방향 값을 그대로 사용하므로 다시 파싱하지 않습니다. 스트림은 닫지 않습니다.
+	 * @param inputStream probeHeader에 넘겼던 이미지 스트림
+	 * @param header probeHeader 결과
+	 * @return 방향 보정된 이미지와 적용한 EXIF 방향 값
+	 * @throws IOException 지원하지 않는 이미지 형식이거나 데이터가 손상되었을 경우 발생합니다.
+	 */
+	public DecodedImage decodeImage(ImageInputStream inputStream, ImageHeader header) throws IOException {
+		return decodeImage(inputStream, header.orientation());
 	}
 
 	/**
-	 * BufferedImage를 WebP 형식의 바이트 배열로 변환하는 메서드
+	 * 헤더의 크기를 먼저 확인하고 디코딩
+	 * 픽셀 예산 안이면 리더가 지원할 때 버퍼 풀 배열을 디코딩 대상으로 지정해서 전체를 디코딩하고,
+	 * 예산을 넘으면 원본 크기 래스터를 만들지 않고 예산 안의 크기로 줄여서 디코딩합니다.
+	 * 디코딩 결과는 회전 전에 정규화하므로 이후 단계는 TYPE_INT_RGB/TYPE_INT_ARGB_PRE만 받습니다.
+	 * 축소 디코딩은 같은 스트림을 영역별로 다시 읽으므로 리더 입력을 seekForwardOnly=false로 연결합니다.
+	 */
+	private DecodedImage decodeImage(ImageInputStream inputStream, int orientation) throws IOException {
+		ImageReader reader = getImageReader(inputStream, false);
+		BufferedImage destination = null;
+		try {
+			int sourceWidth = reader.getWidth(0);
+			int sourceHeight = reader.getHeight(0);
+			checkSourceSize(sourceWidth, sourceHeight);
+			long startNanos = System.nanoTime();
+			if ((long)sourceWidth * sourceHeight > maxDecodePixels) {
+				BufferedImage downscaledImage = decodeDownscaled(reader, sourceWidth, sourceHeight);
+				RecordMetrics.record(Stage.DECODE, startNanos);
+				return new DecodedImage(rotateImageByOrientation(normalize(downscaledImage), orientation),
+					orientation);
+			}
+
+			ImageReadParam readParam = reader.getDefaultReadParam();
+			destination = createDecodeDestination(reader, readParam);
+
+			BufferedImage decodedImage = reader.read(0, readParam);
+			RecordMetrics.record(Stage.DECODE, startNanos);
+			if (decodedImage != destination) {
+				bufferPool.release(destination);
+			}
+			destination = null;
+			return new DecodedImage(rotateImageByOrientation(normalize(decodedImage), orientation), orientation);
+		} finally {
+			bufferPool.release(destination);
+			reader.dispose();
+		}
+	}
+
+	/**
+	 * 픽셀 예산을 넘는 이미지를 예산 안의 크기(같은 비율)로 줄여서 디코딩하는 메서드
+	 * WebP는 libwebp가 디코딩하면서 바로 줄이고, 그 외 포맷은 RegionDecoder로 띠 단위로 읽어서 줄입니다.
+	 */
+	private BufferedImage decodeDownscaled(ImageReader reader, int sourceWidth, int sourceHeight)
+		throws IOException {
+		double scale = Math.sqrt((double)maxDecodePixels / ((long)sourceWidth * sourceHeight));
+		int targetWidth = Math.max(1, (int)(sourceWidth * scale));
+		int targetHeight = Math.max(1, (int)(sourceHeight * scale));
+		logger.warn("픽셀 예산 초과 - 원본: {}x{}, 예산: {} px, {}x{}로 축소 디코딩", sourceWidth, sourceHeight,
+			maxDecodePixels, targetWidth, targetHeight);
+
+		ImageReadParam readParam = reader.getDefaultReadParam();
+		if (readParam instanceof WebPReadParam webPReadParam) {
+			webPReadParam.setUseScaling(true);
+			webPReadParam.setScaledWidth(targetWidth);
+			webPReadParam.setScaledHeight(targetHeight);
+			return reader.read(0, webPReadParam);
+		}
+		// 띠 하나는 예산 크기로 잡음 (띠를 잘게 나누면 JPEG/PNG는 띠마다 처음부터 다시 디코딩해서 느려짐)
+		return RegionDecoder.decodeDownscaled(reader, targetWidth, targetHeight, maxDecodePixels, bufferPool);
+	}
+
+	/**
+	 * 축소 디코딩으로도 처리하지 않을 만큼 큰 원본(압축 폭탄, 비정상 헤더)인지 확인하는 메서드
+	 * @throws IOException 크기가 0 이하이거나 원본 최대 픽셀 수를 넘을 때 발생합니다.
+	 */
+	private void checkSourceSize(int width, int height) throws IOException {
+		if (width <= 0 || height <= 0 || (long)width * height > maxSourcePixels) {
+			throw new IOException(String.format("처리할 수 없는 이미지 크기 - %dx%d (최대 %d px)", width, height,
+				maxSourcePixels));
+		}
+	}
+
+	/**
+	 * 리더의 기본 이미지 타입으로 버퍼 풀 배열을 쓰는 디코딩 대상 이미지를 만들어 readParam에 지정
+	 * 리더가 TYPE_INT_RGB를 지원하면(불투명 PNG 등) 그 타입으로 디코딩해서 정규화 변환을 건너뜁니다.
+	 * WebP 리더는 대상 이미지를 받지 않으므로 제외합니다. (크기를 물어봐도 압축된 파일 전체를 버퍼에 읽은 뒤 헤더만 확인함)
+	 * @return 지정한 대상 이미지 (지정하지 않았으면 null)
+	 */
+	private BufferedImage createDecodeDestination(ImageReader reader, ImageReadParam readParam) throws IOException {
+		if (readParam instanceof WebPReadParam) {
+			return null;
+		}
+		Iterator<ImageTypeSpecifier> imageTypes = reader.getImageTypes(0);
+		if (!imageTypes.hasNext()) {
+			return null;
+		}
+
+		ImageTypeSpecifier imageType = imageTypes.next();
+		while (imageTypes.hasNext() && imageType.getBufferedImageType() != BufferedImage.TYPE_INT_RGB) {
+			ImageTypeSpecifier candidate = imageTypes.next();
+			if (candidate.getBufferedImageType() == BufferedImage.TYPE_INT_RGB) {
+				imageType = candidate;
+			}
+		}
+
+		BufferedImage destination = bufferPool.createDecodeImage(imageType, reader.getWidth(0),
+			reader.getHeight(0));
+		readParam.setDestination(destination);
+		return destination;
+	}
+
+	/**
+	 * 다 쓴 이미지(디코딩 결과 등)의 버퍼를 풀에 돌려주는 메서드
+	 * 풀에서 받은 버퍼가 아니면 아무것도 하지 않습니다. 돌려준 뒤에는 이미지를 더 쓰지 않아야 합니다.
+	 * @param image 더 쓰지 않을 이미지
+	 */
+	public void releaseImage(BufferedImage image) {
+		bufferPool.release(image);
+	}
+
+	/**
+	 * 픽셀을 디코딩하지 않고 포맷, 크기, EXIF 방향만 읽는 메서드
+	 * 읽은 뒤 스트림은 처음 위치로 돌아가므로 필요하면 decodeImage로 이어서 디코딩할 수 있습니다.
+	 * @param inputStream 원본 이미지 스트림
+	 * @return 이미지 헤더 정보
+	 * @throws IOException 지원하지 않는 이미지 형식이거나 헤더가 손상되었을 경우 발생합니다.
+	 */
+	public ImageHeader probeHeader(ImageInputStream inputStream) throws IOException {
+		long startNanos = System.nanoTime();
+		ImageHeader header = ImageHeaderReader.read(inputStream);
+		RecordMetrics.record(Stage.HEADER, startNanos);
+		logger.info("이미지 헤더 확인 - 포맷: {}, 크기: {}x{}, 방향: {}", header.formatName(), header.width(),
+			header.height(), header.orientation());
+		return header;
+	}
+
+	/**
+	 * 원본 WebP를 다시 인코딩하지 않고 그대로 복사해도 되는지 판단하는 메서드
+	 * 이미 WebP이고 방향 보정이 필요 없으면 재인코딩해도 화질만 떨어지므로 복사합니다.
+	 * @param header probeHeader 결과
+	 * @return 그대로 복사해도 되면 true
+	 */
+	public boolean canPassThroughOriginal(ImageHeader header) {
+		return passthroughEnabled && header.isWebP() && header.isUpright();
+	}
+
+	/**
+	 * 렌디션을 원본 WebP 그대로 복사해도 되는지 판단하는 메서드
+	 * 원본이 이미 렌디션 목표 크기 이하라서 줄일 필요가 없으면 복사합니다. (업스케일하지 않음)
+	 * @param header probeHeader 결과
+	 * @param profile 렌디션 설정
+	 * @return 그대로 복사해도 되면 true
+	 */
+	public boolean canPassThrough(ImageHeader header, RenditionProfile profile) {
+		return canPassThroughOriginal(header) && profile.scaleRatio(header.width(), header.height()) <= 1.0;
+	}
+
+	/**
+	 * BufferedImage를 지정한 인코더 설정의 WebP 바이트 배열로 변환하는 메서드
 	 * @param image      변환할 BufferedImage 객체
-	 * @param logContext 로깅 시 사용할 컨텍스트 문자열 (예: "원본", "썸네일")
+	 * @param logContext 로깅 시 사용할 컨텍스트 문자열 (예: "원본", "썸네일", 렌디션 이름)
+	 * @param settings   WebP 인코더 설정 (손실/무손실, 품질, method)
 	 * @return WebP로 변환된 이미지의 바이트 배열
 	 * @throws IOException 이미지 변환에 실패했을 경우 발생합니다.
 	 */
-	private byte[] convertBufferedImageToWebP(BufferedImage image, String logContext) throws IOException {
-		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-		boolean result = ImageIO.write(image, AppConstants.OUTPUT_FORMAT, outputStream);
-
-		if (!result) {
-			throw new IOException(logContext + " WebP 출력 실패");
+	private byte[] convertBufferedImageToWebP(BufferedImage image, String logContext, WebPEncodeSettings settings)
+		throws IOException {
+		byte[] webpBytes;
+		long startNanos = System.nanoTime();
+		try {
+			webpBytes = WebPEncoder.encode(image, settings);
+		} catch (IOException e) {
+			throw new IOException(logContext + " WebP 출력 실패", e);
 		}
+		RecordMetrics.record(Stage.ENCODE, startNanos);
 
-		logger.info("{} WebP 변환 완료", logContext);
-		return outputStream.toByteArray();
+		logger.info("{} WebP 변환 완료 - 설정: {}, 크기: {} bytes", logContext, settings, webpBytes.length);
+		return webpBytes;
 	}
 
 	/**
-	 * EXIF 방향 정보를 적용하여 이미지를 올바른 방향으로 회전시키는 메서드
-	 * @param image 원본 BufferedImage
-	 * @param imageBytes 원본 이미지 바이트 배열 (EXIF 정보 읽기용)
-	 * @return 방향이 보정된 BufferedImage
+	 * 이미지를 WebP로 인코딩한 뒤 이미지 버퍼를 풀에 돌려주는 메서드 (중간 결과 전용)
 	 */
-	private BufferedImage applyExifOrientation(BufferedImage image, byte[] imageBytes) {
+	private byte[] encodeAndRelease(BufferedImage image, String logContext, WebPEncodeSettings settings)
+		throws IOException {
 		try {
-			Metadata metadata = ImageMetadataReader.readMetadata(new ByteArrayInputStream(imageBytes));
-			ExifIFD0Directory directory = metadata.getFirstDirectoryOfType(ExifIFD0Directory.class);
+			return convertBufferedImageToWebP(image, logContext, settings);
+		} finally {
+			bufferPool.release(image);
+		}
+	}
 
-			if (directory != null && directory.hasTagName(ExifDirectoryBase.TAG_ORIENTATION)) {
-				int orientation = directory.getInt(ExifDirectoryBase.TAG_ORIENTATION);
-				logger.info("EXIF 방향 정보 감지: {}", orientation);
-				return rotateImageByOrientation(image, orientation);
-			}
-		} catch (ImageProcessingException | IOException | MetadataException e) {
-			logger.warn("EXIF 방향 정보 처리 중 오류 발생: {}", e.getMessage());
+	/**
+	 * 이미지 스트림 헤더에서 EXIF 방향 값을 읽어오는 메서드
+	 * 읽은 뒤 스트림 위치는 원래대로 돌아갑니다.
+	 * @param inputStream 원본 이미지 스트림
+	 * @return EXIF 방향 값 (정보가 없으면 1)
+	 */
+	private int readExifOrientation(ImageInputStream inputStream) {
+		long startNanos = System.nanoTime();
+		int orientation = ExifOrientationReader.readOrientation(inputStream);
+		RecordMetrics.record(Stage.HEADER, startNanos);
+		if (orientation != ExifOrientationReader.DEFAULT_ORIENTATION) {
+			logger.info("EXIF 방향 정보 감지: {}", orientation);
 		}
-		return image;
+		return orientation;
+	}
+
+	/**
+	 * 디코딩 결과를 TYPE_INT_RGB/TYPE_INT_ARGB_PRE로 바꾸는 메서드
+	 * 새 이미지로 바꾼 경우 디코딩 결과 버퍼는 풀에 돌려줍니다.
+	 * @param image 디코딩된 이미지
+	 * @return 정규화된 이미지
+	 */
+	private BufferedImage normalize(BufferedImage image) {
+		if (PixelNormalizer.isNormalized(image)) {
+			return image;
+		}
+
+		long startNanos = System.nanoTime();
+		BufferedImage normalizedImage = PixelNormalizer.normalize(image, bufferPool);
+		RecordMetrics.record(Stage.NORMALIZE, startNanos);
+		bufferPool.release(image);
+		return normalizedImage;
 	}
 
 	/**
 	 * EXIF 방향 값에 따라 이미지를 회전시키는 메서드
+	 * 보간 없이 픽셀 위치만 옮기기 때문에 화질 손실이 없습니다. 회전한 경우 원본 버퍼는 풀에 돌려줍니다.
 	 * @param image 원본 BufferedImage
 	 * @param orientation EXIF 방향 값 (1-8)
 	 * @return 회전된 BufferedImage
 	 */
 	private BufferedImage rotateImageByOrientation(BufferedImage image, int orientation) {
-		AffineTransform transform = new AffineTransform();
-		
-		switch (orientation) {
-			case 1:
-				// 정상 방향 (회전 없음)
-				return image;
-			case 2:
-				// 수평 반전
-				transform.scale(-1.0, 1.0);
-				transform.translate(-image.getWidth(), 0);
-				break;
-			case 3:
-				// 180도 회전
-				transform.translate(image.getWidth(), image.getHeight());
-				transform.rotate(Math.PI);
-				break;
-			case 4:
-				// 수직 반전
-				transform.scale(1.0, -1.0);
-				transform.translate(0, -image.getHeight());
-				break;
-			case 5:
-				// 90도 반시계방향 회전 + 수평 반전
-				transform.rotate(-Math.PI / 2);
-				transform.scale(-1.0, 1.0);
-				break;
-			case 6:
-				// 90도 시계방향 회전
-				transform.translate(image.getHeight(), 0);
-				transform.rotate(Math.PI / 2);
-				break;
-			case 7:
-				// 90도 시계방향 회전 + 수평 반전
-				transform.scale(-1.0, 1.0);
-				transform.translate(-image.getHeight(), 0);
-				transform.translate(0, image.getWidth());
-				transform.rotate(3 * Math.PI / 2);
-				break;
-			case 8:
-				// 90도 반시계방향 회전
-				transform.translate(0, image.getWidth());
-				transform.rotate(-Math.PI / 2);
-				break;
-			default:
-				// 알 수 없는 방향값
-				logger.warn("알 수 없는 EXIF 방향 값: {}", orientation);
-				return image;
-		}
-
-		return applyTransformation(image, transform, orientation);
-	}
-
-	/**
-	 * AffineTransform을 적용하여 이미지를 변환하는 메서드
-	 * @param image 원본 BufferedImage
-	 * @param transform 적용할 AffineTransform
-	 * @param orientation EXIF 방향 값 (로깅용)
-	 * @return 변환된 BufferedImage
-	 */
-	private BufferedImage applyTransformation(BufferedImage image, AffineTransform transform, int orientation) {
-		// 회전 후 이미지 크기 계산
-		int newWidth = image.getWidth();
-		int newHeight = image.getHeight();
-		
-		if (orientation == 6 || orientation == 8) {
-			// 90도 회전 시 가로세로 바뀜
-			newWidth = image.getHeight();
-			newHeight = image.getWidth();
-		}
-
-		BufferedImage rotatedImage = new BufferedImage(newWidth, newHeight, image.getType());
-		Graphics2D g2d = rotatedImage.createGraphics();
-		
-		// 고품질 렌더링 설정
-		g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-		g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-		
-		g2d.setTransform(transform);
-		g2d.drawImage(image, 0, 0, null);
-		g2d.dispose();
+		if (orientation == 1) {
+			// 정상 방향 (회전 없음)
+			return image;
+		}
+		if (orientation < 1 || orientation > 8) {
+			// 알 수 없는 방향값
+			logger.warn("알 수 없는 EXIF 방향 값: {}", orientation);
+			return image;
+		}
 
+		long startNanos = System.nanoTime();
+		BufferedImage rotatedImage = OrientationTransformer.apply(image, orientation, bufferPool);
+		RecordMetrics.record(Stage.ROTATE, startNanos);
+		bufferPool.release(image);
 		logger.info("EXIF 방향 보정 완료: {} -> 정상방향", orientation);
 		return rotatedImage;
 	}
-
 }
@@ -0,0 +1,434 @@
+package com.bokkurin.trackery.service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.bokkurin.trackery.config.AppConstants;
+import com.bokkurin.trackery.config.MetricsConfiguration;
+import com.bokkurin.trackery.metrics.MetricsEmitter;
+import com.bokkurin.trackery.metrics.RecordMetrics;
+import com.bokkurin.trackery.metrics.Stage;
+import com.bokkurin.trackery.model.DecodedImage;
+import com.bokkurin.trackery.model.EncodedRendition;
+import com.bokkurin.trackery.model.ImageHeader;
+import com.bokkurin.trackery.model.ImagePlaceholder;
+import com.bokkurin.trackery.model.RecordProcessResult;
+import com.bokkurin.trackery.model.RenditionManifest;
+import com.bokkurin.trackery.model.RenditionProfile;
+import com.bokkurin.trackery.model.S3ObjectTarget;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+/**
+ * packageName    : com.bokkurin.trackery.service
+ * fileName       : ImageRecordExecutor
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : S3 이벤트 레코드를 동시성 제한 안에서 병렬로 처리하는 기능 클래스
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		다운로드를 바이트 배열 대신 스트림으로 디코더에 전달
+ * 26. 10. 18.		durururuk		디코딩 결과를 방향 값과 함께 DecodedImage로 받음
+ * 26. 10. 18.		durururuk		설정된 렌디션을 모두 만들고 병렬로 업로드
+ * 26. 10. 18.		durururuk		헤더를 먼저 읽고 재인코딩이 필요 없는 결과물은 CopyObject로 복사
+ * 26. 10. 18.		durururuk		결과물이 이미 같은 원본 ETag로 만들어져 있으면 다운로드 없이 건너뜀
+ * 26. 10. 18.		durururuk		업로드/복사를 ImageUploader로 분리 (비동기 S3 클라이언트 사용 가능)
+ * 26. 10. 18.		durururuk		인코딩이 끝난 디코딩 이미지를 버퍼 풀에 돌려줌
+ * 26. 10. 18.		durururuk		레코드 하나를 비동기로 처리하는 processAsync 추가 (백필 실행기용)
+ * 26. 10. 18.		durururuk		레코드별 단계 소요 시간, 크기 지표를 EMF로 출력
+ * 26. 10. 18.		durururuk		결과물을 모두 올린 뒤 크기, 용량, 해시를 담은 목록(manifest) JSON 업로드
+ * 26. 10. 18.		durururuk		가장 작은 렌디션에 자리 표시(BlurHash, 대표 색, LQIP) 메타데이터를 붙이고 목록에도 기록
+ * 26. 10. 18.		durururuk		reprocess 대상은 중복 처리 확인 없이 다시 만듦
+ * 26. 10. 18.		durururuk		Error도 실패 결과로 바꾸고, 실패한 레코드의 남은 업로드를 기다린 뒤 결과를 반환
+ */
+public class ImageRecordExecutor {
+	private static final Logger logger = LoggerFactory.getLogger(ImageRecordExecutor.class);
+	private static final String ORIGINAL_OUTPUT = "original";
+	private static final Stage[] STAGES = Stage.values();
+
+	private final S3ActionService s3ActionService;
+	private final ImageProcessService imageProcessService;
+	private final List<RenditionProfile> renditionProfiles;
+	private final ImageUploader imageUploader;
+	private final ExecutorService recordExecutor;
+	private final MetricsEmitter metricsEmitter;
+	private final boolean manifestEnabled;
+	private final boolean placeholderEnabled;
+
+	/**
+	 * 동기 S3 클라이언트로 업로드 전용 스레드 풀에서 업로드
+	 * @param renditionProfiles 원본 외에 만들 렌디션 목록
+	 * @param recordExecutor 레코드 단위 작업용 스레드 풀 (스레드 수가 곧 동시 처리 레코드 수)
+	 * @param uploadExecutor 업로드 전용 스레드 풀, 레코드 작업이 업로드를 기다리며 교착되지 않도록 분리합니다.
+	 */
+	public ImageRecordExecutor(S3ActionService s3ActionService, ImageProcessService imageProcessService,
+		List<RenditionProfile> renditionProfiles, ExecutorService recordExecutor, ExecutorService uploadExecutor) {
+		this(s3ActionService, new ExecutorImageUploader(s3ActionService, uploadExecutor), imageProcessService,
+			renditionProfiles, recordExecutor);
+	}
+
+	/**
+	 * @param s3ActionService 원본 다운로드와 처리 여부 확인에 사용
+	 * @param imageUploader 결과물 업로드/복사 담당
+	 * @param renditionProfiles 원본 외에 만들 렌디션 목록
+	 * @param recordExecutor 레코드 단위 작업용 스레드 풀 (스레드 수가 곧 동시 처리 레코드 수)
+	 */
+	public ImageRecordExecutor(S3ActionService s3ActionService, ImageUploader imageUploader,
+		ImageProcessService imageProcessService, List<RenditionProfile> renditionProfiles,
+		ExecutorService recordExecutor) {
+		this(s3ActionService, imageUploader, imageProcessService, renditionProfiles, recordExecutor,
+			MetricsConfiguration.getMetricsEmitter());
+	}
+
+	/**
+	 * @param s3ActionService 원본 다운로드와 처리 여부 확인에 사용
+	 * @param imageUploader 결과물 업로드/복사 담당
+	 * @param renditionProfiles 원본 외에 만들 렌디션 목록
+	 * @param recordExecutor 레코드 단위 작업용 스레드 풀 (스레드 수가 곧 동시 처리 레코드 수)
+	 * @param metricsEmitter 레코드마다 단계별 소요 시간 지표를 출력할 곳
+	 */
+	public ImageRecordExecutor(S3ActionService s3ActionService, ImageUploader imageUploader,
+		ImageProcessService imageProcessService, List<RenditionProfile> renditionProfiles,
+		ExecutorService recordExecutor, MetricsEmitter metricsEmitter) {
+		this(s3ActionService, imageUploader, imageProcessService, renditionProfiles, recordExecutor, metricsEmitter,
+			AppConstants.MANIFEST_ENABLED);
+	}
+
+	/**
+	 * @param s3ActionService 원본 다운로드와 처리 여부 확인에 사용
+	 * @param imageUploader 결과물 업로드/복사 담당
+	 * @param renditionProfiles 원본 외에 만들 렌디션 목록
+	 * @param recordExecutor 레코드 단위 작업용 스레드 풀 (스레드 수가 곧 동시 처리 레코드 수)
+	 * @param metricsEmitter 레코드마다 단계별 소요 시간 지표를 출력할 곳
+	 * @param manifestEnabled 결과물을 모두 올린 뒤 결과물 목록 JSON을 올릴지 여부
+	 */
+	public ImageRecordExecutor(S3ActionService s3ActionService, ImageUploader imageUploader,
+		ImageProcessService imageProcessService, List<RenditionProfile> renditionProfiles,
+		ExecutorService recordExecutor, MetricsEmitter metricsEmitter, boolean manifestEnabled) {
+		this(s3ActionService, imageUploader, imageProcessService, renditionProfiles, recordExecutor, metricsEmitter,
+			manifestEnabled, AppConstants.PLACEHOLDER_ENABLED);
+	}
+
+	/**
+	 * @param s3ActionService 원본 다운로드와 처리 여부 확인에 사용
+	 * @param imageUploader 결과물 업로드/복사 담당
+	 * @param renditionProfiles 원본 외에 만들 렌디션 목록
+	 * @param recordExecutor 레코드 단위 작업용 스레드 풀 (스레드 수가 곧 동시 처리 레코드 수)
+	 * @param metricsEmitter 레코드마다 단계별 소요 시간 지표를 출력할 곳
+	 * @param manifestEnabled 결과물을 모두 올린 뒤 결과물 목록 JSON을 올릴지 여부
+	 * @param placeholderEnabled 가장 작은 렌디션에 자리 표시 정보 메타데이터를 붙일지 여부
+	 */
+	public ImageRecordExecutor(S3ActionService s3ActionService, ImageUploader imageUploader,
+		ImageProcessService imageProcessService, List<RenditionProfile> renditionProfiles,
+		ExecutorService recordExecutor, MetricsEmitter metricsEmitter, boolean manifestEnabled,
+		boolean placeholderEnabled) {
+		this.s3ActionService = s3ActionService;
+		this.imageUploader = imageUploader;
+		this.imageProcessService = imageProcessService;
+		this.renditionProfiles = renditionProfiles;
+		this.recordExecutor = recordExecutor;
+		this.metricsEmitter = metricsEmitter;
+		this.manifestEnabled = manifestEnabled;
+		this.placeholderEnabled = placeholderEnabled;
+	}
+
+	/**
+	 * 모든 레코드를 병렬로 처리하고 레코드별 결과를 입력 순서대로 반환
+	 * 한 레코드의 실패가 다른 레코드 처리를 멈추지 않습니다.
+	 * @param targets 처리할 S3 객체 목록
+	 * @return 레코드별 처리 결과
+	 */
+	public List<RecordProcessResult> processAll(List<S3ObjectTarget> targets) {
+		List<CompletableFuture<RecordProcessResult>> futures = targets.stream()
+			.map(this::processAsync)
+			.toList();
+
+		return futures.stream()
+			.map(CompletableFuture::join)
+			.toList();
+	}
+
+	/**
+	 * 레코드 하나를 레코드 스레드 풀에서 처리
+	 * 처리 중 던져진 예외와 Error(OutOfMemoryError 등)도 실패 결과로 완료되므로 반환된 future가 예외로 끝나지 않습니다.
+	 * 단, 스레드 풀이 작업을 거부하면 RejectedExecutionException을 바로 던집니다.
+	 * @param target 처리할 S3 객체
+	 * @return 처리 결과
+	 */
+	public CompletableFuture<RecordProcessResult> processAsync(S3ObjectTarget target) {
+		return CompletableFuture.supplyAsync(() -> process(target), recordExecutor)
+			.exceptionally(error -> fail(target, asException(error)));
+	}
+
+	/**
+	 * 레코드 하나를 처리하고 단계별 지표를 출력
+	 * 지표는 레코드 스레드의 RecordMetrics에 모이고, 같은 스레드에서 실행되는 다운로드/디코딩/인코딩 단계가 직접 기록합니다.
+	 */
+	private RecordProcessResult process(S3ObjectTarget target) {
+		RecordMetrics metrics = RecordMetrics.start(target.objectKey());
+		RecordProcessResult result = null;
+		try {
+			result = process(target, metrics);
+			return result;
+		} finally {
+			metrics.finish(result == null || !result.isSuccess());
+			metricsEmitter.emitRecord(metrics);
+		}
+	}
+
+	/**
+	 * 레코드 하나를 처리
+	 * 결과물이 모두 같은 원본 ETag로 이미 만들어져 있으면 (중복 알림, 같은 파일 재업로드) 바로 끝냅니다.
+	 * 단, reprocess 대상(렌디션 설정 변경 후 백필)은 확인하지 않고 항상 다시 만듭니다.
+	 * 먼저 헤더만 읽어서 재인코딩이 필요 없는 결과물은 CopyObject로 복사하고, 나머지만 디코딩해서 만듭니다.
+	 * 작은 렌디션부터 인코딩되는 대로 업로드를 시작해 두고, 그동안 원본을 인코딩한 뒤 모든 업로드를 함께 기다립니다.
+	 * 결과물 목록 JSON은 결과물이 모두 올라간 뒤 마지막에 올리므로, 목록이 보이면 결과물도 모두 있습니다.
+	 * 중간에 실패하면 이미 시작한 업로드가 끝나기를 기다린 뒤 실패 결과를 반환하므로, 결과를 받은 뒤에는 이 레코드의 업로드가 남아 있지 않습니다.
+	 */
+	private RecordProcessResult process(S3ObjectTarget target, RecordMetrics metrics) {
+		String bucketName = target.bucketName();
+		String objectKey = target.objectKey();
+		logger.info("처리할 파일 - 버킷: {}, 키: {}", bucketName, objectKey);
+
+		List<CompletableFuture<Void>> uploads = new ArrayList<>();
+		try {
+			if (!target.reprocess() && isAlreadyProcessed(target)) {
+				metrics.markSkipped();
+				return RecordProcessResult.success(target);
+			}
+
+			List<RenditionProfile> transcodeProfiles = new ArrayList<>();
+			// 목록 JSON에 넣을 결과물 (렌디션 콜백도 레코드 스레드에서 호출되므로 동기화하지 않음)
+			Map<String, RenditionManifest.Output> outputs = new HashMap<>();
+			ImagePlaceholder placeholder = null;
+			boolean copyOriginal;
+			String sourceETag;
+			ImageHeader header;
+			long sourceBytes = -1;
+
+			DecodedImage decodedImage = null;
+			try (ResponseInputStream<GetObjectResponse> imageStream =
+					 s3ActionService.openImageStream(bucketName, objectKey);
+				 ImageInputStream imageInput = new MemoryCacheImageInputStream(imageStream)) {
+				logger.info("다운로드 시작 - 파일 크기: {} bytes", imageStream.response().contentLength());
+				if (imageStream.response().contentLength() != null) {
+					sourceBytes = imageStream.response().contentLength();
+					metrics.setSourceBytes(sourceBytes);
+				}
+				// 확인 이후 원본이 바뀌었을 수 있으므로 실제로 내려받은 객체의 ETag를 결과물에 남김
+				sourceETag = imageStream.response().eTag();
+				header = imageProcessService.probeHeader(imageInput);
+				metrics.setSourcePixels((long)header.width() * header.height());
+
+				for (RenditionProfile profile : renditionProfiles) {
+					if (imageProcessService.canPassThrough(header, profile)) {
+						uploads.add(imageUploader.copyRendition(bucketName, objectKey, profile, sourceETag));
+						outputs.put(profile.name(), copiedOutput(profile.name(),
+							S3ActionService.createRenditionKey(objectKey, profile), header, sourceBytes, sourceETag));
+						metrics.addCopy();
+					} else {
+						transcodeProfiles.add(profile);
+					}
+				}
+
+				copyOriginal = imageProcessService.canPassThroughOriginal(header);
+				if (copyOriginal) {
+					uploads.add(imageUploader.copyOriginalWebP(bucketName, objectKey, sourceETag));
+					outputs.put(ORIGINAL_OUTPUT, copiedOutput(ORIGINAL_OUTPUT,
+						S3ActionService.createOriginalKey(objectKey), header, sourceBytes, sourceETag));
+					metrics.addCopy();
+				}
+
+				if (copyOriginal && transcodeProfiles.isEmpty()) {
+					// 남은 본문은 필요 없으므로 끝까지 받지 않고 연결을 끊음
+					imageStream.abort();
+					logger.info("재인코딩 없이 복사 - 키: {}", objectKey);
+				} else {
+					decodedImage = imageProcessService.decodeImage(imageInput, header);
+				}
+			}
+
+			if (decodedImage != null) {
+				BufferedImage orientedImage = decodedImage.image();
+				try {
+					List<EncodedRendition> renditions = imageProcessService.createRenditions(orientedImage,
+						transcodeProfiles, placeholderEnabled, rendition -> {
+							metrics.addRendition(rendition.bytes().length);
+							uploads.add(imageUploader.uploadRendition(objectKey, rendition.profile(),
+								rendition.bytes(), sourceETag, rendition.placeholder()));
+							outputs.put(rendition.profile().name(), encodedOutput(rendition.profile().name(),
+								S3ActionService.createRenditionKey(objectKey, rendition.profile()), rendition.width(),
+								rendition.height(), rendition.bytes()));
+						});
+					for (EncodedRendition rendition : renditions) {
+						if (rendition.placeholder() != null) {
+							placeholder = rendition.placeholder();
+						}
+					}
+
+					if (!copyOriginal) {
+						byte[] originalWebPBytes = imageProcessService.encodeOriginal(orientedImage);
+						metrics.addRendition(originalWebPBytes.length);
+						uploads.add(imageUploader.uploadOriginalWebP(objectKey, originalWebPBytes, sourceETag));
+						outputs.put(ORIGINAL_OUTPUT, encodedOutput(ORIGINAL_OUTPUT,
+							S3ActionService.createOriginalKey(objectKey), orientedImage.getWidth(),
+							orientedImage.getHeight(), originalWebPBytes));
+					}
+				} finally {
+					// 업로드에는 인코딩된 바이트만 쓰이므로 인코딩이 끝나면 바로 다음 레코드가 버퍼를 재사용할 수 있음
+					imageProcessService.releaseImage(orientedImage);
+				}
+			}
+
+			long uploadStartNanos = System.nanoTime();
+			CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).join();
+			RecordMetrics.record(Stage.UPLOAD, uploadStartNanos);
+			if (manifestEnabled) {
+				uploadManifest(objectKey, sourceETag, header, sourceBytes, outputs, placeholder, metrics);
+			}
+			logger.info("이미지 업로드 완료 - 키: {}, 렌디션 {}개 (복사 {}개)", objectKey, renditionProfiles.size(),
+				renditionProfiles.size() - transcodeProfiles.size());
+			return RecordProcessResult.success(target);
+
+		} catch (CompletionException e) {
+			return fail(target, unwrap(e));
+		} catch (Exception e) {
+			return fail(target, e);
+		} catch (Throwable e) {
+			return fail(target, asException(e));
+		} finally {
+			awaitUploads(uploads);
+		}
+	}
+
+	/**
+	 * 시작한 업로드가 모두 끝나기를 기다림 (성공했다면 이미 끝나 있고, 실패했다면 업로드 오류는 무시)
+	 */
+	private static void awaitUploads(List<CompletableFuture<Void>> uploads) {
+		for (CompletableFuture<Void> upload : uploads) {
+			try {
+				upload.join();
+			} catch (CancellationException | CompletionException ignored) {
+				// 레코드 실패 원인은 이미 결과에 담겨 있음
+			}
+		}
+	}
+
+	/**
+	 * 결과물 목록 JSON을 만들어 올리고 완료를 기다림 (업로드 시간은 UPLOAD 단계에 더함)
+	 * 결과물 순서는 원본 WebP, 렌디션 설정 순서입니다.
+	 */
+	private void uploadManifest(String objectKey, String sourceETag, ImageHeader header, long sourceBytes,
+		Map<String, RenditionManifest.Output> outputs, ImagePlaceholder placeholder, RecordMetrics metrics)
+		throws IOException {
+		List<RenditionManifest.Output> orderedOutputs = new ArrayList<>(outputs.size());
+		orderedOutputs.add(outputs.get(ORIGINAL_OUTPUT));
+		for (RenditionProfile profile : renditionProfiles) {
+			orderedOutputs.add(outputs.get(profile.name()));
+		}
+
+		Map<String, Long> timingsMillis = new LinkedHashMap<>();
+		for (Stage stage : STAGES) {
+			long nanos = metrics.stageNanos(stage);
+			if (nanos > 0) {
+				timingsMillis.put(stage.metricName(), Math.round(nanos / 1_000_000.0));
+			}
+		}
+
+		RenditionManifest manifest = new RenditionManifest(objectKey, S3ActionService.normalizeETag(sourceETag),
+			header, sourceBytes, orderedOutputs, placeholder, timingsMillis);
+		long startNanos = System.nanoTime();
+		imageUploader.uploadManifest(objectKey, manifest.toJson(), sourceETag).join();
+		RecordMetrics.record(Stage.UPLOAD, startNanos);
+	}
+
+	/**
+	 * 재인코딩 없이 복사한 결과물 (복사본의 내용과 ETag는 원본과 같음, 멀티파트 ETag는 MD5가 아니므로 생략)
+	 */
+	private static RenditionManifest.Output copiedOutput(String name, String key, ImageHeader header,
+		long sourceBytes, String sourceETag) {
+		String eTag = S3ActionService.normalizeETag(sourceETag);
+		String md5 = eTag != null && eTag.indexOf('-') < 0 ? eTag : null;
+		return new RenditionManifest.Output(name, key, header.width(), header.height(), sourceBytes, md5, true);
+	}
+
+	private static RenditionManifest.Output encodedOutput(String name, String key, int width, int height,
+		byte[] bytes) {
+		return new RenditionManifest.Output(name, key, width, height, bytes.length, md5(bytes), false);
+	}
+
+	private static String md5(byte[] bytes) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(bytes));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("MD5를 사용할 수 없습니다", e);
+		}
+	}
+
+	/**
+	 * 결과물이 모두 같은 원본 ETag로 이미 만들어져 있는지 확인
+	 * 이벤트에 ETag가 없으면 HeadObject로 원본 ETag를 읽습니다.
+	 * @throws IOException 원본이나 결과물 확인 중 S3 오류가 발생했을 때
+	 */
+	private boolean isAlreadyProcessed(S3ObjectTarget target) throws IOException {
+		long checkStartNanos = System.nanoTime();
+		String expectedETag = target.eTag() != null
+			? target.eTag()
+			: s3ActionService.getSourceETag(target.bucketName(), target.objectKey());
+		boolean alreadyProcessed = s3ActionService.isAlreadyProcessed(target.objectKey(), renditionProfiles,
+			expectedETag, manifestEnabled);
+		RecordMetrics.record(Stage.CHECK, checkStartNanos);
+		if (alreadyProcessed) {
+			logger.info("이미 처리된 파일이라 건너뜀 - 키: {}, ETag: {}", target.objectKey(), expectedETag);
+		}
+		return alreadyProcessed;
+	}
+
+	private RecordProcessResult fail(S3ObjectTarget target, Exception error) {
+		logger.error("이미지 처리 실패 - 버킷: {}, 키: {}", target.bucketName(), target.objectKey(), error);
+		return RecordProcessResult.failure(target, error);
+	}
+
+	/**
+	 * CompletableFuture가 감싼 원인 예외를 꺼냄
+	 */
+	private Exception unwrap(CompletionException e) {
+		Throwable cause = e.getCause();
+		if (cause instanceof UncheckedIOException uncheckedIOException) {
+			return uncheckedIOException.getCause();
+		}
+		return cause instanceof Exception exception ? exception : e;
+	}
+
+	/**
+	 * 실패 결과에 담을 수 있도록 Error를 IOException으로 감쌈
+	 */
+	private static Exception asException(Throwable error) {
+		if (error instanceof CompletionException && error.getCause() != null) {
+			error = error.getCause();
+		}
+		return error instanceof Exception exception ? exception : new IOException("이미지 처리 중 오류 발생", error);
+	}
+}
@@ -0,0 +1,38 @@
+package com.bokkurin.trackery.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.bokkurin.trackery.model.ImagePlaceholder;
+import com.bokkurin.trackery.model.RenditionProfile;
+
+/**
+ * packageName    : com.bokkurin.trackery.service
+ * fileName       : ImageUploader
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 결과물 업로드/복사를 비동기로 시작하는 인터페이스
+ *                  반환된 future가 실패하면 원인은 IOException입니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		결과물 목록(manifest) JSON 업로드 추가
+ * 26. 10. 18.		durururuk		렌디션 업로드에 자리 표시 정보 메타데이터 추가
+ */
+public interface ImageUploader {
+
+	CompletableFuture<Void> uploadOriginalWebP(String originalKey, byte[] webpBytes, String sourceETag);
+
+	/**
+	 * @param placeholder 메타데이터로 붙일 자리 표시 정보, 없으면 null
+	 */
+	CompletableFuture<Void> uploadRendition(String originalKey, RenditionProfile profile, byte[] webpBytes,
+		String sourceETag, ImagePlaceholder placeholder);
+
+	CompletableFuture<Void> copyOriginalWebP(String sourceBucket, String originalKey, String sourceETag);
+
+	CompletableFuture<Void> copyRendition(String sourceBucket, String originalKey, RenditionProfile profile,
+		String sourceETag);
+
+	CompletableFuture<Void> uploadManifest(String originalKey, byte[] manifestBytes, String sourceETag);
+}
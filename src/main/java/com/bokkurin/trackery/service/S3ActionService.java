@@ -1,17 +1,33 @@
 package com.bokkurin.trackery.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.bokkurin.trackery.config.AppConstants;
+import com.bokkurin.trackery.metrics.RecordMetrics;
+import com.bokkurin.trackery.metrics.Stage;
+import com.bokkurin.trackery.model.ImagePlaceholder;
+import com.bokkurin.trackery.model.RenditionProfile;
 
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CopyObjectResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
@@ -27,39 +43,101 @@ import software.amazon.awssdk.services.s3.model.S3Exception;
  * DATE              AUTHOR             NOTE
  * -----------------------------------------------------------
  * 25. 6. 26.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		contentLength 기반 다운로드 버퍼 사전 할당, 스트리밍 다운로드 추가
+ * 26. 10. 18.		durururuk		렌디션 설정별 업로드 추가
+ * 26. 10. 18.		durururuk		대상 버킷을 생성자로 받을 수 있게 변경 (로컬 S3 대역용)
+ * 26. 10. 18.		durururuk		재인코딩이 필요 없는 WebP를 CopyObject로 복사하는 기능 추가
+ * 26. 10. 18.		durururuk		결과물에 원본 ETag 메타데이터를 남기고 HeadObject로 처리 완료 여부 확인
+ * 26. 10. 18.		durururuk		S3 클라이언트를 Supplier로 받아 SnapStart 복원 후 새로 만든 클라이언트를 사용
+ * 26. 10. 18.		durururuk		대상 키, 메타데이터 생성을 비동기 업로드와 공유하도록 static으로 변경
+ * 26. 10. 18.		durururuk		접두사 아래 객체 목록 조회(ListObjectsV2) 추가
+ * 26. 10. 18.		durururuk		다운로드 응답 대기 시간 기록
+ * 26. 10. 18.		durururuk		결과물 목록(manifest) JSON 업로드와 처리 완료 확인 추가
+ * 26. 10. 18.		durururuk		렌디션 업로드에 자리 표시(BlurHash, 대표 색, LQIP) 메타데이터 추가
+ * 26. 10. 18.		durururuk		처리 완료 확인은 목록 JSON이 맞으면 결과물 HeadObject 없이 끝냄
  */
 public class S3ActionService {
 	private static final Logger logger = LoggerFactory.getLogger(S3ActionService.class);
 	private static final String OUTPUT_EXTENSION = "." + AppConstants.OUTPUT_FORMAT.toLowerCase();
+	private static final String MANIFEST_TYPE = "manifest";
+	private static final String MANIFEST_EXTENSION = ".json";
+	/**
+	 * 결과물에 남기는 원본 ETag 메타데이터 이름 (x-amz-meta-source-etag)
+	 */
+	public static final String SOURCE_ETAG_METADATA = "source-etag";
+	/**
+	 * 자리 표시 메타데이터 이름 (x-amz-meta-blurhash, x-amz-meta-dominant-color, x-amz-meta-lqip)
+	 * lqip는 Base64로 인코딩한 WebP라 data:image/webp;base64, 뒤에 붙여 바로 쓸 수 있습니다.
+	 */
+	public static final String BLURHASH_METADATA = "blurhash";
+	public static final String DOMINANT_COLOR_METADATA = "dominant-color";
+	public static final String LQIP_METADATA = "lqip";
+	private static final int NOT_FOUND = 404;
 	
-	private final S3Client s3Client;
+	private final Supplier<S3Client> s3ClientSupplier;
+	private final String destinationBucket;
 	
 	public S3ActionService(S3Client s3Client) {
-		this.s3Client = s3Client;
+		this(s3Client, AppConstants.DESTINATION_BUCKET);
+	}
+
+	public S3ActionService(S3Client s3Client, String destinationBucket) {
+		this(() -> s3Client, destinationBucket);
+	}
+
+	/**
+	 * 요청마다 supplier에서 클라이언트를 받아 씁니다.
+	 * 체크포인트 전에 닫고 복원 후 다시 만든 클라이언트(AwsConfiguration::getS3Client)를 그대로 따라갈 수 있습니다.
+	 */
+	public S3ActionService(Supplier<S3Client> s3ClientSupplier, String destinationBucket) {
+		this.s3ClientSupplier = s3ClientSupplier;
+		this.destinationBucket = destinationBucket;
 	}
 	
 	/**
 	 * S3에서 이미지를 다운로드하여 바이트 배열로 반환
+	 * 응답의 contentLength 크기로 버퍼를 한 번만 할당해서 배열을 늘려가며 복사하지 않습니다.
 	 * @param bucketName S3 버킷 이름
 	 * @param key S3 객체 키
 	 * @return 이미지 바이트 배열
 	 * @throws IOException 다운로드 실패 시
 	 */
 	public byte[] downloadImage(String bucketName, String key) throws IOException {
+		try (ResponseInputStream<GetObjectResponse> s3Object = openImageStream(bucketName, key)) {
+			byte[] imageBytes = readFully(s3Object, s3Object.response().contentLength());
+
+			logger.info("S3 이미지 다운로드 완료 - 크기: {} bytes", imageBytes.length);
+			return imageBytes;
+
+		} catch (IOException e) {
+			String errorMsg = String.format("이미지 읽기 실패 - 버킷: %s, 키: %s", bucketName, key);
+			logger.error(errorMsg, e);
+			throw new IOException(errorMsg, e);
+		}
+	}
+
+	/**
+	 * S3 객체를 스트림으로 여는 메서드
+	 * 바이트 배열을 만들지 않고 디코더에 바로 넘길 때 사용합니다. 스트림은 호출한 쪽에서 닫아야 합니다.
+	 * @param bucketName S3 버킷 이름
+	 * @param key S3 객체 키
+	 * @return S3 응답 스트림 (response()로 contentLength 등 확인 가능)
+	 * @throws IOException 객체가 없거나 S3 오류가 발생했을 때
+	 */
+	public ResponseInputStream<GetObjectResponse> openImageStream(String bucketName, String key) throws IOException {
 		logger.info("S3에서 이미지 다운로드 시작 - 버킷: {}, 키: {}", bucketName, key);
-		
+
 		try {
 			GetObjectRequest getObjectRequest = GetObjectRequest.builder()
 				.bucket(bucketName)
 				.key(key)
 				.build();
-			
-			ResponseInputStream<GetObjectResponse> s3Object = s3Client.getObject(getObjectRequest);
-			byte[] imageBytes = s3Object.readAllBytes();
-			
-			logger.info("S3 이미지 다운로드 완료 - 크기: {} bytes", imageBytes.length);
-			return imageBytes;
-			
+
+			long startNanos = System.nanoTime();
+			ResponseInputStream<GetObjectResponse> imageStream = s3ClientSupplier.get().getObject(getObjectRequest);
+			RecordMetrics.record(Stage.DOWNLOAD, startNanos);
+			return imageStream;
+
 		} catch (NoSuchKeyException e) {
 			String errorMsg = String.format("S3 객체를 찾을 수 없습니다 - 버킷: %s, 키: %s", bucketName, key);
 			logger.error(errorMsg, e);
@@ -70,14 +148,27 @@ public class S3ActionService {
 				bucketName, key, e.awsErrorDetails().errorCode());
 			logger.error(errorMsg, e);
 			throw new IOException(errorMsg, e);
-			
-		} catch (IOException e) {
-			String errorMsg = String.format("이미지 읽기 실패 - 버킷: %s, 키: %s", bucketName, key);
-			logger.error(errorMsg, e);
-			throw new IOException(errorMsg, e);
 		}
 	}
 
+	/**
+	 * 크기를 알고 있는 스트림을 정확한 크기의 배열로 읽는 메서드
+	 * 크기를 모르면 readAllBytes로 대체합니다.
+	 */
+	private byte[] readFully(InputStream inputStream, Long contentLength) throws IOException {
+		if (contentLength == null || contentLength < 0 || contentLength > Integer.MAX_VALUE) {
+			return inputStream.readAllBytes();
+		}
+
+		byte[] buffer = new byte[contentLength.intValue()];
+		int read = inputStream.readNBytes(buffer, 0, buffer.length);
+		if (read != buffer.length) {
+			throw new IOException(String.format("다운로드 크기 불일치 - 예상: %d bytes, 실제: %d bytes",
+				buffer.length, read));
+		}
+		return buffer;
+	}
+
 	/**
 	 * S3에 이미지를 업로드
 	 * @param bucketName S3 버킷 이름
@@ -87,6 +178,16 @@ public class S3ActionService {
 	 * @throws IOException 업로드 실패 시
 	 */
 	public void uploadImage(String bucketName, String key, byte[] imageBytes, String contentType) throws IOException {
+		uploadImage(bucketName, key, imageBytes, contentType, Map.of());
+	}
+
+	/**
+	 * S3에 이미지를 사용자 메타데이터와 함께 업로드
+	 * @param metadata 사용자 메타데이터 (x-amz-meta-*)
+	 * @throws IOException 업로드 실패 시
+	 */
+	public void uploadImage(String bucketName, String key, byte[] imageBytes, String contentType,
+		Map<String, String> metadata) throws IOException {
 		logger.info("S3에 이미지 업로드 시작 - 버킷: {}, 키: {}, 크기: {} bytes", bucketName, key, imageBytes.length);
 
 		try {
@@ -95,11 +196,12 @@ public class S3ActionService {
 				.key(key)
 				.contentType(contentType)
 				.contentLength((long) imageBytes.length)
+				.metadata(metadata)
 				.build();
 
 			RequestBody requestBody = RequestBody.fromBytes(imageBytes);
 
-			PutObjectResponse response = s3Client.putObject(putObjectRequest, requestBody);
+			PutObjectResponse response = s3ClientSupplier.get().putObject(putObjectRequest, requestBody);
 
 			logger.info("S3 이미지 업로드 완료 - ETag: {}", response.eTag());
 
@@ -120,8 +222,15 @@ public class S3ActionService {
 	 * 원본 WebP 이미지를 업로드
 	 */
 	public void uploadOriginalWebP(String originalKey, byte[] webpBytes) throws IOException {
-		String destinationKey = createDestinationKey(originalKey, "original", "-orig");
-		uploadImage(AppConstants.DESTINATION_BUCKET, destinationKey, webpBytes, "image/webp");
+		uploadOriginalWebP(originalKey, webpBytes, null);
+	}
+
+	/**
+	 * 원본 WebP 이미지를 원본 ETag 메타데이터와 함께 업로드
+	 */
+	public void uploadOriginalWebP(String originalKey, byte[] webpBytes, String sourceETag) throws IOException {
+		String destinationKey = createOriginalKey(originalKey);
+		uploadImage(destinationBucket, destinationKey, webpBytes, "image/webp", sourceMetadata(sourceETag));
 	}
 
 	/**
@@ -129,17 +238,267 @@ public class S3ActionService {
 	 */
 	public void uploadThumbnail(String originalKey, byte[] thumbnailBytes) throws IOException {
 		String destinationKey = createDestinationKey(originalKey, "thumbnail", "-thumbnail");
-		uploadImage(AppConstants.DESTINATION_BUCKET, destinationKey, thumbnailBytes, "image/webp");
+		uploadImage(destinationBucket, destinationKey, thumbnailBytes, "image/webp");
+	}
+
+	/**
+	 * 렌디션 설정에 맞는 경로로 이미지를 업로드 (userId/name/filename-keySuffix.webp)
+	 */
+	public void uploadRendition(String originalKey, RenditionProfile profile, byte[] webpBytes, String sourceETag)
+		throws IOException {
+		uploadRendition(originalKey, profile, webpBytes, sourceETag, null);
+	}
+
+	/**
+	 * 렌디션을 원본 ETag와 자리 표시 정보(있으면) 메타데이터와 함께 업로드
+	 * 프론트엔드가 추가 요청 없이 자리 표시를 그릴 수 있도록 썸네일 객체에 붙입니다.
+	 */
+	public void uploadRendition(String originalKey, RenditionProfile profile, byte[] webpBytes, String sourceETag,
+		ImagePlaceholder placeholder) throws IOException {
+		String destinationKey = createRenditionKey(originalKey, profile);
+		uploadImage(destinationBucket, destinationKey, webpBytes, "image/webp",
+			renditionMetadata(sourceETag, placeholder));
+	}
+
+	/**
+	 * 결과물 목록 JSON을 원본 ETag 메타데이터와 함께 업로드 (userId/manifest/filename.json)
+	 */
+	public void uploadManifest(String originalKey, byte[] manifestBytes, String sourceETag) throws IOException {
+		uploadImage(destinationBucket, createManifestKey(originalKey), manifestBytes, "application/json",
+			sourceMetadata(sourceETag));
+	}
+
+	/**
+	 * 원본 WebP를 재인코딩 없이 원본 경로로 복사
+	 */
+	public void copyOriginalWebP(String sourceBucket, String originalKey, String sourceETag) throws IOException {
+		String destinationKey = createOriginalKey(originalKey);
+		copyImage(sourceBucket, originalKey, destinationKey, "image/webp", sourceMetadata(sourceETag));
+	}
+
+	/**
+	 * 원본 WebP를 재인코딩 없이 렌디션 경로로 복사
+	 */
+	public void copyRendition(String sourceBucket, String originalKey, RenditionProfile profile, String sourceETag)
+		throws IOException {
+		String destinationKey = createRenditionKey(originalKey, profile);
+		copyImage(sourceBucket, originalKey, destinationKey, "image/webp", sourceMetadata(sourceETag));
+	}
+
+	/**
+	 * S3 안에서 객체를 복사 (CopyObject)
+	 * 바이트가 Lambda를 거치지 않고 S3 서버 측에서 복사됩니다. 컨텐츠 타입은 새로 지정합니다.
+	 * @param sourceBucket 원본 버킷
+	 * @param sourceKey 원본 키
+	 * @param destinationKey 대상 키 (대상 버킷은 생성자로 받은 버킷)
+	 * @param contentType 컨텐츠 타입 (예: "image/webp")
+	 * @param metadata 대상 객체에 새로 지정할 사용자 메타데이터
+	 * @throws IOException 복사 실패 시
+	 */
+	public void copyImage(String sourceBucket, String sourceKey, String destinationKey, String contentType,
+		Map<String, String> metadata) throws IOException {
+		logger.info("S3 객체 복사 시작 - {}/{} -> {}/{}", sourceBucket, sourceKey, destinationBucket, destinationKey);
+
+		try {
+			CopyObjectRequest copyObjectRequest = CopyObjectRequest.builder()
+				.sourceBucket(sourceBucket)
+				.sourceKey(sourceKey)
+				.destinationBucket(destinationBucket)
+				.destinationKey(destinationKey)
+				.metadataDirective(MetadataDirective.REPLACE)
+				.contentType(contentType)
+				.metadata(metadata)
+				.build();
+
+			CopyObjectResponse response = s3ClientSupplier.get().copyObject(copyObjectRequest);
+
+			logger.info("S3 객체 복사 완료 - ETag: {}", response.copyObjectResult().eTag());
+
+		} catch (S3Exception e) {
+			String errorMsg = String.format("S3 복사 오류 - 버킷: %s, 키: %s, 에러코드: %s",
+				sourceBucket, sourceKey, e.awsErrorDetails().errorCode());
+			logger.error(errorMsg, e);
+			throw new IOException(errorMsg, e);
+
+		} catch (Exception e) {
+			String errorMsg = String.format("이미지 복사 실패 - 버킷: %s, 키: %s", sourceBucket, sourceKey);
+			logger.error(errorMsg, e);
+			throw new IOException(errorMsg, e);
+		}
+	}
+
+	/**
+	 * 원본 객체의 ETag를 HeadObject로 조회
+	 * 이벤트에 ETag가 없을 때 중복 처리 확인용으로 사용합니다.
+	 * @return 따옴표를 뗀 ETag
+	 * @throws IOException 객체가 없거나 S3 오류가 발생했을 때
+	 */
+	public String getSourceETag(String bucketName, String key) throws IOException {
+		try {
+			HeadObjectResponse response = s3ClientSupplier.get().headObject(HeadObjectRequest.builder()
+				.bucket(bucketName)
+				.key(key)
+				.build());
+			return normalizeETag(response.eTag());
+
+		} catch (S3Exception e) {
+			String errorMsg = String.format("S3 HeadObject 오류 - 버킷: %s, 키: %s, 상태코드: %d",
+				bucketName, key, e.statusCode());
+			logger.error(errorMsg, e);
+			throw new IOException(errorMsg, e);
+		}
+	}
+
+	/**
+	 * 접두사 아래 객체 목록을 한 페이지 조회 (ListObjectsV2)
+	 * 키는 사전순으로 반환되므로, 마지막으로 처리한 키를 startAfter로 넘기면 그 다음부터 이어서 조회할 수 있습니다.
+	 * @param bucketName 버킷 이름
+	 * @param prefix 키 접두사 (null이면 버킷 전체)
+	 * @param startAfter 이 키 다음부터 조회 (null이면 처음부터)
+	 * @param continuationToken 이전 페이지의 nextContinuationToken (있으면 startAfter보다 우선)
+	 * @param maxKeys 페이지당 최대 키 수 (S3 최대 1000)
+	 * @return 조회 결과 페이지
+	 * @throws IOException S3 오류가 발생했을 때
+	 */
+	public ListObjectsV2Response listObjects(String bucketName, String prefix, String startAfter,
+		String continuationToken, int maxKeys) throws IOException {
+		try {
+			return s3ClientSupplier.get().listObjectsV2(ListObjectsV2Request.builder()
+				.bucket(bucketName)
+				.prefix(prefix)
+				.startAfter(startAfter)
+				.continuationToken(continuationToken)
+				.maxKeys(maxKeys)
+				.build());
+
+		} catch (S3Exception e) {
+			String errorMsg = String.format("S3 목록 조회 오류 - 버킷: %s, 접두사: %s, 에러코드: %s",
+				bucketName, prefix, e.awsErrorDetails().errorCode());
+			logger.error(errorMsg, e);
+			throw new IOException(errorMsg, e);
+		}
+	}
+
+	/**
+	 * 원본과 모든 렌디션 결과물이 이미 같은 원본 ETag로 만들어져 있는지 확인하는 메서드
+	 * 결과물을 하나씩 HeadObject로 확인하고, 없거나 ETag가 다른 결과물이 나오면 바로 false를 반환합니다.
+	 * S3 알림이 중복 전달되거나 같은 파일이 다시 올라왔을 때 재처리를 건너뛰는 데 사용합니다.
+	 * @param originalKey 원본 키
+	 * @param profiles 렌디션 설정 목록
+	 * @param sourceETag 원본 ETag
+	 * @return 모든 결과물이 이미 있으면 true
+	 * @throws IOException 404가 아닌 S3 오류가 발생했을 때
+	 */
+	public boolean isAlreadyProcessed(String originalKey, List<RenditionProfile> profiles, String sourceETag)
+		throws IOException {
+		return isAlreadyProcessed(originalKey, profiles, sourceETag, false);
+	}
+
+	/**
+	 * 결과물 목록 JSON을 먼저 확인해서 이미 처리됐는지 확인하는 메서드
+	 * 목록 JSON은 모든 결과물 업로드가 끝난 뒤 마지막에 올리므로, 목록의 원본 ETag가 같으면 결과물도 모두 있어서
+	 * HeadObject 한 번으로 끝냅니다. 목록이 없거나 다른 원본으로 만들어졌으면 결과물을 하나씩 확인합니다.
+	 * @param includeManifest 결과물 목록 JSON을 먼저 확인할지 여부
+	 * @throws IOException 404가 아닌 S3 오류가 발생했을 때
+	 */
+	public boolean isAlreadyProcessed(String originalKey, List<RenditionProfile> profiles, String sourceETag,
+		boolean includeManifest) throws IOException {
+		String expectedETag = normalizeETag(sourceETag);
+		if (expectedETag == null) {
+			return false;
+		}
+
+		if (includeManifest && hasSourceETag(createManifestKey(originalKey), expectedETag)) {
+			return true;
+		}
+
+		if (!hasSourceETag(createOriginalKey(originalKey), expectedETag)) {
+			return false;
+		}
+		for (RenditionProfile profile : profiles) {
+			if (!hasSourceETag(createRenditionKey(originalKey, profile), expectedETag)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean hasSourceETag(String destinationKey, String expectedETag) throws IOException {
+		try {
+			HeadObjectResponse response = s3ClientSupplier.get().headObject(HeadObjectRequest.builder()
+				.bucket(destinationBucket)
+				.key(destinationKey)
+				.build());
+			return expectedETag.equals(response.metadata().get(SOURCE_ETAG_METADATA));
+
+		} catch (S3Exception e) {
+			if (e.statusCode() == NOT_FOUND) {
+				return false;
+			}
+			String errorMsg = String.format("S3 HeadObject 오류 - 버킷: %s, 키: %s, 상태코드: %d",
+				destinationBucket, destinationKey, e.statusCode());
+			logger.error(errorMsg, e);
+			throw new IOException(errorMsg, e);
+		}
+	}
+
+	static Map<String, String> sourceMetadata(String sourceETag) {
+		String eTag = normalizeETag(sourceETag);
+		return eTag == null ? Map.of() : Map.of(SOURCE_ETAG_METADATA, eTag);
+	}
+
+	static Map<String, String> renditionMetadata(String sourceETag, ImagePlaceholder placeholder) {
+		if (placeholder == null) {
+			return sourceMetadata(sourceETag);
+		}
+
+		Map<String, String> metadata = new HashMap<>(sourceMetadata(sourceETag));
+		metadata.put(BLURHASH_METADATA, placeholder.blurHash());
+		metadata.put(DOMINANT_COLOR_METADATA, placeholder.colorHex());
+		if (placeholder.lqipWebP() != null) {
+			metadata.put(LQIP_METADATA, placeholder.lqipBase64());
+		}
+		return metadata;
+	}
+
+	/**
+	 * S3 응답의 ETag는 따옴표로 감싸져 있고 이벤트의 ETag는 그렇지 않아서 따옴표를 떼고 비교합니다.
+	 */
+	static String normalizeETag(String eTag) {
+		if (eTag == null || eTag.isBlank()) {
+			return null;
+		}
+		return eTag.replace("\"", "");
+	}
+
+	static String createOriginalKey(String originalKey) {
+		return createDestinationKey(originalKey, "original", "-orig");
+	}
+
+	static String createRenditionKey(String originalKey, RenditionProfile profile) {
+		return createDestinationKey(originalKey, profile.name(), profile.keySuffix());
+	}
+
+	static String createManifestKey(String originalKey) {
+		return createDestinationKey(originalKey, MANIFEST_TYPE, "", MANIFEST_EXTENSION);
 	}
 
 	/**
 	 * 대상 키 생성 (userId/type/filename-suffix.webp)
 	 * @param originalKey 원본 키
-	 * @param type 타입 (original 또는 thumbnail)
-	 * @param suffix 파일명 접미사 (-orig 또는 -thumbnail)
+	 * @param type 타입 (original, thumbnail 또는 렌디션 이름)
+	 * @param suffix 파일명 접미사 (-orig, -thumbnail 또는 렌디션 접미사)
 	 * @return 변환된 키
 	 */
-	private String createDestinationKey(String originalKey, String type, String suffix) {
+	static String createDestinationKey(String originalKey, String type, String suffix) {
+		return createDestinationKey(originalKey, type, suffix, OUTPUT_EXTENSION);
+	}
+
+	/**
+	 * 확장자를 지정해서 대상 키 생성 (userId/type/filename-suffix.extension)
+	 * @param extension 점(.)을 포함한 확장자 (예: .json)
+	 */
+	static String createDestinationKey(String originalKey, String type, String suffix, String extension) {
 		String[] pathParts = originalKey.split("/");
 		if (pathParts.length >= 3) {
 			String userId = pathParts[1];
@@ -148,20 +507,20 @@ public class S3ActionService {
 			int lastDotIndex = filename.lastIndexOf('.');
 			String filenameWithoutExt = lastDotIndex > 0 ? filename.substring(0, lastDotIndex) : filename;
 			
-			return userId + "/" + type + "/" + filenameWithoutExt + suffix + OUTPUT_EXTENSION;
+			return userId + "/" + type + "/" + filenameWithoutExt + suffix + extension;
 		}
 
-		return type + "/" + changeExtensionToWebP(originalKey);
+		return type + "/" + changeExtension(originalKey, extension);
 	}
 	
 	/**
-	 * 파일 확장자를 .webp로 변경
+	 * 파일 확장자를 지정한 확장자로 변경
 	 */
-	private String changeExtensionToWebP(String key) {
+	private static String changeExtension(String key, String extension) {
 		int lastDotIndex = key.lastIndexOf('.');
 		if (lastDotIndex > 0) {
-			return key.substring(0, lastDotIndex) + OUTPUT_EXTENSION;
+			return key.substring(0, lastDotIndex) + extension;
 		}
-		return key + OUTPUT_EXTENSION;
+		return key + extension;
 	}
 }
@@ -0,0 +1,164 @@
+package com.bokkurin.trackery.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.bokkurin.trackery.model.ImagePlaceholder;
+import com.bokkurin.trackery.model.RenditionProfile;
+
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+/**
+ * packageName    : com.bokkurin.trackery.service
+ * fileName       : S3AsyncActionService
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : S3AsyncClient 기반 업로드/복사 기능 클래스
+ *                  업로드 스레드를 점유하지 않고 future를 바로 반환하며, 멀티파트 설정이 켜진 클라이언트를 쓰면
+ *                  임계값보다 큰 결과물(큰 원본)은 SDK가 자동으로 멀티파트 업로드로 나눠 올립니다.
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		결과물 목록(manifest) JSON 업로드 추가
+ * 26. 10. 18.		durururuk		렌디션 업로드에 자리 표시 정보 메타데이터 추가
+ */
+public class S3AsyncActionService implements ImageUploader {
+	private static final Logger logger = LoggerFactory.getLogger(S3AsyncActionService.class);
+	private static final String CONTENT_TYPE = "image/webp";
+
+	private final Supplier<S3AsyncClient> s3AsyncClientSupplier;
+	private final String destinationBucket;
+
+	/**
+	 * @param s3AsyncClientSupplier 요청마다 클라이언트를 받아 씁니다. (SnapStart 복원 후 새로 만든 클라이언트 사용)
+	 * @param destinationBucket 결과물을 올릴 버킷
+	 */
+	public S3AsyncActionService(Supplier<S3AsyncClient> s3AsyncClientSupplier, String destinationBucket) {
+		this.s3AsyncClientSupplier = s3AsyncClientSupplier;
+		this.destinationBucket = destinationBucket;
+	}
+
+	/**
+	 * S3에 이미지를 비동기로 업로드
+	 * 인코더가 만든 배열을 복사하지 않고 그대로 요청 본문으로 쓰므로, 완료 전에는 배열을 수정하지 않아야 합니다.
+	 * @param bucketName S3 버킷 이름
+	 * @param key S3 객체 키
+	 * @param imageBytes 업로드할 이미지 바이트 배열
+	 * @param contentType 컨텐츠 타입 (예: "image/webp")
+	 * @param metadata 사용자 메타데이터 (x-amz-meta-*)
+	 * @return 업로드 완료 future (실패 원인은 IOException)
+	 */
+	public CompletableFuture<Void> uploadImage(String bucketName, String key, byte[] imageBytes, String contentType,
+		Map<String, String> metadata) {
+		logger.info("S3 비동기 업로드 시작 - 버킷: {}, 키: {}, 크기: {} bytes", bucketName, key, imageBytes.length);
+
+		PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+			.bucket(bucketName)
+			.key(key)
+			.contentType(contentType)
+			.contentLength((long)imageBytes.length)
+			.metadata(metadata)
+			.build();
+
+		return s3AsyncClientSupplier.get()
+			.putObject(putObjectRequest, AsyncRequestBody.fromBytesUnsafe(imageBytes))
+			.handle((response, error) -> {
+				if (error != null) {
+					throw failure("업로드", bucketName, key, error);
+				}
+				logger.info("S3 비동기 업로드 완료 - 키: {}, ETag: {}", key, response.eTag());
+				return null;
+			});
+	}
+
+	/**
+	 * S3 안에서 객체를 비동기로 복사 (CopyObject)
+	 * @param sourceBucket 원본 버킷
+	 * @param sourceKey 원본 키
+	 * @param destinationKey 대상 키 (대상 버킷은 생성자로 받은 버킷)
+	 * @param metadata 대상 객체에 새로 지정할 사용자 메타데이터
+	 * @return 복사 완료 future (실패 원인은 IOException)
+	 */
+	public CompletableFuture<Void> copyImage(String sourceBucket, String sourceKey, String destinationKey,
+		Map<String, String> metadata) {
+		logger.info("S3 비동기 복사 시작 - {}/{} -> {}/{}", sourceBucket, sourceKey, destinationBucket, destinationKey);
+
+		CopyObjectRequest copyObjectRequest = CopyObjectRequest.builder()
+			.sourceBucket(sourceBucket)
+			.sourceKey(sourceKey)
+			.destinationBucket(destinationBucket)
+			.destinationKey(destinationKey)
+			.metadataDirective(MetadataDirective.REPLACE)
+			.contentType(CONTENT_TYPE)
+			.metadata(metadata)
+			.build();
+
+		return s3AsyncClientSupplier.get()
+			.copyObject(copyObjectRequest)
+			.handle((response, error) -> {
+				if (error != null) {
+					throw failure("복사", sourceBucket, sourceKey, error);
+				}
+				logger.info("S3 비동기 복사 완료 - 키: {}", destinationKey);
+				return null;
+			});
+	}
+
+	@Override
+	public CompletableFuture<Void> uploadOriginalWebP(String originalKey, byte[] webpBytes, String sourceETag) {
+		return uploadImage(destinationBucket, S3ActionService.createOriginalKey(originalKey), webpBytes, CONTENT_TYPE,
+			S3ActionService.sourceMetadata(sourceETag));
+	}
+
+	@Override
+	public CompletableFuture<Void> uploadRendition(String originalKey, RenditionProfile profile, byte[] webpBytes,
+		String sourceETag, ImagePlaceholder placeholder) {
+		return uploadImage(destinationBucket, S3ActionService.createRenditionKey(originalKey, profile), webpBytes,
+			CONTENT_TYPE, S3ActionService.renditionMetadata(sourceETag, placeholder));
+	}
+
+	@Override
+	public CompletableFuture<Void> copyOriginalWebP(String sourceBucket, String originalKey, String sourceETag) {
+		return copyImage(sourceBucket, originalKey, S3ActionService.createOriginalKey(originalKey),
+			S3ActionService.sourceMetadata(sourceETag));
+	}
+
+	@Override
+	public CompletableFuture<Void> copyRendition(String sourceBucket, String originalKey, RenditionProfile profile,
+		String sourceETag) {
+		return copyImage(sourceBucket, originalKey, S3ActionService.createRenditionKey(originalKey, profile),
+			S3ActionService.sourceMetadata(sourceETag));
+	}
+
+	@Override
+	public CompletableFuture<Void> uploadManifest(String originalKey, byte[] manifestBytes, String sourceETag) {
+		return uploadImage(destinationBucket, S3ActionService.createManifestKey(originalKey), manifestBytes,
+			"application/json", S3ActionService.sourceMetadata(sourceETag));
+	}
+
+	/**
+	 * 동기 S3ActionService와 같은 형식의 IOException으로 바꿔서 future를 실패시킴
+	 */
+	private CompletionException failure(String action, String bucketName, String key, Throwable error) {
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+
+		String errorMsg = cause instanceof S3Exception s3Exception
+			? String.format("S3 %s 오류 - 버킷: %s, 키: %s, 에러코드: %s", action, bucketName, key,
+			s3Exception.awsErrorDetails().errorCode())
+			: String.format("이미지 %s 실패 - 버킷: %s, 키: %s", action, bucketName, key);
+		logger.error(errorMsg, cause);
+		return new CompletionException(new IOException(errorMsg, cause));
+	}
+}
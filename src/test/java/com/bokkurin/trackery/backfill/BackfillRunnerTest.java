@@ -0,0 +1,176 @@
+package com.bokkurin.trackery.backfill;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.bokkurin.trackery.config.RenditionConfiguration;
+import com.bokkurin.trackery.local.LocalS3Client;
+import com.bokkurin.trackery.service.ExecutorImageUploader;
+import com.bokkurin.trackery.service.ImageProcessService;
+import com.bokkurin.trackery.service.ImageRecordExecutor;
+import com.bokkurin.trackery.service.S3ActionService;
+import com.bokkurin.trackery.support.TestImages;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+/**
+ * packageName    : com.bokkurin.trackery.backfill
+ * fileName       : BackfillRunnerTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 로컬 S3 대역을 사용한 BackfillRunner 테스트코드
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		--reprocess로 이미 처리된 객체를 다시 만드는 테스트 추가
+ */
+class BackfillRunnerTest {
+	private static final String SOURCE_BUCKET = "source-bucket";
+	private static final String DESTINATION_BUCKET = "destination-bucket";
+	private static final String[] NAMES = {"a", "b", "c", "d", "e"};
+
+	@TempDir
+	Path rootDirectory;
+
+	private LocalS3Client s3Client;
+	private S3ActionService s3ActionService;
+	private ExecutorService recordExecutor;
+	private ExecutorService uploadExecutor;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		s3Client = new LocalS3Client(rootDirectory);
+		s3ActionService = new S3ActionService(s3Client, DESTINATION_BUCKET);
+		recordExecutor = Executors.newFixedThreadPool(2);
+		uploadExecutor = Executors.newFixedThreadPool(2);
+
+		for (String name : NAMES) {
+			putSource("uploads/1/" + name + ".jpg", TestImages.createImageBytes(120, 90, "jpg"));
+		}
+		putSource("uploads/1/notes.txt", "memo".getBytes(StandardCharsets.UTF_8));
+		putSource("other/1/outside.jpg", TestImages.createImageBytes(120, 90, "jpg"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		recordExecutor.shutdownNow();
+		uploadExecutor.shutdownNow();
+	}
+
+	@Test
+	void testBackfillProcessesPrefixAcrossPages() throws Exception {
+		Path checkpointPath = rootDirectory.resolve("backfill.properties");
+
+		BackfillRunner.Summary summary = createRunner(BackfillCheckpoint.load(checkpointPath)).run(SOURCE_BUCKET,
+			"uploads/");
+
+		assertEquals(5, summary.processed());
+		assertEquals(0, summary.failed());
+		assertEquals(1, summary.skipped());
+		for (String name : NAMES) {
+			assertTrue(Files.exists(s3Client.resolve(DESTINATION_BUCKET, "1/original/" + name + "-orig.webp")));
+			assertTrue(Files.exists(s3Client.resolve(DESTINATION_BUCKET, "1/thumbnail/" + name + "-thumbnail.webp")));
+		}
+		assertFalse(Files.exists(s3Client.resolve(DESTINATION_BUCKET, "1/original/outside-orig.webp")));
+
+		BackfillCheckpoint checkpoint = BackfillCheckpoint.load(checkpointPath);
+		assertEquals("uploads/1/notes.txt", checkpoint.startAfter());
+		assertEquals(5, checkpoint.processed());
+	}
+
+	@Test
+	void testBackfillResumesAfterCheckpointAndRecordsFailures() throws Exception {
+		Path checkpointPath = rootDirectory.resolve("backfill.properties");
+		BackfillCheckpoint.load(checkpointPath).save("uploads/1/b.jpg", 2, 0);
+		putSource("uploads/1/c.jpg", "not an image".getBytes(StandardCharsets.UTF_8));
+
+		BackfillRunner.Summary summary = createRunner(BackfillCheckpoint.load(checkpointPath)).run(SOURCE_BUCKET,
+			"uploads/");
+
+		assertEquals(3, summary.processed());
+		assertEquals(1, summary.failed());
+		assertFalse(Files.exists(s3Client.resolve(DESTINATION_BUCKET, "1/original/a-orig.webp")));
+		assertTrue(Files.exists(s3Client.resolve(DESTINATION_BUCKET, "1/original/e-orig.webp")));
+
+		BackfillCheckpoint checkpoint = BackfillCheckpoint.load(checkpointPath);
+		assertEquals(5, checkpoint.processed());
+		assertEquals(1, checkpoint.failed());
+		assertEquals(List.of("uploads/1/c.jpg"), Files.readAllLines(checkpoint.failedKeysPath()));
+	}
+
+	@Test
+	void testReprocessRegeneratesAlreadyProcessedObjects() throws Exception {
+		createRunner(BackfillCheckpoint.load(null)).run(SOURCE_BUCKET, "uploads/");
+		// 렌디션 설정이 바뀌기 전에 만든 결과물 (키와 원본 ETag 메타데이터는 그대로)
+		Path thumbnail = s3Client.resolve(DESTINATION_BUCKET, "1/thumbnail/a-thumbnail.webp");
+		byte[] staleBytes = "stale".getBytes(StandardCharsets.UTF_8);
+		Files.write(thumbnail, staleBytes);
+
+		createRunner(BackfillCheckpoint.load(null)).run(SOURCE_BUCKET, "uploads/");
+		assertArrayEquals(staleBytes, Files.readAllBytes(thumbnail));
+
+		BackfillRunner.Summary summary = createRunner(BackfillCheckpoint.load(null), true).run(SOURCE_BUCKET,
+			"uploads/");
+
+		assertEquals(5, summary.processed());
+		assertEquals(0, summary.failed());
+		assertNotNull(ImageIO.read(thumbnail.toFile()));
+	}
+
+	@Test
+	void testReprocessOptionTakesNoValue() {
+		BackfillOptions options = BackfillOptions.parse(
+			new String[] {"--bucket", SOURCE_BUCKET, "--reprocess", "--destination-bucket", DESTINATION_BUCKET});
+
+		assertTrue(options.reprocess());
+		assertEquals(DESTINATION_BUCKET, options.destinationBucket());
+		assertFalse(BackfillOptions.parse(new String[] {"--bucket", SOURCE_BUCKET, "--destination-bucket",
+			DESTINATION_BUCKET}).reprocess());
+	}
+
+	@Test
+	void testRateLimiterSpacesPermits() throws InterruptedException {
+		RateLimiter rateLimiter = new RateLimiter(50);
+
+		long startNanos = System.nanoTime();
+		for (int i = 0; i < 6; i++) {
+			rateLimiter.acquire();
+		}
+
+		// 첫 허용은 바로, 나머지 5건은 20ms 간격
+		assertTrue(System.nanoTime() - startNanos >= 90_000_000L);
+	}
+
+	private BackfillRunner createRunner(BackfillCheckpoint checkpoint) {
+		return createRunner(checkpoint, false);
+	}
+
+	private BackfillRunner createRunner(BackfillCheckpoint checkpoint, boolean reprocess) {
+		ImageRecordExecutor imageRecordExecutor = new ImageRecordExecutor(s3ActionService,
+			new ExecutorImageUploader(s3ActionService, uploadExecutor), new ImageProcessService(),
+			List.of(RenditionConfiguration.DEFAULT_THUMBNAIL), recordExecutor);
+		return new BackfillRunner(s3ActionService, imageRecordExecutor, RateLimiter.unlimited(), checkpoint, 4, 2,
+			reprocess);
+	}
+
+	private void putSource(String key, byte[] bytes) {
+		s3Client.putObject(PutObjectRequest.builder().bucket(SOURCE_BUCKET).key(key).build(),
+			RequestBody.fromBytes(bytes));
+	}
+}
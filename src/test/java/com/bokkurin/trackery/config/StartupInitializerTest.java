@@ -0,0 +1,56 @@
+package com.bokkurin.trackery.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * packageName    : com.bokkurin.trackery.config
+ * fileName       : StartupInitializerTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : StartupInitializer 초기화, 체크포인트/복원 훅 테스트코드
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+class StartupInitializerTest {
+
+	@AfterAll
+	static void tearDown() {
+		AwsConfiguration.cleanup();
+	}
+
+	@Test
+	void testInitializeRegistersWebPAndCreatesClient() {
+		StartupInitializer.initialize();
+		S3Client s3Client = AwsConfiguration.getS3Client();
+
+		// 두 번째 호출은 아무 것도 다시 만들지 않음
+		StartupInitializer.initialize();
+
+		assertSame(s3Client, AwsConfiguration.getS3Client());
+		assertTrue(ImageIO.getImageReadersByFormatName(AppConstants.OUTPUT_FORMAT).hasNext());
+		assertTrue(ImageIO.getImageWritersByFormatName(AppConstants.OUTPUT_FORMAT).hasNext());
+	}
+
+	@Test
+	void testCheckpointClosesAndRestoreRecreatesClient() {
+		StartupInitializer.initialize();
+		S3Client beforeCheckpoint = AwsConfiguration.getS3Client();
+
+		// CRaC 미지원 JVM에서는 전역 컨텍스트를 직접 호출할 수 없어서 등록된 리소스의 훅을 직접 호출
+		StartupInitializer.INSTANCE.beforeCheckpoint(null);
+		StartupInitializer.INSTANCE.afterRestore(null);
+
+		S3Client afterRestore = AwsConfiguration.getS3Client();
+		assertNotNull(afterRestore);
+		assertNotSame(beforeCheckpoint, afterRestore);
+	}
+}
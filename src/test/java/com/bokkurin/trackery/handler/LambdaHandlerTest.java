@@ -0,0 +1,160 @@
+package com.bokkurin.trackery.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.bokkurin.trackery.metrics.MetricsEmitter;
+import com.bokkurin.trackery.model.RecordProcessResult;
+import com.bokkurin.trackery.model.S3ObjectTarget;
+import com.bokkurin.trackery.service.ImageRecordExecutor;
+
+/**
+ * packageName    : com.bokkurin.trackery.handler
+ * fileName       : LambdaHandlerTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : LambdaHandler, SqsLambdaHandler, StreamLambdaHandler 부분 실패 응답 테스트코드
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		StreamLambdaHandler 응답 테스트 추가
+ * 26. 10. 18.		durururuk		S3 직접 호출은 실패 시 예외를 던지는지 확인하도록 변경
+ * 26. 10. 18.		durururuk		StreamLambdaHandler의 S3/EventBridge 직접 호출 실패 예외 테스트 추가
+ * 26. 10. 18.		durururuk		LambdaHandler 성공 시 SUCCESS 반환 확인
+ */
+class LambdaHandlerTest {
+
+	/**
+	 * 키에 "broken"이 들어간 객체만 실패시키는 실행기
+	 */
+	private static final ImageRecordExecutor stubExecutor = new ImageRecordExecutor(null, null, List.of(), null, null) {
+		@Override
+		public List<RecordProcessResult> processAll(List<S3ObjectTarget> targets) {
+			return targets.stream()
+				.map(target -> target.objectKey().contains("broken")
+					? RecordProcessResult.failure(target, new IOException("디코딩 실패"))
+					: RecordProcessResult.success(target))
+				.toList();
+		}
+	};
+
+	@Test
+	void testS3EventFailureThrowsForAsyncRetry() {
+		Map<String, Object> event = Map.of("Records", List.of(
+			s3Record("source-bucket", "uploads/1/ok.jpg"),
+			s3Record("source-bucket", "uploads/1/broken.jpg"),
+			s3Record("source-bucket", "uploads/2/ok.png")
+		));
+		LambdaHandler lambdaHandler = new LambdaHandler(stubExecutor, MetricsEmitter.disabled());
+
+		// S3 알림의 비동기 호출은 응답을 보지 않으므로 예외로 실패를 알려야 재시도/DLQ로 넘어감
+		IllegalStateException exception = assertThrows(IllegalStateException.class,
+			() -> lambdaHandler.handleRequest(event, null));
+		assertTrue(exception.getMessage().contains("uploads/1/broken.jpg"));
+		assertEquals(1, exception.getSuppressed().length);
+		assertInstanceOf(IOException.class, exception.getSuppressed()[0]);
+	}
+
+	@Test
+	void testS3EventReturnsSuccessWhenAllSucceed() {
+		Map<String, Object> event = Map.of("Records", List.of(
+			s3Record("source-bucket", "uploads/1/ok.jpg"),
+			s3Record("source-bucket", "uploads/2/ok.png")
+		));
+
+		assertEquals("SUCCESS", new LambdaHandler(stubExecutor, MetricsEmitter.disabled()).handleRequest(event, null));
+	}
+
+	@Test
+	void testSqsEventReturnsFailedMessageIds() {
+		SQSEvent event = new SQSEvent();
+		event.setRecords(List.of(
+			sqsMessage("msg-1", s3EventJson("uploads/1/ok.jpg")),
+			sqsMessage("msg-2", s3EventJson("uploads/1/broken.jpg")),
+			sqsMessage("msg-3", "{not json"),
+			sqsMessage("msg-4", "{\"Event\":\"s3:TestEvent\"}")
+		));
+
+		SQSBatchResponse response = new SqsLambdaHandler(stubExecutor).handleRequest(event, null);
+
+		assertEquals(List.of("msg-3", "msg-2"), response.getBatchItemFailures().stream()
+			.map(SQSBatchResponse.BatchItemFailure::getItemIdentifier)
+			.toList());
+	}
+
+	@Test
+	void testStreamHandlerWritesFailedMessageIds() throws IOException {
+		String event = "{\"Records\":["
+			+ "{\"messageId\":\"msg-1\",\"body\":\"" + escape(s3EventJson("uploads/1/ok.jpg")) + "\"},"
+			+ "{\"messageId\":\"msg-2\",\"body\":\"" + escape(s3EventJson("uploads/1/broken.jpg")) + "\"},"
+			+ "{\"messageId\":\"msg-3\",\"body\":\"" + escape(s3EventJson("uploads/1/broken.txt")) + "\"}"
+			+ "]}";
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		new StreamLambdaHandler(stubExecutor, MetricsEmitter.disabled(), new SourceKeyFilter(null, ".jpg"))
+			.handleRequest(new ByteArrayInputStream(event.getBytes(StandardCharsets.UTF_8)), output, null);
+
+		assertEquals("{\"batchItemFailures\":[{\"itemIdentifier\":\"msg-2\"}]}",
+			output.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void testStreamHandlerThrowsForFailedDirectS3Event() {
+		String event = s3EventJson("uploads/1/broken.jpg");
+		StreamLambdaHandler handler = new StreamLambdaHandler(stubExecutor, MetricsEmitter.disabled(),
+			new SourceKeyFilter(null, ".jpg"));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		// 직접 호출은 응답을 보지 않으므로 객체 키를 batchItemFailures에 담지 않고 예외로 알림
+		IllegalStateException exception = assertThrows(IllegalStateException.class, () -> handler.handleRequest(
+			new ByteArrayInputStream(event.getBytes(StandardCharsets.UTF_8)), output, null));
+		assertTrue(exception.getMessage().contains("uploads/1/broken.jpg"));
+		assertEquals(1, exception.getSuppressed().length);
+		assertEquals(0, output.size());
+	}
+
+	@Test
+	void testStreamHandlerThrowsForFailedEventBridgeEvent() {
+		String event = "{\"detail-type\":\"Object Created\","
+			+ "\"detail\":{\"bucket\":{\"name\":\"source-bucket\"},\"object\":{\"key\":\"uploads/1/broken.jpg\"}}}";
+		StreamLambdaHandler handler = new StreamLambdaHandler(stubExecutor, MetricsEmitter.disabled(),
+			new SourceKeyFilter(null, ".jpg"));
+
+		assertThrows(IllegalStateException.class, () -> handler.handleRequest(
+			new ByteArrayInputStream(event.getBytes(StandardCharsets.UTF_8)), new ByteArrayOutputStream(), null));
+	}
+
+	private String escape(String json) {
+		return json.replace("\"", "\\\"");
+	}
+
+	private Map<String, Object> s3Record(String bucketName, String objectKey) {
+		return Map.of("s3", Map.of(
+			"bucket", Map.of("name", bucketName),
+			"object", Map.of("key", objectKey)
+		));
+	}
+
+	private String s3EventJson(String objectKey) {
+		return "{\"Records\":[{\"s3\":{\"bucket\":{\"name\":\"source-bucket\"},\"object\":{\"key\":\""
+			+ objectKey + "\"}}}]}";
+	}
+
+	private SQSEvent.SQSMessage sqsMessage(String messageId, String body) {
+		SQSEvent.SQSMessage message = new SQSEvent.SQSMessage();
+		message.setMessageId(messageId);
+		message.setBody(body);
+		return message;
+	}
+}
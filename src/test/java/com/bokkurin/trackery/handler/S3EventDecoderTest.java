@@ -0,0 +1,114 @@
+package com.bokkurin.trackery.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.bokkurin.trackery.model.S3ObjectTarget;
+
+/**
+ * packageName    : com.bokkurin.trackery.handler
+ * fileName       : S3EventDecoderTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : S3EventDecoder 이벤트 형태별 파싱, 키 디코딩, 필터 테스트코드
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+class S3EventDecoderTest {
+	private static final SourceKeyFilter keyFilter = new SourceKeyFilter("uploads/", ".jpg", ".jpeg", ".png",
+		".webp");
+	private final S3EventDecoder decoder = new S3EventDecoder(keyFilter);
+
+	@Test
+	void testS3EventKeysAreUrlDecoded() throws IOException {
+		String event = "{\"Records\":[{\"eventVersion\":\"2.1\",\"eventSource\":\"aws:s3\","
+			+ "\"requestParameters\":{\"sourceIPAddress\":\"127.0.0.1\"},"
+			+ "\"s3\":{\"s3SchemaVersion\":\"1.0\",\"bucket\":{\"name\":\"source-bucket\",\"arn\":\"arn:aws:s3:::source-bucket\"},"
+			+ "\"object\":{\"key\":\"uploads/1/%ED%95%9C%EA%B8%80+photo%2B1.JPG\",\"size\":1024,"
+			+ "\"eTag\":\"abc123\",\"sequencer\":\"0A1B\"}}}]}";
+
+		DecodedEvent decoded = decode(event);
+
+		assertEquals(List.of(new EventRecord(new S3ObjectTarget("source-bucket", "uploads/1/한글 photo+1.JPG",
+			"abc123"), null)), decoded.records());
+		assertEquals(0, decoded.skippedRecords());
+	}
+
+	@Test
+	void testKeysOutsidePrefixOrWithUnsupportedExtensionAreSkipped() throws IOException {
+		String event = "{\"Records\":["
+			+ s3Record("uploads/1/a.png") + ","
+			+ s3Record("uploads/1/notes.txt") + ","
+			+ s3Record("1/original/a-orig.webp") + ","
+			+ s3Record("uploads/1/b.webp")
+			+ "]}";
+
+		DecodedEvent decoded = decode(event);
+
+		assertEquals(List.of("uploads/1/a.png", "uploads/1/b.webp"), keys(decoded));
+		assertEquals(2, decoded.skippedRecords());
+	}
+
+	@Test
+	void testSqsWrappedEventsKeepMessageIds() throws IOException {
+		String eventBridgeBody = "{\"version\":\"0\",\"detail-type\":\"Object Created\",\"source\":\"aws.s3\","
+			+ "\"detail\":{\"version\":\"0\",\"bucket\":{\"name\":\"source-bucket\"},"
+			+ "\"object\":{\"key\":\"uploads/2/c.jpg\",\"size\":10,\"etag\":\"def456\"},\"reason\":\"PutObject\"}}";
+		String event = "{\"Records\":["
+			+ sqsRecord("msg-1", "{\"Records\":[" + s3Record("uploads/1/a+b.jpg") + "]}") + ","
+			+ sqsRecord("msg-2", "{not json") + ","
+			+ sqsRecord("msg-3", eventBridgeBody) + ","
+			+ sqsRecord("msg-4", "{\"Service\":\"Amazon S3\",\"Event\":\"s3:TestEvent\"}")
+			+ "]}";
+
+		DecodedEvent decoded = decode(event);
+
+		assertEquals(List.of(
+			new EventRecord(new S3ObjectTarget("source-bucket", "uploads/1/a b.jpg", null), "msg-1"),
+			new EventRecord(new S3ObjectTarget("source-bucket", "uploads/2/c.jpg", "def456"), "msg-3")
+		), decoded.records());
+		assertEquals(List.of("msg-2"), decoded.failedMessageIds());
+	}
+
+	@Test
+	void testEventBridgeKeysAreNotDecodedAndOtherDetailTypesIgnored() throws IOException {
+		DecodedEvent created = decode("{\"source\":\"aws.s3\",\"detail\":{\"bucket\":{\"name\":\"source-bucket\"},"
+			+ "\"object\":{\"key\":\"uploads/1/100%+done.png\",\"etag\":\"e1\"}},\"detail-type\":\"Object Created\"}");
+		DecodedEvent deleted = decode("{\"detail-type\":\"Object Deleted\",\"source\":\"aws.s3\","
+			+ "\"detail\":{\"bucket\":{\"name\":\"source-bucket\"},\"object\":{\"key\":\"uploads/1/a.png\"}}}");
+
+		assertEquals(List.of("uploads/1/100%+done.png"), keys(created));
+		assertEquals(List.of(), deleted.records());
+	}
+
+	@Test
+	void testMalformedEventFails() {
+		assertThrows(IOException.class, () -> decode("[1, 2"));
+	}
+
+	private DecodedEvent decode(String event) throws IOException {
+		return decoder.decode(new ByteArrayInputStream(event.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private List<String> keys(DecodedEvent decoded) {
+		return decoded.records().stream().map(eventRecord -> eventRecord.target().objectKey()).toList();
+	}
+
+	private String s3Record(String objectKey) {
+		return "{\"s3\":{\"bucket\":{\"name\":\"source-bucket\"},\"object\":{\"key\":\"" + objectKey + "\"}}}";
+	}
+
+	private String sqsRecord(String messageId, String body) {
+		String escapedBody = body.replace("\\", "\\\\").replace("\"", "\\\"");
+		return "{\"messageId\":\"" + messageId + "\",\"receiptHandle\":\"handle\",\"body\":\"" + escapedBody
+			+ "\",\"attributes\":{\"ApproximateReceiveCount\":\"1\"},\"eventSource\":\"aws:sqs\"}";
+	}
+}
@@ -0,0 +1,152 @@
+package com.bokkurin.trackery.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.bokkurin.trackery.image.ImageResizer.ResizeMode;
+import com.bokkurin.trackery.model.WebPEncodeSettings;
+import com.bokkurin.trackery.support.TestImages;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : BufferPoolTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : BufferPool 테스트코드
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+class BufferPoolTest {
+	private static final long BUDGET = 64L * 1024 * 1024;
+
+	@Test
+	void testCapacityClassesWasteAtMostQuarter() {
+		assertEquals(BufferPool.MIN_POOLED_LENGTH, BufferPool.capacityOf(1));
+		assertEquals(5120, BufferPool.capacityOf(4097));
+		assertEquals(8192, BufferPool.capacityOf(8192));
+		for (int length = BufferPool.MIN_POOLED_LENGTH; length < 5_000_000; length = length * 3 / 2 + 7) {
+			int capacity = BufferPool.capacityOf(length);
+			assertTrue(capacity >= length && capacity <= length * 1.25 + 1, length + " -> " + capacity);
+			assertEquals(capacity, BufferPool.capacityOf(capacity));
+		}
+	}
+
+	@Test
+	void testReleasedArrayIsReusedOnce() {
+		BufferPool bufferPool = new BufferPool(BUDGET);
+
+		int[] first = bufferPool.acquireInts(10_000);
+		bufferPool.release(first);
+		bufferPool.release(first);
+		assertEquals((long)first.length * Integer.BYTES, bufferPool.retainedBytes());
+
+		assertSame(first, bufferPool.acquireInts(9_000));
+		assertNotSame(first, bufferPool.acquireInts(9_000));
+		assertEquals(0, bufferPool.retainedBytes());
+	}
+
+	@Test
+	void testForeignArraysAndOverBudgetArraysAreNotKept() {
+		BufferPool bufferPool = new BufferPool(40_000);
+
+		bufferPool.release(new int[BufferPool.capacityOf(5_000)]);
+		assertEquals(0, bufferPool.retainedBytes());
+
+		byte[] small = bufferPool.acquireBytes(30_000);
+		byte[] large = bufferPool.acquireBytes(30_000);
+		bufferPool.release(small);
+		bufferPool.release(large);
+		assertTrue(bufferPool.retainedBytes() <= bufferPool.budgetBytes());
+
+		BufferPool disabled = BufferPool.disabled();
+		int[] array = disabled.acquireInts(10_000);
+		assertEquals(10_000, array.length);
+		disabled.release(array);
+		assertEquals(0, disabled.retainedBytes());
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_3BYTE_BGR,
+		BufferedImage.TYPE_4BYTE_ABGR, BufferedImage.TYPE_BYTE_GRAY})
+	void testPooledImageKeepsType(int imageType) {
+		BufferPool bufferPool = new BufferPool(BUDGET);
+
+		BufferedImage image = bufferPool.createImage(123, 77, imageType);
+		assertEquals(imageType, image.getType());
+		assertEquals(123, image.getWidth());
+		assertEquals(77, image.getHeight());
+
+		bufferPool.release(image);
+		assertTrue(bufferPool.retainedBytes() > 0);
+		assertEquals(imageType, bufferPool.createImage(120, 79, imageType).getType());
+		assertEquals(0, bufferPool.retainedBytes());
+	}
+
+	@Test
+	void testDecodeImageIsClearedOnReuse() {
+		BufferPool bufferPool = new BufferPool(BUDGET);
+		BufferedImage dirty = bufferPool.createImage(200, 100, BufferedImage.TYPE_INT_RGB);
+		int[] data = ((DataBufferInt)dirty.getRaster().getDataBuffer()).getData();
+		Arrays.fill(data, 0xFFFFFF);
+		bufferPool.release(dirty);
+
+		BufferedImage decodeTarget = bufferPool.createDecodeImage(
+			ImageTypeSpecifier.createFromBufferedImageType(BufferedImage.TYPE_INT_RGB), 200, 100);
+
+		assertSame(data, ((DataBufferInt)decodeTarget.getRaster().getDataBuffer()).getData());
+		assertEquals(0, decodeTarget.getRGB(199, 99) & 0xFFFFFF);
+	}
+
+	@ParameterizedTest
+	@EnumSource(ResizeMode.class)
+	void testReusedBuffersGiveSameResizeResult(ResizeMode mode) {
+		BufferPool bufferPool = new BufferPool(BUDGET);
+		BufferedImage source = TestImages.createGradientImage(640, 480);
+		BufferedImage expected = ImageResizer.resize(source, 200, 150, mode, BufferPool.disabled());
+
+		// 다른 이미지가 쓰던 배열을 다시 받아도 결과가 같아야 함
+		bufferPool.release(ImageResizer.resize(TestImages.createGradientImage(300, 700), 210, 160, mode, bufferPool));
+		BufferedImage actual = ImageResizer.resize(source, 200, 150, mode, bufferPool);
+
+		for (int y = 0; y < expected.getHeight(); y++) {
+			for (int x = 0; x < expected.getWidth(); x++) {
+				assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), String.format("위치 (%d, %d)", x, y));
+			}
+		}
+	}
+
+	@Test
+	void testPooledImageEncodesLosslessly() throws IOException {
+		BufferPool bufferPool = new BufferPool(BUDGET);
+		BufferedImage source = TestImages.createGradientImage(90, 70);
+		// 요청보다 큰 배열을 받은 이미지도 WebP writer가 크기에 맞게 읽어야 함
+		BufferedImage pooled = bufferPool.createImage(90, 70, BufferedImage.TYPE_INT_RGB);
+		pooled.getGraphics().drawImage(source, 0, 0, null);
+		assertTrue(((DataBufferInt)pooled.getRaster().getDataBuffer()).getData().length > 90 * 70);
+
+		byte[] webpBytes = WebPEncoder.encode(pooled, WebPEncodeSettings.lossless(0));
+		BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(webpBytes));
+
+		for (int y = 0; y < source.getHeight(); y++) {
+			for (int x = 0; x < source.getWidth(); x++) {
+				assertEquals(source.getRGB(x, y) & 0xFFFFFF, decoded.getRGB(x, y) & 0xFFFFFF,
+					String.format("위치 (%d, %d)", x, y));
+			}
+		}
+	}
+}
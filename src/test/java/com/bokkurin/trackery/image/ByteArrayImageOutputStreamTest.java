@@ -0,0 +1,72 @@
+package com.bokkurin.trackery.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : ByteArrayImageOutputStreamTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : ByteArrayImageOutputStream 테스트코드
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		첫 쓰기 배열 그대로 받기, reset 재사용 테스트 추가
+ */
+class ByteArrayImageOutputStreamTest {
+
+	@Test
+	void testSingleWriteIsReturnedWithoutCopy() throws IOException {
+		byte[] data = {1, 2, 3, 4, 5};
+		try (ByteArrayImageOutputStream outputStream = new ByteArrayImageOutputStream()) {
+			outputStream.write(data);
+
+			byte[] first = outputStream.toByteArray();
+			assertArrayEquals(data, first);
+			assertSame(first, outputStream.toByteArray());
+		}
+	}
+
+	@Test
+	void testSeekAndOverwriteKeepsLength() throws IOException {
+		try (ByteArrayImageOutputStream outputStream = new ByteArrayImageOutputStream()) {
+			for (int i = 0; i < 1000; i++) {
+				outputStream.write(i);
+			}
+			outputStream.seek(2);
+			outputStream.writeInt(0x01020304);
+			outputStream.seek(0);
+
+			assertEquals(1000, outputStream.length());
+			assertEquals(0, outputStream.read());
+			assertEquals(1, outputStream.read());
+			assertEquals(0x01020304, outputStream.readInt());
+
+			byte[] result = outputStream.toByteArray();
+			assertEquals(1000, result.length);
+			assertEquals((byte)999, result[999]);
+		}
+	}
+
+	@Test
+	void testAdoptedFirstWriteAndReset() throws IOException {
+		byte[] encoded = {9, 8, 7};
+		ByteArrayImageOutputStream outputStream = new ByteArrayImageOutputStream(true);
+		outputStream.write(encoded);
+		assertSame(encoded, outputStream.toByteArray());
+
+		outputStream.reset();
+		assertEquals(0, outputStream.length());
+		assertEquals(0, outputStream.getStreamPosition());
+
+		outputStream.write(1);
+		outputStream.write(encoded);
+		assertArrayEquals(new byte[] {1, 9, 8, 7}, outputStream.toByteArray());
+		assertArrayEquals(new byte[] {9, 8, 7}, encoded);
+	}
+}
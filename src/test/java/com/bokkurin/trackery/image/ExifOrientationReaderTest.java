@@ -0,0 +1,71 @@
+package com.bokkurin.trackery.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.bokkurin.trackery.support.TestImages;
+import com.drew.imaging.ImageMetadataReader;
+import com.drew.metadata.Metadata;
+import com.drew.metadata.exif.ExifDirectoryBase;
+import com.drew.metadata.exif.ExifIFD0Directory;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : ExifOrientationReaderTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : ExifOrientationReader 테스트코드 (metadata-extractor 결과와 비교)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+class ExifOrientationReaderTest {
+
+	static Stream<Arguments> orientations() {
+		return Stream.of("jpg", "png", "webp")
+			.flatMap(format -> Stream.of(ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN)
+				.flatMap(byteOrder -> IntStream.rangeClosed(1, 8)
+					.mapToObj(orientation -> Arguments.of(format, byteOrder, orientation))));
+	}
+
+	@ParameterizedTest
+	@MethodSource("orientations")
+	void testReadOrientationMatchesMetadataExtractor(String format, ByteOrder byteOrder, int orientation)
+		throws Exception {
+		byte[] imageBytes = TestImages.withExifOrientation(
+			TestImages.createImageBytes(64, 48, format), format, orientation, byteOrder, 64, 48);
+
+		assertEquals(orientation, ExifOrientationReader.readOrientation(imageBytes));
+
+		Metadata metadata = ImageMetadataReader.readMetadata(new ByteArrayInputStream(imageBytes));
+		ExifIFD0Directory directory = metadata.getFirstDirectoryOfType(ExifIFD0Directory.class);
+		assertNotNull(directory);
+		assertEquals(directory.getInt(ExifDirectoryBase.TAG_ORIENTATION),
+			ExifOrientationReader.readOrientation(imageBytes));
+	}
+
+	@Test
+	void testReadOrientationWithoutExif() throws IOException {
+		for (String format : new String[] {"jpg", "png", "webp"}) {
+			assertEquals(1, ExifOrientationReader.readOrientation(TestImages.createImageBytes(32, 32, format)));
+		}
+	}
+
+	@Test
+	void testReadOrientationFromBrokenInput() {
+		assertEquals(1, ExifOrientationReader.readOrientation(new byte[0]));
+		assertEquals(1, ExifOrientationReader.readOrientation(new byte[] {(byte)0xFF, (byte)0xD8, (byte)0xFF}));
+		assertEquals(1, ExifOrientationReader.readOrientation("not an image".getBytes()));
+	}
+}
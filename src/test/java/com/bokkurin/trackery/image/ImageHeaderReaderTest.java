@@ -0,0 +1,76 @@
+package com.bokkurin.trackery.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.bokkurin.trackery.model.ImageHeader;
+import com.bokkurin.trackery.model.WebPEncodeSettings;
+import com.bokkurin.trackery.support.TestImages;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : ImageHeaderReaderTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : ImageHeaderReader 테스트코드
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+class ImageHeaderReaderTest {
+
+	@ParameterizedTest
+	@CsvSource({
+		"jpg, jpeg, 1",
+		"jpg, jpeg, 6",
+		"png, png, 1",
+		"png, png, 8",
+		"webp, webp, 1",
+		"webp, webp, 3"
+	})
+	void testReadHeader(String format, String expectedFormatName, int orientation) throws IOException {
+		byte[] imageBytes = TestImages.createImageBytes(641, 479, format);
+		if (orientation != 1) {
+			imageBytes = TestImages.withExifOrientation(imageBytes, format, orientation, ByteOrder.LITTLE_ENDIAN,
+				641, 479);
+		}
+
+		assertHeader(imageBytes, new ImageHeader(expectedFormatName, 641, 479, orientation));
+	}
+
+	@Test
+	void testReadLosslessWebPHeader() throws IOException {
+		byte[] imageBytes = WebPEncoder.encode(TestImages.createGradientImage(333, 777),
+			WebPEncodeSettings.lossless(0));
+
+		assertHeader(imageBytes, new ImageHeader(ImageHeader.WEBP, 333, 777, 1));
+	}
+
+	@Test
+	void testReadUnsupportedFormat() {
+		byte[] textBytes = "not an image at all".getBytes();
+
+		assertThrows(IOException.class, () -> ImageHeaderReader.read(
+			new MemoryCacheImageInputStream(new ByteArrayInputStream(textBytes))));
+	}
+
+	private void assertHeader(byte[] imageBytes, ImageHeader expected) throws IOException {
+		try (ImageInputStream inputStream = new MemoryCacheImageInputStream(new ByteArrayInputStream(imageBytes))) {
+			assertEquals(expected, ImageHeaderReader.read(inputStream));
+			// 헤더를 읽은 뒤에도 처음부터 디코딩할 수 있어야 함
+			assertEquals(0, inputStream.getStreamPosition());
+			assertEquals(ByteOrder.BIG_ENDIAN, inputStream.getByteOrder());
+		}
+	}
+}
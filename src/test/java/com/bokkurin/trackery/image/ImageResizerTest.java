@@ -0,0 +1,99 @@
+package com.bokkurin.trackery.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.bokkurin.trackery.image.ImageResizer.ResizeMode;
+import com.bokkurin.trackery.support.TestImages;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : ImageResizerTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : ImageResizer 테스트코드
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		알파 유지 테스트 추가
+ */
+class ImageResizerTest {
+
+	@ParameterizedTest
+	@EnumSource(ResizeMode.class)
+	void testResizeProducesRequestedSize(ResizeMode mode) {
+		BufferedImage source = TestImages.createGradientImage(1000, 750);
+
+		BufferedImage downscaled = ImageResizer.resize(source, 400, 300, mode);
+		assertEquals(400, downscaled.getWidth());
+		assertEquals(300, downscaled.getHeight());
+		assertEquals(BufferedImage.TYPE_INT_RGB, downscaled.getType());
+
+		BufferedImage upscaled = ImageResizer.resize(TestImages.createGradientImage(30, 20), 90, 61, mode);
+		assertEquals(90, upscaled.getWidth());
+		assertEquals(61, upscaled.getHeight());
+	}
+
+	@ParameterizedTest
+	@EnumSource(ResizeMode.class)
+	void testResizeKeepsFlatColor(ResizeMode mode) {
+		BufferedImage source = new BufferedImage(317, 211, BufferedImage.TYPE_3BYTE_BGR);
+		for (int y = 0; y < source.getHeight(); y++) {
+			for (int x = 0; x < source.getWidth(); x++) {
+				source.setRGB(x, y, 0x3C78B4);
+			}
+		}
+
+		BufferedImage resized = ImageResizer.resize(source, 53, 37, mode);
+
+		for (int y = 0; y < resized.getHeight(); y++) {
+			for (int x = 0; x < resized.getWidth(); x++) {
+				assertEquals(0x3C78B4, resized.getRGB(x, y) & 0xFFFFFF,
+					String.format("%s 위치 (%d, %d)", mode, x, y));
+			}
+		}
+	}
+
+	@Test
+	void testAreaAverageBlendsCheckerboard() {
+		BufferedImage source = new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB);
+		for (int y = 0; y < 64; y++) {
+			for (int x = 0; x < 64; x++) {
+				source.setRGB(x, y, ((x + y) & 1) == 0 ? 0xFFFFFF : 0x000000);
+			}
+		}
+
+		BufferedImage resized = ImageResizer.resize(source, 8, 8, ResizeMode.AREA_AVERAGE);
+
+		int gray = resized.getRGB(4, 4) & 0xFF;
+		assertTrue(Math.abs(gray - 128) <= 2, "체커보드 평균이 회색이 아닙니다: " + gray);
+	}
+
+	@ParameterizedTest
+	@EnumSource(ResizeMode.class)
+	void testResizeKeepsAlphaWithoutColorBleed(ResizeMode mode) {
+		// 왼쪽 절반은 불투명한 빨강, 오른쪽 절반은 완전히 투명한 초록
+		BufferedImage source = new BufferedImage(200, 100, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 0; y < source.getHeight(); y++) {
+			for (int x = 0; x < source.getWidth(); x++) {
+				source.setRGB(x, y, x < 100 ? 0xFFFF0000 : 0x0000FF00);
+			}
+		}
+
+		BufferedImage resized = ImageResizer.resize(source, 50, 25, mode);
+
+		assertEquals(BufferedImage.TYPE_INT_ARGB_PRE, resized.getType());
+		assertEquals(0xFFFF0000, resized.getRGB(5, 12), mode.name());
+		assertEquals(0, resized.getRGB(45, 12) >>> 24, mode.name());
+		int edge = resized.getRGB(25, 12);
+		if (edge >>> 24 != 0) {
+			assertEquals(0, (edge >> 8) & 0xFF, mode + " 투명한 초록이 경계로 번졌습니다: " + Integer.toHexString(edge));
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.bokkurin.trackery.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : OrientationTransformerTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : OrientationTransformer 테스트코드
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+class OrientationTransformerTest {
+	private static final int WIDTH = 5;
+	private static final int HEIGHT = 3;
+
+	static Stream<Arguments> imageTypes() {
+		return Stream.of(
+				BufferedImage.TYPE_INT_RGB,
+				BufferedImage.TYPE_INT_ARGB,
+				BufferedImage.TYPE_3BYTE_BGR,
+				BufferedImage.TYPE_4BYTE_ABGR,
+				BufferedImage.TYPE_BYTE_GRAY,
+				BufferedImage.TYPE_USHORT_565_RGB)
+			.flatMap(type -> IntStream.rangeClosed(1, 8).mapToObj(orientation -> Arguments.of(type, orientation)));
+	}
+
+	@ParameterizedTest
+	@MethodSource("imageTypes")
+	void testApplyMatchesExifDefinition(int type, int orientation) {
+		BufferedImage source = createNumberedImage(type);
+
+		BufferedImage result = OrientationTransformer.apply(source, orientation);
+
+		boolean transposed = orientation >= 5;
+		assertEquals(transposed ? HEIGHT : WIDTH, result.getWidth());
+		assertEquals(transposed ? WIDTH : HEIGHT, result.getHeight());
+
+		for (int dy = 0; dy < result.getHeight(); dy++) {
+			for (int dx = 0; dx < result.getWidth(); dx++) {
+				int[] sourcePoint = sourcePoint(orientation, dx, dy);
+				assertEquals(source.getRGB(sourcePoint[0], sourcePoint[1]), result.getRGB(dx, dy),
+					String.format("방향 %d, 위치 (%d, %d)", orientation, dx, dy));
+			}
+		}
+	}
+
+	/**
+	 * EXIF 정의에 따라 화면 좌표 (dx, dy)에 보여야 할 원본 좌표
+	 */
+	private int[] sourcePoint(int orientation, int dx, int dy) {
+		return switch (orientation) {
+			case 2 -> new int[] {WIDTH - 1 - dx, dy};
+			case 3 -> new int[] {WIDTH - 1 - dx, HEIGHT - 1 - dy};
+			case 4 -> new int[] {dx, HEIGHT - 1 - dy};
+			case 5 -> new int[] {dy, dx};
+			case 6 -> new int[] {dy, HEIGHT - 1 - dx};
+			case 7 -> new int[] {WIDTH - 1 - dy, HEIGHT - 1 - dx};
+			case 8 -> new int[] {WIDTH - 1 - dy, dx};
+			default -> new int[] {dx, dy};
+		};
+	}
+
+	/**
+	 * 픽셀마다 다른 값을 가진 이미지 생성 (그레이는 밝기, 나머지는 색으로 구분)
+	 */
+	private BufferedImage createNumberedImage(int type) {
+		BufferedImage image = new BufferedImage(WIDTH, HEIGHT, type);
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				int index = y * WIDTH + x + 1;
+				int gray = index * 16;
+				int rgb = type == BufferedImage.TYPE_BYTE_GRAY
+					? gray << 16 | gray << 8 | gray
+					: (index * 8) << 16 | (255 - index * 8) << 8 | (index * 4);
+				image.setRGB(x, y, 0xFF000000 | rgb);
+			}
+		}
+		return image;
+	}
+}
@@ -0,0 +1,223 @@
+package com.bokkurin.trackery.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.IndexColorModel;
+import java.awt.image.WritableRaster;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.bokkurin.trackery.support.SimpleCmykColorSpace;
+import com.bokkurin.trackery.support.TestImages;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : PixelNormalizerTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : PixelNormalizer 색 모델별 변환 테스트코드
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		CMYK 색 공간을 테스트 공용 SimpleCmykColorSpace로 교체
+ */
+class PixelNormalizerTest {
+	private final BufferPool bufferPool = new BufferPool(64L * 1024 * 1024);
+
+	@ParameterizedTest
+	@ValueSource(ints = {
+		BufferedImage.TYPE_INT_RGB,
+		BufferedImage.TYPE_INT_ARGB,
+		BufferedImage.TYPE_INT_BGR,
+		BufferedImage.TYPE_3BYTE_BGR,
+		BufferedImage.TYPE_4BYTE_ABGR,
+		BufferedImage.TYPE_USHORT_565_RGB})
+	void testOpaqueImagesBecomeIntRgb(int type) {
+		BufferedImage source = copyAs(TestImages.createGradientImage(67, 45), type);
+
+		BufferedImage normalized = PixelNormalizer.normalize(source, bufferPool);
+
+		assertEquals(BufferedImage.TYPE_INT_RGB, normalized.getType());
+		assertTrue(PixelNormalizer.isNormalized(normalized));
+		assertSamePixels(source, normalized);
+	}
+
+	@Test
+	void testNormalizedImageIsReturnedAsIs() {
+		BufferedImage source = TestImages.createGradientImage(40, 30);
+
+		assertSame(source, PixelNormalizer.normalize(source, bufferPool));
+	}
+
+	@Test
+	void testInterleavedRgbBytesAndSixteenBitSamples() {
+		BufferedImage rgbBytes = createComponentImage(ColorSpace.getInstance(ColorSpace.CS_sRGB), false,
+			DataBuffer.TYPE_BYTE, 3, 2);
+		rgbBytes.getRaster().setPixel(0, 0, new int[] {10, 20, 30});
+		rgbBytes.getRaster().setPixel(1, 1, new int[] {250, 128, 0});
+
+		BufferedImage rgbShorts = createComponentImage(ColorSpace.getInstance(ColorSpace.CS_sRGB), true,
+			DataBuffer.TYPE_USHORT, 2, 1);
+		rgbShorts.getRaster().setPixel(0, 0, new int[] {0xFFFF, 0x8000, 0, 0xFFFF});
+		rgbShorts.getRaster().setPixel(1, 0, new int[] {0xFFFF, 0x8000, 0, 0x8080});
+
+		BufferedImage normalizedBytes = PixelNormalizer.normalize(rgbBytes, bufferPool);
+		BufferedImage normalizedShorts = PixelNormalizer.normalize(rgbShorts, bufferPool);
+
+		assertEquals(BufferedImage.TYPE_INT_RGB, normalizedBytes.getType());
+		assertEquals(0x0A141E, normalizedBytes.getRGB(0, 0) & 0xFFFFFF);
+		assertEquals(0xFA8000, normalizedBytes.getRGB(1, 1) & 0xFFFFFF);
+		assertEquals(BufferedImage.TYPE_INT_ARGB_PRE, normalizedShorts.getType());
+		assertEquals(0xFFFF8000, rawPixel(normalizedShorts, 0, 0));
+		// 알파 0x80으로 프리멀티플라이: 0xFF -> 0x80, 0x80 -> 0x40
+		assertEquals(0x80804000, rawPixel(normalizedShorts, 1, 0));
+	}
+
+	@Test
+	void testGrayKeepsEncodedValues() {
+		BufferedImage gray = new BufferedImage(2, 1, BufferedImage.TYPE_BYTE_GRAY);
+		gray.getRaster().setSample(0, 0, 0, 128);
+		gray.getRaster().setSample(1, 0, 0, 50);
+		BufferedImage grayShort = new BufferedImage(1, 1, BufferedImage.TYPE_USHORT_GRAY);
+		grayShort.getRaster().setSample(0, 0, 0, 0x3412);
+
+		BufferedImage normalized = PixelNormalizer.normalize(gray, bufferPool);
+
+		// getRGB는 회색을 선형 값으로 보고 밝게 바꾸지만 파일의 회색 값은 그대로 써야 함
+		assertEquals(0x808080, normalized.getRGB(0, 0) & 0xFFFFFF);
+		assertEquals(0x323232, normalized.getRGB(1, 0) & 0xFFFFFF);
+		assertEquals(0x343434, PixelNormalizer.normalize(grayShort, bufferPool).getRGB(0, 0) & 0xFFFFFF);
+	}
+
+	@Test
+	void testTranslucentPixelsArePremultiplied() {
+		BufferedImage source = new BufferedImage(2, 1, BufferedImage.TYPE_4BYTE_ABGR);
+		source.setRGB(0, 0, 0x80FF8040);
+		source.setRGB(1, 0, 0x00FFFFFF);
+
+		BufferedImage normalized = PixelNormalizer.normalize(source, bufferPool);
+
+		assertEquals(BufferedImage.TYPE_INT_ARGB_PRE, normalized.getType());
+		assertEquals(0x80804020, rawPixel(normalized, 0, 0));
+		assertEquals(0, rawPixel(normalized, 1, 0));
+		assertEquals(0x80FF8040, normalized.getRGB(0, 0), "getRGB는 프리멀티플라이를 되돌린 값");
+	}
+
+	@Test
+	void testOpaqueAlphaImageBecomesIntRgb() {
+		BufferedImage source = copyAs(TestImages.createGradientImage(31, 17), BufferedImage.TYPE_INT_ARGB);
+
+		BufferedImage normalized = PixelNormalizer.normalize(source, bufferPool);
+
+		assertEquals(BufferedImage.TYPE_INT_RGB, normalized.getType());
+		assertTrue(PixelNormalizer.isNormalized(normalized));
+		assertSamePixels(source, normalized);
+	}
+
+	@Test
+	void testIndexedColorUsesPalette() {
+		byte[] red = {(byte)0xFF, 0, 0x10};
+		byte[] green = {0, (byte)0xFF, 0x20};
+		byte[] blue = {0, 0, 0x30};
+		byte[] alpha = {(byte)0xFF, (byte)0xFF, 0x00};
+		BufferedImage opaque = new BufferedImage(3, 1, BufferedImage.TYPE_BYTE_BINARY,
+			new IndexColorModel(2, 3, red, green, blue));
+		BufferedImage translucent = new BufferedImage(3, 1, BufferedImage.TYPE_BYTE_INDEXED,
+			new IndexColorModel(8, 3, red, green, blue, alpha));
+		for (int x = 0; x < 3; x++) {
+			opaque.getRaster().setSample(x, 0, 0, x);
+			translucent.getRaster().setSample(x, 0, 0, x);
+		}
+
+		BufferedImage normalizedOpaque = PixelNormalizer.normalize(opaque, bufferPool);
+		BufferedImage normalizedTranslucent = PixelNormalizer.normalize(translucent, bufferPool);
+
+		assertEquals(BufferedImage.TYPE_INT_RGB, normalizedOpaque.getType());
+		assertEquals(0x102030, normalizedOpaque.getRGB(2, 0) & 0xFFFFFF);
+		assertEquals(BufferedImage.TYPE_INT_ARGB_PRE, normalizedTranslucent.getType());
+		assertEquals(0xFF00FF00, rawPixel(normalizedTranslucent, 1, 0));
+		assertEquals(0, rawPixel(normalizedTranslucent, 2, 0));
+	}
+
+	@Test
+	void testCmykWithoutProfileIsConverted() {
+		BufferedImage cmyk = createComponentImage(new SimpleCmykColorSpace(), false, DataBuffer.TYPE_BYTE, 3, 1);
+		cmyk.getRaster().setPixel(0, 0, new int[] {0, 0, 0, 0});
+		cmyk.getRaster().setPixel(1, 0, new int[] {0, 255, 255, 0});
+		cmyk.getRaster().setPixel(2, 0, new int[] {0, 0, 0, 128});
+
+		BufferedImage normalized = PixelNormalizer.normalize(cmyk, bufferPool);
+
+		assertEquals(BufferedImage.TYPE_INT_RGB, normalized.getType());
+		assertEquals(0xFFFFFF, normalized.getRGB(0, 0) & 0xFFFFFF);
+		assertEquals(0xFF0000, normalized.getRGB(1, 0) & 0xFFFFFF);
+		assertEquals(0x7F7F7F, normalized.getRGB(2, 0) & 0xFFFFFF);
+	}
+
+	@Test
+	void testIccColorSpaceIsConvertedToSrgb() {
+		BufferedImage linear = createComponentImage(ColorSpace.getInstance(ColorSpace.CS_LINEAR_RGB), false,
+			DataBuffer.TYPE_BYTE, 16, 16);
+		for (int y = 0; y < 16; y++) {
+			for (int x = 0; x < 16; x++) {
+				linear.getRaster().setPixel(x, y, new int[] {x * 16, y * 16, 128});
+			}
+		}
+
+		BufferedImage normalized = PixelNormalizer.normalize(linear, bufferPool);
+
+		assertEquals(BufferedImage.TYPE_INT_RGB, normalized.getType());
+		for (int y = 0; y < 16; y++) {
+			for (int x = 0; x < 16; x++) {
+				assertRgbClose(linear.getRGB(x, y), normalized.getRGB(x, y), 3, x, y);
+			}
+		}
+	}
+
+	private static BufferedImage copyAs(BufferedImage source, int type) {
+		BufferedImage copy = new BufferedImage(source.getWidth(), source.getHeight(), type);
+		for (int y = 0; y < source.getHeight(); y++) {
+			for (int x = 0; x < source.getWidth(); x++) {
+				copy.setRGB(x, y, source.getRGB(x, y));
+			}
+		}
+		return copy;
+	}
+
+	private static BufferedImage createComponentImage(ColorSpace colorSpace, boolean alpha, int dataType,
+		int width, int height) {
+		ComponentColorModel colorModel = new ComponentColorModel(colorSpace, alpha, false,
+			alpha ? Transparency.TRANSLUCENT : Transparency.OPAQUE, dataType);
+		WritableRaster raster = colorModel.createCompatibleWritableRaster(width, height);
+		return new BufferedImage(colorModel, raster, false, null);
+	}
+
+	private static int rawPixel(BufferedImage image, int x, int y) {
+		return ((int[])image.getRaster().getDataElements(x, y, null))[0];
+	}
+
+	private static void assertSamePixels(BufferedImage expected, BufferedImage actual) {
+		for (int y = 0; y < expected.getHeight(); y++) {
+			for (int x = 0; x < expected.getWidth(); x++) {
+				assertEquals(expected.getRGB(x, y) & 0xFFFFFF, actual.getRGB(x, y) & 0xFFFFFF,
+					String.format("위치 (%d, %d)", x, y));
+			}
+		}
+	}
+
+	private static void assertRgbClose(int expected, int actual, int tolerance, int x, int y) {
+		for (int shift = 0; shift <= 16; shift += 8) {
+			int difference = Math.abs(((expected >> shift) & 0xFF) - ((actual >> shift) & 0xFF));
+			assertTrue(difference <= tolerance, String.format("위치 (%d, %d) 기대 %06x, 실제 %06x", x, y,
+				expected & 0xFFFFFF, actual & 0xFFFFFF));
+		}
+	}
+}
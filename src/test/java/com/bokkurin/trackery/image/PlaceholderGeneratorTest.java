@@ -0,0 +1,141 @@
+package com.bokkurin.trackery.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import com.bokkurin.trackery.model.ImagePlaceholder;
+import com.bokkurin.trackery.support.TestImages;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : PlaceholderGeneratorTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : PlaceholderGenerator BlurHash, 대표 색, LQIP 테스트코드
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+class PlaceholderGeneratorTest {
+	/**
+	 * 성분 값이 0인 AC 성분 (세 채널 모두 양자화 값 9)
+	 */
+	private static final String ZERO_AC = "fQ";
+
+	private final BufferPool bufferPool = new BufferPool(16L * 1024 * 1024);
+
+	@Test
+	void testSolidColorKeepsColorInDcComponent() {
+		BufferedImage image = createSolidImage(120, 90, new Color(0x3C8DBC));
+
+		String blurHash = PlaceholderGenerator.blurHash(image, 4, 3);
+
+		// 크기 플래그 (4 - 1) + (3 - 1) * 9 = 21 -> 'L', 이산 코사인 합의 작은 오차로 AC 성분이 조금 남음
+		assertEquals("L16_4mpLfQpLt:fkfQfkfQfQfQfQ", blurHash);
+		assertEquals(0x3C8DBC, PlaceholderGenerator.averageColor(blurHash));
+	}
+
+	@Test
+	void testMatchesReferenceEncoder() {
+		// woltapp/blurhash 정의대로 픽셀마다 기저 함수를 곱해 더하는 단순 구현으로 같은 이미지를 인코딩한 값
+		BufferedImage image = TestImages.createGradientImage(64, 48);
+
+		assertEquals("LzHB|~2Y$5Sgl|azjtf7gcfjfQfj", PlaceholderGenerator.blurHash(image, 4, 3));
+	}
+
+	@Test
+	void testHorizontalSplitHasNoVerticalComponents() {
+		BufferedImage image = createSolidImage(100, 60, Color.BLACK);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(50, 0, 50, 60);
+		graphics.dispose();
+
+		String blurHash = PlaceholderGenerator.blurHash(image, 4, 3);
+
+		// 선형 평균 0.5 -> sRGB 188
+		assertEquals(0xBCBCBC, PlaceholderGenerator.averageColor(blurHash));
+		// (i=1, j=0) 성분은 가로 경계가 있어 0이 아니고, 세로로 균일하므로 j=2 성분은 모두 0
+		// (j=1은 코사인 표본 합이 1이라 정의상 조금 남음)
+		assertNotEquals(ZERO_AC, acComponent(blurHash, 4, 1, 0));
+		for (int i = 0; i < 4; i++) {
+			assertEquals(ZERO_AC, acComponent(blurHash, 4, i, 2));
+		}
+	}
+
+	@Test
+	void testTransparentPixelsAreCompositedOnWhite() throws IOException {
+		BufferedImage image = new BufferedImage(40, 30, BufferedImage.TYPE_INT_ARGB_PRE);
+
+		ImagePlaceholder placeholder = PlaceholderGenerator.generate(image, bufferPool);
+
+		assertEquals(0xFFFFFF, placeholder.color());
+		assertEquals("#ffffff", placeholder.colorHex());
+	}
+
+	@Test
+	void testGenerateCreatesSmallLqipAndPicksComponentsByOrientation() throws IOException {
+		BufferedImage landscape = TestImages.createGradientImage(300, 200);
+		BufferedImage portrait = copyAsThreeByte(TestImages.createGradientImage(200, 300));
+
+		ImagePlaceholder landscapePlaceholder = PlaceholderGenerator.generate(landscape, bufferPool);
+		ImagePlaceholder portraitPlaceholder = PlaceholderGenerator.generate(portrait, bufferPool);
+
+		// 가로가 길면 4x3 ('L'), 세로가 길면 3x4 ((3 - 1) + (4 - 1) * 9 = 29 -> 'T')
+		assertEquals('L', landscapePlaceholder.blurHash().charAt(0));
+		assertEquals('T', portraitPlaceholder.blurHash().charAt(0));
+
+		assertNotNull(landscapePlaceholder.lqipWebP());
+		assertTrue(landscapePlaceholder.lqipWebP().length <= PlaceholderGenerator.MAX_LQIP_BYTES);
+		BufferedImage lqip = ImageIO.read(new ByteArrayInputStream(landscapePlaceholder.lqipWebP()));
+		assertEquals(PlaceholderGenerator.LQIP_SIZE, lqip.getWidth());
+		assertEquals(11, lqip.getHeight());
+
+		BufferedImage portraitLqip = ImageIO.read(new ByteArrayInputStream(portraitPlaceholder.lqipWebP()));
+		assertEquals(11, portraitLqip.getWidth());
+		assertEquals(PlaceholderGenerator.LQIP_SIZE, portraitLqip.getHeight());
+	}
+
+	@Test
+	void testInvalidComponentCountIsRejected() {
+		BufferedImage image = TestImages.createGradientImage(10, 10);
+
+		assertThrows(IllegalArgumentException.class, () -> PlaceholderGenerator.blurHash(image, 0, 3));
+		assertThrows(IllegalArgumentException.class, () -> PlaceholderGenerator.blurHash(image, 4, 10));
+	}
+
+	/**
+	 * (i, j) AC 성분의 두 글자 (DC 뒤부터 j 우선, i 순서)
+	 */
+	private static String acComponent(String blurHash, int componentsX, int i, int j) {
+		int index = 6 + 2 * (j * componentsX + i - 1);
+		return blurHash.substring(index, index + 2);
+	}
+
+	private static BufferedImage createSolidImage(int width, int height, Color color) {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(color);
+		graphics.fillRect(0, 0, width, height);
+		graphics.dispose();
+		return image;
+	}
+
+	private static BufferedImage copyAsThreeByte(BufferedImage source) {
+		BufferedImage copy = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_3BYTE_BGR);
+		Graphics2D graphics = copy.createGraphics();
+		graphics.drawImage(source, 0, 0, null);
+		graphics.dispose();
+		return copy;
+	}
+}
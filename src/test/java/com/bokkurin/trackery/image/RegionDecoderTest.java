@@ -0,0 +1,116 @@
+package com.bokkurin.trackery.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.stream.ImageInputStream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.bokkurin.trackery.support.TestImages;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : RegionDecoderTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : RegionDecoder 띠 수 제한 테스트코드
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+class RegionDecoderTest {
+
+	@ParameterizedTest
+	@CsvSource({"jpg, 200000", "jpg, 1000", "png, 200000", "png, 1"})
+	void testStripCountIsCapped(String format, long stripPixels) throws IOException {
+		byte[] imageBytes = TestImages.createImageBytes(1600, 1200, format);
+
+		try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+			ImageReader delegate = ImageIO.getImageReaders(input).next();
+			delegate.setInput(input, false);
+			CountingImageReader reader = new CountingImageReader(delegate);
+
+			BufferedImage downscaled = RegionDecoder.decodeDownscaled(reader, 516, 387, stripPixels,
+				BufferPool.disabled());
+
+			assertEquals(516, downscaled.getWidth());
+			assertEquals(387, downscaled.getHeight());
+			// JPEG/PNG 리더는 띠마다 처음부터 다시 디코딩하므로 읽기 횟수가 곧 전체 디코딩 횟수
+			assertTrue(reader.reads > 0 && reader.reads <= RegionDecoder.MAX_STRIPS, "읽기 횟수: " + reader.reads);
+			delegate.dispose();
+		}
+	}
+
+	/**
+	 * read 호출 횟수를 세는 ImageReader
+	 */
+	private static final class CountingImageReader extends ImageReader {
+		private final ImageReader delegate;
+		private int reads;
+
+		private CountingImageReader(ImageReader delegate) {
+			super(delegate.getOriginatingProvider());
+			this.delegate = delegate;
+		}
+
+		@Override
+		public int getNumImages(boolean allowSearch) throws IOException {
+			return delegate.getNumImages(allowSearch);
+		}
+
+		@Override
+		public int getWidth(int imageIndex) throws IOException {
+			return delegate.getWidth(imageIndex);
+		}
+
+		@Override
+		public int getHeight(int imageIndex) throws IOException {
+			return delegate.getHeight(imageIndex);
+		}
+
+		@Override
+		public Iterator<ImageTypeSpecifier> getImageTypes(int imageIndex) throws IOException {
+			return delegate.getImageTypes(imageIndex);
+		}
+
+		@Override
+		public ImageReadParam getDefaultReadParam() {
+			return delegate.getDefaultReadParam();
+		}
+
+		@Override
+		public IIOMetadata getStreamMetadata() throws IOException {
+			return delegate.getStreamMetadata();
+		}
+
+		@Override
+		public IIOMetadata getImageMetadata(int imageIndex) throws IOException {
+			return delegate.getImageMetadata(imageIndex);
+		}
+
+		@Override
+		public BufferedImage read(int imageIndex, ImageReadParam param) throws IOException {
+			reads++;
+			return delegate.read(imageIndex, param);
+		}
+
+		@Override
+		public IIOImage readAll(int imageIndex, ImageReadParam param) throws IOException {
+			reads++;
+			return delegate.readAll(imageIndex, param);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package com.bokkurin.trackery.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.bokkurin.trackery.model.WebPEncodeSettings;
+import com.bokkurin.trackery.support.TestImages;
+
+/**
+ * packageName    : com.bokkurin.trackery.image
+ * fileName       : WebPEncoderTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : WebPEncoder 테스트코드
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		프리멀티플라이 알파 인코딩 테스트 추가
+ */
+class WebPEncoderTest {
+
+	@Test
+	void testLosslessKeepsPixels() throws IOException {
+		BufferedImage source = TestImages.createGradientImage(120, 80);
+
+		byte[] webpBytes = WebPEncoder.encode(source, WebPEncodeSettings.lossless(0));
+		BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(webpBytes));
+
+		for (int y = 0; y < source.getHeight(); y++) {
+			for (int x = 0; x < source.getWidth(); x++) {
+				assertEquals(source.getRGB(x, y) & 0xFFFFFF, decoded.getRGB(x, y) & 0xFFFFFF,
+					String.format("위치 (%d, %d)", x, y));
+			}
+		}
+	}
+
+	@Test
+	void testPremultipliedAlphaIsEncodedAsStraightAlpha() throws IOException {
+		BufferedImage source = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 0; y < 16; y++) {
+			for (int x = 0; x < 16; x++) {
+				source.setRGB(x, y, x < 8 ? 0x80FF8040 : 0xFF204060);
+			}
+		}
+		BufferedImage premultiplied = PixelNormalizer.normalize(source, BufferPool.disabled());
+		assertEquals(BufferedImage.TYPE_INT_ARGB_PRE, premultiplied.getType());
+
+		byte[] webpBytes = WebPEncoder.encode(premultiplied, WebPEncodeSettings.lossless(0));
+		BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(webpBytes));
+
+		assertEquals(0x80FF8040, decoded.getRGB(2, 2));
+		assertEquals(0xFF204060, decoded.getRGB(12, 2));
+	}
+
+	@Test
+	void testLowerQualityProducesSmallerOutput() throws IOException {
+		BufferedImage source = TestImages.createGradientImage(640, 480);
+
+		byte[] low = WebPEncoder.encode(source, WebPEncodeSettings.lossy(0.2f));
+		byte[] high = WebPEncoder.encode(source, WebPEncodeSettings.lossy(0.95f));
+
+		assertTrue(low.length < high.length, low.length + " < " + high.length);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {0, 4, 6})
+	void testReusedWriterGivesSameOutput(int method) throws Exception {
+		BufferedImage source = TestImages.createGradientImage(200, 150);
+		WebPEncodeSettings settings = WebPEncodeSettings.lossy(0.8f).withMethod(method);
+
+		byte[] first = WebPEncoder.encode(source, settings);
+		assertArrayEquals(first, WebPEncoder.encode(source, settings));
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Future<?>[] futures = new Future<?>[8];
+			for (int i = 0; i < futures.length; i++) {
+				futures[i] = executor.submit(() -> WebPEncoder.encode(source, settings));
+			}
+			for (Future<?> future : futures) {
+				assertArrayEquals(first, (byte[])future.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testParseSettings() {
+		assertEquals(WebPEncodeSettings.lossy(0.8f), WebPEncodeSettings.parse("0.8"));
+		assertEquals(WebPEncodeSettings.lossy(0.8f).withMethod(6), WebPEncodeSettings.parse("0.8/6"));
+		assertEquals(WebPEncodeSettings.lossless(WebPEncodeSettings.DEFAULT_METHOD),
+			WebPEncodeSettings.parse("lossless"));
+		assertEquals(WebPEncodeSettings.lossless(2), WebPEncodeSettings.parse("LOSSLESS/2"));
+
+		assertThrows(IllegalArgumentException.class, () -> WebPEncodeSettings.parse("1.5"));
+		assertThrows(IllegalArgumentException.class, () -> WebPEncodeSettings.parse("0.8/7"));
+		assertThrows(IllegalArgumentException.class, () -> WebPEncodeSettings.parse("0.8/4/1"));
+		assertThrows(IllegalArgumentException.class, () -> WebPEncodeSettings.parse("lossy"));
+	}
+}
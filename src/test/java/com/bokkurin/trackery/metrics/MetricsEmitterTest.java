@@ -0,0 +1,101 @@
+package com.bokkurin.trackery.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * packageName    : com.bokkurin.trackery.metrics
+ * fileName       : MetricsEmitterTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : MetricsEmitter EMF 출력 형식 테스트코드
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+class MetricsEmitterTest {
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void testRecordLineIsValidEmf() throws Exception {
+		List<String> lines = new ArrayList<>();
+		MetricsEmitter emitter = new MetricsEmitter(lines::add, "Trackery", "image-function");
+
+		RecordMetrics metrics = RecordMetrics.start("uploads/1/\"quoted\"\\name.jpg");
+		RecordMetrics.record(Stage.DECODE, System.nanoTime() - 2_500_000);
+		metrics.setSourceBytes(1234);
+		metrics.setSourcePixels(12_000_000);
+		metrics.addRendition(100);
+		metrics.addRendition(50);
+		metrics.addCopy();
+		metrics.finish(false);
+		emitter.emitRecord(metrics);
+
+		assertEquals(1, lines.size());
+		assertFalse(lines.get(0).contains("\n"));
+		JsonNode line = objectMapper.readTree(lines.get(0));
+
+		JsonNode definition = line.get("_aws").get("CloudWatchMetrics").get(0);
+		assertEquals("Trackery", definition.get("Namespace").asText());
+		assertEquals("FunctionName", definition.get("Dimensions").get(0).get(0).asText());
+		assertEquals("image-function", line.get("FunctionName").asText());
+		assertTrue(line.get("_aws").get("Timestamp").asLong() > 0);
+
+		// 정의된 지표마다 같은 이름의 숫자 값이 있어야 CloudWatch가 지표로 만듦
+		Set<String> names = new HashSet<>();
+		for (JsonNode metric : definition.get("Metrics")) {
+			names.add(metric.get("Name").asText());
+			assertTrue(line.get(metric.get("Name").asText()).isNumber(), metric.get("Name").asText());
+		}
+		for (Stage stage : Stage.values()) {
+			assertTrue(names.contains(stage.metricName()));
+		}
+
+		assertEquals("uploads/1/\"quoted\"\\name.jpg", line.get("ObjectKey").asText());
+		assertTrue(line.get("DecodeTime").asDouble() >= 2.5);
+		assertEquals(0.0, line.get("EncodeTime").asDouble());
+		assertEquals(1234, line.get("SourceBytes").asLong());
+		assertEquals(150, line.get("OutputBytes").asLong());
+		assertEquals(12.0, line.get("Megapixels").asDouble());
+		assertEquals(2, line.get("Renditions").asInt());
+		assertEquals(1, line.get("Copies").asInt());
+		assertEquals(0, line.get("Failed").asInt());
+	}
+
+	@Test
+	void testStagesOutsideRecordAreIgnored() {
+		RecordMetrics metrics = RecordMetrics.start("key");
+		metrics.finish(true);
+
+		RecordMetrics.record(Stage.ENCODE, System.nanoTime() - 1_000_000);
+
+		assertEquals(0, metrics.stageNanos(Stage.ENCODE));
+		assertTrue(metrics.failed());
+	}
+
+	@Test
+	void testInvocationLine() throws Exception {
+		List<String> lines = new ArrayList<>();
+		MetricsEmitter emitter = new MetricsEmitter(lines::add, "Trackery", "image-function");
+
+		emitter.emitInvocation(true, 3, 1, 42_123_456);
+		MetricsEmitter.disabled().emitInvocation(true, 1, 0, 1);
+
+		assertEquals(1, lines.size());
+		JsonNode line = objectMapper.readTree(lines.get(0));
+		assertEquals(1, line.get("ColdStart").asInt());
+		assertEquals(3, line.get("Records").asInt());
+		assertEquals(1, line.get("FailedRecords").asInt());
+		assertEquals("42.123", line.get("InvocationTime").asText());
+	}
+}
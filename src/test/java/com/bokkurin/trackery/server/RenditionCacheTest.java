@@ -0,0 +1,81 @@
+package com.bokkurin.trackery.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * packageName    : com.bokkurin.trackery.server
+ * fileName       : RenditionCacheTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 메모리/디스크 2단계 렌디션 캐시 테스트코드
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+class RenditionCacheTest {
+	@TempDir
+	Path cacheDirectory;
+
+	@Test
+	void testMemoryTierEvictsLeastRecentlyUsed() throws IOException {
+		RenditionCache cache = new RenditionCache(300, null, 0);
+		cache.put("a", new byte[100]);
+		cache.put("b", new byte[100]);
+		cache.put("c", new byte[100]);
+
+		// a를 최근에 쓴 것으로 만들고 d를 넣으면 가장 오래 쓰지 않은 b가 빠져야 함
+		assertNotNull(cache.get("a"));
+		cache.put("d", new byte[100]);
+
+		assertNotNull(cache.get("a"));
+		assertNull(cache.get("b"));
+		assertNotNull(cache.get("c"));
+		assertNotNull(cache.get("d"));
+		RenditionCache.Stats stats = cache.stats();
+		assertEquals(3, stats.memoryEntries());
+		assertEquals(300, stats.memoryBytes());
+		assertEquals(4, stats.memoryHits());
+		assertEquals(1, stats.misses());
+	}
+
+	@Test
+	void testDiskTierSurvivesRestartAndPromotesToMemory() throws IOException {
+		RenditionCache cache = new RenditionCache(1000, cacheDirectory, 1000);
+		cache.put("1/photo.jpg?w=640", new byte[] {1, 2, 3});
+
+		RenditionCache restarted = new RenditionCache(1000, cacheDirectory, 1000);
+		RenditionCache.Entry fromDisk = restarted.get("1/photo.jpg?w=640");
+		RenditionCache.Entry fromMemory = restarted.get("1/photo.jpg?w=640");
+
+		assertEquals(RenditionCache.Tier.DISK, fromDisk.tier());
+		assertArrayEquals(new byte[] {1, 2, 3}, fromDisk.bytes());
+		assertEquals(RenditionCache.Tier.MEMORY, fromMemory.tier());
+		assertEquals(1.0, restarted.stats().hitRatio(), 1e-9);
+	}
+
+	@Test
+	void testDiskTierEvictsOverBudget() throws IOException {
+		RenditionCache cache = new RenditionCache(0, cacheDirectory, 250);
+		cache.put("a", new byte[100]);
+		cache.put("b", new byte[100]);
+		assertNotNull(cache.get("a"));
+		cache.put("c", new byte[100]);
+
+		assertEquals(RenditionCache.Tier.DISK, cache.get("a").tier());
+		assertNull(cache.get("b"));
+		assertNotNull(cache.get("c"));
+		assertEquals(2, cache.stats().diskEntries());
+		assertEquals(200, cache.stats().diskBytes());
+
+		// 다시 시작해도 내보낸 파일은 남아 있지 않아야 함
+		RenditionCache restarted = new RenditionCache(0, cacheDirectory, 250);
+		assertEquals(2, restarted.stats().diskEntries());
+	}
+}
@@ -0,0 +1,177 @@
+package com.bokkurin.trackery.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.bokkurin.trackery.local.LocalS3Client;
+import com.bokkurin.trackery.model.DecodedImage;
+import com.bokkurin.trackery.model.WebPEncodeSettings;
+import com.bokkurin.trackery.service.ImageProcessService;
+import com.bokkurin.trackery.service.S3ActionService;
+import com.bokkurin.trackery.support.TestImages;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+/**
+ * packageName    : com.bokkurin.trackery.server
+ * fileName       : RenditionServerTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 로컬 S3 대역을 사용한 RenditionServer 테스트코드
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ */
+class RenditionServerTest {
+	private static final String SOURCE_BUCKET = "source-bucket";
+	private static final String SOURCE_PREFIX = "uploads/";
+
+	@TempDir
+	Path rootDirectory;
+
+	private LocalS3Client s3Client;
+	private RenditionServer server;
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	@BeforeEach
+	void setUp() throws IOException {
+		s3Client = new LocalS3Client(rootDirectory.resolve("s3"));
+		putSource("uploads/1/photo.jpg", TestImages.createImageBytes(320, 240, "jpg"));
+		putSource("uploads/1/notes.txt", "memo".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (server != null) {
+			server.stop();
+		}
+	}
+
+	@Test
+	void testRendersOnceThenServesFromCache() throws Exception {
+		startServer(createService(new ImageProcessService(), rootDirectory.resolve("cache")));
+
+		HttpResponse<byte[]> first = get("/1/photo.jpg?w=64");
+		HttpResponse<byte[]> second = get("/1/photo.jpg?w=64");
+		HttpResponse<byte[]> original = get("/1/photo.jpg");
+
+		assertEquals(200, first.statusCode());
+		assertEquals("RENDERED", first.headers().firstValue(RenditionServer.CACHE_HEADER).orElseThrow());
+		assertEquals("image/webp", first.headers().firstValue("Content-Type").orElseThrow());
+		BufferedImage rendition = ImageIO.read(new ByteArrayInputStream(first.body()));
+		assertEquals(64, rendition.getWidth());
+		assertEquals(48, rendition.getHeight());
+
+		assertEquals("MEMORY", second.headers().firstValue(RenditionServer.CACHE_HEADER).orElseThrow());
+		assertArrayEquals(first.body(), second.body());
+		assertEquals(320, ImageIO.read(new ByteArrayInputStream(original.body())).getWidth());
+
+		String stats = new String(get(RenditionServer.STATS_PATH).body(), StandardCharsets.UTF_8);
+		assertTrue(stats.contains("\"memoryHits\":1"), stats);
+		assertTrue(stats.contains("\"renders\":2"), stats);
+	}
+
+	@Test
+	void testRejectsBadRequestsAndMissingSource() throws Exception {
+		startServer(createService(new ImageProcessService(), null));
+
+		assertEquals(400, get("/1/photo.jpg?w=abc").statusCode());
+		assertEquals(400, get("/1/photo.jpg?w=99999").statusCode());
+		assertEquals(400, get("/photo.jpg").statusCode());
+		assertEquals(400, get("/1/notes.txt").statusCode());
+		assertEquals(404, get("/1/missing.jpg").statusCode());
+	}
+
+	@Test
+	void testConcurrentRequestsForSameRenditionDecodeOnce() throws Exception {
+		CountDownLatch releaseDecode = new CountDownLatch(1);
+		ImageProcessService blockingService = new ImageProcessService() {
+			@Override
+			public DecodedImage decodeImage(InputStream imageStream) throws IOException {
+				try {
+					releaseDecode.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.decodeImage(imageStream);
+			}
+		};
+		RenditionService renditionService = createService(blockingService, null);
+		RenditionRequest request = new RenditionRequest("1", "photo.jpg", 64);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<RenditionService.Result>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				futures.add(executor.submit(() -> renditionService.get(request)));
+			}
+			// 첫 요청이 디코딩에서 멈춰 있는 동안 나머지 3건이 그 결과를 기다리게 됨
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (renditionService.stats().coalesced() < 3 && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+			releaseDecode.countDown();
+
+			byte[] expected = futures.get(0).get(10, TimeUnit.SECONDS).bytes();
+			for (Future<RenditionService.Result> future : futures) {
+				assertArrayEquals(expected, future.get(10, TimeUnit.SECONDS).bytes());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(1, renditionService.stats().renders());
+		assertEquals(3, renditionService.stats().coalesced());
+	}
+
+	private RenditionService createService(ImageProcessService imageProcessService, Path diskCacheDirectory)
+		throws IOException {
+		return new RenditionService(new S3ActionService(s3Client), imageProcessService,
+			new RenditionCache(16L * 1024 * 1024, diskCacheDirectory, 16L * 1024 * 1024), SOURCE_BUCKET,
+			SOURCE_PREFIX, WebPEncodeSettings.DEFAULT, 2);
+	}
+
+	private void startServer(RenditionService renditionService) throws IOException {
+		server = new RenditionServer(renditionService, new InetSocketAddress("127.0.0.1", 0), 4096, 2);
+		server.start();
+	}
+
+	private HttpResponse<byte[]> get(String path) throws IOException, InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.port() + path))
+			.GET()
+			.build();
+		return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	private void putSource(String key, byte[] bytes) {
+		s3Client.putObject(PutObjectRequest.builder().bucket(SOURCE_BUCKET).key(key).build(),
+			RequestBody.fromBytes(bytes));
+	}
+}
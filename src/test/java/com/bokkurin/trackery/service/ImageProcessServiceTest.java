@@ -6,13 +6,27 @@ import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteOrder;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.imageio.ImageIO;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.bokkurin.trackery.image.BufferPool;
+import com.bokkurin.trackery.image.ImageResizer;
+import com.bokkurin.trackery.image.ImageResizer.ResizeMode;
+import com.bokkurin.trackery.model.DecodedImage;
+import com.bokkurin.trackery.model.EncodedRendition;
+import com.bokkurin.trackery.model.ImageRenditions;
+import com.bokkurin.trackery.model.RenditionProfile;
+import com.bokkurin.trackery.support.TestImages;
 
 /**
  * packageName    : com.bokkurin.trackery.service
@@ -24,6 +38,14 @@ import org.junit.jupiter.api.Test;
  * DATE              AUTHOR             NOTE
  * -----------------------------------------------------------
  * 25. 6. 26.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		createRenditions 테스트 추가
+ * 26. 10. 18.		durururuk		서브샘플링 썸네일 테스트 추가
+ * 26. 10. 18.		durururuk		스트림 디코딩 테스트 추가
+ * 26. 10. 18.		durururuk		EXIF 방향 보정 결과 테스트 추가, 테스트 이미지 생성을 TestImages로 이동
+ * 26. 10. 18.		durururuk		다중 렌디션 테스트 추가
+ * 26. 10. 18.		durururuk		렌디션별 리사이즈 알고리즘 설정 테스트 추가
+ * 26. 10. 18.		durururuk		렌디션별 WebP 인코더 설정 테스트 추가
+ * 26. 10. 18.		durururuk		픽셀 예산 초과 축소 디코딩, 원본 크기 제한 테스트 추가
  */
 class ImageProcessServiceTest {
 
@@ -71,4 +93,176 @@ class ImageProcessServiceTest {
 		Files.createDirectories(outputPath.getParent());
 		Files.write(outputPath, thumbnailBytes);
 	}
-}
\ No newline at end of file
+
+	@Test
+	void testCreateRenditions() throws IOException {
+		byte[] imageBytes = createSampleImageBytes(1200, 800, "jpg");
+
+		ImageProcessService imageProcessService = new ImageProcessService();
+		ImageRenditions renditions = imageProcessService.createRenditions(imageBytes);
+
+		BufferedImage originalImage = ImageIO.read(new ByteArrayInputStream(renditions.originalWebP()));
+		assertNotNull(originalImage);
+		assertEquals(1200, originalImage.getWidth());
+		assertEquals(800, originalImage.getHeight());
+
+		BufferedImage thumbnailImage = ImageIO.read(new ByteArrayInputStream(renditions.thumbnailWebP()));
+		assertNotNull(thumbnailImage);
+		assertEquals(450, thumbnailImage.getWidth());
+		assertEquals(300, thumbnailImage.getHeight());
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+		"jpg, 4000, 3000",
+		"png, 1920, 1080",
+		"webp, 2400, 3200",
+		"jpg, 640, 400",
+		"jpg, 250, 200"
+	})
+	void testCreateThumbnailSubsampledMatchesCreateThumbnail(String format, int width, int height) throws IOException {
+		byte[] imageBytes = createSampleImageBytes(width, height, format);
+
+		ImageProcessService imageProcessService = new ImageProcessService();
+		BufferedImage expected = ImageIO.read(new ByteArrayInputStream(imageProcessService.createThumbnail(imageBytes)));
+		BufferedImage actual = ImageIO.read(
+			new ByteArrayInputStream(imageProcessService.createThumbnailSubsampled(imageBytes)));
+
+		assertNotNull(actual);
+		assertEquals(expected.getWidth(), actual.getWidth());
+		assertEquals(expected.getHeight(), actual.getHeight());
+	}
+
+	@Test
+	void testCalculateSubsampling() {
+		ImageProcessService imageProcessService = new ImageProcessService();
+
+		assertEquals(10, imageProcessService.calculateSubsampling(4000, 3000, 300));
+		assertEquals(3, imageProcessService.calculateSubsampling(1920, 1080, 300));
+		assertEquals(1, imageProcessService.calculateSubsampling(500, 400, 300));
+		assertEquals(1, imageProcessService.calculateSubsampling(200, 100, 300));
+	}
+
+	@ParameterizedTest
+	@CsvSource({"jpg", "png", "webp"})
+	void testGetOriginalImageFromStream(String format) throws IOException {
+		byte[] imageBytes = createSampleImageBytes(640, 480, format);
+
+		ImageProcessService imageProcessService = new ImageProcessService();
+		BufferedImage fromBytes = imageProcessService.getOriginalImage(imageBytes);
+		BufferedImage fromStream = imageProcessService.getOriginalImage(new ByteArrayInputStream(imageBytes));
+
+		assertEquals(fromBytes.getWidth(), fromStream.getWidth());
+		assertEquals(fromBytes.getHeight(), fromStream.getHeight());
+		assertEquals(fromBytes.getRGB(320, 240), fromStream.getRGB(320, 240));
+	}
+
+	@ParameterizedTest
+	@CsvSource({"jpg", "png", "webp"})
+	void testDecodeImageAppliesExifOrientation(String format) throws IOException {
+		byte[] imageBytes = TestImages.withExifOrientation(
+			createSampleImageBytes(400, 300, format), format, 6, ByteOrder.BIG_ENDIAN, 400, 300);
+
+		DecodedImage decodedImage = new ImageProcessService().decodeImage(new ByteArrayInputStream(imageBytes));
+
+		assertEquals(6, decodedImage.orientation());
+		assertEquals(300, decodedImage.image().getWidth());
+		assertEquals(400, decodedImage.image().getHeight());
+	}
+
+	@ParameterizedTest
+	@CsvSource({"jpg", "png", "webp"})
+	void testDecodeImageOverPixelBudgetIsDownscaled(String format) throws IOException {
+		byte[] imageBytes = createSampleImageBytes(1600, 1200, format);
+		long maxDecodePixels = 200_000;
+
+		BufferedImage downscaled = new ImageProcessService(true, new BufferPool(64L << 20), maxDecodePixels)
+			.decodeImage(new ByteArrayInputStream(imageBytes)).image();
+		BufferedImage fullDecode = new ImageProcessService(true, BufferPool.disabled(), Long.MAX_VALUE)
+			.decodeImage(new ByteArrayInputStream(imageBytes)).image();
+
+		int width = downscaled.getWidth();
+		int height = downscaled.getHeight();
+		assertTrue((long)width * height <= maxDecodePixels);
+		assertEquals(1600.0 / 1200, (double)width / height, 0.01);
+
+		// 띠 경계에서도 전체 디코딩 후 축소한 결과와 거의 같아야 함
+		BufferedImage expected = ImageResizer.resize(fullDecode, width, height, ResizeMode.AREA_AVERAGE,
+			BufferPool.disabled());
+		for (int y = 0; y < height; y += 7) {
+			for (int x = 0; x < width; x += 13) {
+				int actualRgb = downscaled.getRGB(x, y);
+				int expectedRgb = expected.getRGB(x, y);
+				for (int shift = 0; shift <= 16; shift += 8) {
+					assertEquals((expectedRgb >> shift) & 0xFF, (actualRgb >> shift) & 0xFF, 8,
+						"(" + x + ", " + y + ")");
+				}
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@CsvSource({"jpg", "png", "webp"})
+	void testDownscaledDecodeAppliesExifOrientation(String format) throws IOException {
+		byte[] imageBytes = TestImages.withExifOrientation(
+			createSampleImageBytes(1600, 1200, format), format, 6, ByteOrder.BIG_ENDIAN, 1600, 1200);
+
+		DecodedImage decodedImage = new ImageProcessService(true, BufferPool.disabled(), 200_000)
+			.decodeImage(new ByteArrayInputStream(imageBytes));
+
+		assertEquals(6, decodedImage.orientation());
+		assertTrue(decodedImage.image().getHeight() > decodedImage.image().getWidth());
+		assertTrue((long)decodedImage.image().getWidth() * decodedImage.image().getHeight() <= 200_000);
+	}
+
+	@Test
+	void testDecodeImageRejectsOversizedSourceBeforeDecoding() {
+		byte[] imageBytes = TestImages.createPngHeader(100_000, 100_000);
+
+		IOException exception = assertThrows(IOException.class,
+			() -> new ImageProcessService().decodeImage(new ByteArrayInputStream(imageBytes)));
+		assertTrue(exception.getMessage().contains("100000x100000"));
+	}
+
+	@Test
+	void testCreateRenditionsFromProfiles() throws IOException {
+		List<RenditionProfile> profiles = RenditionProfile.parseAll(
+			"w150:150:WIDTH:0.7/6:-w150:AREA_AVERAGE,thumbnail:300:SHORT_EDGE:0.75:-thumbnail,"
+				+ "box640:640:LONG_EDGE:lossless/1:-box640:LANCZOS");
+		BufferedImage orientedImage = TestImages.createGradientImage(1600, 1200);
+
+		List<EncodedRendition> encodedOrder = new ArrayList<>();
+		List<EncodedRendition> renditions = new ImageProcessService()
+			.createRenditions(orientedImage, profiles, encodedOrder::add);
+
+		assertEquals(renditions, encodedOrder);
+		assertEquals(List.of("box640", "thumbnail", "w150"), renditions.stream()
+			.map(rendition -> rendition.profile().name())
+			.toList());
+		assertTrue(renditions.get(0).profile().encoding().lossless());
+		assertEquals(6, renditions.get(2).profile().encoding().method());
+
+		int[][] expectedSizes = {{640, 480}, {400, 300}, {150, 112}};
+		for (int i = 0; i < renditions.size(); i++) {
+			EncodedRendition rendition = renditions.get(i);
+			BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(rendition.bytes()));
+			assertEquals(expectedSizes[i][0], decoded.getWidth());
+			assertEquals(expectedSizes[i][1], decoded.getHeight());
+			assertEquals(decoded.getWidth(), rendition.width());
+			assertEquals(decoded.getHeight(), rendition.height());
+		}
+	}
+
+	@Test
+	void testParseRenditionProfilesRejectsInvalidSpec() {
+		assertThrows(IllegalArgumentException.class, () -> RenditionProfile.parseAll("thumbnail:300"));
+		assertThrows(IllegalArgumentException.class, () -> RenditionProfile.parseAll("t:0:WIDTH:0.8:-t"));
+		assertThrows(IllegalArgumentException.class, () -> RenditionProfile.parseAll("t:300:CROP:0.8:-t"));
+		assertThrows(IllegalArgumentException.class, () -> RenditionProfile.parseAll("t:300:WIDTH:0.8:-t:NEAREST"));
+		assertThrows(IllegalArgumentException.class, () -> RenditionProfile.parseAll("t:300:WIDTH:0.8/9:-t"));
+	}
+
+	private byte[] createSampleImageBytes(int width, int height, String format) throws IOException {
+		return TestImages.createImageBytes(width, height, format);
+	}
+}
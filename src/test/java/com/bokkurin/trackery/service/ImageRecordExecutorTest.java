@@ -0,0 +1,425 @@
+package com.bokkurin.trackery.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.bokkurin.trackery.config.RenditionConfiguration;
+import com.bokkurin.trackery.local.LocalS3Client;
+import com.bokkurin.trackery.metrics.MetricsEmitter;
+import com.bokkurin.trackery.model.ImagePlaceholder;
+import com.bokkurin.trackery.model.RecordProcessResult;
+import com.bokkurin.trackery.model.RenditionProfile;
+import com.bokkurin.trackery.model.S3ObjectTarget;
+import com.bokkurin.trackery.support.TestImages;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CopyObjectResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+/**
+ * packageName    : com.bokkurin.trackery.service
+ * fileName       : ImageRecordExecutorTest
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 로컬 S3 대역을 사용한 ImageRecordExecutor 테스트코드
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성 (WebP 그대로 복사 테스트)
+ * 26. 10. 18.		durururuk		원본 ETag 기반 중복 처리 건너뛰기 테스트 추가
+ * 26. 10. 18.		durururuk		비동기 업로드 실패 전달 테스트 추가
+ * 26. 10. 18.		durururuk		레코드 단계별 EMF 지표 출력 테스트 추가
+ * 26. 10. 18.		durururuk		결과물 목록(manifest) JSON 테스트 추가
+ * 26. 10. 18.		durururuk		썸네일 자리 표시(BlurHash, 대표 색, LQIP) 메타데이터 테스트 추가
+ * 26. 10. 18.		durururuk		목록 JSON 하나로 처리 완료를 확인하는 테스트로 변경
+ * 26. 10. 18.		durururuk		인코딩 중 Error 발생 시 남은 업로드를 기다린 뒤 실패 결과 반환 테스트 추가
+ */
+class ImageRecordExecutorTest {
+	private static final String SOURCE_BUCKET = "source-bucket";
+	private static final String DESTINATION_BUCKET = "destination-bucket";
+
+	@TempDir
+	Path rootDirectory;
+
+	private final AtomicInteger copyCount = new AtomicInteger();
+	private final AtomicInteger getCount = new AtomicInteger();
+	private final AtomicInteger headCount = new AtomicInteger();
+	private LocalS3Client s3Client;
+	private ExecutorService recordExecutor;
+	private ExecutorService uploadExecutor;
+
+	@BeforeEach
+	void setUp() {
+		s3Client = new LocalS3Client(rootDirectory) {
+			@Override
+			public CopyObjectResponse copyObject(CopyObjectRequest copyObjectRequest) {
+				copyCount.incrementAndGet();
+				return super.copyObject(copyObjectRequest);
+			}
+
+			@Override
+			public <ReturnT> ReturnT getObject(GetObjectRequest getObjectRequest,
+				ResponseTransformer<GetObjectResponse, ReturnT> responseTransformer) {
+				getCount.incrementAndGet();
+				return super.getObject(getObjectRequest, responseTransformer);
+			}
+
+			@Override
+			public HeadObjectResponse headObject(HeadObjectRequest headObjectRequest) {
+				headCount.incrementAndGet();
+				return super.headObject(headObjectRequest);
+			}
+		};
+		recordExecutor = Executors.newFixedThreadPool(2);
+		uploadExecutor = Executors.newFixedThreadPool(2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		recordExecutor.shutdownNow();
+		uploadExecutor.shutdownNow();
+	}
+
+	@Test
+	void testSmallWebPIsCopiedWithoutTranscoding() throws IOException {
+		byte[] sourceBytes = TestImages.createImageBytes(200, 150, "webp");
+		putSource("uploads/1/small.webp", sourceBytes);
+
+		assertTrue(process("uploads/1/small.webp", true).isSuccess());
+
+		assertEquals(2, copyCount.get());
+		assertArrayEquals(sourceBytes, readDestination("1/original/small-orig.webp"));
+		assertArrayEquals(sourceBytes, readDestination("1/thumbnail/small-thumbnail.webp"));
+	}
+
+	@Test
+	void testLargeWebPCopiesOriginalAndResizesThumbnail() throws IOException {
+		byte[] sourceBytes = TestImages.createImageBytes(800, 600, "webp");
+		putSource("uploads/1/large.webp", sourceBytes);
+
+		assertTrue(process("uploads/1/large.webp", true).isSuccess());
+
+		assertEquals(1, copyCount.get());
+		assertArrayEquals(sourceBytes, readDestination("1/original/large-orig.webp"));
+		BufferedImage thumbnail = ImageIO.read(
+			new ByteArrayInputStream(readDestination("1/thumbnail/large-thumbnail.webp")));
+		assertEquals(400, thumbnail.getWidth());
+		assertEquals(300, thumbnail.getHeight());
+	}
+
+	@Test
+	void testJpegAndDisabledPassthroughAreTranscoded() throws IOException {
+		putSource("uploads/1/photo.jpg", TestImages.createImageBytes(200, 150, "jpg"));
+		byte[] webpBytes = TestImages.createImageBytes(200, 150, "webp");
+		putSource("uploads/1/small.webp", webpBytes);
+
+		assertTrue(process("uploads/1/photo.jpg", true).isSuccess());
+		assertTrue(process("uploads/1/small.webp", false).isSuccess());
+
+		assertEquals(0, copyCount.get());
+		assertNotNull(ImageIO.read(new ByteArrayInputStream(readDestination("1/original/photo-orig.webp"))));
+		assertFalse(Arrays.equals(webpBytes, readDestination("1/original/small-orig.webp")));
+	}
+
+	@Test
+	void testAlreadyProcessedSourceIsSkipped() throws IOException {
+		putSource("uploads/1/photo.jpg", TestImages.createImageBytes(640, 480, "jpg"));
+
+		assertTrue(process("uploads/1/photo.jpg", true).isSuccess());
+		assertEquals(1, getCount.get());
+		String sourceETag = s3Client.headObject(HeadObjectRequest.builder()
+			.bucket(SOURCE_BUCKET).key("uploads/1/photo.jpg").build()).eTag().replace("\"", "");
+		assertEquals(sourceETag, destinationMetadata("1/original/photo-orig.webp"));
+		assertEquals(sourceETag, destinationMetadata("1/thumbnail/photo-thumbnail.webp"));
+
+		// 같은 알림이 다시 와도 (이벤트 ETag 유무와 관계없이) 다운로드하지 않음
+		assertTrue(process("uploads/1/photo.jpg", true).isSuccess());
+		headCount.set(0);
+		assertTrue(process(new S3ObjectTarget(SOURCE_BUCKET, "uploads/1/photo.jpg", sourceETag), true).isSuccess());
+		assertEquals(1, getCount.get());
+		// 목록 JSON은 결과물이 모두 올라간 뒤에 올리므로 목록 하나만 확인
+		assertEquals(1, headCount.get());
+
+		// 같은 키에 다른 내용이 올라오면 다시 처리
+		putSource("uploads/1/photo.jpg", TestImages.createImageBytes(320, 240, "jpg"));
+		assertTrue(process("uploads/1/photo.jpg", true).isSuccess());
+		assertEquals(2, getCount.get());
+		assertNotEquals(sourceETag, destinationMetadata("1/original/photo-orig.webp"));
+	}
+
+	@Test
+	void testPartiallyProcessedSourceIsProcessedAgain() throws IOException {
+		byte[] sourceBytes = TestImages.createImageBytes(200, 150, "webp");
+		putSource("uploads/1/small.webp", sourceBytes);
+		assertTrue(process("uploads/1/small.webp", true).isSuccess());
+
+		// 중간에 멈춘 처리는 마지막에 올리는 목록 JSON이 없음
+		Files.delete(s3Client.resolve(DESTINATION_BUCKET, "1/thumbnail/small-thumbnail.webp"));
+		Files.delete(s3Client.resolve(DESTINATION_BUCKET, "1/manifest/small.json"));
+		assertTrue(process("uploads/1/small.webp", true).isSuccess());
+
+		assertEquals(2, getCount.get());
+		assertArrayEquals(sourceBytes, readDestination("1/thumbnail/small-thumbnail.webp"));
+		assertNotNull(destinationMetadata("1/thumbnail/small-thumbnail.webp"));
+	}
+
+	@Test
+	void testFailedAsyncUploadFailsRecordWithIOException() throws IOException {
+		putSource("uploads/1/photo.jpg", TestImages.createImageBytes(200, 150, "jpg"));
+		S3ActionService s3ActionService = new S3ActionService(s3Client, DESTINATION_BUCKET);
+		ImageUploader failingUploader = new ExecutorImageUploader(s3ActionService, uploadExecutor) {
+			@Override
+			public CompletableFuture<Void> uploadOriginalWebP(String originalKey, byte[] webpBytes,
+				String sourceETag) {
+				return CompletableFuture.failedFuture(new IOException("업로드 실패"));
+			}
+		};
+		ImageRecordExecutor executor = new ImageRecordExecutor(s3ActionService, failingUploader,
+			new ImageProcessService(true), List.of(RenditionConfiguration.DEFAULT_THUMBNAIL), recordExecutor);
+
+		RecordProcessResult result = executor.processAll(
+			List.of(new S3ObjectTarget(SOURCE_BUCKET, "uploads/1/photo.jpg"))).get(0);
+
+		assertFalse(result.isSuccess());
+		assertInstanceOf(IOException.class, result.error());
+		// 다른 결과물 업로드는 그대로 진행됨
+		assertNotNull(readDestination("1/thumbnail/photo-thumbnail.webp"));
+	}
+
+	@Test
+	void testErrorDuringEncodingFailsRecordAfterStartedUploadsFinish() throws IOException {
+		putSource("uploads/1/photo.jpg", TestImages.createImageBytes(200, 150, "jpg"));
+		S3ActionService s3ActionService = new S3ActionService(s3Client, DESTINATION_BUCKET);
+		AtomicBoolean thumbnailUploaded = new AtomicBoolean();
+		ImageUploader slowUploader = new ExecutorImageUploader(s3ActionService, uploadExecutor) {
+			@Override
+			public CompletableFuture<Void> uploadRendition(String originalKey, RenditionProfile profile,
+				byte[] webpBytes, String sourceETag, ImagePlaceholder placeholder) {
+				return CompletableFuture.runAsync(() -> {
+					try {
+						Thread.sleep(200);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					thumbnailUploaded.set(true);
+				}, uploadExecutor);
+			}
+		};
+		ImageProcessService failingProcessService = new ImageProcessService(true) {
+			@Override
+			public byte[] encodeOriginal(BufferedImage orientedImage) {
+				throw new OutOfMemoryError("인코딩 버퍼 부족");
+			}
+		};
+		ImageRecordExecutor executor = new ImageRecordExecutor(s3ActionService, slowUploader,
+			failingProcessService, List.of(RenditionConfiguration.DEFAULT_THUMBNAIL), recordExecutor);
+
+		RecordProcessResult result = executor.processAsync(new S3ObjectTarget(SOURCE_BUCKET, "uploads/1/photo.jpg"))
+			.join();
+
+		assertFalse(result.isSuccess());
+		assertInstanceOf(IOException.class, result.error());
+		assertInstanceOf(OutOfMemoryError.class, result.error().getCause());
+		// 실패 결과를 반환하기 전에 이미 시작한 업로드가 끝나 있음
+		assertTrue(thumbnailUploaded.get());
+	}
+
+	@Test
+	void testRecordMetricsAreEmittedPerStage() throws IOException {
+		byte[] sourceBytes = TestImages.withExifOrientation(TestImages.createImageBytes(400, 300, "jpg"), "jpg", 6,
+			ByteOrder.BIG_ENDIAN, 400, 300);
+		putSource("uploads/1/photo.jpg", sourceBytes);
+		List<String> lines = new ArrayList<>();
+		S3ActionService s3ActionService = new S3ActionService(s3Client, DESTINATION_BUCKET);
+		ImageRecordExecutor executor = new ImageRecordExecutor(s3ActionService,
+			new ExecutorImageUploader(s3ActionService, uploadExecutor), new ImageProcessService(true),
+			List.of(RenditionConfiguration.DEFAULT_THUMBNAIL), recordExecutor,
+			new MetricsEmitter(lines::add, "Test", "test-function"));
+
+		assertTrue(executor.processAll(List.of(new S3ObjectTarget(SOURCE_BUCKET, "uploads/1/photo.jpg")))
+			.get(0).isSuccess());
+		assertTrue(executor.processAll(List.of(new S3ObjectTarget(SOURCE_BUCKET, "uploads/1/photo.jpg")))
+			.get(0).isSuccess());
+
+		assertEquals(2, lines.size());
+		JsonNode processed = new ObjectMapper().readTree(lines.get(0));
+		assertEquals("uploads/1/photo.jpg", processed.get("ObjectKey").asText());
+		assertEquals(sourceBytes.length, processed.get("SourceBytes").asLong());
+		assertEquals(0.12, processed.get("Megapixels").asDouble(), 1e-9);
+		assertEquals(2, processed.get("Renditions").asInt());
+		assertTrue(processed.get("OutputBytes").asLong() > 0);
+		for (String stage : List.of("HeaderTime", "DecodeTime", "RotateTime", "ResizeTime", "EncodeTime")) {
+			assertTrue(processed.get(stage).asDouble() > 0, stage);
+		}
+		assertTrue(processed.get("TotalTime").asDouble() >= processed.get("DecodeTime").asDouble());
+		assertEquals(0, processed.get("Skipped").asInt());
+		assertEquals(0, processed.get("Failed").asInt());
+
+		JsonNode skipped = new ObjectMapper().readTree(lines.get(1));
+		assertEquals(1, skipped.get("Skipped").asInt());
+		assertEquals(0.0, skipped.get("DecodeTime").asDouble());
+	}
+
+	@Test
+	void testManifestListsOutputsWithoutHeadRequests() throws IOException {
+		byte[] sourceBytes = TestImages.withExifOrientation(TestImages.createImageBytes(400, 300, "jpg"), "jpg", 6,
+			ByteOrder.BIG_ENDIAN, 400, 300);
+		putSource("uploads/1/photo.jpg", sourceBytes);
+		byte[] webpBytes = TestImages.createImageBytes(200, 150, "webp");
+		putSource("uploads/1/small.webp", webpBytes);
+
+		assertTrue(process("uploads/1/photo.jpg", true).isSuccess());
+		assertTrue(process("uploads/1/small.webp", true).isSuccess());
+
+		JsonNode manifest = new ObjectMapper().readTree(readDestination("1/manifest/photo.json"));
+		assertEquals("uploads/1/photo.jpg", manifest.get("source").get("key").asText());
+		assertEquals(sourceETag("uploads/1/photo.jpg"), manifest.get("source").get("eTag").asText());
+		assertEquals("jpeg", manifest.get("source").get("format").asText());
+		assertEquals(sourceBytes.length, manifest.get("source").get("bytes").asLong());
+		assertEquals(6, manifest.get("source").get("orientation").asInt());
+		assertTrue(manifest.get("timingsMs").has("DecodeTime"));
+
+		JsonNode outputs = manifest.get("outputs");
+		assertEquals(2, outputs.size());
+		assertManifestOutput(outputs.get(0), "original", "1/original/photo-orig.webp", 300, 400, false);
+		assertManifestOutput(outputs.get(1), "thumbnail", "1/thumbnail/photo-thumbnail.webp", 300, 400, false);
+		assertEquals(sourceETag("uploads/1/photo.jpg"), destinationMetadata("1/manifest/photo.json"));
+
+		// 복사한 결과물은 원본과 같은 내용이므로 원본 ETag가 MD5
+		JsonNode copied = new ObjectMapper().readTree(readDestination("1/manifest/small.json")).get("outputs");
+		assertManifestOutput(copied.get(0), "original", "1/original/small-orig.webp", 200, 150, true);
+		assertManifestOutput(copied.get(1), "thumbnail", "1/thumbnail/small-thumbnail.webp", 200, 150, true);
+	}
+
+	@Test
+	void testMissingManifestFallsBackToOutputChecks() throws IOException {
+		putSource("uploads/1/photo.jpg", TestImages.createImageBytes(200, 150, "jpg"));
+		assertTrue(process("uploads/1/photo.jpg", true).isSuccess());
+
+		// 목록이 없던 시기에 처리된 원본은 결과물을 하나씩 확인해서 모두 있으면 건너뜀
+		Files.delete(s3Client.resolve(DESTINATION_BUCKET, "1/manifest/photo.json"));
+		headCount.set(0);
+		assertTrue(process("uploads/1/photo.jpg", true).isSuccess());
+		assertEquals(1, getCount.get());
+		// 원본 ETag, 목록, 원본 결과물, 썸네일
+		assertEquals(4, headCount.get());
+
+		Files.delete(s3Client.resolve(DESTINATION_BUCKET, "1/original/photo-orig.webp"));
+		assertTrue(process("uploads/1/photo.jpg", true).isSuccess());
+		assertEquals(2, getCount.get());
+		assertTrue(Files.exists(s3Client.resolve(DESTINATION_BUCKET, "1/manifest/photo.json")));
+	}
+
+	@Test
+	void testThumbnailCarriesPlaceholderMetadata() throws IOException {
+		putSource("uploads/1/photo.jpg", TestImages.createImageBytes(400, 300, "jpg"));
+
+		assertTrue(process("uploads/1/photo.jpg", true).isSuccess());
+
+		Map<String, String> metadata = destinationMetadataMap("1/thumbnail/photo-thumbnail.webp");
+		String blurHash = metadata.get(S3ActionService.BLURHASH_METADATA);
+		assertEquals(28, blurHash.length());
+		assertEquals('L', blurHash.charAt(0));
+		assertTrue(metadata.get(S3ActionService.DOMINANT_COLOR_METADATA).matches("#[0-9a-f]{6}"));
+		BufferedImage lqip = ImageIO.read(
+			new ByteArrayInputStream(Base64.getDecoder().decode(metadata.get(S3ActionService.LQIP_METADATA))));
+		assertEquals(16, lqip.getWidth());
+		assertEquals(12, lqip.getHeight());
+
+		// 자리 표시는 가장 작은 결과물에만 붙음
+		assertFalse(destinationMetadataMap("1/original/photo-orig.webp")
+			.containsKey(S3ActionService.BLURHASH_METADATA));
+
+		JsonNode placeholder = new ObjectMapper().readTree(readDestination("1/manifest/photo.json"))
+			.get("placeholder");
+		assertEquals(blurHash, placeholder.get("blurHash").asText());
+		assertEquals(metadata.get(S3ActionService.DOMINANT_COLOR_METADATA), placeholder.get("color").asText());
+		assertEquals(metadata.get(S3ActionService.LQIP_METADATA), placeholder.get("lqip").asText());
+	}
+
+	private void assertManifestOutput(JsonNode output, String name, String key, int width, int height,
+		boolean copied) throws IOException {
+		byte[] bytes = readDestination(key);
+		assertEquals(name, output.get("name").asText());
+		assertEquals(key, output.get("key").asText());
+		assertEquals(width, output.get("width").asInt(), key);
+		assertEquals(height, output.get("height").asInt(), key);
+		assertEquals(bytes.length, output.get("bytes").asLong(), key);
+		assertEquals(destinationETag(key), output.get("md5").asText(), key);
+		assertEquals(copied, output.get("copied").asBoolean(), key);
+	}
+
+	private String sourceETag(String objectKey) {
+		return s3Client.headObject(HeadObjectRequest.builder().bucket(SOURCE_BUCKET).key(objectKey).build())
+			.eTag().replace("\"", "");
+	}
+
+	private String destinationETag(String objectKey) {
+		return s3Client.headObject(HeadObjectRequest.builder().bucket(DESTINATION_BUCKET).key(objectKey).build())
+			.eTag().replace("\"", "");
+	}
+
+	private RecordProcessResult process(String objectKey, boolean passthroughEnabled) {
+		return process(new S3ObjectTarget(SOURCE_BUCKET, objectKey), passthroughEnabled);
+	}
+
+	private RecordProcessResult process(S3ObjectTarget target, boolean passthroughEnabled) {
+		ImageRecordExecutor executor = new ImageRecordExecutor(
+			new S3ActionService(s3Client, DESTINATION_BUCKET),
+			new ImageProcessService(passthroughEnabled),
+			List.of(RenditionConfiguration.DEFAULT_THUMBNAIL),
+			recordExecutor,
+			uploadExecutor
+		);
+		return executor.processAll(List.of(target)).get(0);
+	}
+
+	private String destinationMetadata(String objectKey) {
+		return destinationMetadataMap(objectKey).get(S3ActionService.SOURCE_ETAG_METADATA);
+	}
+
+	private Map<String, String> destinationMetadataMap(String objectKey) {
+		return s3Client.headObject(HeadObjectRequest.builder().bucket(DESTINATION_BUCKET).key(objectKey).build())
+			.metadata();
+	}
+
+	private void putSource(String objectKey, byte[] imageBytes) {
+		s3Client.putObject(PutObjectRequest.builder().bucket(SOURCE_BUCKET).key(objectKey).build(),
+			RequestBody.fromBytes(imageBytes));
+	}
+
+	private byte[] readDestination(String objectKey) throws IOException {
+		return Files.readAllBytes(s3Client.resolve(DESTINATION_BUCKET, objectKey));
+	}
+}
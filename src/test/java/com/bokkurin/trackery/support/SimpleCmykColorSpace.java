@@ -0,0 +1,46 @@
+package com.bokkurin.trackery.support;
+
+import java.awt.color.ColorSpace;
+
+/**
+ * packageName    : com.bokkurin.trackery.support
+ * fileName       : SimpleCmykColorSpace
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 프로파일 없는 CMYK 색 공간 (JPEG 리더가 Adobe CMYK/YCCK를 디코딩할 때 쓰는 것과 같은 형태)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성 (PixelNormalizerTest, NormalizeBenchmark에서 분리)
+ */
+public final class SimpleCmykColorSpace extends ColorSpace {
+	private static final long serialVersionUID = 1L;
+
+	public SimpleCmykColorSpace() {
+		super(TYPE_CMYK, 4);
+	}
+
+	@Override
+	public float[] toRGB(float[] value) {
+		float white = 1.0f - value[3];
+		return new float[] {(1.0f - value[0]) * white, (1.0f - value[1]) * white, (1.0f - value[2]) * white};
+	}
+
+	@Override
+	public float[] fromRGB(float[] rgb) {
+		float black = 1.0f - Math.max(rgb[0], Math.max(rgb[1], rgb[2]));
+		float white = Math.max(1.0f - black, 1e-6f);
+		return new float[] {(1.0f - rgb[0] - black) / white, (1.0f - rgb[1] - black) / white,
+			(1.0f - rgb[2] - black) / white, black};
+	}
+
+	@Override
+	public float[] toCIEXYZ(float[] value) {
+		return ColorSpace.getInstance(CS_sRGB).toCIEXYZ(toRGB(value));
+	}
+
+	@Override
+	public float[] fromCIEXYZ(float[] xyz) {
+		return fromRGB(ColorSpace.getInstance(CS_sRGB).fromCIEXYZ(xyz));
+	}
+}
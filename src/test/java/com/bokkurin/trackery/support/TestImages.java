@@ -0,0 +1,178 @@
+package com.bokkurin.trackery.support;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import javax.imageio.ImageIO;
+
+/**
+ * packageName    : com.bokkurin.trackery.support
+ * fileName       : TestImages
+ * author         : durururuk
+ * date           : 26. 10. 18.
+ * description    : 테스트용 이미지 바이트를 만드는 유틸 클래스 (EXIF 방향 삽입 포함)
+ * ===========================================================
+ * DATE              AUTHOR             NOTE
+ * -----------------------------------------------------------
+ * 26. 10. 18.		durururuk		최초 생성
+ * 26. 10. 18.		durururuk		헤더만 있는 PNG 생성 추가
+ */
+public final class TestImages {
+	private TestImages() {
+	}
+
+	/**
+	 * 가로/세로 그라데이션 이미지를 생성
+	 */
+	public static BufferedImage createGradientImage(int width, int height) {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				image.setRGB(x, y, (x * 255 / width) << 16 | (y * 255 / height) << 8 | 0x80);
+			}
+		}
+		return image;
+	}
+
+	/**
+	 * 그라데이션 이미지를 주어진 포맷(jpg, png, webp)으로 인코딩
+	 */
+	public static byte[] createImageBytes(int width, int height, String format) throws IOException {
+		return encode(createGradientImage(width, height), format);
+	}
+
+	public static byte[] encode(BufferedImage image, String format) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		if (!ImageIO.write(image, format, outputStream)) {
+			throw new IOException("테스트 이미지 인코딩 실패: " + format);
+		}
+		return outputStream.toByteArray();
+	}
+
+	/**
+	 * 이미지 바이트에 EXIF 방향 값을 삽입
+	 * JPEG는 APP1 세그먼트, PNG는 eXIf 청크, WebP는 VP8X 컨테이너의 EXIF 청크로 넣습니다.
+	 * @param imageBytes 원본 이미지 바이트
+	 * @param format jpg, png, webp
+	 * @param orientation 삽입할 방향 값
+	 * @param byteOrder TIFF 바이트 순서
+	 */
+	public static byte[] withExifOrientation(byte[] imageBytes, String format, int orientation, ByteOrder byteOrder,
+		int width, int height) {
+		byte[] tiff = createTiffWithOrientation(orientation, byteOrder);
+		return switch (format) {
+			case "jpg", "jpeg" -> insertJpegApp1(imageBytes, tiff);
+			case "png" -> insertPngExif(imageBytes, tiff);
+			case "webp" -> wrapWebPWithExif(imageBytes, tiff, width, height);
+			default -> throw new IllegalArgumentException(format);
+		};
+	}
+
+	/**
+	 * IFD0에 ImageWidth, Orientation 두 개의 엔트리를 가진 TIFF 블록 생성
+	 */
+	public static byte[] createTiffWithOrientation(int orientation, ByteOrder byteOrder) {
+		ByteBuffer buffer = ByteBuffer.allocate(8 + 2 + 12 * 2 + 4).order(byteOrder);
+		buffer.put(byteOrder == ByteOrder.BIG_ENDIAN ? (byte)'M' : (byte)'I');
+		buffer.put(byteOrder == ByteOrder.BIG_ENDIAN ? (byte)'M' : (byte)'I');
+		buffer.putShort((short)42);
+		buffer.putInt(8);
+		buffer.putShort((short)2);
+		// ImageWidth (LONG)
+		buffer.putShort((short)0x0100).putShort((short)4).putInt(1).putInt(640);
+		// Orientation (SHORT)
+		buffer.putShort((short)0x0112).putShort((short)3).putInt(1).putShort((short)orientation).putShort((short)0);
+		buffer.putInt(0);
+		return buffer.array();
+	}
+
+	private static byte[] insertJpegApp1(byte[] jpegBytes, byte[] tiff) {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		outputStream.write(jpegBytes, 0, 2);
+		int length = 2 + 6 + tiff.length;
+		outputStream.write(0xFF);
+		outputStream.write(0xE1);
+		outputStream.write(length >> 8);
+		outputStream.write(length & 0xFF);
+		outputStream.writeBytes("Exif".getBytes(StandardCharsets.US_ASCII));
+		outputStream.write(0);
+		outputStream.write(0);
+		outputStream.writeBytes(tiff);
+		outputStream.write(jpegBytes, 2, jpegBytes.length - 2);
+		return outputStream.toByteArray();
+	}
+
+	/**
+	 * 픽셀 데이터 없이 시그니처, IHDR, IEND 청크만 있는 PNG를 생성 (헤더 크기 검사용)
+	 */
+	public static byte[] createPngHeader(int width, int height) {
+		ByteBuffer header = ByteBuffer.allocate(13);
+		header.putInt(width).putInt(height);
+		header.put((byte)8).put((byte)2).put((byte)0).put((byte)0).put((byte)0);
+
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		outputStream.writeBytes(new byte[] {(byte)0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'});
+		outputStream.writeBytes(pngChunk("IHDR", header.array()));
+		outputStream.writeBytes(pngChunk("IEND", new byte[0]));
+		return outputStream.toByteArray();
+	}
+
+	private static byte[] pngChunk(String type, byte[] data) {
+		ByteBuffer chunk = ByteBuffer.allocate(12 + data.length);
+		chunk.putInt(data.length);
+		chunk.put(type.getBytes(StandardCharsets.US_ASCII));
+		chunk.put(data);
+		CRC32 crc = new CRC32();
+		crc.update(chunk.array(), 4, 4 + data.length);
+		chunk.putInt((int)crc.getValue());
+		return chunk.array();
+	}
+
+	private static byte[] insertPngExif(byte[] pngBytes, byte[] tiff) {
+		// 시그니처(8) + IHDR(4 + 4 + 13 + 4) 뒤에 삽입
+		int insertAt = 8 + 25;
+		ByteBuffer chunk = ByteBuffer.allocate(12 + tiff.length);
+		chunk.putInt(tiff.length);
+		chunk.put("eXIf".getBytes(StandardCharsets.US_ASCII));
+		chunk.put(tiff);
+		CRC32 crc = new CRC32();
+		crc.update(chunk.array(), 4, 4 + tiff.length);
+		chunk.putInt((int)crc.getValue());
+
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		outputStream.write(pngBytes, 0, insertAt);
+		outputStream.writeBytes(chunk.array());
+		outputStream.write(pngBytes, insertAt, pngBytes.length - insertAt);
+		return outputStream.toByteArray();
+	}
+
+	private static byte[] wrapWebPWithExif(byte[] webpBytes, byte[] tiff, int width, int height) {
+		int imageChunksLength = webpBytes.length - 12;
+		int exifPadding = tiff.length & 1;
+		int riffSize = 4 + (8 + 10) + imageChunksLength + 8 + tiff.length + exifPadding;
+
+		ByteBuffer buffer = ByteBuffer.allocate(8 + riffSize).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(riffSize);
+		buffer.put("WEBP".getBytes(StandardCharsets.US_ASCII));
+		buffer.put("VP8X".getBytes(StandardCharsets.US_ASCII)).putInt(10);
+		buffer.put((byte)0x08).put((byte)0).put((byte)0).put((byte)0);
+		putUInt24(buffer, width - 1);
+		putUInt24(buffer, height - 1);
+		buffer.put(webpBytes, 12, imageChunksLength);
+		buffer.put("EXIF".getBytes(StandardCharsets.US_ASCII)).putInt(tiff.length);
+		buffer.put(tiff);
+		if (exifPadding == 1) {
+			buffer.put((byte)0);
+		}
+		return buffer.array();
+	}
+
+	private static void putUInt24(ByteBuffer buffer, int value) {
+		buffer.put((byte)value).put((byte)(value >> 8)).put((byte)(value >> 16));
+	}
+}